@@ -9,3 +9,43 @@ book-similarity-backfill:
 		exit 1; \
 	fi
 	@SPRING_PROFILES_ACTIVE=dev SERVER_PORT=8095 $(GRADLEW) bootRun --args="--app.similarity.embeddings.backfill=true --app.similarity.embeddings.backfill-limit=$(SIMILARITY_LIMIT)"
+
+SIMILARITY_BACKFILL_CONCURRENCY ?= 4
+SIMILARITY_BACKFILL_RESUME ?= true
+
+.PHONY: book-similarity-backfill-stream
+
+book-similarity-backfill-stream:
+	@echo "Starting streaming book similarity backfill (concurrency=$(SIMILARITY_BACKFILL_CONCURRENCY), resume=$(SIMILARITY_BACKFILL_RESUME))..."
+	@if [ ! -f .env ]; then \
+		echo "Error: .env file not found."; \
+		exit 1; \
+	fi
+	@SPRING_PROFILES_ACTIVE=dev SERVER_PORT=8095 $(GRADLEW) bootRun --args="--app.similarity.embeddings.backfill=true --app.similarity.embeddings.backfill-streaming=true --app.similarity.embeddings.backfill-concurrency=$(SIMILARITY_BACKFILL_CONCURRENCY) --app.similarity.embeddings.backfill-resume=$(SIMILARITY_BACKFILL_RESUME)"
+
+SIMILARITY_RECALL_SAMPLE ?= 200
+SIMILARITY_RECALL_K ?= 20
+
+.PHONY: book-similarity-quantized-recall
+
+book-similarity-quantized-recall:
+	@echo "Evaluating binary-quantized similarity recall (sample=$(SIMILARITY_RECALL_SAMPLE), k=$(SIMILARITY_RECALL_K))..."
+	@if [ ! -f .env ]; then \
+		echo "Error: .env file not found."; \
+		exit 1; \
+	fi
+	@SPRING_PROFILES_ACTIVE=dev SERVER_PORT=8095 $(GRADLEW) bootRun --args="--app.similarity.embeddings.quantized-recall-eval=true --app.similarity.embeddings.quantized-recall-sample=$(SIMILARITY_RECALL_SAMPLE) --app.similarity.embeddings.quantized-recall-k=$(SIMILARITY_RECALL_K)"
+
+PROFILE_EVAL_SAMPLE ?= 200
+PROFILE_EVAL_K ?= 20
+PROFILE_EVAL_SNAPSHOT_LIMIT ?= 0
+
+.PHONY: book-similarity-profile-eval
+
+book-similarity-profile-eval:
+	@echo "Evaluating book similarity fusion profiles (sample=$(PROFILE_EVAL_SAMPLE), k=$(PROFILE_EVAL_K), snapshot-limit=$(PROFILE_EVAL_SNAPSHOT_LIMIT))..."
+	@if [ ! -f .env ]; then \
+		echo "Error: .env file not found."; \
+		exit 1; \
+	fi
+	@SPRING_PROFILES_ACTIVE=dev SERVER_PORT=8095 $(GRADLEW) bootRun --args="--app.similarity.embeddings.profile-eval=true --app.similarity.embeddings.profile-eval-sample=$(PROFILE_EVAL_SAMPLE) --app.similarity.embeddings.profile-eval-k=$(PROFILE_EVAL_K) --app.similarity.embeddings.profile-eval-snapshot-limit=$(PROFILE_EVAL_SNAPSHOT_LIMIT)"
@@ -35,6 +35,13 @@ tasks.withType<JavaCompile>().configureEach {
     options.compilerArgs.add("-Xlint:unchecked")
 }
 
+// Only PanamaEmbeddingVectorOps imports the incubator Vector API, so only the main source set
+// resolves the module at compile time; test and jmh sources compile without the incubating warning.
+// Test and exec JVMs still add the module so EmbeddingVectorOps can select the vector kernels.
+tasks.named<JavaCompile>("compileJava") {
+    options.compilerArgs.addAll(listOf("--add-modules", "jdk.incubator.vector"))
+}
+
 val toolchains = project.extensions.getByType(JavaToolchainService::class)
 
 tasks.withType<Test>().configureEach {
@@ -44,6 +51,7 @@ tasks.withType<Test>().configureEach {
         }
     )
     jvmArgs("--enable-preview")
+    jvmArgs("--add-modules=jdk.incubator.vector")
     jvmArgs("--enable-native-access=ALL-UNNAMED")
     jvmArgs("-Djdk.attach.allowAttachSelf=true")
     jvmArgs("-XX:+EnableDynamicAgentLoading")
@@ -58,6 +66,7 @@ tasks.withType<JavaExec>().configureEach {
         }
     )
     jvmArgs("--enable-preview")
+    jvmArgs("--add-modules=jdk.incubator.vector")
     jvmArgs("--enable-native-access=ALL-UNNAMED")
     systemProperty("io.netty.noUnsafe", "true")
 }
@@ -74,6 +83,16 @@ repositories {
 
 extra["testcontainersVersion"] = "2.0.3"
 extra["resilience4jVersion"] = "2.3.0"
+extra["jmhVersion"] = "1.37"
+
+// Benchmarks live in their own source set so JMH never leaks onto the application or test classpaths.
+val jmh by sourceSets.creating {
+    compileClasspath += sourceSets["main"].output
+    runtimeClasspath += sourceSets["main"].output
+}
+
+configurations[jmh.implementationConfigurationName].extendsFrom(configurations.implementation.get())
+configurations[jmh.runtimeOnlyConfigurationName].extendsFrom(configurations.runtimeOnly.get())
 
 dependencies {
     implementation("org.springframework.boot:spring-boot-starter-actuator")
@@ -124,6 +143,10 @@ dependencies {
     testImplementation("org.testcontainers:testcontainers-junit-jupiter")
     testImplementation("org.testcontainers:testcontainers-postgresql")
     testImplementation("org.testcontainers:testcontainers-localstack")
+
+    "jmhImplementation"("org.openjdk.jmh:jmh-core:${property("jmhVersion")}")
+    "jmhAnnotationProcessor"("org.openjdk.jmh:jmh-generator-annprocess:${property("jmhVersion")}")
+    "jmhImplementation"("org.testcontainers:testcontainers-postgresql")
 }
 
 dependencyManagement {
@@ -136,6 +159,21 @@ tasks.named<Test>("test") {
     useJUnitPlatform()
 }
 
+// Usage: ./gradlew jmh -PjmhArgs="-p catalogSize=50000 BookSearchServiceBenchmark"
+//        ./gradlew jmh -PjmhArgs="BookSimilarityVectorFusionBenchmark"  (no Docker needed)
+// Search benchmarks require Docker; results are written to build/reports/jmh/search-benchmarks.json.
+tasks.register<JavaExec>("jmh") {
+    group = "verification"
+    description = "Runs the search JMH benchmarks against a seeded Testcontainers Postgres."
+    classpath = jmh.runtimeClasspath
+    mainClass.set("net.findmybook.benchmark.SearchBenchmarkRunner")
+    workingDir = projectDir
+    val jmhArgs = providers.gradleProperty("jmhArgs").orNull
+    if (!jmhArgs.isNullOrBlank()) {
+        args(jmhArgs.trim().split(Regex("\\s+")))
+    }
+}
+
 tasks.named<Jar>("jar") {
     enabled = false
 }
@@ -164,6 +164,7 @@ export const SearchResponseSchema = z.object({
   coverSource: z.string(),
   resolution: z.string(),
   results: z.array(SearchHitSchema),
+  nextCursor: z.string().nullable().optional(),
 });
 
 export const SimilarBooksSchema = z.array(BookSchema);
@@ -2,52 +2,363 @@
 -- SEARCH FUNCTIONALITY
 -- ============================================================================
 
--- Materialized view for optimized book search
--- Denormalizes books with authors for fast full-text and fuzzy search
-create materialized view if not exists book_search_view as
-select
-  b.id as book_id,
-  b.title,
-  b.subtitle,
-  b.slug,
-  b.isbn13,
-  b.isbn10,
-  b.published_date,
-  b.publisher,
-  b.language,
-  b.page_count,
-  string_agg(a.name, ', ' order by ba.position) as authors,
-  -- Combined search vector with weights:
-  -- A: title, author names (highest priority)
-  -- B: subtitle (high priority)
-  -- C: publisher (medium priority)
-  -- D: description (low priority)
-  (
-    setweight(to_tsvector('english', coalesce(b.title, '')), 'A') ||
-    setweight(to_tsvector('english', coalesce(string_agg(a.name, ' ' order by ba.position), '')), 'A') ||
-    setweight(to_tsvector('english', coalesce(b.subtitle, '')), 'B') ||
-    setweight(to_tsvector('english', coalesce(b.publisher, '')), 'C') ||
-    setweight(to_tsvector('english', coalesce(b.description, '')), 'D')
-  ) as search_vector,
-  -- Searchable text for trigram similarity (fuzzy matching)
-  lower(
-    coalesce(b.title, '') || ' ' ||
-    coalesce(b.subtitle, '') || ' ' ||
-    coalesce(string_agg(a.name, ' ' order by ba.position), '') || ' ' ||
-    coalesce(b.publisher, '')
-  ) as searchable_text
-from books b
-left join book_authors_join ba on b.id = ba.book_id
-left join authors a on ba.author_id = a.id
-group by b.id;
-
--- Indexes for the materialized view
+-- Denormalized search documents for optimized book search.
+-- Denormalizes books with authors for fast full-text and fuzzy search.
+--
+-- book_search_view keeps its historical name but is an ordinary table maintained
+-- incrementally: row triggers on books/authors/book_authors_join/book_image_links enqueue touched
+-- book IDs into book_search_view_pending, and refresh_book_search_view_incremental()
+-- drains that queue in bounded batches. refresh_book_search_view() remains available
+-- as a full rebuild for bulk loads.
+
+-- Single source of truth for one search document per book.
+-- Passing NULL rebuilds every document; passing IDs rebuilds only those books.
+-- Column order must match book_search_view (inserts use select *).
+drop function if exists book_search_documents(uuid[]);
+create or replace function book_search_documents(target_book_ids uuid[] default null)
+returns table (
+  book_id uuid,
+  title text,
+  subtitle text,
+  slug text,
+  isbn13 text,
+  isbn10 text,
+  published_date date,
+  publisher text,
+  language text,
+  page_count integer,
+  authors text,
+  search_vector tsvector,
+  searchable_text text,
+  has_high_res_cover boolean
+)
+language sql
+stable
+as $$
+  select
+    b.id as book_id,
+    b.title,
+    b.subtitle,
+    b.slug,
+    b.isbn13,
+    b.isbn10,
+    b.published_date,
+    b.publisher,
+    b.language,
+    b.page_count,
+    string_agg(a.name, ', ' order by ba.position) as authors,
+    -- Combined search vector with weights:
+    -- A: title, author names (highest priority)
+    -- B: subtitle (high priority)
+    -- C: publisher (medium priority)
+    -- D: description (low priority)
+    (
+      setweight(to_tsvector('english', coalesce(b.title, '')), 'A') ||
+      setweight(to_tsvector('english', coalesce(string_agg(a.name, ' ' order by ba.position), '')), 'A') ||
+      setweight(to_tsvector('english', coalesce(b.subtitle, '')), 'B') ||
+      setweight(to_tsvector('english', coalesce(b.publisher, '')), 'C') ||
+      setweight(to_tsvector('english', coalesce(b.description, '')), 'D')
+    ) as search_vector,
+    -- Searchable text for trigram similarity (fuzzy matching)
+    lower(
+      coalesce(b.title, '') || ' ' ||
+      coalesce(b.subtitle, '') || ' ' ||
+      coalesce(string_agg(a.name, ' ' order by ba.position), '') || ' ' ||
+      coalesce(b.publisher, '')
+    ) as searchable_text,
+    -- Cover-quality tie-breaker for search ranking: true when any linked image is high resolution
+    coalesce(
+      (select bool_or(bil.is_high_resolution) from book_image_links bil where bil.book_id = b.id),
+      false
+    ) as has_high_res_cover
+  from books b
+  left join book_authors_join ba on b.id = ba.book_id
+  left join authors a on ba.author_id = a.id
+  where target_book_ids is null
+     or b.id = any(target_book_ids)
+  group by b.id;
+$$;
+
+-- Delta queue of book IDs whose search documents must be rebuilt.
+-- No foreign key: deleted books are enqueued so their documents can be removed.
+create table if not exists book_search_view_pending (
+  book_id uuid primary key,
+  enqueued_at timestamptz not null default now()
+);
+
+create index if not exists idx_book_search_view_pending_enqueued_at
+  on book_search_view_pending (enqueued_at, book_id);
+
+-- Convert the legacy materialized view into the incrementally maintained table.
+do $$
+declare
+  converted boolean := false;
+begin
+  if exists (
+    select 1
+    from pg_matviews
+    where schemaname = current_schema()
+      and matviewname = 'book_search_view'
+  ) then
+    drop materialized view book_search_view;
+    converted := true;
+  end if;
+
+  if to_regclass('book_search_view') is null then
+    create table book_search_view (
+      book_id uuid primary key,
+      title text,
+      subtitle text,
+      slug text,
+      isbn13 text,
+      isbn10 text,
+      published_date date,
+      publisher text,
+      language text,
+      page_count integer,
+      authors text,
+      search_vector tsvector,
+      searchable_text text,
+      has_high_res_cover boolean not null default false
+    );
+    insert into book_search_view
+    select * from book_search_documents(null);
+    if converted then
+      raise notice 'Converted book_search_view from materialized view to incrementally maintained table';
+    end if;
+  end if;
+end
+$$;
+
+-- Expand: denormalized cover-quality signal so search_books() avoids per-candidate image subqueries.
+do $$
+begin
+  if not exists (
+    select 1
+    from information_schema.columns
+    where table_schema = current_schema()
+      and table_name = 'book_search_view'
+      and column_name = 'has_high_res_cover'
+  ) then
+    alter table book_search_view
+      add column has_high_res_cover boolean not null default false;
+    update book_search_view v
+    set has_high_res_cover = true
+    where exists (
+      select 1
+      from book_image_links bil
+      where bil.book_id = v.book_id
+        and bil.is_high_resolution
+    );
+  end if;
+end
+$$;
+
+-- Indexes for the search table
 create index if not exists idx_book_search_view_search_vector
   on book_search_view using gin (search_vector);
 
 create index if not exists idx_book_search_view_searchable_text
   on book_search_view using gin (searchable_text gin_trgm_ops);
 
--- Unique index for concurrent refresh
+-- Unique lookup by book (primary key on new installs; retained for legacy parity)
 create unique index if not exists idx_book_search_view_book_id
   on book_search_view (book_id);
+
+-- ---------------------------------------------------------------------------
+-- Change capture: enqueue every book whose search document inputs changed.
+-- ---------------------------------------------------------------------------
+create or replace function enqueue_book_search_view_refresh_for_book()
+returns trigger
+language plpgsql
+as $$
+begin
+  if TG_OP = 'DELETE' then
+    insert into book_search_view_pending (book_id)
+    values (OLD.id)
+    on conflict (book_id) do nothing;
+  else
+    insert into book_search_view_pending (book_id)
+    values (NEW.id)
+    on conflict (book_id) do nothing;
+  end if;
+  return null;
+end;
+$$;
+
+create or replace function enqueue_book_search_view_refresh_for_author_join()
+returns trigger
+language plpgsql
+as $$
+begin
+  if TG_OP in ('UPDATE', 'DELETE') then
+    insert into book_search_view_pending (book_id)
+    values (OLD.book_id)
+    on conflict (book_id) do nothing;
+  end if;
+  if TG_OP in ('INSERT', 'UPDATE') then
+    insert into book_search_view_pending (book_id)
+    values (NEW.book_id)
+    on conflict (book_id) do nothing;
+  end if;
+  return null;
+end;
+$$;
+
+create or replace function enqueue_book_search_view_refresh_for_author()
+returns trigger
+language plpgsql
+as $$
+begin
+  insert into book_search_view_pending (book_id)
+  select ba.book_id
+  from book_authors_join ba
+  where ba.author_id = NEW.id
+  on conflict (book_id) do nothing;
+  return null;
+end;
+$$;
+
+create or replace function enqueue_book_search_view_refresh_for_image_link()
+returns trigger
+language plpgsql
+as $$
+begin
+  if TG_OP in ('UPDATE', 'DELETE') then
+    insert into book_search_view_pending (book_id)
+    values (OLD.book_id)
+    on conflict (book_id) do nothing;
+  end if;
+  if TG_OP in ('INSERT', 'UPDATE') then
+    insert into book_search_view_pending (book_id)
+    values (NEW.book_id)
+    on conflict (book_id) do nothing;
+  end if;
+  return null;
+end;
+$$;
+
+drop trigger if exists books_search_view_enqueue_write on books;
+create trigger books_search_view_enqueue_write
+  after insert or delete on books
+  for each row
+  execute function enqueue_book_search_view_refresh_for_book();
+
+drop trigger if exists books_search_view_enqueue_update on books;
+create trigger books_search_view_enqueue_update
+  after update on books
+  for each row
+  when (
+    OLD.title is distinct from NEW.title
+    or OLD.subtitle is distinct from NEW.subtitle
+    or OLD.description is distinct from NEW.description
+    or OLD.slug is distinct from NEW.slug
+    or OLD.isbn13 is distinct from NEW.isbn13
+    or OLD.isbn10 is distinct from NEW.isbn10
+    or OLD.published_date is distinct from NEW.published_date
+    or OLD.publisher is distinct from NEW.publisher
+    or OLD.language is distinct from NEW.language
+    or OLD.page_count is distinct from NEW.page_count
+  )
+  execute function enqueue_book_search_view_refresh_for_book();
+
+drop trigger if exists book_authors_join_search_view_enqueue on book_authors_join;
+create trigger book_authors_join_search_view_enqueue
+  after insert or update or delete on book_authors_join
+  for each row
+  execute function enqueue_book_search_view_refresh_for_author_join();
+
+drop trigger if exists authors_search_view_enqueue on authors;
+create trigger authors_search_view_enqueue
+  after update on authors
+  for each row
+  when (OLD.name is distinct from NEW.name)
+  execute function enqueue_book_search_view_refresh_for_author();
+
+drop trigger if exists book_image_links_search_view_enqueue_write on book_image_links;
+create trigger book_image_links_search_view_enqueue_write
+  after insert or delete on book_image_links
+  for each row
+  execute function enqueue_book_search_view_refresh_for_image_link();
+
+drop trigger if exists book_image_links_search_view_enqueue_update on book_image_links;
+create trigger book_image_links_search_view_enqueue_update
+  after update on book_image_links
+  for each row
+  when (
+    OLD.book_id is distinct from NEW.book_id
+    or OLD.is_high_resolution is distinct from NEW.is_high_resolution
+  )
+  execute function enqueue_book_search_view_refresh_for_image_link();
+
+-- ---------------------------------------------------------------------------
+-- Refresh entry points
+-- ---------------------------------------------------------------------------
+
+-- Full rebuild (recovery path, and bulk loads where one pass beats draining the queue).
+drop function if exists refresh_book_search_view();
+create or replace function refresh_book_search_view()
+returns void
+language plpgsql
+as $$
+begin
+  -- Runs inside the caller's transaction so bulk loaders can rebuild atomically.
+  truncate book_search_view_pending;
+  delete from book_search_view;
+  insert into book_search_view
+  select * from book_search_documents(null);
+end;
+$$;
+
+-- Incremental drain: rebuilds only queued book IDs and returns how many were processed.
+-- Concurrent callers claim disjoint batches via SKIP LOCKED.
+drop function if exists refresh_book_search_view_incremental(integer);
+create or replace function refresh_book_search_view_incremental(batch_size integer default 500)
+returns integer
+language plpgsql
+as $$
+declare
+  claimed uuid[];
+begin
+  with picked as (
+    select p.book_id
+    from book_search_view_pending p
+    order by p.enqueued_at, p.book_id
+    limit greatest(coalesce(batch_size, 500), 1)
+    for update skip locked
+  ),
+  drained as (
+    delete from book_search_view_pending p
+    using picked
+    where p.book_id = picked.book_id
+    returning p.book_id
+  )
+  select array_agg(drained.book_id) into claimed
+  from drained;
+
+  if claimed is null then
+    return 0;
+  end if;
+
+  delete from book_search_view v
+  where v.book_id = any(claimed);
+
+  insert into book_search_view
+  select * from book_search_documents(claimed);
+
+  return cardinality(claimed);
+end;
+$$;
+
+comment on table book_search_view is
+  'Denormalized search documents for full-text and fuzzy search, maintained incrementally from book_search_view_pending';
+comment on table book_search_view_pending is
+  'Delta queue of book IDs whose search documents must be rebuilt by refresh_book_search_view_incremental()';
+comment on column book_search_view.has_high_res_cover is
+  'True when any book_image_links row for the book is high resolution; search ranking tie-breaker';
+comment on function book_search_documents(uuid[]) is
+  'Builds search documents for the given book IDs (or every book when NULL)';
+comment on function refresh_book_search_view() is
+  'Full rebuild of book_search_view; use after bulk loads';
+comment on function refresh_book_search_view_incremental(integer) is
+  'Rebuilds queued book_search_view rows in one bounded batch and returns the number of books processed';
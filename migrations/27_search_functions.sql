@@ -1,19 +1,16 @@
--- Function to refresh the search view (call after bulk updates)
-drop function if exists refresh_book_search_view();
-create or replace function refresh_book_search_view()
-returns void
-language plpgsql
-as $$
-begin
-  -- Non-concurrent so it can run inside the initializer's transaction and within a function
-  refresh materialized view book_search_view;
-end;
-$$;
+-- refresh_book_search_view() and refresh_book_search_view_incremental() live in 26_book_search_view.sql
 
--- Main search function combining multiple strategies with cluster deduplication
-drop function if exists search_books(text, integer);
-create or replace function search_books(
+-- Keyset-paginated search combining multiple strategies with cluster deduplication.
+-- Rows are ordered by (relevance_score desc, sort_title, sort_key); passing the last row's
+-- values resumes strictly after it, and null keyset arguments start from the top.
+-- Each row also carries its work's primary edition and normalized title/author key so
+-- callers can finish edition deduplication in memory without follow-up lookups.
+drop function if exists search_books_after(text, float, text, uuid, integer);
+create or replace function search_books_after(
   search_query text,
+  after_relevance float,
+  after_sort_title text,
+  after_sort_key uuid,
   max_results integer default 20
 )
 returns table (
@@ -28,7 +25,12 @@ returns table (
   relevance_score float,
   match_type text,
   edition_count integer,
-  cluster_id uuid
+  cluster_id uuid,
+  sort_title text,
+  sort_key uuid,
+  primary_book_id uuid,
+  has_primary_edition boolean,
+  title_author_key text
 ) as $$
 begin
   return query
@@ -50,18 +52,8 @@ begin
       wc.id as cluster_id,
       -- Add priority for selecting primary edition
       coalesce(wcm.is_primary, false) as is_primary,
-      -- Quality metrics for tie-breaking
-      coalesce(
-        (
-          select coalesce(bil.is_high_resolution, false)
-          from book_image_links bil
-          where bil.book_id = b.book_id
-          order by coalesce(bil.is_high_resolution, false) desc,
-                   coalesce((bil.width::bigint * bil.height::bigint), 0) desc
-          limit 1
-        ),
-        false
-      ) as has_high_res_cover
+      -- Quality metric for tie-breaking (denormalized in book_search_view)
+      b.has_high_res_cover
     from book_search_view b
     left join work_cluster_members wcm on b.book_id = wcm.book_id
     left join work_clusters wc on wcm.cluster_id = wc.id
@@ -90,17 +82,7 @@ begin
       coalesce(wc.member_count, 1) as edition_count,
       wc.id as cluster_id,
       coalesce(wcm.is_primary, false) as is_primary,
-      coalesce(
-        (
-          select coalesce(bil.is_high_resolution, false)
-          from book_image_links bil
-          where bil.book_id = b.book_id
-          order by coalesce(bil.is_high_resolution, false) desc,
-                   coalesce((bil.width::bigint * bil.height::bigint), 0) desc
-          limit 1
-        ),
-        false
-      ) as has_high_res_cover
+      b.has_high_res_cover
     from book_search_view b
     left join work_cluster_members wcm on b.book_id = wcm.book_id
     left join work_clusters wc on wcm.cluster_id = wc.id
@@ -131,17 +113,7 @@ begin
       coalesce(wc.member_count, 1) as edition_count,
       wc.id as cluster_id,
       coalesce(wcm.is_primary, false) as is_primary,
-      coalesce(
-        (
-          select coalesce(bil.is_high_resolution, false)
-          from book_image_links bil
-          where bil.book_id = b.book_id
-          order by coalesce(bil.is_high_resolution, false) desc,
-                   coalesce((bil.width::bigint * bil.height::bigint), 0) desc
-          limit 1
-        ),
-        false
-      ) as has_high_res_cover
+      b.has_high_res_cover
     from book_search_view b
     left join work_cluster_members wcm on b.book_id = wcm.book_id
     left join work_clusters wc on wcm.cluster_id = wc.id
@@ -189,30 +161,298 @@ begin
       am.is_primary desc,                    -- Prefer primary edition
       am.has_high_res_cover desc,            -- Prefer better cover quality
       am.published_date desc nulls last      -- Prefer newer editions
+  ),
+  -- Requested page ordered by relevance
+  page as (
+    select
+      d.book_id,
+      d.title,
+      d.subtitle,
+      d.authors,
+      d.isbn13,
+      d.isbn10,
+      d.published_date,
+      d.publisher,
+      d.relevance_score,
+      d.match_type,
+      d.edition_count,
+      d.cluster_id,
+      lower(d.title) as sort_title,
+      coalesce(d.cluster_id, d.book_id) as sort_key
+    from deduplicated d
+    where after_relevance is null
+       or d.relevance_score < after_relevance
+       or (
+         d.relevance_score = after_relevance
+         and (
+           lower(d.title) > after_sort_title
+           or (lower(d.title) = after_sort_title and coalesce(d.cluster_id, d.book_id) > after_sort_key)
+         )
+       )
+    order by
+      d.relevance_score desc,
+      lower(d.title),
+      coalesce(d.cluster_id, d.book_id)
+    limit max_results
   )
-  -- Final results ordered by relevance
+  -- Dedupe hints are resolved for page rows only, never for the whole candidate pool
   select
-    d.book_id,
-    d.title,
-    d.subtitle,
-    d.authors,
-    d.isbn13,
-    d.isbn10,
-    d.published_date,
-    d.publisher,
-    d.relevance_score,
-    d.match_type,
-    d.edition_count,
-    d.cluster_id
-  from deduplicated d
+    p.book_id,
+    p.title,
+    p.subtitle,
+    p.authors,
+    p.isbn13,
+    p.isbn10,
+    p.published_date,
+    p.publisher,
+    p.relevance_score,
+    p.match_type,
+    p.edition_count,
+    p.cluster_id,
+    p.sort_title,
+    p.sort_key,
+    coalesce(pe.primary_book_id, p.book_id) as primary_book_id,
+    coalesce(pe.has_primary_edition, false) as has_primary_edition,
+    coalesce(normalize_title_for_clustering(pb.title), '')
+      || '::' || coalesce(get_normalized_authors(pb.id), '') as title_author_key
+  from page p
+  -- Explicit primary edition first, otherwise the most confident cluster member
+  left join lateral (
+    select
+      wcm.book_id as primary_book_id,
+      coalesce(wcm.is_primary, false) as has_primary_edition
+    from work_cluster_members wcm
+    where wcm.cluster_id = p.cluster_id
+    order by
+      coalesce(wcm.is_primary, false) desc,
+      wcm.confidence desc nulls last,
+      wcm.book_id
+    limit 1
+  ) pe on true
+  left join books pb on pb.id = coalesce(pe.primary_book_id, p.book_id)
   order by
-    d.relevance_score desc,
-    lower(d.title),
-    coalesce(d.cluster_id, d.book_id)
-  limit max_results;
+    p.relevance_score desc,
+    p.sort_title,
+    p.sort_key;
+end;
+$$ language plpgsql;
+
+-- Main search function: first page of search_books_after() without keyset columns
+drop function if exists search_books(text, integer);
+create or replace function search_books(
+  search_query text,
+  max_results integer default 20
+)
+returns table (
+  book_id uuid,
+  title text,
+  subtitle text,
+  authors text,
+  isbn13 text,
+  isbn10 text,
+  published_date date,
+  publisher text,
+  relevance_score float,
+  match_type text,
+  edition_count integer,
+  cluster_id uuid,
+  primary_book_id uuid,
+  has_primary_edition boolean,
+  title_author_key text
+) as $$
+begin
+  return query
+  select
+    s.book_id,
+    s.title,
+    s.subtitle,
+    s.authors,
+    s.isbn13,
+    s.isbn10,
+    s.published_date,
+    s.publisher,
+    s.relevance_score,
+    s.match_type,
+    s.edition_count,
+    s.cluster_id,
+    s.primary_book_id,
+    s.has_primary_edition,
+    s.title_author_key
+  from search_books_after(search_query, null, null, null, max_results) s
+  order by
+    s.relevance_score desc,
+    s.sort_title,
+    s.sort_key;
+end;
+$$ language plpgsql;
+
+-- Single-strategy candidates for the Java tiered search executor, which runs the exact and
+-- fulltext tiers concurrently and the trigram tier only when they leave the window unfilled.
+-- Tiers mirror the strategy CTEs in search_books_after(); exclude_book_ids replaces their
+-- cross-tier "not in" filters so a later tier can skip books earlier tiers already matched.
+drop function if exists search_books_tier_candidates(text, text, integer, uuid[]);
+create or replace function search_books_tier_candidates(
+  search_query text,
+  tier text,
+  max_results integer,
+  exclude_book_ids uuid[] default null
+)
+returns table (
+  book_id uuid,
+  title text,
+  published_date date,
+  relevance_score float,
+  match_type text,
+  edition_count integer,
+  cluster_id uuid,
+  is_primary boolean,
+  has_high_res_cover boolean
+) as $$
+begin
+  if tier = 'exact' then
+    return query
+    select
+      b.book_id,
+      b.title,
+      b.published_date,
+      1.0::float as relevance_score,
+      'exact_title'::text as match_type,
+      coalesce(wc.member_count, 1) as edition_count,
+      wc.id as cluster_id,
+      coalesce(wcm.is_primary, false) as is_primary,
+      b.has_high_res_cover
+    from book_search_view b
+    left join work_cluster_members wcm on b.book_id = wcm.book_id
+    left join work_clusters wc on wcm.cluster_id = wc.id
+    where lower(b.title) = lower(search_query)
+      and (exclude_book_ids is null or b.book_id <> all(exclude_book_ids))
+    order by
+      coalesce(wcm.is_primary, false) desc,
+      b.has_high_res_cover desc,
+      b.published_date desc nulls last,
+      lower(b.title),
+      b.book_id
+    limit max_results;
+  elsif tier = 'fulltext' then
+    return query
+    select
+      b.book_id,
+      b.title,
+      b.published_date,
+      ts_rank(b.search_vector, plainto_tsquery('english', search_query))::float as relevance_score,
+      'fulltext'::text as match_type,
+      coalesce(wc.member_count, 1) as edition_count,
+      wc.id as cluster_id,
+      coalesce(wcm.is_primary, false) as is_primary,
+      b.has_high_res_cover
+    from book_search_view b
+    left join work_cluster_members wcm on b.book_id = wcm.book_id
+    left join work_clusters wc on wcm.cluster_id = wc.id
+    where b.search_vector @@ plainto_tsquery('english', search_query)
+      and (exclude_book_ids is null or b.book_id <> all(exclude_book_ids))
+    order by
+      ts_rank(b.search_vector, plainto_tsquery('english', search_query)) desc,
+      coalesce(wcm.is_primary, false) desc,
+      b.has_high_res_cover desc,
+      b.published_date desc nulls last,
+      lower(b.title),
+      b.book_id
+    limit max_results;
+  elsif tier = 'fuzzy' then
+    return query
+    select
+      b.book_id,
+      b.title,
+      b.published_date,
+      similarity(b.searchable_text, lower(search_query))::float * 0.8 as relevance_score,
+      'fuzzy'::text as match_type,
+      coalesce(wc.member_count, 1) as edition_count,
+      wc.id as cluster_id,
+      coalesce(wcm.is_primary, false) as is_primary,
+      b.has_high_res_cover
+    from book_search_view b
+    left join work_cluster_members wcm on b.book_id = wcm.book_id
+    left join work_clusters wc on wcm.cluster_id = wc.id
+    where b.searchable_text % lower(search_query)
+      and (exclude_book_ids is null or b.book_id <> all(exclude_book_ids))
+    order by
+      similarity(b.searchable_text, lower(search_query)) desc,
+      coalesce(wcm.is_primary, false) desc,
+      b.has_high_res_cover desc,
+      b.published_date desc nulls last,
+      lower(b.title),
+      b.book_id
+    limit max_results;
+  else
+    raise exception 'Unknown search tier: %', tier;
+  end if;
 end;
 $$ language plpgsql;
 
+-- Final ordering and dedupe hints for a tiered search. The Java executor passes the best row
+-- per work from its tiers; rows are ranked and limited here first, in the same collation and
+-- order as search_books_after(), and the cluster lookup and get_normalized_authors() run only
+-- for the rows that are returned.
+drop function if exists search_books_tier(text, text, integer, uuid[]);
+drop function if exists search_books_tier_rank(uuid[], uuid[], text[], float[], integer);
+create or replace function search_books_tier_rank(
+  book_ids uuid[],
+  cluster_ids uuid[],
+  titles text[],
+  relevance_scores float[],
+  max_results integer
+)
+returns table (
+  book_id uuid,
+  primary_book_id uuid,
+  has_primary_edition boolean,
+  title_author_key text
+) as $$
+begin
+  return query
+  with ranked as (
+    select
+      f.book_id,
+      f.cluster_id,
+      f.relevance_score,
+      lower(f.title) as sort_title,
+      coalesce(f.cluster_id, f.book_id) as sort_key
+    from unnest(book_ids, cluster_ids, titles, relevance_scores)
+      as f(book_id, cluster_id, title, relevance_score)
+    order by
+      f.relevance_score desc,
+      lower(f.title),
+      coalesce(f.cluster_id, f.book_id)
+    limit max_results
+  )
+  select
+    r.book_id,
+    coalesce(pe.primary_book_id, r.book_id) as primary_book_id,
+    coalesce(pe.has_primary_edition, false) as has_primary_edition,
+    coalesce(normalize_title_for_clustering(pb.title), '')
+      || '::' || coalesce(get_normalized_authors(pb.id), '') as title_author_key
+  from ranked r
+  -- Explicit primary edition first, otherwise the most confident cluster member
+  left join lateral (
+    select
+      wcm.book_id as primary_book_id,
+      coalesce(wcm.is_primary, false) as has_primary_edition
+    from work_cluster_members wcm
+    where wcm.cluster_id = r.cluster_id
+    order by
+      coalesce(wcm.is_primary, false) desc,
+      wcm.confidence desc nulls last,
+      wcm.book_id
+    limit 1
+  ) pe on true
+  left join books pb on pb.id = coalesce(pe.primary_book_id, r.book_id)
+  order by
+    r.relevance_score desc,
+    r.sort_title,
+    r.sort_key;
+end;
+$$ language plpgsql stable;
+
 -- ISBN search function for barcode scanning
 drop function if exists search_by_isbn(text);
 create or replace function search_by_isbn(isbn_query text)
@@ -303,8 +543,9 @@ end;
 $$ language plpgsql;
 
 -- Comments for search components
-comment on materialized view book_search_view is 'Denormalized view optimized for full-text and fuzzy search';
 comment on function search_books is 'Smart search combining exact, full-text, and fuzzy matching strategies';
+comment on function search_books_after is 'Keyset-paginated search_books resuming after (relevance_score, sort_title, sort_key)';
+comment on function search_books_tier_candidates is 'Candidates from one search_books strategy tier (exact, fulltext, fuzzy) for Java-side tiered execution';
+comment on function search_books_tier_rank is 'Ranks and limits tiered search rows, then attaches primary-edition and title/author dedupe hints';
 comment on function search_by_isbn is 'Search for books by ISBN-10 or ISBN-13, handles various formats';
 comment on function search_authors is 'Search for authors with relevance ranking and book count';
-comment on function refresh_book_search_view is 'Refresh the search materialized view after bulk updates';
@@ -0,0 +1,32 @@
+-- Materialized top-K similar-book lists per similarity contract.
+--
+-- One row per (book, model_version, profile_hash) keeps the ranked neighbor ids
+-- and cosine scores as parallel arrays, so serving a similar-books read is a
+-- single primary-key lookup regardless of how many vectors exist.
+-- source_computed_at records the book's vector computed_at when the list was
+-- built; a newer vector marks the list (and lists that contain the book) stale.
+
+create table if not exists book_similarity_neighbors (
+  book_id uuid not null references books(id) on delete cascade,
+  model_version text not null,
+  profile_hash text not null,
+  neighbor_book_ids uuid[] not null,
+  similarities real[] not null,
+  source_computed_at timestamptz not null,
+  computed_at timestamptz not null default now(),
+  primary key (book_id, model_version, profile_hash),
+  constraint book_similarity_neighbors_arrays_check
+    check (cardinality(neighbor_book_ids) = cardinality(similarities))
+);
+
+create index if not exists idx_book_similarity_neighbors_members
+  on book_similarity_neighbors using gin (neighbor_book_ids);
+
+comment on table book_similarity_neighbors is
+  'Precomputed nearest-neighbor lists served by similar-book reads for the active similarity contract.';
+comment on column book_similarity_neighbors.neighbor_book_ids is
+  'Neighbor book ids ranked by descending cosine similarity, excluding same-work editions.';
+comment on column book_similarity_neighbors.similarities is
+  'Cosine similarity for each entry of neighbor_book_ids, in the same order.';
+comment on column book_similarity_neighbors.source_computed_at is
+  'book_similarity_vectors.computed_at of the source vector when this list was built.';
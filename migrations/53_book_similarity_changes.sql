@@ -0,0 +1,63 @@
+-- Change log that drives book similarity refresh discovery.
+--
+-- Writes that can change a book's similarity source (books.updated_at moving, or a
+-- new current book_ai_content version) upsert one row per book here. The refresh
+-- scheduler claims rows in changed_at order instead of anti-joining the whole
+-- catalog against book_similarity_vectors every pass. Claimed rows are deleted;
+-- refreshes that cannot run re-insert their books.
+
+create table if not exists book_similarity_changes (
+  book_id uuid primary key references books(id) on delete cascade,
+  changed_at timestamptz not null default now()
+);
+
+create index if not exists idx_book_similarity_changes_changed_at
+  on book_similarity_changes (changed_at);
+
+create or replace function record_book_similarity_change()
+returns trigger as $$
+declare
+  changed_book_id uuid;
+begin
+  if TG_TABLE_NAME = 'books' then
+    if NEW.title is null then
+      return NEW;
+    end if;
+    if TG_OP = 'UPDATE' and NEW.updated_at is not distinct from OLD.updated_at then
+      return NEW;
+    end if;
+    changed_book_id := NEW.id;
+  else
+    changed_book_id := NEW.book_id;
+  end if;
+
+  insert into book_similarity_changes (book_id, changed_at)
+  values (changed_book_id, now())
+  on conflict (book_id) do update set changed_at = excluded.changed_at;
+  return NEW;
+end;
+$$ language plpgsql;
+
+drop trigger if exists books_similarity_change on books;
+create trigger books_similarity_change
+  after insert or update on books
+  for each row
+  execute function record_book_similarity_change();
+
+drop trigger if exists book_ai_content_similarity_change on book_ai_content;
+create trigger book_ai_content_similarity_change
+  after insert or update of is_current on book_ai_content
+  for each row
+  when (NEW.is_current)
+  execute function record_book_similarity_change();
+
+-- Refreshes that find a book's source hash unchanged stamp source_checked_at so
+-- the periodic full scan stops re-offering books whose updated_at moved without
+-- changing their similarity source.
+alter table book_similarity_vectors
+  add column if not exists source_checked_at timestamptz;
+
+comment on column book_similarity_vectors.source_checked_at is
+  'Last time a refresh confirmed source_hash still matches the rendered source without recomputing the vector.';
+comment on table book_similarity_changes is
+  'Books whose similarity source may have changed since their last refresh, claimed by the embedding scheduler.';
@@ -0,0 +1,13 @@
+-- Binary-quantized first-stage index for book similarity search.
+--
+-- binary_quantize() keeps the sign of each of the 2560 halfvec dimensions, so
+-- the index stores 320 bytes per vector instead of 5120 and builds with
+-- Hamming distance instead of float cosine. Queries opt in through
+-- APP_SIMILARITY_EMBEDDINGS_QUANTIZED_SEARCH_ENABLED: they take a candidate pool
+-- from this index and re-rank it exactly against qwen_4b_fp16.
+-- It is an expression index, so no extra column has to be written or backfilled.
+
+create index if not exists idx_book_similarity_vectors_qwen_bit_hnsw
+  on book_similarity_vectors
+  using hnsw ((binary_quantize(qwen_4b_fp16)::bit(2560)) bit_hamming_ops)
+  where qwen_4b_fp16 is not null;
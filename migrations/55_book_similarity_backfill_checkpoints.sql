@@ -0,0 +1,20 @@
+-- Resume points for streaming book similarity backfills.
+--
+-- The streaming backfill walks stale books in primary-key order. After every
+-- batch whose predecessors have all finished, it records the highest book id
+-- reached for the contract, so a killed run can continue from there instead of
+-- rescanning the catalog. The row is deleted when a run reaches the end.
+
+create table if not exists book_similarity_backfill_checkpoints (
+  model_version text not null,
+  profile_hash text not null,
+  last_book_id uuid not null,
+  refreshed_count bigint not null default 0,
+  updated_at timestamptz not null default now(),
+  primary key (model_version, profile_hash)
+);
+
+comment on table book_similarity_backfill_checkpoints is
+  'Last contiguously completed book id of an unfinished streaming similarity backfill, per contract.';
+comment on column book_similarity_backfill_checkpoints.refreshed_count is
+  'Vectors rewritten by the run so far, carried across resumes for progress reporting.';
@@ -0,0 +1,18 @@
+-- Anonymous session keys on detail page views, feeding the co-view
+-- recommendation graph.
+--
+-- session_key is a salted hash of the client address and user agent whose
+-- salt lives only in application memory and rotates every UTC day, so views
+-- can be grouped into same-day sessions but never tied back to a visitor.
+-- Rows written before this column existed keep a NULL key and are ignored by
+-- the co-occurrence job.
+
+alter table recent_book_views
+  add column if not exists session_key text;
+
+create index if not exists idx_recent_book_views_session_key_viewed_at
+  on recent_book_views(viewed_at, session_key, book_id)
+  where session_key is not null;
+
+comment on column recent_book_views.session_key is
+  'Anonymous daily-rotating session hash used to group views for co-view recommendations; NULL when unknown.';
@@ -0,0 +1,23 @@
+-- Resume point for the batch recommendation precompute pass.
+--
+-- The pass walks primary-edition books in primary-key order and rewrites
+-- pipeline recommendations for every book whose rows are missing or expired.
+-- After each page it records the highest book id written, so a restarted pass
+-- continues from there instead of rescanning the catalog. The row is deleted
+-- when a pass reaches the end.
+
+create table if not exists book_recommendation_precompute_checkpoints (
+  singleton boolean primary key default true check (singleton),
+  last_book_id uuid not null,
+  processed_count bigint not null default 0,
+  written_count bigint not null default 0,
+  started_at timestamptz not null default now(),
+  updated_at timestamptz not null default now()
+);
+
+comment on table book_recommendation_precompute_checkpoints is
+  'Last completed book id of an unfinished recommendation precompute pass (at most one row).';
+comment on column book_recommendation_precompute_checkpoints.processed_count is
+  'Source books scored by the pass so far, carried across resumes for progress reporting.';
+comment on column book_recommendation_precompute_checkpoints.written_count is
+  'Recommendation rows written by the pass so far, carried across resumes for progress reporting.';
@@ -0,0 +1,23 @@
+-- Wake-up channel for the outbox relay.
+--
+-- Every statement that inserts into events_outbox sends a NOTIFY on the
+-- events_outbox channel. Postgres delivers it only when the inserting
+-- transaction commits and folds duplicate notifications from one transaction
+-- into one, so the relay wakes once per committed write and never before the
+-- rows are visible. The payload is empty; the relay always reads unsent rows
+-- from the table, so a missed notification only delays delivery until the
+-- relay's safety-net poll.
+
+create or replace function notify_events_outbox()
+returns trigger as $$
+begin
+  perform pg_notify('events_outbox', '');
+  return null;
+end;
+$$ language plpgsql;
+
+drop trigger if exists events_outbox_notify on events_outbox;
+create trigger events_outbox_notify
+  after insert on events_outbox
+  for each statement
+  execute function notify_events_outbox();
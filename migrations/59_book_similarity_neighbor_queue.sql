@@ -0,0 +1,62 @@
+-- Work queue that drives materialized similar-book list refreshes.
+--
+-- A book vector whose computed_at moves queues its list with expand_affected set,
+-- so the refresh pass also recomputes the lists the book may have entered or left.
+-- Lists the pass could not reach within its per-tick cap are queued again with
+-- expand_affected unset and only have their own list rebuilt. The refresh job
+-- claims rows in queued_at order instead of anti-joining every vector against
+-- book_similarity_neighbors each minute. Claimed rows are deleted; passes that
+-- fail re-insert what they claimed.
+
+create table if not exists book_similarity_neighbor_queue (
+  book_id uuid not null references books(id) on delete cascade,
+  model_version text not null,
+  profile_hash text not null,
+  expand_affected boolean not null default true,
+  queued_at timestamptz not null default now(),
+  primary key (book_id, model_version, profile_hash)
+);
+
+create index if not exists idx_book_similarity_neighbor_queue_contract
+  on book_similarity_neighbor_queue (model_version, profile_hash, queued_at);
+
+create or replace function queue_book_similarity_neighbor_list()
+returns trigger as $$
+begin
+  if TG_OP = 'UPDATE' and NEW.computed_at is not distinct from OLD.computed_at then
+    return NEW;
+  end if;
+
+  insert into book_similarity_neighbor_queue (book_id, model_version, profile_hash, expand_affected, queued_at)
+  values (NEW.book_id, NEW.model_version, NEW.profile_hash, true, now())
+  on conflict (book_id, model_version, profile_hash) do update set expand_affected = true;
+  return NEW;
+end;
+$$ language plpgsql;
+
+drop trigger if exists book_similarity_vectors_neighbor_queue on book_similarity_vectors;
+create trigger book_similarity_vectors_neighbor_queue
+  after insert or update of computed_at on book_similarity_vectors
+  for each row
+  when (NEW.source_type = 'book' and NEW.computed_at is not null and NEW.qwen_4b_fp16 is not null)
+  execute function queue_book_similarity_neighbor_list();
+
+-- One-time backlog: vectors written before the trigger existed whose list is
+-- missing or older than the vector.
+insert into book_similarity_neighbor_queue (book_id, model_version, profile_hash, expand_affected, queued_at)
+select v.book_id, v.model_version, v.profile_hash, true, coalesce(n.computed_at, timestamptz 'epoch')
+from book_similarity_vectors v
+left join book_similarity_neighbors n
+  on n.book_id = v.book_id
+ and n.model_version = v.model_version
+ and n.profile_hash = v.profile_hash
+where v.source_type = 'book'
+  and v.qwen_4b_fp16 is not null
+  and v.computed_at is not null
+  and (n.book_id is null or n.source_computed_at < v.computed_at)
+on conflict (book_id, model_version, profile_hash) do nothing;
+
+comment on table book_similarity_neighbor_queue is
+  'Similar-book neighbor lists waiting to be recomputed, claimed by the neighbor-list refresh job.';
+comment on column book_similarity_neighbor_queue.expand_affected is
+  'True when the book''s vector changed, so lists that may now rank it differently are recomputed too.';
@@ -0,0 +1,31 @@
+-- Lease-based claims for the neighbor-list work queue.
+--
+-- A refresh pass used to delete the rows it claimed up front, so a pass killed
+-- between the claim and its list writes lost that work until the vectors changed
+-- again. Claims now stamp claimed_at instead; the pass deletes its rows only
+-- after the recomputed lists are committed, and rows whose lease has expired
+-- are claimed again by a later pass. Re-queueing a row, by the vector trigger
+-- or by a pass handing lists back, clears claimed_at so an in-flight pass
+-- cannot acknowledge work queued after it read the vectors.
+
+alter table book_similarity_neighbor_queue
+  add column if not exists claimed_at timestamptz;
+
+create or replace function queue_book_similarity_neighbor_list()
+returns trigger as $$
+begin
+  if TG_OP = 'UPDATE' and NEW.computed_at is not distinct from OLD.computed_at then
+    return NEW;
+  end if;
+
+  insert into book_similarity_neighbor_queue (book_id, model_version, profile_hash, expand_affected, queued_at)
+  values (NEW.book_id, NEW.model_version, NEW.profile_hash, true, now())
+  on conflict (book_id, model_version, profile_hash) do update set
+    expand_affected = true,
+    claimed_at = null;
+  return NEW;
+end;
+$$ language plpgsql;
+
+comment on column book_similarity_neighbor_queue.claimed_at is
+  'When a refresh pass claimed the row; NULL while waiting. Rows are deleted once their list is written, and expired claims are retried.';
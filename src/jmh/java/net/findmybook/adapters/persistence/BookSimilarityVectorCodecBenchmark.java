@@ -0,0 +1,95 @@
+package net.findmybook.adapters.persistence;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.postgresql.util.PGBinaryObject;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Encodes and decodes one 2560-dimension similarity vector, comparing the boxed decimal
+ * literal codec that used to cross JDBC, the primitive literal (still the text fallback), and
+ * the halfvec binary send/recv payload.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 3)
+@Fork(value = 1, jvmArgsAppend = "--enable-preview")
+public class BookSimilarityVectorCodecBenchmark {
+
+    private static final int DIMENSION = 2560;
+
+    private float[] embedding;
+    private List<Float> boxedEmbedding;
+    private String literal;
+    private byte[] binaryPayload;
+
+    @Setup(Level.Trial)
+    public void createEmbedding() {
+        Random random = new Random(42L);
+        embedding = new float[DIMENSION];
+        List<Float> boxed = new ArrayList<>(DIMENSION);
+        for (int index = 0; index < DIMENSION; index++) {
+            embedding[index] = (float) (random.nextGaussian() / Math.sqrt(DIMENSION));
+            boxed.add(embedding[index]);
+        }
+        boxedEmbedding = List.copyOf(boxed);
+        literal = BookSimilarityVectorLiteral.toHalfvecLiteral(embedding);
+        binaryPayload = encodeBinary();
+    }
+
+    @Benchmark
+    public String encodeBoxedLiteral() {
+        StringBuilder vectorBuilder = new StringBuilder(boxedEmbedding.size() * 12);
+        vectorBuilder.append('[');
+        for (int index = 0; index < boxedEmbedding.size(); index++) {
+            if (index > 0) {
+                vectorBuilder.append(',');
+            }
+            vectorBuilder.append(Float.toString(boxedEmbedding.get(index)));
+        }
+        return vectorBuilder.append(']').toString();
+    }
+
+    @Benchmark
+    public String encodeLiteral() {
+        return BookSimilarityVectorLiteral.toHalfvecLiteral(embedding);
+    }
+
+    @Benchmark
+    public byte[] encodeBinary() {
+        PGBinaryObject parameter = (PGBinaryObject) BookSimilarityVectorBinary.toHalfvecParameter(embedding);
+        byte[] payload = new byte[parameter.lengthInBytes()];
+        parameter.toBytes(payload, 0);
+        return payload;
+    }
+
+    @Benchmark
+    public List<Float> decodeBoxedLiteral() {
+        String[] values = literal.substring(1, literal.length() - 1).split(",");
+        List<Float> floats = new ArrayList<>(values.length);
+        for (String value : values) {
+            floats.add(Float.parseFloat(value.trim()));
+        }
+        return List.copyOf(floats);
+    }
+
+    @Benchmark
+    public float[] decodeBinary() {
+        return BookSimilarityVectorBinary.fromHalfvecSend(binaryPayload);
+    }
+}
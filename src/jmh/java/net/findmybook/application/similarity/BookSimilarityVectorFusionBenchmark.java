@@ -0,0 +1,114 @@
+package net.findmybook.application.similarity;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Fuses one book's section embeddings the way a backfill does, comparing the previous boxed
+ * {@code List<Float>} path against the primitive {@code float[]} path with scalar and Vector API
+ * kernels. Run with the GC profiler (the default in {@code SearchBenchmarkRunner}) to see the
+ * allocation difference per fused book.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 3)
+@Fork(value = 1, jvmArgsAppend = {"--enable-preview", "--add-modules=jdk.incubator.vector"})
+public class BookSimilarityVectorFusionBenchmark {
+
+    private static final int DIMENSION = BookSimilarityVectorFusion.EMBEDDING_DIMENSION;
+
+    @Param({"5"})
+    public int sections;
+
+    private List<List<Float>> boxedEmbeddings;
+    private List<Double> boxedWeights;
+    private List<float[]> embeddings;
+    private double[] weights;
+    private EmbeddingVectorOps scalarOps;
+    private EmbeddingVectorOps vectorOps;
+
+    @Setup(Level.Trial)
+    public void createEmbeddings() {
+        Random random = new Random(42L);
+        boxedEmbeddings = new ArrayList<>(sections);
+        boxedWeights = new ArrayList<>(sections);
+        embeddings = new ArrayList<>(sections);
+        weights = new double[sections];
+        for (int sectionIndex = 0; sectionIndex < sections; sectionIndex++) {
+            float[] embedding = new float[DIMENSION];
+            List<Float> boxed = new ArrayList<>(DIMENSION);
+            for (int index = 0; index < DIMENSION; index++) {
+                embedding[index] = (float) random.nextGaussian();
+                boxed.add(embedding[index]);
+            }
+            embeddings.add(embedding);
+            boxedEmbeddings.add(List.copyOf(boxed));
+            weights[sectionIndex] = 1.0d / sections;
+            boxedWeights.add(weights[sectionIndex]);
+        }
+        scalarOps = new ScalarEmbeddingVectorOps();
+        vectorOps = EmbeddingVectorOps.preferred();
+    }
+
+    @Benchmark
+    public List<Float> boxedList() {
+        return fuseBoxed(boxedEmbeddings, boxedWeights);
+    }
+
+    @Benchmark
+    public float[] primitiveScalar() {
+        return BookSimilarityVectorFusion.fuseWeighted(embeddings, weights, scalarOps);
+    }
+
+    @Benchmark
+    public float[] primitiveVector() {
+        return BookSimilarityVectorFusion.fuseWeighted(embeddings, weights, vectorOps);
+    }
+
+    // The List<Float> fusion the float[] path replaced, kept here as the baseline.
+    private static List<Float> fuseBoxed(List<List<Float>> weightedEmbeddings, List<Double> embeddingWeights) {
+        double[] fused = new double[DIMENSION];
+        for (int embeddingIndex = 0; embeddingIndex < weightedEmbeddings.size(); embeddingIndex++) {
+            List<Float> embedding = weightedEmbeddings.get(embeddingIndex);
+            double sum = 0.0d;
+            for (Float component : embedding) {
+                sum += component * component;
+            }
+            double norm = Math.sqrt(sum);
+            if (norm == 0.0d) {
+                continue;
+            }
+            double weight = embeddingWeights.get(embeddingIndex);
+            for (int index = 0; index < DIMENSION; index++) {
+                fused[index] += (embedding.get(index) / norm) * weight;
+            }
+        }
+        double fusedSum = 0.0d;
+        for (double component : fused) {
+            fusedSum += component * component;
+        }
+        double fusedNorm = Math.sqrt(fusedSum);
+        List<Float> result = new ArrayList<>(DIMENSION);
+        for (double component : fused) {
+            result.add((float) (fusedNorm == 0.0d ? component : component / fusedNorm));
+        }
+        return List.copyOf(result);
+    }
+}
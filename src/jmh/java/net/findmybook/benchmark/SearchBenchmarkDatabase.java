@@ -0,0 +1,137 @@
+package net.findmybook.benchmark;
+
+import com.zaxxer.hikari.HikariConfig;
+import com.zaxxer.hikari.HikariDataSource;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.testcontainers.containers.Container;
+import org.testcontainers.postgresql.PostgreSQLContainer;
+import org.testcontainers.utility.DockerImageName;
+import org.testcontainers.utility.MountableFile;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+/**
+ * Disposable Postgres (with pgvector, pg_trgm, pgcrypto) carrying the canonical schema and a
+ * seeded synthetic catalog. One instance backs one JMH trial.
+ */
+public final class SearchBenchmarkDatabase implements AutoCloseable {
+
+    private static final DockerImageName IMAGE = DockerImageName.parse("pgvector/pgvector:pg17")
+        .asCompatibleSubstituteFor("postgres");
+    private static final String CONTAINER_ROOT = "/findmybook";
+    // Mirrors spring.datasource.hikari in application.yml so timings include production pool behaviour.
+    private static final int MAXIMUM_POOL_SIZE = 20;
+    private static final int MINIMUM_IDLE = 5;
+    private static final long CONNECTION_TIMEOUT_MS = 2000;
+    private static final long VALIDATION_TIMEOUT_MS = 1000;
+
+    private final PostgreSQLContainer postgres;
+    private final HikariDataSource dataSource;
+    private final JdbcTemplate jdbcTemplate;
+    private final SyntheticCatalog catalog;
+
+    private SearchBenchmarkDatabase(PostgreSQLContainer postgres,
+                                    HikariDataSource dataSource,
+                                    JdbcTemplate jdbcTemplate,
+                                    SyntheticCatalog catalog) {
+        this.postgres = postgres;
+        this.dataSource = dataSource;
+        this.jdbcTemplate = jdbcTemplate;
+        this.catalog = catalog;
+    }
+
+    /**
+     * Starts a container, applies {@code src/main/resources/schema.sql}, and seeds the catalog.
+     *
+     * @param bookCount editions to seed
+     * @param editionsPerWork editions per work cluster
+     * @param seed catalog seed
+     * @return ready database; close it to stop the container
+     */
+    public static SearchBenchmarkDatabase start(int bookCount, int editionsPerWork, long seed) {
+        Path projectRoot = locateProjectRoot();
+        PostgreSQLContainer postgres = new PostgreSQLContainer(IMAGE)
+            .withCopyFileToContainer(MountableFile.forHostPath(projectRoot.resolve("migrations")), CONTAINER_ROOT + "/migrations")
+            .withCopyFileToContainer(
+                MountableFile.forHostPath(projectRoot.resolve("src/main/resources/schema.sql")),
+                CONTAINER_ROOT + "/src/main/resources/schema.sql");
+        postgres.start();
+        HikariDataSource dataSource = null;
+        try {
+            applySchema(postgres);
+            dataSource = pooledDataSource(postgres);
+            JdbcTemplate jdbcTemplate = new JdbcTemplate(dataSource);
+            SyntheticCatalog catalog = new SyntheticCatalogSeeder(jdbcTemplate).seed(bookCount, editionsPerWork, seed);
+            return new SearchBenchmarkDatabase(postgres, dataSource, jdbcTemplate, catalog);
+        } catch (RuntimeException ex) {
+            if (dataSource != null) {
+                dataSource.close();
+            }
+            postgres.stop();
+            throw ex;
+        }
+    }
+
+    public JdbcTemplate jdbcTemplate() {
+        return jdbcTemplate;
+    }
+
+    public SyntheticCatalog catalog() {
+        return catalog;
+    }
+
+    @Override
+    public void close() {
+        try {
+            dataSource.close();
+        } finally {
+            postgres.stop();
+        }
+    }
+
+    private static HikariDataSource pooledDataSource(PostgreSQLContainer postgres) {
+        HikariConfig config = new HikariConfig();
+        config.setPoolName("search-benchmark");
+        config.setJdbcUrl(postgres.getJdbcUrl());
+        config.setUsername(postgres.getUsername());
+        config.setPassword(postgres.getPassword());
+        config.setMaximumPoolSize(MAXIMUM_POOL_SIZE);
+        config.setMinimumIdle(MINIMUM_IDLE);
+        config.setConnectionTimeout(CONNECTION_TIMEOUT_MS);
+        config.setValidationTimeout(VALIDATION_TIMEOUT_MS);
+        return new HikariDataSource(config);
+    }
+
+    private static void applySchema(PostgreSQLContainer postgres) {
+        try {
+            Container.ExecResult result = postgres.execInContainer(
+                "psql", "-v", "ON_ERROR_STOP=1", "-q",
+                "-U", postgres.getUsername(),
+                "-d", postgres.getDatabaseName(),
+                "-f", CONTAINER_ROOT + "/src/main/resources/schema.sql");
+            if (result.getExitCode() != 0) {
+                throw new IllegalStateException("Applying schema.sql failed: " + result.getStderr());
+            }
+        } catch (IOException ex) {
+            throw new IllegalStateException("Could not run psql in the benchmark container", ex);
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while applying schema.sql", ex);
+        }
+    }
+
+    // JMH forks inherit the Gradle working directory, but allow running from a module subdirectory too.
+    private static Path locateProjectRoot() {
+        Path candidate = Path.of("").toAbsolutePath();
+        while (candidate != null) {
+            if (Files.isDirectory(candidate.resolve("migrations"))
+                && Files.isRegularFile(candidate.resolve("src/main/resources/schema.sql"))) {
+                return candidate;
+            }
+            candidate = candidate.getParent();
+        }
+        throw new IllegalStateException("Could not locate the project root (migrations/ and schema.sql)");
+    }
+}
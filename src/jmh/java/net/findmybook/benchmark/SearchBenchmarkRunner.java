@@ -0,0 +1,43 @@
+package net.findmybook.benchmark;
+
+import org.openjdk.jmh.profile.GCProfiler;
+import org.openjdk.jmh.results.format.ResultFormatType;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.options.CommandLineOptionException;
+import org.openjdk.jmh.runner.options.CommandLineOptions;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+/**
+ * Entry point for {@code ./gradlew jmh}. Accepts the standard JMH command line (benchmark regex,
+ * {@code -p param=value}, {@code -f}, ...) and always adds the GC profiler so allocation rate is
+ * reported next to throughput and sampled p50/p99 latency.
+ */
+public final class SearchBenchmarkRunner {
+
+    private static final Path RESULT_FILE = Path.of("build", "reports", "jmh", "search-benchmarks.json");
+
+    private SearchBenchmarkRunner() {
+    }
+
+    public static void main(String[] args) throws RunnerException, CommandLineOptionException, IOException {
+        CommandLineOptions commandLine = new CommandLineOptions(args);
+        Files.createDirectories(RESULT_FILE.getParent());
+        OptionsBuilder builder = new OptionsBuilder();
+        builder.parent(commandLine);
+        if (commandLine.getIncludes().isEmpty()) {
+            builder.include("net\\.findmybook\\.service\\..*Benchmark");
+        }
+        Options options = builder
+            .addProfiler(GCProfiler.class)
+            .resultFormat(ResultFormatType.JSON)
+            .result(RESULT_FILE.toString())
+            .build();
+        new Runner(options).run();
+    }
+}
@@ -0,0 +1,16 @@
+package net.findmybook.benchmark;
+
+/**
+ * Query shapes the search benchmarks report separately, one per {@code search_books()} strategy
+ * plus the dedicated ISBN lookup.
+ */
+public enum SearchQueryClass {
+    /** Full seeded title; served by the exact-title tier. */
+    EXACT,
+    /** Two words from a seeded title or an author surname; served by the full-text tier. */
+    FULLTEXT,
+    /** Seeded title with a transposed character; falls through to the trigram tier. */
+    FUZZY,
+    /** Seeded ISBN-13 with hyphens. */
+    ISBN
+}
@@ -0,0 +1,83 @@
+package net.findmybook.benchmark;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.Random;
+
+/**
+ * Query vocabulary captured while seeding, so benchmark queries always target rows that exist.
+ *
+ * @param bookCount number of seeded books (editions)
+ * @param titles distinct seeded work titles
+ * @param authorSurnames distinct seeded author surnames
+ * @param isbn13s seeded ISBN-13 values (digits only)
+ */
+public record SyntheticCatalog(int bookCount, List<String> titles, List<String> authorSurnames, List<String> isbn13s) {
+
+    public SyntheticCatalog {
+        titles = List.copyOf(titles);
+        authorSurnames = List.copyOf(authorSurnames);
+        isbn13s = List.copyOf(isbn13s);
+    }
+
+    /**
+     * Builds a deterministic pool of queries for one query class.
+     *
+     * @param queryClass query shape
+     * @param size number of queries
+     * @param seed random seed so runs stay comparable
+     * @return query strings in the order benchmarks should cycle through them
+     */
+    public List<String> queries(SearchQueryClass queryClass, int size, long seed) {
+        Random random = new Random(seed ^ queryClass.ordinal());
+        List<String> queries = new ArrayList<>(size);
+        for (int i = 0; i < size; i++) {
+            queries.add(switch (queryClass) {
+                case EXACT -> pick(titles, random);
+                case FULLTEXT -> fulltextQuery(random);
+                case FUZZY -> transposeOneCharacter(pick(titles, random), random);
+                case ISBN -> hyphenate(pick(isbn13s, random));
+            });
+        }
+        return List.copyOf(queries);
+    }
+
+    private String fulltextQuery(Random random) {
+        if (random.nextInt(4) == 0) {
+            return pick(authorSurnames, random);
+        }
+        String[] words = pick(titles, random).split(" ");
+        if (words.length < 2) {
+            return words[0];
+        }
+        int first = random.nextInt(words.length - 1);
+        return words[first] + " " + words[first + 1];
+    }
+
+    private static String transposeOneCharacter(String title, Random random) {
+        String lower = title.toLowerCase(Locale.ROOT);
+        if (lower.length() < 4) {
+            return lower + "x";
+        }
+        int candidates = lower.length() - 1;
+        for (int attempt = 0; attempt < candidates; attempt++) {
+            int i = 1 + random.nextInt(Math.max(1, candidates - 1));
+            char left = lower.charAt(i);
+            char right = lower.charAt(i + 1);
+            if (left != right && Character.isLetter(left) && Character.isLetter(right)) {
+                return lower.substring(0, i) + right + left + lower.substring(i + 2);
+            }
+        }
+        return lower + "x";
+    }
+
+    private static String hyphenate(String isbn13) {
+        return isbn13.substring(0, 3) + "-" + isbn13.substring(3, 4) + "-" + isbn13.substring(4, 8)
+            + "-" + isbn13.substring(8, 12) + "-" + isbn13.substring(12);
+    }
+
+    private static String pick(List<String> values, Random random) {
+        return values.get(random.nextInt(values.size()));
+    }
+}
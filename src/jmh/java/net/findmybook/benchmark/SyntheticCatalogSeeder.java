@@ -0,0 +1,223 @@
+package net.findmybook.benchmark;
+
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Random;
+import java.util.Set;
+import java.util.UUID;
+
+/**
+ * Seeds a deterministic synthetic catalog: works with several editions each, a shared author
+ * pool, work clusters with one primary edition, and cover image links of mixed resolution.
+ *
+ * <p>Rows go through the same tables and triggers the application writes to, then
+ * {@code book_search_view} is rebuilt once so {@code search_books()} sees the full catalog.</p>
+ */
+public final class SyntheticCatalogSeeder {
+
+    private static final int BATCH_WORKS = 500;
+    private static final int QUERY_VOCABULARY_LIMIT = 5_000;
+
+    private static final String[] TITLE_WORDS = {
+        "shadow", "river", "empire", "garden", "winter", "silent", "iron", "glass", "harbor", "crown",
+        "midnight", "orchard", "lantern", "compass", "thunder", "velvet", "ember", "quarry", "meadow", "falcon",
+        "archive", "beacon", "cipher", "delta", "echo", "frontier", "granite", "horizon", "island", "jubilee",
+        "kingdom", "labyrinth", "monsoon", "nebula", "obsidian", "paradox", "quartz", "requiem", "summit", "tempest",
+        "umbra", "voyage", "willow", "zenith", "atlas", "bramble", "cathedral", "dynasty", "equinox", "foundry",
+        "gallery", "hollow", "ivory", "juniper", "keystone", "lighthouse", "mosaic", "nomad", "oracle", "pilgrim",
+        "raven", "sapphire", "tundra", "utopia", "vortex", "wander", "yonder", "alchemy", "borealis", "citadel",
+        "distant", "eclipse", "fable", "glacier", "hymn", "inferno", "jasmine", "kestrel", "legacy", "mirage"
+    };
+    private static final String[] FIRST_NAMES = {
+        "Ada", "Bruno", "Clara", "Dmitri", "Elena", "Felix", "Greta", "Hiro", "Imani", "Jonas",
+        "Kira", "Liam", "Mara", "Nikolai", "Olga", "Pablo", "Quinn", "Rosa", "Soren", "Talia",
+        "Umar", "Vera", "Wes", "Xenia", "Yusuf", "Zora", "Anton", "Beatrix", "Cyrus", "Delphine"
+    };
+    private static final String[] SURNAMES = {
+        "Abernathy", "Blackwood", "Castellano", "Drummond", "Ellsworth", "Fairbanks", "Galloway", "Hargrove",
+        "Ingram", "Jaramillo", "Kowalski", "Lindqvist", "Montague", "Nakamura", "Okonkwo", "Pemberton",
+        "Quintero", "Rasmussen", "Sokolova", "Thornbury", "Underhill", "Valdivia", "Whitlock", "Yamamoto",
+        "Zielinski", "Ashdown", "Bellweather", "Crowther", "Delacroix", "Everhart", "Fitzgerald", "Grimaldi"
+    };
+
+    private final JdbcTemplate jdbcTemplate;
+
+    public SyntheticCatalogSeeder(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    /**
+     * Seeds {@code bookCount} editions grouped into works of {@code editionsPerWork}.
+     *
+     * @param bookCount total editions to insert
+     * @param editionsPerWork editions sharing one work cluster (1 disables clustering)
+     * @param seed random seed so catalogs are reproducible
+     * @return vocabulary for generating benchmark queries
+     */
+    public SyntheticCatalog seed(int bookCount, int editionsPerWork, long seed) {
+        Random random = new Random(seed);
+        int perWork = Math.max(1, Math.min(editionsPerWork, 100));
+        int workCount = Math.max(1, (bookCount + perWork - 1) / perWork);
+        List<String> authorIds = seedAuthors(Math.max(1, workCount / 3));
+
+        Set<String> titles = new LinkedHashSet<>();
+        Set<String> surnames = new LinkedHashSet<>();
+        List<String> isbns = new ArrayList<>();
+        List<Object[]> books = new ArrayList<>();
+        List<Object[]> bookAuthors = new ArrayList<>();
+        List<Object[]> clusters = new ArrayList<>();
+        List<Object[]> clusterMembers = new ArrayList<>();
+        List<Object[]> imageLinks = new ArrayList<>();
+
+        int bookIndex = 0;
+        for (int work = 0; work < workCount && bookIndex < bookCount; work++) {
+            String title = randomTitle(random);
+            int authorIndex = random.nextInt(authorIds.size());
+            String authorId = authorIds.get(authorIndex);
+            String authorName = authorName(authorIndex);
+            if (titles.size() < QUERY_VOCABULARY_LIMIT) {
+                titles.add(title);
+            }
+            if (surnames.size() < QUERY_VOCABULARY_LIMIT) {
+                surnames.add(authorName.substring(authorName.lastIndexOf(' ') + 1));
+            }
+
+            int editions = Math.min(perWork, bookCount - bookIndex);
+            UUID clusterId = editions > 1 ? deterministicUuid("cluster-" + work) : null;
+            if (clusterId != null) {
+                clusters.add(new Object[] {clusterId, title, authorName, 0.9, "MANUAL", editions});
+            }
+            for (int edition = 0; edition < editions; edition++, bookIndex++) {
+                UUID bookId = deterministicUuid("book-" + bookIndex);
+                String isbn13 = isbn13(bookIndex);
+                if (isbns.size() < QUERY_VOCABULARY_LIMIT) {
+                    isbns.add(isbn13);
+                }
+                books.add(new Object[] {
+                    bookId,
+                    title,
+                    "A " + TITLE_WORDS[random.nextInt(TITLE_WORDS.length)] + " tale by " + authorName,
+                    isbn13,
+                    LocalDate.of(1950 + random.nextInt(75), 1 + random.nextInt(12), 1 + random.nextInt(28)),
+                    "Bench Press " + (1 + random.nextInt(40)),
+                    120 + random.nextInt(600),
+                    "bench-" + bookIndex
+                });
+                bookAuthors.add(new Object[] {"ba" + bookIndex, bookId, authorId});
+                if (clusterId != null) {
+                    clusterMembers.add(new Object[] {clusterId, bookId, edition == 0});
+                }
+                int coverRoll = random.nextInt(10);
+                if (coverRoll < 7) {
+                    boolean highRes = coverRoll < 3;
+                    imageLinks.add(new Object[] {
+                        "img" + bookIndex,
+                        bookId,
+                        highRes ? "extraLarge" : "thumbnail",
+                        "https://covers.example.test/" + bookIndex + ".jpg",
+                        highRes ? 800 : 128,
+                        highRes ? 1200 : 192,
+                        highRes
+                    });
+                }
+            }
+            if (work % BATCH_WORKS == BATCH_WORKS - 1) {
+                flush(books, bookAuthors, clusters, clusterMembers, imageLinks);
+            }
+        }
+        flush(books, bookAuthors, clusters, clusterMembers, imageLinks);
+
+        jdbcTemplate.execute("SELECT refresh_book_search_view()");
+        jdbcTemplate.execute("DELETE FROM book_search_view_pending");
+        jdbcTemplate.execute("ANALYZE");
+        return new SyntheticCatalog(bookIndex, List.copyOf(titles), List.copyOf(surnames), isbns);
+    }
+
+    private List<String> seedAuthors(int authorCount) {
+        List<String> ids = new ArrayList<>(authorCount);
+        List<Object[]> rows = new ArrayList<>(authorCount);
+        for (int i = 0; i < authorCount; i++) {
+            String id = "au" + i;
+            String name = authorName(i);
+            ids.add(id);
+            rows.add(new Object[] {id, name, name.toLowerCase(Locale.ROOT)});
+        }
+        jdbcTemplate.batchUpdate("INSERT INTO authors (id, name, normalized_name) VALUES (?, ?, ?)", rows);
+        return ids;
+    }
+
+    private void flush(List<Object[]> books,
+                       List<Object[]> bookAuthors,
+                       List<Object[]> clusters,
+                       List<Object[]> clusterMembers,
+                       List<Object[]> imageLinks) {
+        jdbcTemplate.batchUpdate("""
+            INSERT INTO books (id, title, description, isbn13, published_date, publisher, page_count, slug, language)
+            VALUES (?, ?, ?, ?, ?, ?, ?, ?, 'en')
+            """, books);
+        jdbcTemplate.batchUpdate(
+            "INSERT INTO book_authors_join (id, book_id, author_id, position) VALUES (?, ?, ?, 0)", bookAuthors);
+        jdbcTemplate.batchUpdate("""
+            INSERT INTO work_clusters (id, canonical_title, canonical_author, confidence_score, cluster_method, member_count)
+            VALUES (?, ?, ?, ?, ?, ?)
+            """, clusters);
+        jdbcTemplate.batchUpdate("""
+            INSERT INTO work_cluster_members (cluster_id, book_id, is_primary, confidence, join_reason)
+            VALUES (?, ?, ?, 0.9, 'MANUAL')
+            """, clusterMembers);
+        jdbcTemplate.batchUpdate("""
+            INSERT INTO book_image_links (id, book_id, image_type, url, source, width, height, is_high_resolution)
+            VALUES (?, ?, ?, ?, 'GOOGLE_BOOKS', ?, ?, ?)
+            """, imageLinks);
+        books.clear();
+        bookAuthors.clear();
+        clusters.clear();
+        clusterMembers.clear();
+        imageLinks.clear();
+    }
+
+    private static String randomTitle(Random random) {
+        int words = 2 + random.nextInt(4);
+        StringBuilder title = new StringBuilder();
+        for (int i = 0; i < words; i++) {
+            String word = TITLE_WORDS[random.nextInt(TITLE_WORDS.length)];
+            if (i > 0) {
+                title.append(' ');
+            }
+            title.append(Character.toUpperCase(word.charAt(0))).append(word, 1, word.length());
+        }
+        return title.toString();
+    }
+
+    // Unique per index: first name x surname, then a middle initial once combinations run out.
+    private static String authorName(int index) {
+        int combinations = FIRST_NAMES.length * SURNAMES.length;
+        String first = FIRST_NAMES[index % FIRST_NAMES.length];
+        String surname = SURNAMES[(index / FIRST_NAMES.length) % SURNAMES.length];
+        int round = index / combinations;
+        if (round == 0) {
+            return first + " " + surname;
+        }
+        return first + " " + (char) ('A' + (round - 1) % 26) + (round > 26 ? String.valueOf(round / 26) : "") + ". " + surname;
+    }
+
+    private static String isbn13(int index) {
+        String body = "978" + String.format(Locale.ROOT, "%09d", index % 1_000_000_000);
+        int sum = 0;
+        for (int i = 0; i < body.length(); i++) {
+            int digit = body.charAt(i) - '0';
+            sum += (i % 2 == 0) ? digit : digit * 3;
+        }
+        return body + ((10 - sum % 10) % 10);
+    }
+
+    private static UUID deterministicUuid(String name) {
+        return UUID.nameUUIDFromBytes(name.getBytes(StandardCharsets.UTF_8));
+    }
+}
@@ -0,0 +1,35 @@
+package net.findmybook.service;
+
+import net.findmybook.benchmark.SearchQueryClass;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures {@link BookSearchService#searchBooks} (and {@link BookSearchService#searchByIsbn} for
+ * the ISBN class) against a seeded catalog.
+ */
+@BenchmarkMode({Mode.Throughput, Mode.SampleTime})
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 5)
+@Measurement(iterations = 5, time = 10)
+@Fork(value = 1, jvmArgsAppend = "--enable-preview")
+public class BookSearchServiceBenchmark {
+
+    private static final int SEARCH_LIMIT = 24;
+
+    @Benchmark
+    public Object searchBooks(SearchBenchmarkState state) {
+        String query = state.nextQuery();
+        if (state.queryClass == SearchQueryClass.ISBN) {
+            return state.bookSearchService.searchByIsbn(query);
+        }
+        return state.bookSearchService.searchBooks(query, SEARCH_LIMIT);
+    }
+}
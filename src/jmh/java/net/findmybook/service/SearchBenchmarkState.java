@@ -0,0 +1,82 @@
+package net.findmybook.service;
+
+import net.findmybook.benchmark.SearchBenchmarkDatabase;
+import net.findmybook.benchmark.SearchQueryClass;
+import net.findmybook.repository.BookQueryRepository;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import tools.jackson.databind.ObjectMapper;
+
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * Per-trial fixture shared by the search benchmarks: a seeded Postgres, the services under test
+ * wired without Spring, and a rotating pool of queries for one {@link SearchQueryClass}.
+ *
+ * <p>{@code cache=cold} drops the search result cache before every call so the tiered Postgres
+ * path is measured; {@code cache=warm} measures cache hits once the query pool has been seen.</p>
+ */
+@State(Scope.Benchmark)
+public class SearchBenchmarkState {
+
+    static final long SEED = 20_240_601L;
+    private static final int EDITIONS_PER_WORK = 3;
+    private static final int QUERY_POOL_SIZE = 512;
+
+    @Param({"10000"})
+    public int catalogSize;
+
+    @Param({"EXACT", "FULLTEXT", "FUZZY", "ISBN"})
+    public SearchQueryClass queryClass;
+
+    @Param({"cold", "warm"})
+    public String cache;
+
+    SearchBenchmarkDatabase database;
+    BookSearchService bookSearchService;
+    SearchPaginationService searchPaginationService;
+    private List<String> queries;
+    private int cursor;
+
+    @Setup(Level.Trial)
+    public void startDatabase() {
+        database = SearchBenchmarkDatabase.start(catalogSize, EDITIONS_PER_WORK, SEED);
+        BookQueryRepository bookQueryRepository = new BookQueryRepository(database.jdbcTemplate(), new ObjectMapper(), false, "");
+        bookSearchService = new BookSearchService(
+            database.jdbcTemplate(),
+            new BookSearchService.SearchDependencies(Optional.empty(), Optional.empty(), Optional.of(bookQueryRepository)),
+            false
+        );
+        searchPaginationService = new SearchPaginationService(
+            bookSearchService,
+            bookQueryRepository,
+            Optional.empty(),
+            Optional.empty()
+        );
+        queries = database.catalog().queries(queryClass, QUERY_POOL_SIZE, SEED);
+    }
+
+    @TearDown(Level.Trial)
+    public void stopDatabase() {
+        if (database != null) {
+            database.close();
+        }
+    }
+
+    /**
+     * Returns the next query in the pool, clearing the result cache first in cold mode.
+     */
+    String nextQuery() {
+        String query = queries.get(cursor);
+        cursor = (cursor + 1) % queries.size();
+        if ("cold".equals(cache)) {
+            bookSearchService.invalidateSearchResultCache();
+        }
+        return query;
+    }
+}
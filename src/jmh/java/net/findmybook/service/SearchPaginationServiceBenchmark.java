@@ -0,0 +1,40 @@
+package net.findmybook.service;
+
+import net.findmybook.model.image.CoverImageSource;
+import net.findmybook.model.image.ImageResolutionPreference;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures the first page of {@link SearchPaginationService#search} end to end: search, hydration,
+ * and page assembly. External providers are not wired, so fallback never leaves the process.
+ */
+@BenchmarkMode({Mode.Throughput, Mode.SampleTime})
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 5)
+@Measurement(iterations = 5, time = 10)
+@Fork(value = 1, jvmArgsAppend = "--enable-preview")
+public class SearchPaginationServiceBenchmark {
+
+    private static final int PAGE_SIZE = 12;
+
+    @Benchmark
+    public SearchPaginationService.SearchPage firstPage(SearchBenchmarkState state) {
+        SearchPaginationService.SearchRequest request = new SearchPaginationService.SearchRequest(
+            state.nextQuery(),
+            0,
+            PAGE_SIZE,
+            "relevance",
+            CoverImageSource.ANY,
+            ImageResolutionPreference.ANY
+        );
+        return state.searchPaginationService.search(request).block();
+    }
+}
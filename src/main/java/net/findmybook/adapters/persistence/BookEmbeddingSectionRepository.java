@@ -1,12 +1,16 @@
 package net.findmybook.adapters.persistence;
 
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
 import java.util.List;
-import java.util.Optional;
+import java.util.Map;
 import java.util.UUID;
 import net.findmybook.domain.similarity.BookSimilaritySectionInput;
 import net.findmybook.domain.similarity.BookSimilaritySectionKey;
 import net.findmybook.util.IdGenerator;
 import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowCallbackHandler;
 import org.springframework.stereotype.Repository;
 import org.springframework.transaction.annotation.Transactional;
 
@@ -24,6 +28,15 @@ public class BookEmbeddingSectionRepository {
 
     private static final String INPUT_FORMAT = "key_value";
     private static final int INPUT_PREVIEW_MAX_CHARS = 512;
+    private static final String UPSERT_SECTION_EMBEDDING_SQL = """
+        INSERT INTO book_embedding_sections
+          (id, book_id, section_key, input_format, input_hash, model, embedding, input_preview, updated_at)
+        VALUES (?, ?, ?, ?, ?, ?, CAST(? AS halfvec), ?, NOW())
+        ON CONFLICT (book_id, section_key, model, input_format, input_hash)
+        DO UPDATE SET embedding = EXCLUDED.embedding,
+                      input_preview = EXCLUDED.input_preview,
+                      updated_at = NOW()
+        """;
 
     private final JdbcTemplate jdbcTemplate;
 
@@ -32,72 +45,104 @@ public class BookEmbeddingSectionRepository {
     }
 
     /**
-     * Loads a cached section embedding for an exact model/input hash.
+     * Loads every cached section embedding for a set of exact cache keys in one round-trip.
      *
-     * @param bookId canonical book UUID
-     * @param sectionKey canonical section identifier
+     * <p>Keys are sent as parallel arrays and joined against the unique cache index, and
+     * vectors come back as {@code halfvec_send} bytes decoded straight into {@code float[]}.</p>
+     *
+     * @param cacheKeys book/section/input-hash tuples to look up
      * @param model active embeddings model
-     * @param inputHash SHA-256 hash over section input text
-     * @return decoded vector when a cache hit exists
+     * @return decoded vectors for the keys that hit; misses are absent
      */
     @Transactional(readOnly = true)
-    public Optional<List<Float>> fetchSectionEmbedding(UUID bookId,
-                                                       BookSimilaritySectionKey sectionKey,
-                                                       String model,
-                                                       String inputHash) {
-        String vectorText = jdbcTemplate.query(
+    public Map<SectionCacheKey, float[]> fetchSectionEmbeddings(Collection<SectionCacheKey> cacheKeys, String model) {
+        if (cacheKeys == null || cacheKeys.isEmpty()) {
+            return Map.of();
+        }
+        UUID[] bookIds = new UUID[cacheKeys.size()];
+        String[] sectionKeys = new String[cacheKeys.size()];
+        String[] inputHashes = new String[cacheKeys.size()];
+        int index = 0;
+        for (SectionCacheKey cacheKey : cacheKeys) {
+            bookIds[index] = cacheKey.bookId();
+            sectionKeys[index] = cacheKey.sectionKey().key();
+            inputHashes[index] = cacheKey.inputHash();
+            index++;
+        }
+        Map<SectionCacheKey, float[]> embeddings = new HashMap<>(cacheKeys.size());
+        jdbcTemplate.query(
             """
-            SELECT embedding::text
-            FROM book_embedding_sections
-            WHERE book_id = ?
-              AND section_key = ?
-              AND model = ?
-              AND input_format = ?
-              AND input_hash = ?
-            LIMIT 1
+            SELECT s.book_id, s.section_key, s.input_hash, halfvec_send(s.embedding) AS embedding
+            FROM unnest(?::UUID[], ?::TEXT[], ?::TEXT[]) AS requested(book_id, section_key, input_hash)
+            JOIN book_embedding_sections s
+              ON s.book_id = requested.book_id
+             AND s.section_key = requested.section_key
+             AND s.input_hash = requested.input_hash
+             AND s.model = ?
+             AND s.input_format = ?
             """,
-            rs -> rs.next() ? rs.getString(1) : null,
-            bookId,
-            sectionKey.key(),
+            (RowCallbackHandler) rs -> embeddings.put(
+                new SectionCacheKey(
+                    rs.getObject("book_id", UUID.class),
+                    BookSimilaritySectionKey.fromKey(rs.getString("section_key")),
+                    rs.getString("input_hash")
+                ),
+                BookSimilarityVectorBinary.fromHalfvecSend(rs.getBytes("embedding"))
+            ),
+            (Object) bookIds,
+            (Object) sectionKeys,
+            (Object) inputHashes,
             model,
-            INPUT_FORMAT,
-            inputHash
+            INPUT_FORMAT
         );
-        return vectorText == null ? Optional.empty() : Optional.of(BookSimilarityVectorLiteral.parseHalfvec(vectorText));
+        return embeddings;
     }
 
     /**
-     * Caches a section embedding under its exact source hash.
+     * Caches freshly generated section embeddings under their exact source hashes in one JDBC batch.
+     *
+     * @param sections generated embeddings with the section inputs they were produced from
+     * @param model active embeddings model
+     */
+    @Transactional
+    public void upsertSectionEmbeddings(List<GeneratedSection> sections, String model) {
+        if (sections == null || sections.isEmpty()) {
+            return;
+        }
+        List<Object[]> batchParameters = new ArrayList<>(sections.size());
+        for (GeneratedSection section : sections) {
+            batchParameters.add(new Object[] {
+                IdGenerator.generateLong(),
+                section.bookId(),
+                section.sectionInput().sectionKey().key(),
+                INPUT_FORMAT,
+                section.sectionInput().inputHash(),
+                model,
+                BookSimilarityVectorBinary.toHalfvecParameter(section.embedding()),
+                preview(section.sectionInput().text())
+            });
+        }
+        BookSimilarityVectorBinary.batchUpdate(jdbcTemplate, UPSERT_SECTION_EMBEDDING_SQL, batchParameters);
+    }
+
+    /**
+     * One section embedding produced by the provider and waiting to be cached.
      *
      * @param bookId canonical book UUID
      * @param sectionInput rendered section input used for the embedding call
-     * @param model active embeddings model
      * @param embedding vector produced by the embeddings provider
      */
-    @Transactional
-    public void upsertSectionEmbedding(UUID bookId,
-                                       BookSimilaritySectionInput sectionInput,
-                                       String model,
-                                       List<Float> embedding) {
-        jdbcTemplate.update(
-            """
-            INSERT INTO book_embedding_sections
-              (id, book_id, section_key, input_format, input_hash, model, embedding, input_preview, updated_at)
-            VALUES (?, ?, ?, ?, ?, ?, CAST(? AS halfvec), ?, NOW())
-            ON CONFLICT (book_id, section_key, model, input_format, input_hash)
-            DO UPDATE SET embedding = EXCLUDED.embedding,
-                          input_preview = EXCLUDED.input_preview,
-                          updated_at = NOW()
-            """,
-            IdGenerator.generateLong(),
-            bookId,
-            sectionInput.sectionKey().key(),
-            INPUT_FORMAT,
-            sectionInput.inputHash(),
-            model,
-            BookSimilarityVectorLiteral.toHalfvecLiteral(embedding),
-            preview(sectionInput.text())
-        );
+    public record GeneratedSection(UUID bookId, BookSimilaritySectionInput sectionInput, float[] embedding) {
+    }
+
+    /**
+     * Exact cache identity of one section embedding under a given model.
+     *
+     * @param bookId canonical book UUID
+     * @param sectionKey canonical section identifier
+     * @param inputHash SHA-256 hash over section input text
+     */
+    public record SectionCacheKey(UUID bookId, BookSimilaritySectionKey sectionKey, String inputHash) {
     }
 
     private static String preview(String text) {
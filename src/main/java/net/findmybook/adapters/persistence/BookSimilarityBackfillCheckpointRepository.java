@@ -0,0 +1,95 @@
+package net.findmybook.adapters.persistence;
+
+import java.util.Optional;
+import java.util.UUID;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+/**
+ * Postgres adapter for streaming similarity backfill resume points.
+ */
+@Repository
+public class BookSimilarityBackfillCheckpointRepository {
+
+    private final JdbcTemplate jdbcTemplate;
+
+    public BookSimilarityBackfillCheckpointRepository(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    /**
+     * Reads the resume point of an unfinished backfill.
+     *
+     * @param modelVersion contract model version
+     * @param profileHash contract fusion profile hash
+     * @return checkpoint, empty when no run is in progress
+     */
+    @Transactional(readOnly = true)
+    public Optional<BackfillCheckpoint> fetchCheckpoint(String modelVersion, String profileHash) {
+        return jdbcTemplate.query(
+            """
+            SELECT last_book_id, refreshed_count
+            FROM book_similarity_backfill_checkpoints
+            WHERE model_version = ?
+              AND profile_hash = ?
+            """,
+            (rs, rowNum) -> new BackfillCheckpoint(
+                rs.getObject("last_book_id", UUID.class),
+                rs.getLong("refreshed_count")
+            ),
+            modelVersion,
+            profileHash
+        ).stream().findFirst();
+    }
+
+    /**
+     * Records how far a backfill has contiguously progressed.
+     *
+     * @param modelVersion contract model version
+     * @param profileHash contract fusion profile hash
+     * @param checkpoint highest completed book id and running refresh count
+     */
+    @Transactional
+    public void saveCheckpoint(String modelVersion, String profileHash, BackfillCheckpoint checkpoint) {
+        jdbcTemplate.update(
+            """
+            INSERT INTO book_similarity_backfill_checkpoints
+              (model_version, profile_hash, last_book_id, refreshed_count, updated_at)
+            VALUES (?, ?, ?, ?, NOW())
+            ON CONFLICT (model_version, profile_hash) DO UPDATE SET
+              last_book_id = EXCLUDED.last_book_id,
+              refreshed_count = EXCLUDED.refreshed_count,
+              updated_at = NOW()
+            """,
+            modelVersion,
+            profileHash,
+            checkpoint.lastBookId(),
+            checkpoint.refreshedCount()
+        );
+    }
+
+    /**
+     * Removes the resume point once a backfill has reached the end of the catalog.
+     *
+     * @param modelVersion contract model version
+     * @param profileHash contract fusion profile hash
+     */
+    @Transactional
+    public void clearCheckpoint(String modelVersion, String profileHash) {
+        jdbcTemplate.update(
+            "DELETE FROM book_similarity_backfill_checkpoints WHERE model_version = ? AND profile_hash = ?",
+            modelVersion,
+            profileHash
+        );
+    }
+
+    /**
+     * Resume point of a streaming backfill.
+     *
+     * @param lastBookId highest book id whose batch and every earlier batch finished
+     * @param refreshedCount vectors rewritten by the run so far
+     */
+    public record BackfillCheckpoint(UUID lastBookId, long refreshedCount) {
+    }
+}
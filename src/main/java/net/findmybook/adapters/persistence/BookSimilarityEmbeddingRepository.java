@@ -1,14 +1,30 @@
 package net.findmybook.adapters.persistence;
 
+import java.sql.Array;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Types;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.Set;
 import java.util.UUID;
+import java.util.function.Consumer;
 import net.findmybook.domain.similarity.BookSimilarityBookSource;
+import net.findmybook.domain.similarity.BookSimilaritySectionKey;
 import net.findmybook.domain.similarity.BookSimilaritySourceDocument;
 import net.findmybook.util.IdGenerator;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowCallbackHandler;
 import org.springframework.stereotype.Repository;
 import org.springframework.transaction.annotation.Transactional;
 import tools.jackson.core.JacksonException;
@@ -16,12 +32,179 @@ import tools.jackson.databind.ObjectMapper;
 
 /**
  * Postgres adapter for book similarity embedding sources and persisted vectors.
+ *
+ * @implNote LOC1 split plan (950 lines): extract {@code BookSimilaritySourceRepository}
+ *     (book source and source-hash reads), {@code BookSimilarityChangeQueueRepository}
+ *     (refresh candidates and the {@code book_similarity_changes} queue), and
+ *     {@code BookSimilarityVectorReadRepository} (nearest-book queries, index streaming,
+ *     and live-neighbor filtering).
  */
 @Repository
 public class BookSimilarityEmbeddingRepository {
 
     private static final Logger log = LoggerFactory.getLogger(BookSimilarityEmbeddingRepository.class);
     private static final String INPUT_FORMAT = "key_value";
+    private static final int INDEX_FETCH_SIZE = 500;
+    private static final int MAX_HNSW_EF_SEARCH = 1_000;
+    private static final UUID FIRST_BOOK_ID = new UUID(0L, 0L);
+    private static final String BOOK_SOURCE_SELECT = """
+        SELECT b.id, b.title, b.subtitle, b.description, b.publisher,
+               EXTRACT(YEAR FROM b.published_date)::text published_year,
+               b.page_count::text page_count, b.language,
+               authors.names authors,
+               tags.names classification_tags,
+               categories.names collection_categories,
+               bac.summary ai_summary,
+               bac.reader_fit ai_reader_fit,
+               bac.key_themes::text ai_key_themes,
+               bac.takeaways::text ai_takeaways,
+               bac.context ai_context,
+               ratings.average_rating::text average_rating,
+               ratings.ratings_count::text ratings_count
+        FROM books b
+        LEFT JOIN book_ai_content bac ON bac.book_id = b.id AND bac.is_current
+        LEFT JOIN LATERAL (
+          SELECT string_agg(a.name, ' | ' ORDER BY baj.position, a.name) names
+          FROM book_authors_join baj
+          JOIN authors a ON a.id = baj.author_id
+          WHERE baj.book_id = b.id
+        ) authors ON true
+        LEFT JOIN LATERAL (
+          SELECT string_agg(DISTINCT bt.display_name, ' | ' ORDER BY bt.display_name) names
+          FROM book_tag_assignments bta
+          JOIN book_tags bt ON bt.id = bta.tag_id
+          WHERE bta.book_id = b.id
+        ) tags ON true
+        LEFT JOIN LATERAL (
+          SELECT string_agg(DISTINCT bc.display_name, ' | ' ORDER BY bc.display_name) names
+          FROM book_collections_join bcj
+          JOIN book_collections bc ON bc.id = bcj.collection_id
+          WHERE bcj.book_id = b.id AND bc.collection_type = 'CATEGORY'
+        ) categories ON true
+        LEFT JOIN LATERAL (
+          SELECT max(average_rating) average_rating, max(ratings_count) ratings_count
+          FROM book_external_ids
+          WHERE book_id = b.id
+        ) ratings ON true
+        """;
+
+    private static final String NEAREST_BOOKS_SQL = """
+        WITH anchor AS (
+          SELECT qwen_4b_fp16
+          FROM book_similarity_vectors
+          WHERE source_type = 'book'
+            AND book_id = ?
+            AND model_version = ?
+            AND profile_hash = ?
+            AND qwen_4b_fp16 IS NOT NULL
+          LIMIT 1
+        )
+        SELECT candidate.book_id,
+               1 - (candidate.qwen_4b_fp16 <=> anchor.qwen_4b_fp16) AS similarity
+        FROM anchor
+        JOIN book_similarity_vectors candidate
+          ON candidate.source_type = 'book'
+         AND candidate.book_id <> ?
+         AND candidate.model_version = ?
+         AND candidate.profile_hash = ?
+         AND candidate.qwen_4b_fp16 IS NOT NULL
+        WHERE NOT EXISTS (
+          SELECT 1
+          FROM work_cluster_members source_member
+          JOIN work_cluster_members candidate_member
+            ON candidate_member.cluster_id = source_member.cluster_id
+          WHERE source_member.book_id = ?
+            AND candidate_member.book_id = candidate.book_id
+        )
+        ORDER BY candidate.qwen_4b_fp16 <=> anchor.qwen_4b_fp16
+        LIMIT ?
+        """;
+
+    private static final String QUANTIZED_NEAREST_BOOKS_SQL = """
+        WITH anchor AS (
+          SELECT qwen_4b_fp16
+          FROM book_similarity_vectors
+          WHERE source_type = 'book'
+            AND book_id = ?
+            AND model_version = ?
+            AND profile_hash = ?
+            AND qwen_4b_fp16 IS NOT NULL
+          LIMIT 1
+        ),
+        shortlist AS (
+          SELECT candidate.book_id, candidate.qwen_4b_fp16
+          FROM book_similarity_vectors candidate
+          WHERE candidate.source_type = 'book'
+            AND candidate.book_id <> ?
+            AND candidate.model_version = ?
+            AND candidate.profile_hash = ?
+            AND candidate.qwen_4b_fp16 IS NOT NULL
+          ORDER BY binary_quantize(candidate.qwen_4b_fp16)::bit(2560)
+                   <~> (SELECT binary_quantize(qwen_4b_fp16)::bit(2560) FROM anchor)
+          LIMIT ?
+        )
+        SELECT shortlist.book_id,
+               1 - (shortlist.qwen_4b_fp16 <=> anchor.qwen_4b_fp16) AS similarity
+        FROM shortlist
+        CROSS JOIN anchor
+        WHERE NOT EXISTS (
+          SELECT 1
+          FROM work_cluster_members source_member
+          JOIN work_cluster_members candidate_member
+            ON candidate_member.cluster_id = source_member.cluster_id
+          WHERE source_member.book_id = ?
+            AND candidate_member.book_id = shortlist.book_id
+        )
+        ORDER BY shortlist.qwen_4b_fp16 <=> anchor.qwen_4b_fp16
+        LIMIT ?
+        """;
+
+    private static final String REFRESH_CANDIDATES_SQL = """
+        SELECT b.id
+        FROM books b
+        LEFT JOIN book_similarity_vectors v
+          ON v.book_id = b.id
+         AND v.source_type = 'book'
+         AND v.model_version = ?
+         AND v.profile_hash = ?
+        WHERE b.title IS NOT NULL
+          AND (
+            v.book_id IS NULL
+            OR v.source_hash IS NULL
+            OR v.qwen_4b_fp16 IS NULL
+            OR v.computed_at IS NULL
+            OR b.updated_at > GREATEST(v.computed_at, v.source_checked_at)
+            OR EXISTS (
+              SELECT 1
+              FROM book_ai_content bac
+              WHERE bac.book_id = b.id
+                AND bac.is_current = true
+                AND bac.created_at > GREATEST(v.computed_at, v.source_checked_at)
+            )
+          )
+        """;
+
+    private static final String UPSERT_FUSED_EMBEDDING_SQL = """
+        WITH fused AS (SELECT CAST(? AS halfvec) AS embedding)
+        INSERT INTO book_similarity_vectors
+          (id, book_id, profile_id, profile_hash, model, model_version, input_format, section_hash,
+           section_input_hashes, embedding, source_text, source_json, source_hash, qwen_4b_fp16, computed_at, updated_at)
+        SELECT ?, ?, ?, ?, ?, ?, ?, ?, CAST(? AS jsonb), fused.embedding, ?, CAST(? AS jsonb), ?,
+               fused.embedding, NOW(), NOW()
+        FROM fused
+        ON CONFLICT (book_id, model_version, profile_hash)
+        DO UPDATE SET model = EXCLUDED.model,
+                      input_format = EXCLUDED.input_format,
+                      section_hash = EXCLUDED.section_hash,
+                      section_input_hashes = EXCLUDED.section_input_hashes,
+                      embedding = EXCLUDED.embedding,
+                      source_text = EXCLUDED.source_text,
+                      source_json = EXCLUDED.source_json,
+                      source_hash = EXCLUDED.source_hash,
+                      qwen_4b_fp16 = EXCLUDED.qwen_4b_fp16,
+                      computed_at = NOW(),
+                      updated_at = NOW()
+        """;
 
     private final JdbcTemplate jdbcTemplate;
     private final ObjectMapper objectMapper;
@@ -89,28 +272,7 @@ public class BookSimilarityEmbeddingRepository {
     public List<UUID> findRefreshCandidates(String modelVersion, String profileHash, int limit) {
         return jdbcTemplate.query(
             """
-            SELECT b.id
-            FROM books b
-            LEFT JOIN book_similarity_vectors v
-              ON v.book_id = b.id
-             AND v.source_type = 'book'
-             AND v.model_version = ?
-             AND v.profile_hash = ?
-            WHERE b.title IS NOT NULL
-              AND (
-                v.book_id IS NULL
-                OR v.source_hash IS NULL
-                OR v.qwen_4b_fp16 IS NULL
-                OR v.computed_at IS NULL
-                OR b.updated_at > v.computed_at
-                OR EXISTS (
-                  SELECT 1
-                  FROM book_ai_content bac
-                  WHERE bac.book_id = b.id
-                    AND bac.is_current = true
-                    AND bac.created_at > v.computed_at
-                )
-              )
+            REFRESH_CANDIDATES_SQL + """
             ORDER BY COALESCE(v.computed_at, TIMESTAMPTZ 'epoch') ASC, b.updated_at DESC
             LIMIT ?
             """,
@@ -122,82 +284,156 @@ public class BookSimilarityEmbeddingRepository {
     }
 
     /**
-     * Loads the current source data for a book.
+     * Pages through missing or stale books in primary-key order, starting after a cursor.
      *
-     * @param bookId canonical book UUID
-     * @return source data when the book exists
+     * <p>Each page is a short independent query, so a catalog-wide backfill never holds one
+     * snapshot open for its whole run, and the last ID of a page is a resumable checkpoint.</p>
+     *
+     * @param modelVersion active model/profile/regime version
+     * @param profileHash active profile hash
+     * @param afterBookId exclusive lower bound; {@code null} starts at the beginning
+     * @param limit maximum candidate rows
+     * @return canonical book IDs in ascending order
      */
     @Transactional(readOnly = true)
-    public Optional<BookSimilarityBookSource> fetchBookSource(UUID bookId) {
+    public List<UUID> findRefreshCandidatesAfter(String modelVersion, String profileHash, UUID afterBookId, int limit) {
+        return jdbcTemplate.query(
+            REFRESH_CANDIDATES_SQL + """
+              AND b.id > ?
+            ORDER BY b.id
+            LIMIT ?
+            """,
+            (rs, rowNum) -> rs.getObject("id", UUID.class),
+            modelVersion,
+            profileHash,
+            afterBookId == null ? FIRST_BOOK_ID : afterBookId,
+            Math.max(1, limit)
+        );
+    }
+
+    /**
+     * Claims and removes the oldest entries of the {@code book_similarity_changes} log.
+     *
+     * <p>Concurrent schedulers claim disjoint rows via {@code SKIP LOCKED}. Callers that cannot
+     * refresh a claimed book hand it back with {@link #markBooksChanged}.</p>
+     *
+     * @param limit maximum books to claim
+     * @return claimed book IDs
+     */
+    @Transactional
+    public List<UUID> claimChangedBooks(int limit) {
         return jdbcTemplate.query(
             """
-            SELECT b.id, b.title, b.subtitle, b.description, b.publisher,
-                   EXTRACT(YEAR FROM b.published_date)::text published_year,
-                   b.page_count::text page_count, b.language,
-                   authors.names authors,
-                   tags.names classification_tags,
-                   categories.names collection_categories,
-                   bac.summary ai_summary,
-                   bac.reader_fit ai_reader_fit,
-                   bac.key_themes::text ai_key_themes,
-                   bac.takeaways::text ai_takeaways,
-                   bac.context ai_context,
-                   ratings.average_rating::text average_rating,
-                   ratings.ratings_count::text ratings_count
+            DELETE FROM book_similarity_changes
+            WHERE book_id IN (
+              SELECT book_id
+              FROM book_similarity_changes
+              ORDER BY changed_at
+              LIMIT ?
+              FOR UPDATE SKIP LOCKED
+            )
+            RETURNING book_id
+            """,
+            (rs, rowNum) -> rs.getObject("book_id", UUID.class),
+            Math.max(1, limit)
+        );
+    }
+
+    /**
+     * Records books in the change log so the next scheduler pass retries them.
+     * Existing entries keep their original {@code changed_at} and ordering.
+     *
+     * @param bookIds canonical book UUIDs
+     */
+    @Transactional
+    public void markBooksChanged(Collection<UUID> bookIds) {
+        if (bookIds == null || bookIds.isEmpty()) {
+            return;
+        }
+        jdbcTemplate.update(
+            """
+            INSERT INTO book_similarity_changes (book_id, changed_at)
+            SELECT b.id, NOW()
             FROM books b
-            LEFT JOIN book_ai_content bac ON bac.book_id = b.id AND bac.is_current
-            LEFT JOIN LATERAL (
-              SELECT string_agg(a.name, ' | ' ORDER BY baj.position, a.name) names
-              FROM book_authors_join baj
-              JOIN authors a ON a.id = baj.author_id
-              WHERE baj.book_id = b.id
-            ) authors ON true
-            LEFT JOIN LATERAL (
-              SELECT string_agg(DISTINCT bt.display_name, ' | ' ORDER BY bt.display_name) names
-              FROM book_tag_assignments bta
-              JOIN book_tags bt ON bt.id = bta.tag_id
-              WHERE bta.book_id = b.id
-            ) tags ON true
-            LEFT JOIN LATERAL (
-              SELECT string_agg(DISTINCT bc.display_name, ' | ' ORDER BY bc.display_name) names
-              FROM book_collections_join bcj
-              JOIN book_collections bc ON bc.id = bcj.collection_id
-              WHERE bcj.book_id = b.id AND bc.collection_type = 'CATEGORY'
-            ) categories ON true
-            LEFT JOIN LATERAL (
-              SELECT max(average_rating) average_rating, max(ratings_count) ratings_count
-              FROM book_external_ids
-              WHERE book_id = b.id
-            ) ratings ON true
-            WHERE b.id = ?
+            WHERE b.id = ANY(?::UUID[])
+            ON CONFLICT (book_id) DO NOTHING
             """,
-            rs -> {
-                if (!rs.next()) {
-                    return Optional.<BookSimilarityBookSource>empty();
-                }
-                return Optional.of(new BookSimilarityBookSource(
-                    rs.getObject("id", UUID.class),
-                    rs.getString("title"),
-                    rs.getString("subtitle"),
-                    rs.getString("authors"),
-                    rs.getString("classification_tags"),
-                    rs.getString("collection_categories"),
-                    rs.getString("description"),
-                    rs.getString("ai_summary"),
-                    rs.getString("ai_reader_fit"),
-                    rs.getString("ai_key_themes"),
-                    rs.getString("ai_takeaways"),
-                    rs.getString("ai_context"),
-                    rs.getString("publisher"),
-                    rs.getString("published_year"),
-                    rs.getString("page_count"),
-                    rs.getString("language"),
-                    rs.getString("average_rating"),
-                    rs.getString("ratings_count")
-                ));
-            },
+            (Object) bookIds.toArray(new UUID[0])
+        );
+    }
+
+    /**
+     * Stamps vectors whose stored source hash was confirmed current, so the full candidate
+     * scan stops offering them until their source moves again.
+     *
+     * @param bookIds books whose source hash matched
+     * @param modelVersion active model version
+     * @param profileHash active fusion profile hash
+     */
+    @Transactional
+    public void markSourcesChecked(Collection<UUID> bookIds, String modelVersion, String profileHash) {
+        if (bookIds == null || bookIds.isEmpty()) {
+            return;
+        }
+        jdbcTemplate.update(
+            """
+            UPDATE book_similarity_vectors
+            SET source_checked_at = NOW()
+            WHERE source_type = 'book'
+              AND book_id = ANY(?::UUID[])
+              AND model_version = ?
+              AND profile_hash = ?
+            """,
+            (Object) bookIds.toArray(new UUID[0]),
+            modelVersion,
+            profileHash
+        );
+    }
+
+    /**
+     * Loads the current source data for a book.
+     *
+     * @param bookId canonical book UUID
+     * @return source data when the book exists
+     */
+    @Transactional(readOnly = true)
+    public Optional<BookSimilarityBookSource> fetchBookSource(UUID bookId) {
+        List<BookSimilarityBookSource> sources = jdbcTemplate.query(
+            BOOK_SOURCE_SELECT + "WHERE b.id = ?",
+            (rs, rowNum) -> mapBookSource(rs),
             bookId
         );
+        return sources.stream().findFirst();
+    }
+
+    /**
+     * Loads current source data for many books in one round-trip.
+     *
+     * @param bookIds canonical book UUIDs
+     * @return source data keyed by book ID in request order; missing books are absent
+     */
+    @Transactional(readOnly = true)
+    public Map<UUID, BookSimilarityBookSource> fetchBookSources(List<UUID> bookIds) {
+        if (bookIds == null || bookIds.isEmpty()) {
+            return Map.of();
+        }
+        List<BookSimilarityBookSource> sources = jdbcTemplate.query(
+            BOOK_SOURCE_SELECT + "WHERE b.id = ANY(?::UUID[])",
+            (rs, rowNum) -> mapBookSource(rs),
+            (Object) bookIds.toArray(new UUID[0])
+        );
+        Map<UUID, BookSimilarityBookSource> sourcesById = new HashMap<>(sources.size());
+        for (BookSimilarityBookSource source : sources) {
+            sourcesById.putIfAbsent(source.bookId(), source);
+        }
+        Map<UUID, BookSimilarityBookSource> ordered = new LinkedHashMap<>(sources.size());
+        for (UUID bookId : bookIds) {
+            BookSimilarityBookSource source = sourcesById.get(bookId);
+            if (source != null) {
+                ordered.put(bookId, source);
+            }
+        }
+        return ordered;
     }
 
     /**
@@ -223,6 +459,38 @@ public class BookSimilarityEmbeddingRepository {
         return sourceHash == null || sourceHash.isBlank() ? Optional.empty() : Optional.of(sourceHash);
     }
 
+    /**
+     * Loads stored source hashes for many books under the active vector contract.
+     *
+     * @return non-blank source hashes keyed by book ID; books without a vector row are absent
+     */
+    @Transactional(readOnly = true)
+    public Map<UUID, String> fetchCurrentSourceHashes(List<UUID> bookIds, String modelVersion, String profileHash) {
+        if (bookIds == null || bookIds.isEmpty()) {
+            return Map.of();
+        }
+        Map<UUID, String> sourceHashes = new HashMap<>(bookIds.size());
+        jdbcTemplate.query(
+            """
+            SELECT book_id, source_hash
+            FROM book_similarity_vectors
+            WHERE source_type = 'book'
+              AND book_id = ANY(?::UUID[])
+              AND model_version = ?
+              AND profile_hash = ?
+              AND source_hash IS NOT NULL
+              AND source_hash <> ''
+            """,
+            rs -> {
+                sourceHashes.putIfAbsent(rs.getObject("book_id", UUID.class), rs.getString("source_hash"));
+            },
+            bookIds.toArray(new UUID[0]),
+            modelVersion,
+            profileHash
+        );
+        return sourceHashes;
+    }
+
     /**
      * Finds nearest persisted book-level vectors for the active similarity contract.
      *
@@ -237,38 +505,108 @@ public class BookSimilarityEmbeddingRepository {
         if (sourceBookId == null || limit <= 0) {
             return List.of();
         }
+        return queryNearestBooks(NEAREST_BOOKS_SQL, sourceBookId, modelVersion, profileHash, limit);
+    }
+
+    /**
+     * Finds nearest vectors through the binary-quantized index, then re-ranks exactly.
+     *
+     * <p>The first stage walks the {@code binary_quantize(qwen_4b_fp16)} Hamming HNSW index for
+     * {@code candidatePool} candidates; the second stage orders that pool by exact halfvec cosine
+     * distance and applies the same work-cluster exclusion as {@link #findNearestBooks}.</p>
+     *
+     * @param sourceBookId canonical source book UUID
+     * @param modelVersion active model version
+     * @param profileHash active fusion profile hash
+     * @param limit maximum neighbor count
+     * @param candidatePool first-stage candidates to re-rank; clamped to {@code [limit, 1000]}
+     * @return ranked book IDs and exact cosine similarity scores
+     */
+    @Transactional(readOnly = true)
+    public List<NearestBookRow> findNearestBooksQuantized(UUID sourceBookId,
+                                                          String modelVersion,
+                                                          String profileHash,
+                                                          int limit,
+                                                          int candidatePool) {
+        if (sourceBookId == null || limit <= 0) {
+            return List.of();
+        }
+        int pool = Math.clamp(candidatePool, limit, Math.max(limit, MAX_HNSW_EF_SEARCH));
+        jdbcTemplate.execute("SET LOCAL hnsw.ef_search = " + pool);
+        return jdbcTemplate.query(
+            QUANTIZED_NEAREST_BOOKS_SQL,
+            (rs, rowNum) -> new NearestBookRow(
+                rs.getObject("book_id", UUID.class),
+                rs.getDouble("similarity")
+            ),
+            sourceBookId,
+            modelVersion,
+            profileHash,
+            sourceBookId,
+            modelVersion,
+            profileHash,
+            pool,
+            sourceBookId,
+            limit
+        );
+    }
+
+    /**
+     * Finds exact nearest vectors with index scans disabled, as ground truth for recall checks.
+     *
+     * @param sourceBookId canonical source book UUID
+     * @param modelVersion active model version
+     * @param profileHash active fusion profile hash
+     * @param limit maximum neighbor count
+     * @return exhaustively ranked book IDs and cosine similarity scores
+     */
+    @Transactional(readOnly = true)
+    public List<NearestBookRow> findNearestBooksExhaustive(UUID sourceBookId,
+                                                           String modelVersion,
+                                                           String profileHash,
+                                                           int limit) {
+        if (sourceBookId == null || limit <= 0) {
+            return List.of();
+        }
+        jdbcTemplate.execute("SET LOCAL enable_indexscan = off");
+        return queryNearestBooks(NEAREST_BOOKS_SQL, sourceBookId, modelVersion, profileHash, limit);
+    }
+
+    /**
+     * Picks a random sample of books with searchable vectors under one contract.
+     *
+     * @param modelVersion active model version
+     * @param profileHash active fusion profile hash
+     * @param sampleSize maximum books to return
+     * @return sampled book IDs
+     */
+    @Transactional(readOnly = true)
+    public List<UUID> sampleVectorBookIds(String modelVersion, String profileHash, int sampleSize) {
         return jdbcTemplate.query(
             """
-            WITH anchor AS (
-              SELECT qwen_4b_fp16
-              FROM book_similarity_vectors
-              WHERE source_type = 'book'
-                AND book_id = ?
-                AND model_version = ?
-                AND profile_hash = ?
-                AND qwen_4b_fp16 IS NOT NULL
-              LIMIT 1
-            )
-            SELECT candidate.book_id,
-                   1 - (candidate.qwen_4b_fp16 <=> anchor.qwen_4b_fp16) AS similarity
-            FROM anchor
-            JOIN book_similarity_vectors candidate
-              ON candidate.source_type = 'book'
-             AND candidate.book_id <> ?
-             AND candidate.model_version = ?
-             AND candidate.profile_hash = ?
-             AND candidate.qwen_4b_fp16 IS NOT NULL
-            WHERE NOT EXISTS (
-              SELECT 1
-              FROM work_cluster_members source_member
-              JOIN work_cluster_members candidate_member
-                ON candidate_member.cluster_id = source_member.cluster_id
-              WHERE source_member.book_id = ?
-                AND candidate_member.book_id = candidate.book_id
-            )
-            ORDER BY candidate.qwen_4b_fp16 <=> anchor.qwen_4b_fp16
+            SELECT book_id
+            FROM book_similarity_vectors
+            WHERE source_type = 'book'
+              AND model_version = ?
+              AND profile_hash = ?
+              AND qwen_4b_fp16 IS NOT NULL
+            ORDER BY random()
             LIMIT ?
             """,
+            (rs, rowNum) -> rs.getObject("book_id", UUID.class),
+            modelVersion,
+            profileHash,
+            Math.max(1, sampleSize)
+        );
+    }
+
+    private List<NearestBookRow> queryNearestBooks(String sql,
+                                                   UUID sourceBookId,
+                                                   String modelVersion,
+                                                   String profileHash,
+                                                   int limit) {
+        return jdbcTemplate.query(
+            sql,
             (rs, rowNum) -> new NearestBookRow(
                 rs.getObject("book_id", UUID.class),
                 rs.getDouble("similarity")
@@ -284,36 +622,212 @@ public class BookSimilarityEmbeddingRepository {
         );
     }
 
+    /**
+     * Streams every searchable vector of one contract with its work-cluster memberships.
+     *
+     * <p>Rows are read through a server-side cursor so loading the in-memory neighbor index
+     * holds one fetch window of decoded vectors at a time.</p>
+     *
+     * @param modelVersion active model version
+     * @param profileHash active fusion profile hash
+     * @param consumer receives each decoded row
+     */
+    @Transactional(readOnly = true)
+    public void streamIndexVectors(String modelVersion, String profileHash, Consumer<IndexVectorRow> consumer) {
+        jdbcTemplate.query(
+            connection -> {
+                PreparedStatement statement = connection.prepareStatement(
+                    """
+                    SELECT v.book_id,
+                           halfvec_send(v.qwen_4b_fp16) AS embedding,
+                           ARRAY(
+                             SELECT wcm.cluster_id
+                             FROM work_cluster_members wcm
+                             WHERE wcm.book_id = v.book_id
+                           ) AS cluster_ids
+                    FROM book_similarity_vectors v
+                    WHERE v.source_type = 'book'
+                      AND v.model_version = ?
+                      AND v.profile_hash = ?
+                      AND v.qwen_4b_fp16 IS NOT NULL
+                    """
+                );
+                statement.setFetchSize(INDEX_FETCH_SIZE);
+                statement.setString(1, modelVersion);
+                statement.setString(2, profileHash);
+                return statement;
+            },
+            (RowCallbackHandler) rs -> consumer.accept(new IndexVectorRow(
+                rs.getObject("book_id", UUID.class),
+                BookSimilarityVectorBinary.fromHalfvecSend(rs.getBytes("embedding")),
+                uuidList(rs.getArray("cluster_ids"))
+            ))
+        );
+    }
+
+    /**
+     * Streams a contract's searchable vectors together with the cached section embeddings
+     * each vector was fused from, for offline profile evaluation.
+     *
+     * <p>Sections are matched through the vector's recorded {@code section_input_hashes}, so
+     * re-fusing them under another profile reproduces exactly the inputs behind the stored
+     * vector. Rows are read through a server-side cursor.</p>
+     *
+     * @param modelVersion active model version
+     * @param profileHash active fusion profile hash
+     * @param sectionModel embeddings model the section cache is keyed by
+     * @param limit maximum books to stream; zero or less streams the whole contract
+     * @param consumer receives each decoded row
+     */
+    @Transactional(readOnly = true)
+    public void streamProfileSnapshot(String modelVersion,
+                                      String profileHash,
+                                      String sectionModel,
+                                      int limit,
+                                      Consumer<ProfileSnapshotRow> consumer) {
+        jdbcTemplate.query(
+            connection -> {
+                PreparedStatement statement = connection.prepareStatement(
+                    """
+                    WITH snapshot AS (
+                      SELECT v.book_id, v.qwen_4b_fp16, v.section_input_hashes
+                      FROM book_similarity_vectors v
+                      WHERE v.source_type = 'book'
+                        AND v.model_version = ?
+                        AND v.profile_hash = ?
+                        AND v.qwen_4b_fp16 IS NOT NULL
+                      ORDER BY v.book_id
+                      LIMIT ?
+                    )
+                    SELECT snapshot.book_id,
+                           halfvec_send(snapshot.qwen_4b_fp16) AS embedding,
+                           ARRAY(
+                             SELECT wcm.cluster_id
+                             FROM work_cluster_members wcm
+                             WHERE wcm.book_id = snapshot.book_id
+                           ) AS cluster_ids,
+                           sections.section_keys,
+                           sections.section_embeddings
+                    FROM snapshot
+                    CROSS JOIN LATERAL (
+                      SELECT ARRAY_AGG(s.section_key) AS section_keys,
+                             ARRAY_AGG(halfvec_send(s.embedding)) AS section_embeddings
+                      FROM jsonb_to_recordset(snapshot.section_input_hashes -> 'sections')
+                        AS recorded(key TEXT, "inputHash" TEXT)
+                      JOIN book_embedding_sections s
+                        ON s.book_id = snapshot.book_id
+                       AND s.section_key = recorded.key
+                       AND s.input_hash = recorded."inputHash"
+                       AND s.model = ?
+                       AND s.input_format = ?
+                    ) sections
+                    """
+                );
+                statement.setFetchSize(INDEX_FETCH_SIZE);
+                statement.setString(1, modelVersion);
+                statement.setString(2, profileHash);
+                if (limit > 0) {
+                    statement.setInt(3, limit);
+                } else {
+                    statement.setNull(3, Types.INTEGER);
+                }
+                statement.setString(4, sectionModel);
+                statement.setString(5, INPUT_FORMAT);
+                return statement;
+            },
+            (RowCallbackHandler) rs -> consumer.accept(new ProfileSnapshotRow(
+                rs.getObject("book_id", UUID.class),
+                BookSimilarityVectorBinary.fromHalfvecSend(rs.getBytes("embedding")),
+                uuidList(rs.getArray("cluster_ids")),
+                sectionEmbeddings(rs.getArray("section_keys"), rs.getArray("section_embeddings"))
+            ))
+        );
+    }
+
+    /**
+     * Loads the work clusters a book belongs to.
+     *
+     * @param bookId canonical book UUID
+     * @return cluster IDs; empty when the book is unclustered
+     */
+    @Transactional(readOnly = true)
+    public List<UUID> fetchClusterIds(UUID bookId) {
+        return jdbcTemplate.query(
+            "SELECT cluster_id FROM work_cluster_members WHERE book_id = ?",
+            (rs, rowNum) -> rs.getObject("cluster_id", UUID.class),
+            bookId
+        );
+    }
+
+    /**
+     * Keeps the nearest-neighbor candidates that still exist and share no current work cluster
+     * with the source book.
+     *
+     * @param sourceBookId canonical source book UUID
+     * @param candidateBookIds candidate book UUIDs produced by the in-memory index
+     * @return the subset of candidates that may still be shown as similar books
+     */
+    public Set<UUID> filterLiveNeighbors(UUID sourceBookId, List<UUID> candidateBookIds) {
+        if (sourceBookId == null || candidateBookIds == null || candidateBookIds.isEmpty()) {
+            return Set.of();
+        }
+        return new HashSet<>(jdbcTemplate.query(
+            """
+            SELECT b.id
+            FROM books b
+            WHERE b.id = ANY(?)
+              AND NOT EXISTS (
+                SELECT 1
+                FROM work_cluster_members source_member
+                JOIN work_cluster_members candidate_member
+                  ON candidate_member.cluster_id = source_member.cluster_id
+                WHERE source_member.book_id = ?
+                  AND candidate_member.book_id = b.id
+              )
+            """,
+            ps -> {
+                ps.setArray(1, ps.getConnection().createArrayOf("uuid", candidateBookIds.toArray()));
+                ps.setObject(2, sourceBookId);
+            },
+            (rs, rowNum) -> rs.getObject("id", UUID.class)
+        ));
+    }
+
     /**
      * Upserts the searchable fused vector row for a book/profile/model contract.
+     *
+     * <p>The vector is bound once in halfvec binary form and written to both {@code embedding}
+     * and {@code qwen_4b_fp16}.</p>
      */
     @Transactional
     public void upsertFusedEmbedding(FusedEmbeddingRow row) {
+        BookSimilarityVectorBinary.update(jdbcTemplate, UPSERT_FUSED_EMBEDDING_SQL, fusedEmbeddingParameters(row));
+    }
+
+    /**
+     * Upserts many fused vector rows as one JDBC batch in a single transaction.
+     *
+     * @param rows fused rows produced by one batch refresh pass
+     */
+    @Transactional
+    public void upsertFusedEmbeddings(List<FusedEmbeddingRow> rows) {
+        if (rows == null || rows.isEmpty()) {
+            return;
+        }
+        List<Object[]> batchParameters = new ArrayList<>(rows.size());
+        for (FusedEmbeddingRow row : rows) {
+            batchParameters.add(fusedEmbeddingParameters(row));
+        }
+        BookSimilarityVectorBinary.batchUpdate(jdbcTemplate, UPSERT_FUSED_EMBEDDING_SQL, batchParameters);
+    }
+
+    private Object[] fusedEmbeddingParameters(FusedEmbeddingRow row) {
         String sourceJson = serialize(row.sourceDocument().sourceJson(), "source metadata");
         String sectionHashesJson = serialize(new SectionHashPayload(row.sourceDocument().sectionInputs().stream()
             .map(sectionInput -> new SectionHashEntry(sectionInput.sectionKey().key(), sectionInput.inputHash()))
             .toList()), "section hash payload");
-        String fusedHalfvecLiteral = BookSimilarityVectorLiteral.toHalfvecLiteral(row.fusedEmbedding());
-        jdbcTemplate.update(
-            """
-            INSERT INTO book_similarity_vectors
-              (id, book_id, profile_id, profile_hash, model, model_version, input_format, section_hash,
-               section_input_hashes, embedding, source_text, source_json, source_hash, qwen_4b_fp16, computed_at, updated_at)
-            VALUES (?, ?, ?, ?, ?, ?, ?, ?, CAST(? AS jsonb), CAST(? AS halfvec), ?, CAST(? AS jsonb), ?,
-                    CAST(? AS halfvec), NOW(), NOW())
-            ON CONFLICT (book_id, model_version, profile_hash)
-            DO UPDATE SET model = EXCLUDED.model,
-                          input_format = EXCLUDED.input_format,
-                          section_hash = EXCLUDED.section_hash,
-                          section_input_hashes = EXCLUDED.section_input_hashes,
-                          embedding = EXCLUDED.embedding,
-                          source_text = EXCLUDED.source_text,
-                          source_json = EXCLUDED.source_json,
-                          source_hash = EXCLUDED.source_hash,
-                          qwen_4b_fp16 = EXCLUDED.qwen_4b_fp16,
-                          computed_at = NOW(),
-                          updated_at = NOW()
-            """,
+        return new Object[] {
+            BookSimilarityVectorBinary.toHalfvecParameter(row.fusedEmbedding()),
             IdGenerator.generateLong(),
             row.sourceDocument().bookId(),
             row.profileId(),
@@ -323,11 +837,65 @@ public class BookSimilarityEmbeddingRepository {
             INPUT_FORMAT,
             row.sourceDocument().sectionHash(),
             sectionHashesJson,
-            fusedHalfvecLiteral,
             row.sourceDocument().sourceText(),
             sourceJson,
-            row.sourceDocument().sourceHash(),
-            fusedHalfvecLiteral
+            row.sourceDocument().sourceHash()
+        };
+    }
+
+    private static List<UUID> uuidList(Array sqlArray) throws SQLException {
+        if (sqlArray == null) {
+            return List.of();
+        }
+        try {
+            return List.of((UUID[]) sqlArray.getArray());
+        } finally {
+            sqlArray.free();
+        }
+    }
+
+    private static Map<BookSimilaritySectionKey, float[]> sectionEmbeddings(Array keysArray, Array embeddingsArray)
+        throws SQLException {
+        if (keysArray == null || embeddingsArray == null) {
+            return Map.of();
+        }
+        try {
+            String[] keys = (String[]) keysArray.getArray();
+            byte[][] embeddings = (byte[][]) embeddingsArray.getArray();
+            Map<BookSimilaritySectionKey, float[]> sections = new EnumMap<>(BookSimilaritySectionKey.class);
+            for (int index = 0; index < keys.length; index++) {
+                sections.put(
+                    BookSimilaritySectionKey.fromKey(keys[index]),
+                    BookSimilarityVectorBinary.fromHalfvecSend(embeddings[index])
+                );
+            }
+            return sections;
+        } finally {
+            keysArray.free();
+            embeddingsArray.free();
+        }
+    }
+
+    private static BookSimilarityBookSource mapBookSource(ResultSet rs) throws SQLException {
+        return new BookSimilarityBookSource(
+            rs.getObject("id", UUID.class),
+            rs.getString("title"),
+            rs.getString("subtitle"),
+            rs.getString("authors"),
+            rs.getString("classification_tags"),
+            rs.getString("collection_categories"),
+            rs.getString("description"),
+            rs.getString("ai_summary"),
+            rs.getString("ai_reader_fit"),
+            rs.getString("ai_key_themes"),
+            rs.getString("ai_takeaways"),
+            rs.getString("ai_context"),
+            rs.getString("publisher"),
+            rs.getString("published_year"),
+            rs.getString("page_count"),
+            rs.getString("language"),
+            rs.getString("average_rating"),
+            rs.getString("ratings_count")
         );
     }
 
@@ -349,10 +917,25 @@ public class BookSimilarityEmbeddingRepository {
         String profileHash,
         String model,
         String modelVersion,
-        List<Float> fusedEmbedding
+        float[] fusedEmbedding
     ) {
     }
 
+    /**
+     * Searchable vector with the work clusters used to exclude same-work editions.
+     */
+    public record IndexVectorRow(UUID bookId, float[] embedding, List<UUID> clusterIds) {
+    }
+
+    /**
+     * Stored contract vector plus the cached section embeddings it was fused from.
+     */
+    public record ProfileSnapshotRow(UUID bookId,
+                                     float[] embedding,
+                                     List<UUID> clusterIds,
+                                     Map<BookSimilaritySectionKey, float[]> sectionEmbeddings) {
+    }
+
     /**
      * Ranked nearest-neighbor row produced by the vector index.
      */
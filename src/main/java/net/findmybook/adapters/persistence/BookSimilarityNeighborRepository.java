@@ -0,0 +1,327 @@
+package net.findmybook.adapters.persistence;
+
+import java.time.Duration;
+import java.time.OffsetDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.UUID;
+import net.findmybook.adapters.persistence.BookSimilarityEmbeddingRepository.NearestBookRow;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+/**
+ * Postgres adapter for materialized top-K similar-book lists.
+ */
+@Repository
+public class BookSimilarityNeighborRepository {
+
+    private final JdbcTemplate jdbcTemplate;
+
+    public BookSimilarityNeighborRepository(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    /**
+     * Reads the precomputed neighbor list for one book, dropping neighbors that were deleted or
+     * now share a work cluster with the source since the list was written.
+     *
+     * <p>Filtering runs over the whole stored list before the limit, so a dropped neighbor is
+     * replaced by the next stored one when the list has spares.</p>
+     *
+     * @param bookId canonical source book UUID
+     * @param modelVersion active model version
+     * @param profileHash active fusion profile hash
+     * @param limit maximum neighbor count
+     * @return surviving ranked neighbors and the stored list length; empty when no list has
+     *     been materialized or no stored neighbor survives
+     */
+    @Transactional(readOnly = true)
+    public StoredNeighbors fetchNeighbors(UUID bookId, String modelVersion, String profileHash, int limit) {
+        if (bookId == null || limit <= 0) {
+            return StoredNeighbors.EMPTY;
+        }
+        int[] storedCount = {0};
+        List<NearestBookRow> neighbors = jdbcTemplate.query(
+            """
+            SELECT neighbor.book_id, neighbor.similarity, cardinality(list.neighbor_book_ids) AS stored_count
+            FROM book_similarity_neighbors list
+            CROSS JOIN LATERAL unnest(list.neighbor_book_ids, list.similarities)
+              WITH ORDINALITY AS neighbor(book_id, similarity, position)
+            JOIN books b ON b.id = neighbor.book_id
+            WHERE list.book_id = ?
+              AND list.model_version = ?
+              AND list.profile_hash = ?
+              AND NOT EXISTS (
+                SELECT 1
+                FROM work_cluster_members source_member
+                JOIN work_cluster_members candidate_member
+                  ON candidate_member.cluster_id = source_member.cluster_id
+                WHERE source_member.book_id = list.book_id
+                  AND candidate_member.book_id = neighbor.book_id
+              )
+            ORDER BY neighbor.position
+            LIMIT ?
+            """,
+            (rs, rowNum) -> {
+                storedCount[0] = rs.getInt("stored_count");
+                return new NearestBookRow(
+                    rs.getObject("book_id", UUID.class),
+                    rs.getDouble("similarity")
+                );
+            },
+            bookId,
+            modelVersion,
+            profileHash,
+            limit
+        );
+        return new StoredNeighbors(neighbors, storedCount[0]);
+    }
+
+    /**
+     * Leases the oldest waiting neighbor lists for the active contract.
+     *
+     * <p>Vector writes queue their book through a trigger on {@code book_similarity_vectors}, so
+     * this reads the queue index instead of comparing every vector with its list. Claimed rows
+     * stay in the queue with {@code claimed_at} set: callers delete them with
+     * {@link #completeNeighborLists} once the lists are written, or hand them back with
+     * {@link #releaseNeighborLists}. A pass that dies in between leaves its lease to expire,
+     * and a later pass claims the rows again. Concurrent passes claim disjoint rows via
+     * {@code SKIP LOCKED}.</p>
+     *
+     * @param modelVersion active model version
+     * @param profileHash active fusion profile hash
+     * @param limit maximum lists to claim
+     * @param lease how long a claim blocks other passes before it counts as abandoned
+     * @return claimed lists, oldest first, all carrying the same claim timestamp
+     */
+    @Transactional
+    public List<QueuedNeighborList> claimQueuedNeighborLists(String modelVersion,
+                                                             String profileHash,
+                                                             int limit,
+                                                             Duration lease) {
+        return jdbcTemplate.query(
+            """
+            WITH claimed AS (
+              UPDATE book_similarity_neighbor_queue
+              SET claimed_at = NOW()
+              WHERE (book_id, model_version, profile_hash) IN (
+                SELECT book_id, model_version, profile_hash
+                FROM book_similarity_neighbor_queue
+                WHERE model_version = ?
+                  AND profile_hash = ?
+                  AND (claimed_at IS NULL OR claimed_at < NOW() - make_interval(secs => ?))
+                ORDER BY queued_at
+                LIMIT ?
+                FOR UPDATE SKIP LOCKED
+              )
+              RETURNING book_id, expand_affected, queued_at, claimed_at
+            )
+            SELECT book_id, expand_affected, claimed_at
+            FROM claimed
+            ORDER BY queued_at
+            """,
+            (rs, rowNum) -> new QueuedNeighborList(
+                rs.getObject("book_id", UUID.class),
+                rs.getBoolean("expand_affected"),
+                rs.getObject("claimed_at", OffsetDateTime.class)
+            ),
+            modelVersion,
+            profileHash,
+            (double) lease.toSeconds(),
+            Math.max(1, limit)
+        );
+    }
+
+    /**
+     * Deletes claimed queue rows after their lists were written. Rows queued again since the
+     * claim no longer carry its timestamp and stay queued.
+     *
+     * @param claimed entries returned by {@link #claimQueuedNeighborLists}
+     * @param modelVersion active model version
+     * @param profileHash active fusion profile hash
+     */
+    @Transactional
+    public void completeNeighborLists(List<QueuedNeighborList> claimed, String modelVersion, String profileHash) {
+        updateClaimed(claimed, modelVersion, profileHash, """
+            DELETE FROM book_similarity_neighbor_queue
+            WHERE model_version = ?
+              AND profile_hash = ?
+              AND claimed_at = ?
+              AND book_id = ANY(?::UUID[])
+            """);
+    }
+
+    /**
+     * Returns claimed queue rows to the waiting state so the next pass can claim them at once.
+     *
+     * @param claimed entries returned by {@link #claimQueuedNeighborLists}
+     * @param modelVersion active model version
+     * @param profileHash active fusion profile hash
+     */
+    @Transactional
+    public void releaseNeighborLists(List<QueuedNeighborList> claimed, String modelVersion, String profileHash) {
+        updateClaimed(claimed, modelVersion, profileHash, """
+            UPDATE book_similarity_neighbor_queue
+            SET claimed_at = NULL
+            WHERE model_version = ?
+              AND profile_hash = ?
+              AND claimed_at = ?
+              AND book_id = ANY(?::UUID[])
+            """);
+    }
+
+    private void updateClaimed(List<QueuedNeighborList> claimed, String modelVersion, String profileHash, String sql) {
+        if (claimed == null || claimed.isEmpty()) {
+            return;
+        }
+        jdbcTemplate.update(
+            sql,
+            modelVersion,
+            profileHash,
+            claimed.getFirst().claimedAt(),
+            (Object) claimed.stream().map(QueuedNeighborList::bookId).toArray(UUID[]::new)
+        );
+    }
+
+    /**
+     * Queues neighbor lists for a later refresh pass. Lists already queued keep their
+     * {@code queued_at} ordering and only gain {@code expand_affected}, never lose it; an
+     * outstanding claim on them is cleared so the pass holding it cannot complete them.
+     *
+     * @param bookIds books whose lists should be recomputed
+     * @param modelVersion active model version
+     * @param profileHash active fusion profile hash
+     * @param expandAffected true when the books' vectors changed and affected lists must follow
+     */
+    @Transactional
+    public void queueNeighborLists(Collection<UUID> bookIds,
+                                   String modelVersion,
+                                   String profileHash,
+                                   boolean expandAffected) {
+        if (bookIds == null || bookIds.isEmpty()) {
+            return;
+        }
+        jdbcTemplate.update(
+            """
+            INSERT INTO book_similarity_neighbor_queue (book_id, model_version, profile_hash, expand_affected, queued_at)
+            SELECT b.id, ?, ?, ?, NOW()
+            FROM books b
+            WHERE b.id = ANY(?::UUID[])
+            ON CONFLICT (book_id, model_version, profile_hash) DO UPDATE SET
+              expand_affected = book_similarity_neighbor_queue.expand_affected OR EXCLUDED.expand_affected,
+              claimed_at = NULL
+            """,
+            modelVersion,
+            profileHash,
+            expandAffected,
+            (Object) bookIds.toArray(new UUID[0])
+        );
+    }
+
+    /**
+     * Finds books whose materialized list currently contains any of the given books.
+     *
+     * @param bookIds books whose vectors changed
+     * @param modelVersion active model version
+     * @param profileHash active fusion profile hash
+     * @return book IDs whose lists may hold stale scores
+     */
+    @Transactional(readOnly = true)
+    public List<UUID> findListsContaining(List<UUID> bookIds, String modelVersion, String profileHash) {
+        if (bookIds == null || bookIds.isEmpty()) {
+            return List.of();
+        }
+        return jdbcTemplate.query(
+            """
+            SELECT book_id
+            FROM book_similarity_neighbors
+            WHERE model_version = ?
+              AND profile_hash = ?
+              AND neighbor_book_ids && ?::UUID[]
+            """,
+            (rs, rowNum) -> rs.getObject("book_id", UUID.class),
+            modelVersion,
+            profileHash,
+            (Object) bookIds.toArray(new UUID[0])
+        );
+    }
+
+    /**
+     * Writes materialized neighbor lists in one JDBC batch, stamping each with its source
+     * vector's {@code computed_at}. Lists for books without a vector row are skipped.
+     *
+     * @param modelVersion contract the lists were computed under
+     * @param profileHash fusion profile the lists were computed under
+     * @param neighborLists ranked lists keyed by source book
+     */
+    @Transactional
+    public void upsertNeighborLists(String modelVersion, String profileHash, List<NeighborList> neighborLists) {
+        if (neighborLists == null || neighborLists.isEmpty()) {
+            return;
+        }
+        List<Object[]> batchArgs = new ArrayList<>(neighborLists.size());
+        for (NeighborList neighborList : neighborLists) {
+            List<NearestBookRow> neighbors = neighborList.neighbors();
+            UUID[] neighborIds = new UUID[neighbors.size()];
+            Float[] similarities = new Float[neighbors.size()];
+            for (int index = 0; index < neighbors.size(); index++) {
+                neighborIds[index] = neighbors.get(index).bookId();
+                similarities[index] = (float) neighbors.get(index).similarity();
+            }
+            batchArgs.add(new Object[] {
+                neighborIds,
+                similarities,
+                neighborList.bookId(),
+                modelVersion,
+                profileHash
+            });
+        }
+        jdbcTemplate.batchUpdate(
+            """
+            INSERT INTO book_similarity_neighbors
+              (book_id, model_version, profile_hash, neighbor_book_ids, similarities, source_computed_at, computed_at)
+            SELECT v.book_id, v.model_version, v.profile_hash, ?::UUID[], ?::REAL[], v.computed_at, NOW()
+            FROM book_similarity_vectors v
+            WHERE v.book_id = ?
+              AND v.model_version = ?
+              AND v.profile_hash = ?
+              AND v.computed_at IS NOT NULL
+            ON CONFLICT (book_id, model_version, profile_hash) DO UPDATE SET
+              neighbor_book_ids = EXCLUDED.neighbor_book_ids,
+              similarities = EXCLUDED.similarities,
+              source_computed_at = EXCLUDED.source_computed_at,
+              computed_at = EXCLUDED.computed_at
+            """,
+            batchArgs
+        );
+    }
+
+    /**
+     * Claimed queue entry: the list to recompute, whether its book's vector changed, and the
+     * claim timestamp that completing or releasing the entry must match.
+     */
+    public record QueuedNeighborList(UUID bookId, boolean expandAffected, OffsetDateTime claimedAt) {
+    }
+
+    /**
+     * Live neighbors read from one materialized list.
+     *
+     * @param neighbors ranked neighbors that still exist and share no work cluster with the source
+     * @param storedCount neighbors the stored list holds, or {@code 0} when none survived
+     */
+    public record StoredNeighbors(List<NearestBookRow> neighbors, int storedCount) {
+        static final StoredNeighbors EMPTY = new StoredNeighbors(List.of(), 0);
+
+        public StoredNeighbors {
+            neighbors = List.copyOf(neighbors);
+        }
+    }
+
+    /**
+     * Ranked neighbor list for one source book.
+     */
+    public record NeighborList(UUID bookId, List<NearestBookRow> neighbors) {
+    }
+}
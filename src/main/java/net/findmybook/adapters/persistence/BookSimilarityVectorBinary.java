@@ -0,0 +1,167 @@
+package net.findmybook.adapters.persistence;
+
+import java.nio.ByteBuffer;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.util.List;
+import org.postgresql.core.BaseConnection;
+import org.postgresql.core.Oid;
+import org.postgresql.util.PGBinaryObject;
+import org.postgresql.util.PGobject;
+import org.postgresql.core.QueryExecutor;
+import org.springframework.jdbc.core.ArgumentPreparedStatementSetter;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.PreparedStatementCreator;
+
+/**
+ * Moves similarity vectors in pgvector's halfvec binary send/recv format: an int16 dimension,
+ * an int16 reserved word, then one big-endian IEEE fp16 per component.
+ *
+ * <p>A 2560-dimension vector is 5,124 bytes this way instead of a ~30KB decimal literal, and
+ * neither side formats or parses floats. Writes bind {@link #toHalfvecParameter(float[])};
+ * reads select {@code halfvec_send(column)} and decode it with {@link #fromHalfvecSend(byte[])}.</p>
+ *
+ * <p>Statements carrying these parameters run through {@link #update(JdbcTemplate, String, Object...)}
+ * or {@link #batchUpdate(JdbcTemplate, String, List)}, which register halfvec for binary send on
+ * the connection that prepares the statement. Registration sticks to the physical connection,
+ * so a pooled connection pays the type lookup once and later statements only check a set.</p>
+ *
+ * <p>Parameters are write-only: pgjdbc calls {@link PGBinaryObject#setByteValue(byte[], int)}
+ * only when it materializes a binary result column as a custom object, and reads here select
+ * {@code halfvec_send(...)} as {@code bytea} instead, so that path is never taken and rejecting
+ * it keeps a misconfigured type map from silently producing an empty vector.</p>
+ */
+final class BookSimilarityVectorBinary {
+
+    static final String HALFVEC_TYPE = "halfvec";
+
+    private static final int HEADER_BYTES = 2 * Short.BYTES;
+
+    private BookSimilarityVectorBinary() {
+    }
+
+    /**
+     * Wraps a vector as a JDBC parameter that pgjdbc sends in binary when the statement runs
+     * through {@link #update(JdbcTemplate, String, Object...)} or
+     * {@link #batchUpdate(JdbcTemplate, String, List)}, and as a text literal otherwise.
+     */
+    static PGobject toHalfvecParameter(float[] embedding) {
+        if (embedding == null || embedding.length == 0) {
+            throw new IllegalArgumentException("embedding is required");
+        }
+        if (embedding.length > Short.MAX_VALUE) {
+            throw new IllegalArgumentException("embedding dimension exceeds halfvec limit: " + embedding.length);
+        }
+        return new HalfvecParameter(embedding);
+    }
+
+    static float[] fromHalfvecSend(byte[] payload) {
+        if (payload == null || payload.length < HEADER_BYTES) {
+            throw new IllegalStateException("Unexpected halfvec binary payload");
+        }
+        ByteBuffer buffer = ByteBuffer.wrap(payload);
+        int dimension = buffer.getShort();
+        buffer.getShort();
+        if (dimension < 0 || payload.length != HEADER_BYTES + dimension * Short.BYTES) {
+            throw new IllegalStateException("Unexpected halfvec binary length " + payload.length + " for dimension " + dimension);
+        }
+        float[] components = new float[dimension];
+        for (int index = 0; index < dimension; index++) {
+            components[index] = Float.float16ToFloat(buffer.getShort());
+        }
+        return components;
+    }
+
+    /**
+     * Executes one statement with halfvec binary send enabled on the connection that prepares it.
+     *
+     * @return affected row count
+     */
+    static int update(JdbcTemplate jdbcTemplate, String sql, Object... args) {
+        Integer updated = jdbcTemplate.execute(binarySendStatement(sql), statement -> {
+            new ArgumentPreparedStatementSetter(args).setValues(statement);
+            return statement.executeUpdate();
+        });
+        return updated == null ? 0 : updated;
+    }
+
+    /**
+     * Executes one JDBC batch with halfvec binary send enabled on the connection that prepares it.
+     *
+     * @return affected row counts per batch entry
+     */
+    static int[] batchUpdate(JdbcTemplate jdbcTemplate, String sql, List<Object[]> batchArgs) {
+        int[] updated = jdbcTemplate.execute(binarySendStatement(sql), statement -> {
+            for (Object[] args : batchArgs) {
+                new ArgumentPreparedStatementSetter(args).setValues(statement);
+                statement.addBatch();
+            }
+            return statement.executeBatch();
+        });
+        return updated == null ? new int[0] : updated;
+    }
+
+    private static PreparedStatementCreator binarySendStatement(String sql) {
+        return connection -> {
+            enableBinarySend(connection);
+            return connection.prepareStatement(sql);
+        };
+    }
+
+    /**
+     * Registers halfvec for binary parameter transfer on the physical connection. pgjdbc only
+     * knows built-in types by default and the extension's OID differs per database, so the OID
+     * is resolved through the driver's per-connection type cache the first time only.
+     */
+    private static void enableBinarySend(Connection connection) throws SQLException {
+        if (!connection.isWrapperFor(BaseConnection.class)) {
+            return;
+        }
+        BaseConnection pgConnection = connection.unwrap(BaseConnection.class);
+        QueryExecutor queryExecutor = pgConnection.getQueryExecutor();
+        int halfvecOid = pgConnection.getTypeInfo().getPGType(HALFVEC_TYPE);
+        if (halfvecOid != Oid.UNSPECIFIED && !queryExecutor.useBinaryForSend(halfvecOid)) {
+            queryExecutor.addBinarySendOid(halfvecOid);
+        }
+    }
+
+    private static final class HalfvecParameter extends PGobject implements PGBinaryObject {
+
+        private final float[] components;
+
+        private HalfvecParameter(float[] components) {
+            this.components = components;
+            this.type = HALFVEC_TYPE;
+        }
+
+        @Override
+        public String getValue() {
+            return BookSimilarityVectorLiteral.toHalfvecLiteral(components);
+        }
+
+        @Override
+        public boolean isNull() {
+            return false;
+        }
+
+        @Override
+        public int lengthInBytes() {
+            return HEADER_BYTES + components.length * Short.BYTES;
+        }
+
+        @Override
+        public void toBytes(byte[] bytes, int offset) {
+            ByteBuffer buffer = ByteBuffer.wrap(bytes, offset, lengthInBytes());
+            buffer.putShort((short) components.length);
+            buffer.putShort((short) 0);
+            for (float component : components) {
+                buffer.putShort(Float.floatToFloat16(component));
+            }
+        }
+
+        @Override
+        public void setByteValue(byte[] value, int offset) {
+            throw new UnsupportedOperationException("halfvec parameters are write-only");
+        }
+    }
+}
@@ -0,0 +1,167 @@
+package net.findmybook.adapters.persistence;
+
+import java.sql.PreparedStatement;
+import java.sql.Timestamp;
+import java.time.Instant;
+import java.util.List;
+import java.util.UUID;
+import java.util.function.Consumer;
+import net.findmybook.util.IdGenerator;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowCallbackHandler;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+/**
+ * Postgres adapter for the co-view recommendation job.
+ *
+ * <p>Reads session-keyed detail views from {@code recent_book_views} and writes the pruned
+ * co-view graph into {@code book_recommendations} under the {@value #CO_VIEW_SOURCE} source.</p>
+ */
+@Repository
+public class CoViewRecommendationRepository {
+
+    /** {@code book_recommendations.source} value for co-view rows. */
+    public static final String CO_VIEW_SOURCE = "CO_VIEW";
+    /** {@code book_recommendations.reason} value for co-view rows. */
+    public static final String CO_VIEW_REASON = "Readers who viewed this book also viewed";
+
+    private static final int VIEW_FETCH_SIZE = 5_000;
+    private static final String UUID_PATTERN =
+        "^[0-9a-fA-F]{8}-[0-9a-fA-F]{4}-[0-9a-fA-F]{4}-[0-9a-fA-F]{4}-[0-9a-fA-F]{12}$";
+
+    private final JdbcTemplate jdbcTemplate;
+
+    public CoViewRecommendationRepository(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    /**
+     * Streams distinct (session, book) views since a cutoff, grouped by session key.
+     *
+     * <p>Rows are read through a server-side cursor so the view window never has to fit in
+     * memory as row objects; views without a session key or with a non-UUID book id are skipped.</p>
+     *
+     * @param since oldest view timestamp to include
+     * @param consumer receives views ordered by session key
+     */
+    @Transactional(readOnly = true)
+    public void streamSessionViews(Instant since, Consumer<SessionView> consumer) {
+        jdbcTemplate.query(
+            connection -> {
+                PreparedStatement statement = connection.prepareStatement(
+                    """
+                    SELECT DISTINCT v.session_key, v.book_id::uuid AS book_id
+                    FROM recent_book_views v
+                    WHERE v.session_key IS NOT NULL
+                      AND v.viewed_at >= ?
+                      AND v.book_id ~ ?
+                    ORDER BY v.session_key
+                    """
+                );
+                statement.setFetchSize(VIEW_FETCH_SIZE);
+                statement.setTimestamp(1, Timestamp.from(since));
+                statement.setString(2, UUID_PATTERN);
+                return statement;
+            },
+            (RowCallbackHandler) rs -> consumer.accept(new SessionView(
+                rs.getString("session_key"),
+                rs.getObject("book_id", UUID.class)
+            ))
+        );
+    }
+
+    /**
+     * Upserts one batch of co-view edges in a single statement.
+     *
+     * <p>Edges whose source or neighbor book no longer exists are dropped instead of failing the
+     * batch on the foreign keys.</p>
+     *
+     * @param edges co-view edges with scores in {@code (0, 1]}
+     * @param generatedAt run timestamp stamped on every written row
+     * @return rows inserted or updated
+     */
+    @Transactional
+    public int upsertCoViewRecommendations(List<CoViewEdge> edges, Instant generatedAt) {
+        if (edges == null || edges.isEmpty()) {
+            return 0;
+        }
+        String[] ids = new String[edges.size()];
+        UUID[] sourceBookIds = new UUID[edges.size()];
+        UUID[] recommendedBookIds = new UUID[edges.size()];
+        Double[] scores = new Double[edges.size()];
+        for (int index = 0; index < edges.size(); index++) {
+            CoViewEdge edge = edges.get(index);
+            ids[index] = IdGenerator.generate();
+            sourceBookIds[index] = edge.sourceBookId();
+            recommendedBookIds[index] = edge.recommendedBookId();
+            scores[index] = edge.score();
+        }
+        Timestamp generated = Timestamp.from(generatedAt);
+        return jdbcTemplate.update(
+            """
+            INSERT INTO book_recommendations
+              (id, source_book_id, recommended_book_id, source, score, reason, generated_at, expires_at)
+            SELECT edge.id,
+                   edge.source_book_id,
+                   edge.recommended_book_id,
+                   ?,
+                   edge.score,
+                   ?,
+                   ?,
+                   CAST(? AS TIMESTAMPTZ) + INTERVAL '30 days'
+            FROM unnest(?::TEXT[], ?::UUID[], ?::UUID[], ?::FLOAT8[])
+              AS edge(id, source_book_id, recommended_book_id, score)
+            WHERE EXISTS (SELECT 1 FROM books b WHERE b.id = edge.source_book_id)
+              AND EXISTS (SELECT 1 FROM books b WHERE b.id = edge.recommended_book_id)
+            ON CONFLICT (source_book_id, recommended_book_id, source) DO UPDATE SET
+              score = EXCLUDED.score,
+              reason = EXCLUDED.reason,
+              generated_at = EXCLUDED.generated_at,
+              expires_at = EXCLUDED.expires_at
+            """,
+            CO_VIEW_SOURCE,
+            CO_VIEW_REASON,
+            generated,
+            generated,
+            ids,
+            sourceBookIds,
+            recommendedBookIds,
+            scores
+        );
+    }
+
+    /**
+     * Removes co-view rows a completed run did not rewrite.
+     *
+     * @param generatedAt timestamp of the completed run
+     * @return rows deleted
+     */
+    @Transactional
+    public int deleteCoViewRecommendationsGeneratedBefore(Instant generatedAt) {
+        return jdbcTemplate.update(
+            "DELETE FROM book_recommendations WHERE source = ? AND generated_at < ?",
+            CO_VIEW_SOURCE,
+            Timestamp.from(generatedAt)
+        );
+    }
+
+    /**
+     * One distinct book viewed within one anonymous session.
+     *
+     * @param sessionKey anonymous session key
+     * @param bookId viewed book
+     */
+    public record SessionView(String sessionKey, UUID bookId) {
+    }
+
+    /**
+     * One persisted co-view edge.
+     *
+     * @param sourceBookId book the recommendation is shown for
+     * @param recommendedBookId co-viewed book
+     * @param score normalized co-view strength in {@code (0, 1]}
+     */
+    public record CoViewEdge(UUID sourceBookId, UUID recommendedBookId, double score) {
+    }
+}
@@ -25,59 +25,91 @@ public class RecommendationMaintenanceRepository {
     }
 
     /**
-     * Counts all recommendation-cache rows.
+     * Reads the planner's row estimate for the recommendation cache.
      *
-     * @return total persisted recommendation rows
-     */
-    @Transactional(readOnly = true)
-    public long countRecommendationRows() {
-        Long count = jdbcTemplate.queryForObject(
-            "SELECT COUNT(*) FROM book_recommendations",
-            Long.class
-        );
-        return count == null ? 0L : count;
-    }
-
-    /**
-     * Counts recommendation rows that are currently active.
+     * <p>Served from {@code pg_class} statistics instead of a table scan, so it is only good for
+     * progress reporting.</p>
      *
-     * @return number of rows where {@code expires_at} is absent or in the future
+     * @return estimated row count, {@code 0} when the table has never been analyzed
      */
     @Transactional(readOnly = true)
-    public long countActiveRecommendationRows() {
-        Long count = jdbcTemplate.queryForObject(
+    public long estimateRecommendationRows() {
+        Long estimate = jdbcTemplate.queryForObject(
             """
-            SELECT COUNT(*)
-            FROM book_recommendations
-            WHERE expires_at IS NULL OR expires_at > NOW()
+            SELECT GREATEST(reltuples, 0)::BIGINT
+            FROM pg_class
+            WHERE oid = 'book_recommendations'::regclass
             """,
             Long.class
         );
-        return count == null ? 0L : count;
+        return estimate == null ? 0L : estimate;
     }
 
     /**
-     * Refreshes expiry timestamps for every cached recommendation row.
+     * Refreshes expiry timestamps for one primary-key slice of cached recommendation rows.
      *
+     * <p>Each call is its own short transaction touching at most {@code sliceSize} rows, so row
+     * locks are released and dead tuples become reclaimable between slices. Counts are taken
+     * from the slice itself rather than from table scans.</p>
+     *
+     * @param afterId exclusive lower bound of the slice; empty string starts at the beginning
+     * @param sliceSize maximum rows in the slice
      * @param ttlDays number of days recommendations remain active
-     * @return number of updated rows
+     * @return slice bounds and counts; {@code scannedRows == 0} marks the end of the table
      */
     @Transactional
-    public int refreshAllRecommendationExpirations(int ttlDays) {
+    public ExpirySlice refreshRecommendationExpirationSlice(String afterId, int sliceSize, int ttlDays) {
         if (ttlDays < 1) {
             throw new IllegalArgumentException("ttlDays must be greater than or equal to 1");
         }
+        if (sliceSize < 1) {
+            throw new IllegalArgumentException("sliceSize must be greater than or equal to 1");
+        }
         try {
-            return jdbcTemplate.update(
+            return jdbcTemplate.queryForObject(
                 """
-                UPDATE book_recommendations
-                SET expires_at = NOW() + (? * INTERVAL '1 day')
+                WITH slice AS (
+                  SELECT id, (expires_at IS NULL OR expires_at > NOW()) AS was_active
+                  FROM book_recommendations
+                  WHERE id > ?
+                  ORDER BY id
+                  LIMIT ?
+                ), refreshed AS (
+                  UPDATE book_recommendations br
+                  SET expires_at = NOW() + (? * INTERVAL '1 day')
+                  FROM slice
+                  WHERE br.id = slice.id
+                  RETURNING br.id
+                )
+                SELECT (SELECT MAX(id) FROM slice) AS last_id,
+                       (SELECT COUNT(*) FROM slice) AS scanned_rows,
+                       (SELECT COUNT(*) FROM slice WHERE was_active) AS active_rows_before,
+                       (SELECT COUNT(*) FROM refreshed) AS refreshed_rows
                 """,
+                (rs, rowNum) -> new ExpirySlice(
+                    rs.getString("last_id"),
+                    rs.getInt("scanned_rows"),
+                    rs.getInt("active_rows_before"),
+                    rs.getInt("refreshed_rows")
+                ),
+                afterId,
+                sliceSize,
                 ttlDays
             );
         } catch (DataAccessException dataAccessException) {
-            log.error("Failed to refresh recommendation expirations for ttlDays={}", ttlDays, dataAccessException);
+            log.error("Failed to refresh recommendation expirations after id={} for ttlDays={}", afterId, ttlDays, dataAccessException);
             throw dataAccessException;
         }
     }
+
+    /**
+     * Outcome of one expiry refresh slice.
+     *
+     * @param lastId highest row id in the slice, {@code null} when the slice was empty
+     * @param scannedRows rows in the slice
+     * @param activeRowsBefore slice rows that were active before the update
+     * @param refreshedRows slice rows whose expiry was extended
+     */
+    public record ExpirySlice(String lastId, int scannedRows, int activeRowsBefore, int refreshedRows) {
+    }
 }
@@ -0,0 +1,88 @@
+package net.findmybook.adapters.persistence;
+
+import java.sql.Timestamp;
+import java.time.Instant;
+import java.util.Optional;
+import java.util.UUID;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+/**
+ * Postgres adapter for the resume point of the recommendation precompute pass.
+ */
+@Repository
+public class RecommendationPrecomputeCheckpointRepository {
+
+    private final JdbcTemplate jdbcTemplate;
+
+    public RecommendationPrecomputeCheckpointRepository(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    /**
+     * Reads the resume point of an unfinished pass.
+     *
+     * @return checkpoint, empty when no pass is in progress
+     */
+    @Transactional(readOnly = true)
+    public Optional<PrecomputeCheckpoint> fetchCheckpoint() {
+        return jdbcTemplate.query(
+            """
+            SELECT last_book_id, processed_count, written_count, started_at
+            FROM book_recommendation_precompute_checkpoints
+            """,
+            (rs, rowNum) -> new PrecomputeCheckpoint(
+                rs.getObject("last_book_id", UUID.class),
+                rs.getLong("processed_count"),
+                rs.getLong("written_count"),
+                rs.getTimestamp("started_at").toInstant()
+            )
+        ).stream().findFirst();
+    }
+
+    /**
+     * Records how far the pass has progressed.
+     *
+     * @param checkpoint highest completed book id and running counters
+     */
+    @Transactional
+    public void saveCheckpoint(PrecomputeCheckpoint checkpoint) {
+        jdbcTemplate.update(
+            """
+            INSERT INTO book_recommendation_precompute_checkpoints
+              (singleton, last_book_id, processed_count, written_count, started_at, updated_at)
+            VALUES (true, ?, ?, ?, ?, NOW())
+            ON CONFLICT (singleton) DO UPDATE SET
+              last_book_id = EXCLUDED.last_book_id,
+              processed_count = EXCLUDED.processed_count,
+              written_count = EXCLUDED.written_count,
+              started_at = EXCLUDED.started_at,
+              updated_at = NOW()
+            """,
+            checkpoint.lastBookId(),
+            checkpoint.processedCount(),
+            checkpoint.writtenCount(),
+            Timestamp.from(checkpoint.startedAt())
+        );
+    }
+
+    /**
+     * Removes the resume point once a pass has reached the end of the catalog.
+     */
+    @Transactional
+    public void clearCheckpoint() {
+        jdbcTemplate.update("DELETE FROM book_recommendation_precompute_checkpoints");
+    }
+
+    /**
+     * Resume point of a precompute pass.
+     *
+     * @param lastBookId highest book id whose page was written
+     * @param processedCount source books scored by the pass so far
+     * @param writtenCount recommendation rows written by the pass so far
+     * @param startedAt when the pass first started, preserved across resumes
+     */
+    public record PrecomputeCheckpoint(UUID lastBookId, long processedCount, long writtenCount, Instant startedAt) {
+    }
+}
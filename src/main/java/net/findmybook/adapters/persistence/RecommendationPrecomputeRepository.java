@@ -0,0 +1,262 @@
+package net.findmybook.adapters.persistence;
+
+import java.sql.PreparedStatement;
+import java.sql.Timestamp;
+import java.time.Instant;
+import java.util.List;
+import java.util.UUID;
+import java.util.function.Consumer;
+import net.findmybook.util.IdGenerator;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowCallbackHandler;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+/**
+ * Postgres adapter for the batch recommendation precompute pass.
+ *
+ * <p>Streams the catalog facts the pass builds its in-memory postings from, pages through books
+ * whose {@value #PIPELINE_SOURCE} rows are missing or expired, and rewrites those rows in
+ * multi-row statements. Only primary editions take part, matching the canonical ids the
+ * request-time pipeline persists under.</p>
+ */
+@Repository
+public class RecommendationPrecomputeRepository {
+
+    /** {@code book_recommendations.source} value shared with the request-time recommendation pipeline. */
+    public static final String PIPELINE_SOURCE = "RECOMMENDATION_PIPELINE";
+
+    private static final int STREAM_FETCH_SIZE = 10_000;
+    private static final int POPULARITY_WINDOW_DAYS = 90;
+    private static final String PRIMARY_EDITION_PREDICATE = """
+        NOT EXISTS (
+          SELECT 1
+          FROM work_cluster_members wcm
+          WHERE wcm.book_id = b.id
+            AND wcm.is_primary = false
+        )
+        """;
+
+    private final JdbcTemplate jdbcTemplate;
+
+    public RecommendationPrecomputeRepository(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    /**
+     * Streams every primary-edition book, most viewed first.
+     *
+     * <p>The order is the candidate order inside every posting, so when a posting is longer
+     * than the scan cap the pass keeps the books readers actually open.</p>
+     *
+     * @param consumer receives books ordered by recent view count, then id
+     */
+    @Transactional(readOnly = true)
+    public void streamCatalogBooks(Consumer<CatalogBook> consumer) {
+        jdbcTemplate.query(
+            connection -> {
+                PreparedStatement statement = connection.prepareStatement(
+                    """
+                    SELECT b.id, b.language
+                    FROM books b
+                    LEFT JOIN (
+                      SELECT v.book_id, COUNT(*) AS views
+                      FROM recent_book_views v
+                      WHERE v.viewed_at >= NOW() - (? * INTERVAL '1 day')
+                      GROUP BY v.book_id
+                    ) popularity ON popularity.book_id = b.id::text
+                    WHERE %s
+                    ORDER BY COALESCE(popularity.views, 0) DESC, b.id
+                    """.formatted(PRIMARY_EDITION_PREDICATE)
+                );
+                statement.setFetchSize(STREAM_FETCH_SIZE);
+                statement.setInt(1, POPULARITY_WINDOW_DAYS);
+                return statement;
+            },
+            (RowCallbackHandler) rs -> consumer.accept(new CatalogBook(
+                rs.getObject("id", UUID.class),
+                rs.getString("language")
+            ))
+        );
+    }
+
+    /**
+     * Streams every book-to-author link.
+     *
+     * @param consumer receives links with the author id as the term
+     */
+    @Transactional(readOnly = true)
+    public void streamBookAuthors(Consumer<BookTerm> consumer) {
+        streamBookTerms(
+            """
+            SELECT baj.book_id, baj.author_id AS term
+            FROM book_authors_join baj
+            """,
+            consumer
+        );
+    }
+
+    /**
+     * Streams every book-to-category link in the order the book detail page lists them.
+     *
+     * @param consumer receives links with the category display name as the term, grouped by book
+     */
+    @Transactional(readOnly = true)
+    public void streamBookCategories(Consumer<BookTerm> consumer) {
+        streamBookTerms(
+            """
+            SELECT bcj.book_id, bc.display_name AS term
+            FROM book_collections_join bcj
+            JOIN book_collections bc ON bc.id = bcj.collection_id
+            WHERE bc.collection_type = 'CATEGORY'
+            ORDER BY bcj.book_id, COALESCE(bcj.position, 2147483647), lower(bc.display_name)
+            """,
+            consumer
+        );
+    }
+
+    /**
+     * Reads the next page of primary-edition books without active pipeline recommendations.
+     *
+     * @param afterBookId exclusive lower bound of the keyset page
+     * @param limit page size
+     * @return book ids in ascending order
+     */
+    @Transactional(readOnly = true)
+    public List<UUID> fetchBooksNeedingRecommendations(UUID afterBookId, int limit) {
+        return jdbcTemplate.query(
+            """
+            SELECT b.id
+            FROM books b
+            WHERE b.id > ?
+              AND %s
+              AND NOT EXISTS (
+                SELECT 1
+                FROM book_recommendations br
+                WHERE br.source_book_id = b.id
+                  AND br.source = ?
+                  AND (br.expires_at IS NULL OR br.expires_at > NOW())
+              )
+            ORDER BY b.id
+            LIMIT ?
+            """.formatted(PRIMARY_EDITION_PREDICATE),
+            (rs, rowNum) -> rs.getObject("id", UUID.class),
+            afterBookId,
+            PIPELINE_SOURCE,
+            limit
+        );
+    }
+
+    /**
+     * Replaces the pipeline recommendations of a page of source books in one transaction.
+     *
+     * <p>Existing pipeline rows of every source present in the batch are deleted and the new rows
+     * inserted in a single statement, so readers never see a half-written list. Sources without
+     * new rows keep whatever they had. Rows pointing at books deleted since the postings were
+     * loaded are skipped.</p>
+     *
+     * @param recommendations rows to write, scores already normalized to {@code [0, 1]}
+     * @param generatedAt pass timestamp stamped on every written row
+     * @return rows inserted
+     */
+    @Transactional
+    public int replacePipelineRecommendations(List<PrecomputedRecommendation> recommendations, Instant generatedAt) {
+        if (recommendations == null || recommendations.isEmpty()) {
+            return 0;
+        }
+        jdbcTemplate.update(
+            "DELETE FROM book_recommendations WHERE source = ? AND source_book_id = ANY(?::UUID[])",
+            PIPELINE_SOURCE,
+            recommendations.stream().map(PrecomputedRecommendation::sourceBookId).distinct().toArray(UUID[]::new)
+        );
+        int size = recommendations.size();
+        String[] ids = new String[size];
+        UUID[] sources = new UUID[size];
+        UUID[] recommended = new UUID[size];
+        Double[] scores = new Double[size];
+        String[] reasons = new String[size];
+        for (int index = 0; index < size; index++) {
+            PrecomputedRecommendation recommendation = recommendations.get(index);
+            ids[index] = IdGenerator.generate();
+            sources[index] = recommendation.sourceBookId();
+            recommended[index] = recommendation.recommendedBookId();
+            scores[index] = recommendation.score();
+            reasons[index] = recommendation.reason();
+        }
+        Timestamp generated = Timestamp.from(generatedAt);
+        return jdbcTemplate.update(
+            """
+            INSERT INTO book_recommendations
+              (id, source_book_id, recommended_book_id, source, score, reason, generated_at, expires_at)
+            SELECT rec.id,
+                   rec.source_book_id,
+                   rec.recommended_book_id,
+                   ?,
+                   rec.score,
+                   rec.reason,
+                   ?,
+                   CAST(? AS TIMESTAMPTZ) + INTERVAL '30 days'
+            FROM unnest(?::TEXT[], ?::UUID[], ?::UUID[], ?::FLOAT8[], ?::TEXT[])
+              AS rec(id, source_book_id, recommended_book_id, score, reason)
+            WHERE EXISTS (SELECT 1 FROM books b WHERE b.id = rec.source_book_id)
+              AND EXISTS (SELECT 1 FROM books b WHERE b.id = rec.recommended_book_id)
+            ON CONFLICT (source_book_id, recommended_book_id, source) DO UPDATE SET
+              score = EXCLUDED.score,
+              reason = EXCLUDED.reason,
+              generated_at = EXCLUDED.generated_at,
+              expires_at = EXCLUDED.expires_at
+            """,
+            PIPELINE_SOURCE,
+            generated,
+            generated,
+            ids,
+            sources,
+            recommended,
+            scores,
+            reasons
+        );
+    }
+
+    private void streamBookTerms(String sql, Consumer<BookTerm> consumer) {
+        jdbcTemplate.query(
+            connection -> {
+                PreparedStatement statement = connection.prepareStatement(sql);
+                statement.setFetchSize(STREAM_FETCH_SIZE);
+                return statement;
+            },
+            (RowCallbackHandler) rs -> consumer.accept(new BookTerm(
+                rs.getObject("book_id", UUID.class),
+                rs.getString("term")
+            ))
+        );
+    }
+
+    /**
+     * One primary-edition book of the catalog.
+     *
+     * @param bookId canonical book id
+     * @param language stored language code, {@code null} when unknown
+     */
+    public record CatalogBook(UUID bookId, String language) {
+    }
+
+    /**
+     * One author or category attached to a book.
+     *
+     * @param bookId book id
+     * @param term author id or category display name
+     */
+    public record BookTerm(UUID bookId, String term) {
+    }
+
+    /**
+     * One precomputed pipeline recommendation row.
+     *
+     * @param sourceBookId book the recommendation is shown for
+     * @param recommendedBookId recommended book
+     * @param score normalized score in {@code [0, 1]}
+     * @param reason comma-separated reason codes
+     */
+    public record PrecomputedRecommendation(UUID sourceBookId, UUID recommendedBookId, double score, String reason) {
+    }
+}
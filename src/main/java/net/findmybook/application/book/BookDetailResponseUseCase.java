@@ -9,6 +9,7 @@ import net.findmybook.model.Book;
 import net.findmybook.service.RecentBookViewRepository;
 import net.findmybook.service.RecentlyViewedService;
 import net.findmybook.util.UuidUtils;
+import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.http.HttpStatus;
 import org.springframework.stereotype.Service;
 import org.springframework.util.StringUtils;
@@ -26,17 +27,33 @@ public class BookDetailResponseUseCase {
 
     private final BookAiContentService bookAiContentService;
     private final RecentlyViewedService recentlyViewedService;
+    private final ViewSessionKeyResolver viewSessionKeyResolver;
 
     /**
-     * Creates the detail response use case.
+     * Creates the detail response use case with a process-local session key resolver.
      *
      * @param bookAiContentService service for cached AI snapshot lookups
      * @param recentlyViewedService service for recording and reading detail view metrics
      */
     public BookDetailResponseUseCase(BookAiContentService bookAiContentService,
                                      RecentlyViewedService recentlyViewedService) {
+        this(bookAiContentService, recentlyViewedService, new ViewSessionKeyResolver());
+    }
+
+    /**
+     * Creates the detail response use case.
+     *
+     * @param bookAiContentService service for cached AI snapshot lookups
+     * @param recentlyViewedService service for recording and reading detail view metrics
+     * @param viewSessionKeyResolver resolver for the anonymous session key stored with each view
+     */
+    @Autowired
+    public BookDetailResponseUseCase(BookAiContentService bookAiContentService,
+                                     RecentlyViewedService recentlyViewedService,
+                                     ViewSessionKeyResolver viewSessionKeyResolver) {
         this.bookAiContentService = bookAiContentService;
         this.recentlyViewedService = recentlyViewedService;
+        this.viewSessionKeyResolver = viewSessionKeyResolver;
     }
 
     /**
@@ -47,12 +64,28 @@ public class BookDetailResponseUseCase {
      * @return enriched detail payload with AI snapshot and optional view metrics
      */
     public BookDto enrichDetailResponse(BookDto bookDto, @Nullable String rawViewWindow) {
+        return enrichDetailResponse(bookDto, rawViewWindow, null, null);
+    }
+
+    /**
+     * Enriches a canonical detail payload and records the view under the caller's anonymous session.
+     *
+     * @param bookDto canonical book detail payload
+     * @param rawViewWindow requested rolling window query value ({@code 30d}, {@code 90d}, {@code all})
+     * @param clientAddress remote address of the viewing client, used only to derive the session key
+     * @param userAgent {@code User-Agent} header of the viewing client, used only to derive the session key
+     * @return enriched detail payload with AI snapshot and optional view metrics
+     */
+    public BookDto enrichDetailResponse(BookDto bookDto,
+                                        @Nullable String rawViewWindow,
+                                        @Nullable String clientAddress,
+                                        @Nullable String userAgent) {
         if (bookDto == null) {
             throw new IllegalArgumentException("bookDto must not be null; callers should resolve book existence before enrichment");
         }
 
         Optional<RecentBookViewRepository.ViewWindow> requestedWindow = parseViewWindow(rawViewWindow);
-        recordRecentlyViewed(bookDto);
+        recordRecentlyViewed(bookDto, viewSessionKeyResolver.resolve(clientAddress, userAgent));
 
         BookDto enriched = attachAiContentSnapshot(bookDto);
         if (requestedWindow.isEmpty()) {
@@ -86,7 +119,7 @@ public class BookDetailResponseUseCase {
         return parsed;
     }
 
-    private void recordRecentlyViewed(BookDto bookDto) {
+    private void recordRecentlyViewed(BookDto bookDto, @Nullable String sessionKey) {
         if (bookDto == null || !StringUtils.hasText(bookDto.id())) {
             return;
         }
@@ -95,7 +128,7 @@ public class BookDetailResponseUseCase {
         viewedBook.setId(bookDto.id());
         viewedBook.setSlug(StringUtils.hasText(bookDto.slug()) ? bookDto.slug() : bookDto.id());
         viewedBook.setTitle(bookDto.title());
-        recentlyViewedService.addToRecentlyViewed(viewedBook);
+        recentlyViewedService.addToRecentlyViewed(viewedBook, sessionKey);
     }
 
     private BookDto attachAiContentSnapshot(BookDto bookDto) {
@@ -0,0 +1,369 @@
+package net.findmybook.application.book;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+/**
+ * Sparse item-item co-view graph pruned to the strongest neighbors of every book.
+ *
+ * <p>Books are interned to dense {@code int} indexes and sessions are held in compressed
+ * sparse-row arrays, so the whole view window costs a few bytes per view instead of one object
+ * per pair. Neighbors are counted per book with a dense scratch counter and a touched list,
+ * which keeps counting linear in the co-views of that book and avoids a global pair map.
+ * Scores are cosine similarities of the session incidence vectors,
+ * {@code coViews / sqrt(sessionsA * sessionsB)}, so they fall in {@code (0, 1]} like every other
+ * recommendation score.</p>
+ */
+final class CoViewGraph {
+
+    private final List<UUID> books;
+    private final int[] neighborOffsets;
+    private final int[] neighbors;
+    private final float[] scores;
+    private final int sessions;
+
+    private CoViewGraph(List<UUID> books, int[] neighborOffsets, int[] neighbors, float[] scores, int sessions) {
+        this.books = books;
+        this.neighborOffsets = neighborOffsets;
+        this.neighbors = neighbors;
+        this.scores = scores;
+        this.sessions = sessions;
+    }
+
+    /**
+     * Starts a graph over session views delivered grouped by session key.
+     *
+     * @param maxSessionBooks sessions with more distinct books are dropped as crawler traffic
+     * @return empty builder
+     */
+    static Builder builder(int maxSessionBooks) {
+        return new Builder(maxSessionBooks);
+    }
+
+    /** Distinct books read from the view window, including ones left without neighbors. */
+    int bookCount() {
+        return books.size();
+    }
+
+    /** Sessions that contributed co-views. */
+    int sessionCount() {
+        return sessions;
+    }
+
+    /** Retained edges across all books after pruning. */
+    int edgeCount() {
+        return neighbors.length;
+    }
+
+    /**
+     * Visits retained edges book by book, strongest neighbor first.
+     *
+     * @param consumer receives every source/neighbor pair with its score
+     */
+    void forEachEdge(EdgeConsumer consumer) {
+        for (int book = 0; book < books.size(); book++) {
+            UUID source = books.get(book);
+            for (int edge = neighborOffsets[book]; edge < neighborOffsets[book + 1]; edge++) {
+                consumer.accept(source, books.get(neighbors[edge]), scores[edge]);
+            }
+        }
+    }
+
+    /**
+     * Receives one retained co-view edge.
+     */
+    @FunctionalInterface
+    interface EdgeConsumer {
+        void accept(UUID sourceBookId, UUID neighborBookId, double score);
+    }
+
+    /**
+     * Accumulates sessions in arrival order; views must arrive grouped by session key.
+     */
+    static final class Builder {
+
+        private final int maxSessionBooks;
+        private final Map<UUID, Integer> indexByBook = new HashMap<>();
+        private final List<UUID> books = new ArrayList<>();
+        private final int[] current;
+        private int currentSize;
+        private boolean currentOverflowed;
+        private String currentSessionKey;
+        private int[] sessionItems = new int[1_024];
+        private int sessionItemCount;
+        private int[] sessionOffsets = new int[257];
+        private int sessionCount;
+        private int droppedSessions;
+
+        private Builder(int maxSessionBooks) {
+            if (maxSessionBooks < 2) {
+                throw new IllegalArgumentException("maxSessionBooks must be >= 2 but was " + maxSessionBooks);
+            }
+            this.maxSessionBooks = maxSessionBooks;
+            this.current = new int[maxSessionBooks];
+        }
+
+        /**
+         * Adds one view; a change of session key closes the previous session.
+         *
+         * @param sessionKey anonymous session key
+         * @param bookId viewed book
+         */
+        void add(String sessionKey, UUID bookId) {
+            if (sessionKey == null || bookId == null) {
+                return;
+            }
+            if (!sessionKey.equals(currentSessionKey)) {
+                closeSession();
+                currentSessionKey = sessionKey;
+            }
+            if (currentOverflowed) {
+                return;
+            }
+            int book = intern(bookId);
+            for (int index = 0; index < currentSize; index++) {
+                if (current[index] == book) {
+                    return;
+                }
+            }
+            if (currentSize == maxSessionBooks) {
+                currentOverflowed = true;
+                return;
+            }
+            current[currentSize++] = book;
+        }
+
+        /** Sessions dropped for exceeding the book cap. */
+        int droppedSessions() {
+            return droppedSessions;
+        }
+
+        /**
+         * Counts co-views and keeps the strongest neighbors of every book.
+         *
+         * @param topK neighbors retained per book
+         * @param minCoViews sessions two books must share before they become neighbors
+         * @return pruned graph
+         */
+        CoViewGraph build(int topK, int minCoViews) {
+            closeSession();
+            int bookCount = books.size();
+            int[] sessionsPerBook = new int[bookCount];
+            for (int item = 0; item < sessionItemCount; item++) {
+                sessionsPerBook[sessionItems[item]]++;
+            }
+            int[] bookSessionOffsets = new int[bookCount + 1];
+            for (int book = 0; book < bookCount; book++) {
+                bookSessionOffsets[book + 1] = bookSessionOffsets[book] + sessionsPerBook[book];
+            }
+            int[] bookSessions = new int[sessionItemCount];
+            int[] fill = Arrays.copyOf(bookSessionOffsets, bookCount);
+            for (int session = 0; session < sessionCount; session++) {
+                for (int item = sessionOffsets[session]; item < sessionOffsets[session + 1]; item++) {
+                    bookSessions[fill[sessionItems[item]]++] = session;
+                }
+            }
+
+            int[] coViews = new int[bookCount];
+            int[] touched = new int[bookCount];
+            TopNeighbors top = new TopNeighbors(topK);
+            int[] neighborOffsets = new int[bookCount + 1];
+            IntList neighbors = new IntList();
+            FloatList scores = new FloatList();
+            for (int book = 0; book < bookCount; book++) {
+                int touchedCount = 0;
+                for (int entry = bookSessionOffsets[book]; entry < bookSessionOffsets[book + 1]; entry++) {
+                    int session = bookSessions[entry];
+                    for (int item = sessionOffsets[session]; item < sessionOffsets[session + 1]; item++) {
+                        int other = sessionItems[item];
+                        if (other != book && coViews[other]++ == 0) {
+                            touched[touchedCount++] = other;
+                        }
+                    }
+                }
+                top.reset();
+                for (int index = 0; index < touchedCount; index++) {
+                    int other = touched[index];
+                    int shared = coViews[other];
+                    coViews[other] = 0;
+                    if (shared >= minCoViews) {
+                        double cosine = shared / Math.sqrt((double) sessionsPerBook[book] * sessionsPerBook[other]);
+                        top.offer(other, (float) Math.min(1.0d, cosine));
+                    }
+                }
+                top.drainInto(neighbors, scores);
+                neighborOffsets[book + 1] = neighbors.size;
+            }
+            return new CoViewGraph(
+                List.copyOf(books),
+                neighborOffsets,
+                neighbors.toArray(),
+                scores.toArray(),
+                sessionCount
+            );
+        }
+
+        private int intern(UUID bookId) {
+            Integer existing = indexByBook.get(bookId);
+            if (existing != null) {
+                return existing;
+            }
+            int index = books.size();
+            books.add(bookId);
+            indexByBook.put(bookId, index);
+            return index;
+        }
+
+        private void closeSession() {
+            if (currentOverflowed) {
+                droppedSessions++;
+            } else if (currentSize >= 2) {
+                if (sessionItemCount + currentSize > sessionItems.length) {
+                    sessionItems = Arrays.copyOf(sessionItems, Math.max(sessionItems.length * 2, sessionItemCount + currentSize));
+                }
+                System.arraycopy(current, 0, sessionItems, sessionItemCount, currentSize);
+                sessionItemCount += currentSize;
+                if (sessionCount + 2 > sessionOffsets.length) {
+                    sessionOffsets = Arrays.copyOf(sessionOffsets, sessionOffsets.length * 2);
+                }
+                sessionOffsets[++sessionCount] = sessionItemCount;
+            }
+            currentSize = 0;
+            currentOverflowed = false;
+            currentSessionKey = null;
+        }
+    }
+
+    /**
+     * Bounded min-heap over parallel primitive arrays; the weakest retained neighbor sits at the root.
+     */
+    private static final class TopNeighbors {
+
+        private final int capacity;
+        private final int[] nodes;
+        private final float[] heapScores;
+        private int size;
+
+        private TopNeighbors(int capacity) {
+            if (capacity < 1) {
+                throw new IllegalArgumentException("topK must be >= 1 but was " + capacity);
+            }
+            this.capacity = capacity;
+            this.nodes = new int[capacity];
+            this.heapScores = new float[capacity];
+        }
+
+        void reset() {
+            size = 0;
+        }
+
+        void offer(int node, float score) {
+            if (size < capacity) {
+                nodes[size] = node;
+                heapScores[size] = score;
+                siftUp(size++);
+            } else if (weaker(nodes[0], heapScores[0], node, score)) {
+                nodes[0] = node;
+                heapScores[0] = score;
+                siftDown(0);
+            }
+        }
+
+        void drainInto(IntList neighbors, FloatList scores) {
+            int start = neighbors.size;
+            neighbors.grow(size);
+            scores.grow(size);
+            for (int position = start + size - 1; position >= start; position--) {
+                neighbors.values[position] = nodes[0];
+                scores.values[position] = heapScores[0];
+                size--;
+                if (size > 0) {
+                    nodes[0] = nodes[size];
+                    heapScores[0] = heapScores[size];
+                    siftDown(0);
+                }
+            }
+        }
+
+        private void siftUp(int position) {
+            while (position > 0) {
+                int parent = (position - 1) >>> 1;
+                if (!weaker(nodes[position], heapScores[position], nodes[parent], heapScores[parent])) {
+                    return;
+                }
+                swap(position, parent);
+                position = parent;
+            }
+        }
+
+        private void siftDown(int position) {
+            while (true) {
+                int weakest = position;
+                int left = 2 * position + 1;
+                int right = left + 1;
+                if (left < size && weaker(nodes[left], heapScores[left], nodes[weakest], heapScores[weakest])) {
+                    weakest = left;
+                }
+                if (right < size && weaker(nodes[right], heapScores[right], nodes[weakest], heapScores[weakest])) {
+                    weakest = right;
+                }
+                if (weakest == position) {
+                    return;
+                }
+                swap(position, weakest);
+                position = weakest;
+            }
+        }
+
+        /** Lower score is weaker; on ties the later-interned book is weaker so output is deterministic. */
+        private static boolean weaker(int leftNode, float leftScore, int rightNode, float rightScore) {
+            int byScore = Float.compare(leftScore, rightScore);
+            return byScore < 0 || (byScore == 0 && leftNode > rightNode);
+        }
+
+        private void swap(int left, int right) {
+            int node = nodes[left];
+            nodes[left] = nodes[right];
+            nodes[right] = node;
+            float score = heapScores[left];
+            heapScores[left] = heapScores[right];
+            heapScores[right] = score;
+        }
+    }
+
+    private static final class IntList {
+        private int[] values = new int[1_024];
+        private int size;
+
+        void grow(int count) {
+            if (size + count > values.length) {
+                values = Arrays.copyOf(values, Math.max(values.length * 2, size + count));
+            }
+            size += count;
+        }
+
+        int[] toArray() {
+            return Arrays.copyOf(values, size);
+        }
+    }
+
+    private static final class FloatList {
+        private float[] values = new float[1_024];
+        private int size;
+
+        void grow(int count) {
+            if (size + count > values.length) {
+                values = Arrays.copyOf(values, Math.max(values.length * 2, size + count));
+            }
+            size += count;
+        }
+
+        float[] toArray() {
+            return Arrays.copyOf(values, size);
+        }
+    }
+}
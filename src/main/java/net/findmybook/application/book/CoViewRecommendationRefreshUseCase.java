@@ -0,0 +1,139 @@
+package net.findmybook.application.book;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.List;
+import net.findmybook.adapters.persistence.CoViewRecommendationRepository;
+import net.findmybook.adapters.persistence.CoViewRecommendationRepository.CoViewEdge;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataAccessException;
+import org.springframework.stereotype.Service;
+
+/**
+ * Application use case that rebuilds co-view recommendations from anonymous view sessions.
+ *
+ * <p>The job reads one window of session-keyed detail views, builds a {@link CoViewGraph} in
+ * memory, and writes every retained edge into {@code book_recommendations} in multi-row
+ * upserts. Serving these rows is a plain table read, so books with co-view history get
+ * recommendations without the author, category, and text searches a regeneration costs.</p>
+ */
+@Service
+public class CoViewRecommendationRefreshUseCase {
+
+    private static final Logger log = LoggerFactory.getLogger(CoViewRecommendationRefreshUseCase.class);
+    private static final int UPSERT_BATCH_SIZE = 1_000;
+
+    private final CoViewRecommendationRepository coViewRecommendationRepository;
+    private final int windowDays;
+    private final int topK;
+    private final int minCoViews;
+    private final int maxSessionBooks;
+
+    public CoViewRecommendationRefreshUseCase(CoViewRecommendationRepository coViewRecommendationRepository,
+                                              @Value("${app.recommendations.co-view.window-days:30}") int windowDays,
+                                              @Value("${app.recommendations.co-view.top-k:20}") int topK,
+                                              @Value("${app.recommendations.co-view.min-co-views:2}") int minCoViews,
+                                              @Value("${app.recommendations.co-view.max-session-books:50}") int maxSessionBooks) {
+        if (windowDays < 1) {
+            throw new IllegalArgumentException("app.recommendations.co-view.window-days must be >= 1");
+        }
+        if (topK < 1) {
+            throw new IllegalArgumentException("app.recommendations.co-view.top-k must be >= 1");
+        }
+        if (minCoViews < 1) {
+            throw new IllegalArgumentException("app.recommendations.co-view.min-co-views must be >= 1");
+        }
+        if (maxSessionBooks < 2) {
+            throw new IllegalArgumentException("app.recommendations.co-view.max-session-books must be >= 2");
+        }
+        this.coViewRecommendationRepository = coViewRecommendationRepository;
+        this.windowDays = windowDays;
+        this.topK = topK;
+        this.minCoViews = minCoViews;
+        this.maxSessionBooks = maxSessionBooks;
+    }
+
+    /**
+     * Rebuilds every co-view recommendation row from the configured view window.
+     *
+     * @return summary of the graph and the rows written
+     */
+    public CoViewRefreshSummary refreshCoViewRecommendations() {
+        // Postgres keeps microseconds; truncating keeps the stale-row cutoff equal to what was stored.
+        Instant generatedAt = Instant.now().truncatedTo(ChronoUnit.MICROS);
+        long startedNanos = System.nanoTime();
+        try {
+            CoViewGraph.Builder builder = CoViewGraph.builder(maxSessionBooks);
+            coViewRecommendationRepository.streamSessionViews(
+                generatedAt.minus(Duration.ofDays(windowDays)),
+                view -> builder.add(view.sessionKey(), view.bookId())
+            );
+            CoViewGraph graph = builder.build(topK, minCoViews);
+
+            List<CoViewEdge> batch = new ArrayList<>(UPSERT_BATCH_SIZE);
+            long[] writtenRows = new long[1];
+            graph.forEachEdge((sourceBookId, neighborBookId, score) -> {
+                batch.add(new CoViewEdge(sourceBookId, neighborBookId, score));
+                if (batch.size() == UPSERT_BATCH_SIZE) {
+                    writtenRows[0] += coViewRecommendationRepository.upsertCoViewRecommendations(batch, generatedAt);
+                    batch.clear();
+                }
+            });
+            writtenRows[0] += coViewRecommendationRepository.upsertCoViewRecommendations(batch, generatedAt);
+            int deletedRows = coViewRecommendationRepository.deleteCoViewRecommendationsGeneratedBefore(generatedAt);
+
+            CoViewRefreshSummary summary = new CoViewRefreshSummary(
+                graph.sessionCount(),
+                builder.droppedSessions(),
+                graph.bookCount(),
+                graph.edgeCount(),
+                writtenRows[0],
+                deletedRows,
+                windowDays
+            );
+            log.info(
+                "Co-view recommendation refresh completed in {} ms: sessions={}, droppedSessions={}, books={}, edges={}, writtenRows={}, deletedRows={}, windowDays={}",
+                Duration.ofNanos(System.nanoTime() - startedNanos).toMillis(),
+                summary.sessions(),
+                summary.droppedSessions(),
+                summary.books(),
+                summary.edges(),
+                summary.writtenRows(),
+                summary.deletedRows(),
+                summary.windowDays()
+            );
+            return summary;
+        } catch (DataAccessException dataAccessException) {
+            log.error(
+                "Co-view recommendation refresh failed due to data-access error (windowDays={}).",
+                windowDays,
+                dataAccessException
+            );
+            throw new IllegalStateException("Co-view recommendation refresh failed due to data-access error.", dataAccessException);
+        }
+    }
+
+    /**
+     * Immutable diagnostic payload for a co-view refresh execution.
+     *
+     * @param sessions sessions with at least two distinct books that fed the graph
+     * @param droppedSessions sessions discarded for exceeding the per-session book cap
+     * @param books distinct books read from the window
+     * @param edges edges retained after top-K pruning
+     * @param writtenRows rows inserted or updated; edges to deleted books are not written
+     * @param deletedRows co-view rows from earlier runs that this run no longer produced
+     * @param windowDays view window the graph was built from
+     */
+    public record CoViewRefreshSummary(int sessions,
+                                       int droppedSessions,
+                                       int books,
+                                       int edges,
+                                       long writtenRows,
+                                       int deletedRows,
+                                       int windowDays) {
+    }
+}
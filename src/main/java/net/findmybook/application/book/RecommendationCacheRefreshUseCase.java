@@ -1,88 +1,159 @@
 package net.findmybook.application.book;
 
+import java.time.Duration;
 import net.findmybook.adapters.persistence.RecommendationMaintenanceRepository;
+import net.findmybook.adapters.persistence.RecommendationMaintenanceRepository.ExpirySlice;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.dao.DataAccessException;
 import org.springframework.stereotype.Service;
-import org.springframework.transaction.annotation.Transactional;
 
 /**
  * Application use case that refreshes persisted recommendation cache expirations.
  *
  * <p>This workflow is intentionally persistence-agnostic at the caller boundary
  * and returns a typed summary for scheduler/admin diagnostics.</p>
+ *
+ * <p>Rows are refreshed in primary-key slices, each committed on its own, with an optional pause
+ * between slices. Lock holds and the dead tuples awaiting vacuum stay bounded by the slice size
+ * instead of the table size, and the summary counts are summed from the slices rather than read
+ * with full-table {@code COUNT(*)} scans.</p>
  */
 @Service
 public class RecommendationCacheRefreshUseCase {
 
     private static final Logger log = LoggerFactory.getLogger(RecommendationCacheRefreshUseCase.class);
+    private static final int PROGRESS_LOG_INTERVAL_SLICES = 20;
 
     private final RecommendationMaintenanceRepository recommendationMaintenanceRepository;
     private final int ttlDays;
+    private final int sliceSize;
+    private final Duration slicePause;
 
     public RecommendationCacheRefreshUseCase(RecommendationMaintenanceRepository recommendationMaintenanceRepository,
-                                             @Value("${app.recommendations.refresh.ttl-days:30}") int ttlDays) {
+                                             @Value("${app.recommendations.refresh.ttl-days:30}") int ttlDays,
+                                             @Value("${app.recommendations.refresh.slice-size:5000}") int sliceSize,
+                                             @Value("${app.recommendations.refresh.slice-pause-ms:50}") long slicePauseMillis) {
         this.recommendationMaintenanceRepository = recommendationMaintenanceRepository;
         if (ttlDays < 1) {
             throw new IllegalArgumentException("app.recommendations.refresh.ttl-days must be >= 1");
         }
+        if (sliceSize < 1) {
+            throw new IllegalArgumentException("app.recommendations.refresh.slice-size must be >= 1");
+        }
+        if (slicePauseMillis < 0) {
+            throw new IllegalArgumentException("app.recommendations.refresh.slice-pause-ms must be >= 0");
+        }
         this.ttlDays = ttlDays;
+        this.sliceSize = sliceSize;
+        this.slicePause = Duration.ofMillis(slicePauseMillis);
     }
 
     /**
-     * Executes a full recommendation-cache expiry refresh.
+     * Executes a full recommendation-cache expiry refresh, one committed slice at a time.
      *
-     * @return summary of row counts before and after refresh execution
+     * <p>Slices committed before a failure stay refreshed; rerunning simply refreshes every row
+     * again.</p>
+     *
+     * @return summary of row counts accumulated across slices
      */
-    @Transactional
     public RefreshSummary refreshAllRecommendations() {
+        long startedNanos = System.nanoTime();
+        String lastId = "";
+        long totalRows = 0L;
+        long activeRowsBefore = 0L;
+        long refreshedRows = 0L;
+        int slices = 0;
         try {
-            long totalRows = recommendationMaintenanceRepository.countRecommendationRows();
-            long activeRowsBefore = recommendationMaintenanceRepository.countActiveRecommendationRows();
-            int refreshedRows = recommendationMaintenanceRepository.refreshAllRecommendationExpirations(ttlDays);
-            long activeRowsAfter = recommendationMaintenanceRepository.countActiveRecommendationRows();
+            long estimatedRows = recommendationMaintenanceRepository.estimateRecommendationRows();
+            while (true) {
+                ExpirySlice slice =
+                    recommendationMaintenanceRepository.refreshRecommendationExpirationSlice(lastId, sliceSize, ttlDays);
+                if (slice.scannedRows() == 0) {
+                    break;
+                }
+                slices++;
+                totalRows += slice.scannedRows();
+                activeRowsBefore += slice.activeRowsBefore();
+                refreshedRows += slice.refreshedRows();
+                lastId = slice.lastId();
+                if (slices % PROGRESS_LOG_INTERVAL_SLICES == 0) {
+                    log.info(
+                        "Recommendation cache refresh progress: slices={}, scannedRows={} of ~{}, refreshedRows={}, lastId={}",
+                        slices,
+                        totalRows,
+                        estimatedRows,
+                        refreshedRows,
+                        lastId
+                    );
+                }
+                if (slice.scannedRows() < sliceSize) {
+                    break;
+                }
+                pauseBetweenSlices(slices);
+            }
 
             RefreshSummary summary = new RefreshSummary(
                 totalRows,
                 activeRowsBefore,
+                Math.toIntExact(refreshedRows),
                 refreshedRows,
-                activeRowsAfter,
-                ttlDays
+                ttlDays,
+                slices
             );
             log.info(
-                "Recommendation cache refresh completed: totalRows={}, activeBefore={}, refreshedRows={}, activeAfter={}, ttlDays={}",
+                "Recommendation cache refresh completed in {} ms: totalRows={}, activeBefore={}, refreshedRows={}, activeAfter={}, ttlDays={}, slices={}",
+                Duration.ofNanos(System.nanoTime() - startedNanos).toMillis(),
                 summary.totalRows(),
                 summary.activeRowsBefore(),
                 summary.refreshedRows(),
                 summary.activeRowsAfter(),
-                summary.ttlDays()
+                summary.ttlDays(),
+                summary.slices()
             );
             return summary;
         } catch (DataAccessException dataAccessException) {
             log.error(
-                "Recommendation cache refresh failed due to data-access error (ttlDays={}).",
+                "Recommendation cache refresh failed due to data-access error after {} slices (ttlDays={}, lastId={}).",
+                slices,
                 ttlDays,
+                lastId,
                 dataAccessException
             );
             throw new IllegalStateException("Recommendation refresh failed due to data-access error.", dataAccessException);
         }
     }
 
+    private void pauseBetweenSlices(int completedSlices) {
+        if (slicePause.isZero()) {
+            return;
+        }
+        try {
+            Thread.sleep(slicePause.toMillis());
+        } catch (InterruptedException _) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException(
+                "Recommendation refresh interrupted after " + completedSlices + " committed slices."
+            );
+        }
+    }
+
     /**
      * Immutable diagnostic payload for a recommendation refresh execution.
      *
-     * @param totalRows number of persisted recommendation rows before refresh
-     * @param activeRowsBefore active recommendation rows before refresh
-     * @param refreshedRows number of rows touched by the refresh update
-     * @param activeRowsAfter active recommendation rows after refresh
+     * @param totalRows recommendation rows visited across all slices
+     * @param activeRowsBefore visited rows that were active before their slice was refreshed
+     * @param refreshedRows number of rows touched by the refresh updates
+     * @param activeRowsAfter visited rows active once their slice committed
      * @param ttlDays TTL window applied during refresh
+     * @param slices committed slices
      */
     public record RefreshSummary(long totalRows,
                                  long activeRowsBefore,
                                  int refreshedRows,
                                  long activeRowsAfter,
-                                 int ttlDays) {
+                                 int ttlDays,
+                                 int slices) {
     }
 }
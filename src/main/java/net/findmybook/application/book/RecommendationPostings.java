@@ -0,0 +1,421 @@
+package net.findmybook.application.book;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import net.findmybook.service.RecommendationScoringStrategy;
+
+/**
+ * In-memory author and category postings that score recommendation candidates without searches.
+ *
+ * <p>Books are interned to dense {@code int} indexes in the order they are registered, and every
+ * book-to-term and term-to-book relation is a compressed sparse-row array, so one pass holds the
+ * whole catalog in a few primitive arrays. Scoring a book walks the postings of its authors and
+ * main categories, which is what the author and category searches of the request-time pipeline
+ * ask the search index for, and applies the same {@link RecommendationScoringStrategy} weights.
+ * Because term postings keep registration order, a scan cap keeps the earliest-registered books
+ * of an oversized posting.</p>
+ *
+ * <p>Not thread-safe: scoring reuses per-instance scratch arrays.</p>
+ */
+final class RecommendationPostings {
+
+    private static final byte AUTHOR_MATCH = 1;
+    private static final byte CATEGORY_MATCH = 2;
+    private static final int NO_LANGUAGE = -1;
+
+    private final RecommendationScoringStrategy scoringStrategy;
+    private final Map<UUID, Integer> indexByBook;
+    private final List<UUID> books;
+    private final int[] languages;
+    private final Csr bookAuthors;
+    private final Csr authorBooks;
+    private final Csr bookSegments;
+    private final Csr segmentBooks;
+    private final Csr bookMainSegments;
+    private final double[] scratchScores;
+    private final byte[] scratchMatches;
+    private final int[] touched;
+
+    private RecommendationPostings(RecommendationScoringStrategy scoringStrategy,
+                                   Map<UUID, Integer> indexByBook,
+                                   List<UUID> books,
+                                   int[] languages,
+                                   Csr bookAuthors,
+                                   Csr authorBooks,
+                                   Csr bookSegments,
+                                   Csr segmentBooks,
+                                   Csr bookMainSegments) {
+        this.scoringStrategy = scoringStrategy;
+        this.indexByBook = indexByBook;
+        this.books = books;
+        this.languages = languages;
+        this.bookAuthors = bookAuthors;
+        this.authorBooks = authorBooks;
+        this.bookSegments = bookSegments;
+        this.segmentBooks = segmentBooks;
+        this.bookMainSegments = bookMainSegments;
+        this.scratchScores = new double[books.size()];
+        this.scratchMatches = new byte[books.size()];
+        this.touched = new int[books.size()];
+    }
+
+    /**
+     * Starts postings scored with the given strategy's weights.
+     *
+     * @param scoringStrategy source of match weights and category normalization
+     * @return empty builder
+     */
+    static Builder builder(RecommendationScoringStrategy scoringStrategy) {
+        return new Builder(scoringStrategy);
+    }
+
+    /** Books registered in the postings. */
+    int bookCount() {
+        return books.size();
+    }
+
+    /** Distinct authors with at least one registered book. */
+    int authorCount() {
+        return authorBooks.rowCount();
+    }
+
+    /** Distinct normalized category segments with at least one registered book. */
+    int categorySegmentCount() {
+        return segmentBooks.rowCount();
+    }
+
+    /**
+     * Scores candidates for one source book and returns the strongest ones.
+     *
+     * <p>Each shared author adds the author match score and a book reached through any main
+     * category gets one category overlap score, as a candidate returned by several author searches
+     * and one category search would. When the source has a language, candidates in other or
+     * unknown languages are skipped.</p>
+     *
+     * @param sourceBookId book to recommend for
+     * @param limit maximum recommendations returned
+     * @param maxPostingScan candidates read from any one author or category posting
+     * @return recommendations strongest first, ties broken by registration order; empty when the
+     *     source is not registered or shares nothing with other books
+     */
+    List<ScoredCandidate> recommend(UUID sourceBookId, int limit, int maxPostingScan) {
+        Integer boxedSource = indexByBook.get(sourceBookId);
+        if (boxedSource == null || limit < 1) {
+            return List.of();
+        }
+        int source = boxedSource;
+        int language = languages[source];
+        int touchedCount = 0;
+
+        double authorScore = scoringStrategy.authorMatchScore();
+        for (int entry = bookAuthors.start(source); entry < bookAuthors.end(source); entry++) {
+            int author = bookAuthors.values[entry];
+            int scanned = 0;
+            for (int posting = authorBooks.start(author); posting < authorBooks.end(author) && scanned < maxPostingScan; posting++) {
+                int candidate = authorBooks.values[posting];
+                if (candidate == source) {
+                    continue;
+                }
+                scanned++;
+                if (language != NO_LANGUAGE && languages[candidate] != language) {
+                    continue;
+                }
+                if (scratchMatches[candidate] == 0) {
+                    touched[touchedCount++] = candidate;
+                }
+                scratchMatches[candidate] |= AUTHOR_MATCH;
+                scratchScores[candidate] += authorScore;
+            }
+        }
+
+        for (int entry = bookMainSegments.start(source); entry < bookMainSegments.end(source); entry++) {
+            int segment = bookMainSegments.values[entry];
+            int scanned = 0;
+            for (int posting = segmentBooks.start(segment); posting < segmentBooks.end(segment) && scanned < maxPostingScan; posting++) {
+                int candidate = segmentBooks.values[posting];
+                if (candidate == source) {
+                    continue;
+                }
+                scanned++;
+                if ((scratchMatches[candidate] & CATEGORY_MATCH) != 0
+                    || (language != NO_LANGUAGE && languages[candidate] != language)) {
+                    continue;
+                }
+                if (scratchMatches[candidate] == 0) {
+                    touched[touchedCount++] = candidate;
+                }
+                scratchMatches[candidate] |= CATEGORY_MATCH;
+                scratchScores[candidate] += scoringStrategy.categoryOverlapScore(
+                    sharedSegments(source, candidate),
+                    bookSegments.length(source),
+                    bookSegments.length(candidate)
+                );
+            }
+        }
+
+        int[] topBooks = new int[Math.min(limit, touchedCount)];
+        int topCount = 0;
+        for (int index = 0; index < touchedCount; index++) {
+            int candidate = touched[index];
+            if (topCount < topBooks.length) {
+                topBooks[topCount++] = candidate;
+            } else if (stronger(candidate, topBooks[topCount - 1])) {
+                topBooks[topCount - 1] = candidate;
+            } else {
+                continue;
+            }
+            for (int position = topCount - 1; position > 0 && stronger(topBooks[position], topBooks[position - 1]); position--) {
+                int swap = topBooks[position];
+                topBooks[position] = topBooks[position - 1];
+                topBooks[position - 1] = swap;
+            }
+        }
+
+        List<ScoredCandidate> results = new ArrayList<>(topCount);
+        for (int index = 0; index < topCount; index++) {
+            int candidate = topBooks[index];
+            results.add(new ScoredCandidate(
+                books.get(candidate),
+                scratchScores[candidate],
+                (scratchMatches[candidate] & AUTHOR_MATCH) != 0,
+                (scratchMatches[candidate] & CATEGORY_MATCH) != 0
+            ));
+        }
+        for (int index = 0; index < touchedCount; index++) {
+            scratchScores[touched[index]] = 0.0d;
+            scratchMatches[touched[index]] = 0;
+        }
+        return results;
+    }
+
+    private boolean stronger(int left, int right) {
+        int byScore = Double.compare(scratchScores[left], scratchScores[right]);
+        return byScore > 0 || (byScore == 0 && left < right);
+    }
+
+    private int sharedSegments(int left, int right) {
+        int leftIndex = bookSegments.start(left);
+        int leftEnd = bookSegments.end(left);
+        int rightIndex = bookSegments.start(right);
+        int rightEnd = bookSegments.end(right);
+        int shared = 0;
+        while (leftIndex < leftEnd && rightIndex < rightEnd) {
+            int comparison = Integer.compare(bookSegments.values[leftIndex], bookSegments.values[rightIndex]);
+            if (comparison == 0) {
+                shared++;
+                leftIndex++;
+                rightIndex++;
+            } else if (comparison < 0) {
+                leftIndex++;
+            } else {
+                rightIndex++;
+            }
+        }
+        return shared;
+    }
+
+    /**
+     * One scored candidate for a source book.
+     *
+     * @param bookId candidate book
+     * @param score raw pipeline score on the {@link RecommendationScoringStrategy} scale
+     * @param authorMatch candidate shares at least one author with the source
+     * @param categoryMatch candidate was reached through a main category of the source
+     */
+    record ScoredCandidate(UUID bookId, double score, boolean authorMatch, boolean categoryMatch) {
+    }
+
+    /**
+     * Accumulates books, then their author and category links.
+     */
+    static final class Builder {
+
+        private final RecommendationScoringStrategy scoringStrategy;
+        private final Map<UUID, Integer> indexByBook = new HashMap<>();
+        private final List<UUID> books = new ArrayList<>();
+        private final Map<String, Integer> languageIds = new HashMap<>();
+        private final IntList languages = new IntList();
+        private final Map<String, Integer> authorIds = new HashMap<>();
+        private final IntList authorPairBooks = new IntList();
+        private final IntList authorPairTerms = new IntList();
+        private final Map<String, Integer> segmentIds = new HashMap<>();
+        private final IntList segmentPairBooks = new IntList();
+        private final IntList segmentPairTerms = new IntList();
+        private final IntList mainPairBooks = new IntList();
+        private final IntList mainPairTerms = new IntList();
+        private int mainBook = -1;
+        private int mainCount;
+
+        private Builder(RecommendationScoringStrategy scoringStrategy) {
+            this.scoringStrategy = scoringStrategy;
+        }
+
+        /**
+         * Registers a book; registration order is candidate order inside every posting.
+         *
+         * @param bookId book id
+         * @param language language code, {@code null} or blank when unknown
+         */
+        void addBook(UUID bookId, String language) {
+            if (bookId == null || indexByBook.containsKey(bookId)) {
+                return;
+            }
+            indexByBook.put(bookId, books.size());
+            books.add(bookId);
+            boolean knownLanguage = language != null && !language.isBlank();
+            languages.add(knownLanguage ? languageIds.computeIfAbsent(language, ignored -> languageIds.size()) : NO_LANGUAGE);
+        }
+
+        /**
+         * Links a registered book to an author; links to unregistered books are ignored.
+         *
+         * @param bookId book id
+         * @param authorId author id
+         */
+        void addAuthor(UUID bookId, String authorId) {
+            Integer book = indexByBook.get(bookId);
+            if (book == null || authorId == null) {
+                return;
+            }
+            authorPairBooks.add(book);
+            authorPairTerms.add(authorIds.computeIfAbsent(authorId, ignored -> authorIds.size()));
+        }
+
+        /**
+         * Links a registered book to a category; links to unregistered books are ignored.
+         *
+         * <p>Categories of one book must arrive together and in display order, because the first
+         * few distinct main categories are the ones a category search would use.</p>
+         *
+         * @param bookId book id
+         * @param category raw category path
+         */
+        void addCategory(UUID bookId, String category) {
+            Integer book = indexByBook.get(bookId);
+            if (book == null) {
+                return;
+            }
+            List<String> segments = scoringStrategy.normalizeCategorySegments(category);
+            if (segments.isEmpty()) {
+                return;
+            }
+            for (String segment : segments) {
+                segmentPairBooks.add(book);
+                segmentPairTerms.add(segmentIds.computeIfAbsent(segment, ignored -> segmentIds.size()));
+            }
+            if (book != mainBook) {
+                mainBook = book;
+                mainCount = 0;
+            }
+            int main = segmentIds.get(segments.getFirst());
+            for (int index = mainPairBooks.size - mainCount; index < mainPairBooks.size; index++) {
+                if (mainPairTerms.values[index] == main) {
+                    return;
+                }
+            }
+            if (mainCount < scoringStrategy.maxMainCategories()) {
+                mainPairBooks.add(book);
+                mainPairTerms.add(main);
+                mainCount++;
+            }
+        }
+
+        /**
+         * Freezes the registered relations into compressed postings.
+         *
+         * @return postings ready for scoring
+         */
+        RecommendationPostings build() {
+            int bookCount = books.size();
+            return new RecommendationPostings(
+                scoringStrategy,
+                indexByBook,
+                List.copyOf(books),
+                languages.toArray(),
+                Csr.of(bookCount, authorPairBooks, authorPairTerms),
+                Csr.of(authorIds.size(), authorPairTerms, authorPairBooks),
+                Csr.of(bookCount, segmentPairBooks, segmentPairTerms),
+                Csr.of(segmentIds.size(), segmentPairTerms, segmentPairBooks),
+                Csr.of(bookCount, mainPairBooks, mainPairTerms)
+            );
+        }
+    }
+
+    /**
+     * Compressed sparse rows with sorted, distinct values per row.
+     */
+    private static final class Csr {
+
+        private final int[] offsets;
+        private final int[] values;
+
+        private Csr(int[] offsets, int[] values) {
+            this.offsets = offsets;
+            this.values = values;
+        }
+
+        static Csr of(int rowCount, IntList rows, IntList columns) {
+            int[] offsets = new int[rowCount + 1];
+            for (int pair = 0; pair < rows.size; pair++) {
+                offsets[rows.values[pair] + 1]++;
+            }
+            for (int row = 0; row < rowCount; row++) {
+                offsets[row + 1] += offsets[row];
+            }
+            int[] values = new int[rows.size];
+            int[] fill = Arrays.copyOf(offsets, rowCount);
+            for (int pair = 0; pair < rows.size; pair++) {
+                values[fill[rows.values[pair]]++] = columns.values[pair];
+            }
+            int write = 0;
+            int[] compacted = new int[rowCount + 1];
+            for (int row = 0; row < rowCount; row++) {
+                Arrays.sort(values, offsets[row], offsets[row + 1]);
+                compacted[row] = write;
+                for (int read = offsets[row]; read < offsets[row + 1]; read++) {
+                    if (read == offsets[row] || values[read] != values[read - 1]) {
+                        values[write++] = values[read];
+                    }
+                }
+            }
+            compacted[rowCount] = write;
+            return new Csr(compacted, Arrays.copyOf(values, write));
+        }
+
+        int rowCount() {
+            return offsets.length - 1;
+        }
+
+        int start(int row) {
+            return offsets[row];
+        }
+
+        int end(int row) {
+            return offsets[row + 1];
+        }
+
+        int length(int row) {
+            return offsets[row + 1] - offsets[row];
+        }
+    }
+
+    private static final class IntList {
+        private int[] values = new int[1_024];
+        private int size;
+
+        void add(int value) {
+            if (size == values.length) {
+                values = Arrays.copyOf(values, values.length * 2);
+            }
+            values[size++] = value;
+        }
+
+        int[] toArray() {
+            return Arrays.copyOf(values, size);
+        }
+    }
+}
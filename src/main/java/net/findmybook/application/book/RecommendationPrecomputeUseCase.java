@@ -0,0 +1,184 @@
+package net.findmybook.application.book;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.StringJoiner;
+import java.util.UUID;
+import net.findmybook.adapters.persistence.RecommendationPrecomputeCheckpointRepository;
+import net.findmybook.adapters.persistence.RecommendationPrecomputeCheckpointRepository.PrecomputeCheckpoint;
+import net.findmybook.adapters.persistence.RecommendationPrecomputeRepository;
+import net.findmybook.adapters.persistence.RecommendationPrecomputeRepository.PrecomputedRecommendation;
+import net.findmybook.service.RecommendationScoringStrategy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataAccessException;
+import org.springframework.stereotype.Service;
+
+/**
+ * Application use case that precomputes pipeline recommendations for the whole catalog.
+ *
+ * <p>A pass loads author and category postings for every primary edition once, then walks books
+ * whose {@code RECOMMENDATION_PIPELINE} rows are missing or expired in primary-key pages. Each
+ * page is scored in memory with the request-time author and category weights and written back
+ * in one delete plus one multi-row insert, so similar-book requests find active rows and the
+ * search-backed regeneration only runs for books added since the last pass. The highest written
+ * book id is checkpointed after every page; an interrupted pass resumes there.</p>
+ */
+@Service
+public class RecommendationPrecomputeUseCase {
+
+    private static final Logger log = LoggerFactory.getLogger(RecommendationPrecomputeUseCase.class);
+    private static final UUID FIRST_BOOK_ID = new UUID(0L, 0L);
+    /** Same scale {@code BookRecommendationPersistenceService} stores pipeline scores on. */
+    private static final double SCORE_NORMALIZER = 10.0d;
+
+    private final RecommendationPrecomputeRepository precomputeRepository;
+    private final RecommendationPrecomputeCheckpointRepository checkpointRepository;
+    private final RecommendationScoringStrategy scoringStrategy;
+    private final int pageSize;
+    private final int recommendationsPerBook;
+    private final int maxPostingScan;
+
+    public RecommendationPrecomputeUseCase(RecommendationPrecomputeRepository precomputeRepository,
+                                           RecommendationPrecomputeCheckpointRepository checkpointRepository,
+                                           RecommendationScoringStrategy scoringStrategy,
+                                           @Value("${app.recommendations.precompute.page-size:500}") int pageSize,
+                                           @Value("${app.recommendations.precompute.recommendations-per-book:6}") int recommendationsPerBook,
+                                           @Value("${app.recommendations.precompute.max-posting-scan:200}") int maxPostingScan) {
+        if (pageSize < 1) {
+            throw new IllegalArgumentException("app.recommendations.precompute.page-size must be >= 1");
+        }
+        if (recommendationsPerBook < 1) {
+            throw new IllegalArgumentException("app.recommendations.precompute.recommendations-per-book must be >= 1");
+        }
+        if (maxPostingScan < 1) {
+            throw new IllegalArgumentException("app.recommendations.precompute.max-posting-scan must be >= 1");
+        }
+        this.precomputeRepository = precomputeRepository;
+        this.checkpointRepository = checkpointRepository;
+        this.scoringStrategy = scoringStrategy;
+        this.pageSize = pageSize;
+        this.recommendationsPerBook = recommendationsPerBook;
+        this.maxPostingScan = maxPostingScan;
+    }
+
+    /**
+     * Runs one precompute pass, resuming an interrupted one when a checkpoint exists.
+     *
+     * @return summary of the postings and the rows written
+     */
+    public PrecomputeSummary precomputeRecommendations() {
+        long startedNanos = System.nanoTime();
+        try {
+            Optional<PrecomputeCheckpoint> checkpoint = checkpointRepository.fetchCheckpoint();
+            UUID lastBookId = checkpoint.map(PrecomputeCheckpoint::lastBookId).orElse(FIRST_BOOK_ID);
+            long processed = checkpoint.map(PrecomputeCheckpoint::processedCount).orElse(0L);
+            long written = checkpoint.map(PrecomputeCheckpoint::writtenCount).orElse(0L);
+            Instant passStartedAt = checkpoint.map(PrecomputeCheckpoint::startedAt)
+                .orElseGet(() -> Instant.now().truncatedTo(ChronoUnit.MICROS));
+            checkpoint.ifPresent(resumed -> log.info(
+                "Resuming recommendation precompute after book {} (processed={}, written={}).",
+                resumed.lastBookId(),
+                resumed.processedCount(),
+                resumed.writtenCount()
+            ));
+
+            RecommendationPostings postings = loadPostings();
+            long postingsMillis = Duration.ofNanos(System.nanoTime() - startedNanos).toMillis();
+            log.info(
+                "Recommendation precompute postings loaded in {} ms: books={}, authors={}, categorySegments={}",
+                postingsMillis,
+                postings.bookCount(),
+                postings.authorCount(),
+                postings.categorySegmentCount()
+            );
+
+            int pages = 0;
+            while (true) {
+                List<UUID> page = precomputeRepository.fetchBooksNeedingRecommendations(lastBookId, pageSize);
+                if (page.isEmpty()) {
+                    break;
+                }
+                Instant generatedAt = Instant.now().truncatedTo(ChronoUnit.MICROS);
+                List<PrecomputedRecommendation> rows = new ArrayList<>(page.size() * recommendationsPerBook);
+                for (UUID sourceBookId : page) {
+                    for (RecommendationPostings.ScoredCandidate candidate
+                        : postings.recommend(sourceBookId, recommendationsPerBook, maxPostingScan)) {
+                        rows.add(toRow(sourceBookId, candidate));
+                    }
+                }
+                written += precomputeRepository.replacePipelineRecommendations(rows, generatedAt);
+                processed += page.size();
+                lastBookId = page.getLast();
+                pages++;
+                checkpointRepository.saveCheckpoint(new PrecomputeCheckpoint(lastBookId, processed, written, passStartedAt));
+                if (page.size() < pageSize) {
+                    break;
+                }
+            }
+            checkpointRepository.clearCheckpoint();
+
+            PrecomputeSummary summary = new PrecomputeSummary(
+                postings.bookCount(),
+                processed,
+                written,
+                pages,
+                checkpoint.isPresent()
+            );
+            log.info(
+                "Recommendation precompute completed in {} ms: catalogBooks={}, processedBooks={}, writtenRows={}, pages={}, resumed={}",
+                Duration.ofNanos(System.nanoTime() - startedNanos).toMillis(),
+                summary.catalogBooks(),
+                summary.processedBooks(),
+                summary.writtenRows(),
+                summary.pages(),
+                summary.resumed()
+            );
+            return summary;
+        } catch (DataAccessException dataAccessException) {
+            log.error("Recommendation precompute failed due to data-access error (pageSize={}).", pageSize, dataAccessException);
+            throw new IllegalStateException("Recommendation precompute failed due to data-access error.", dataAccessException);
+        }
+    }
+
+    private RecommendationPostings loadPostings() {
+        RecommendationPostings.Builder builder = RecommendationPostings.builder(scoringStrategy);
+        precomputeRepository.streamCatalogBooks(book -> builder.addBook(book.bookId(), book.language()));
+        precomputeRepository.streamBookAuthors(link -> builder.addAuthor(link.bookId(), link.term()));
+        precomputeRepository.streamBookCategories(link -> builder.addCategory(link.bookId(), link.term()));
+        return builder.build();
+    }
+
+    private PrecomputedRecommendation toRow(UUID sourceBookId, RecommendationPostings.ScoredCandidate candidate) {
+        StringJoiner reasons = new StringJoiner(",");
+        if (candidate.authorMatch()) {
+            reasons.add(scoringStrategy.authorReason());
+        }
+        if (candidate.categoryMatch()) {
+            reasons.add(scoringStrategy.categoryReason());
+        }
+        double normalizedScore = Math.max(0.0d, Math.min(1.0d, candidate.score() / SCORE_NORMALIZER));
+        return new PrecomputedRecommendation(sourceBookId, candidate.bookId(), normalizedScore, reasons.toString());
+    }
+
+    /**
+     * Immutable diagnostic payload for a precompute pass.
+     *
+     * @param catalogBooks primary editions loaded into the postings
+     * @param processedBooks books the pass scored, including before a resume
+     * @param writtenRows recommendation rows written, including before a resume
+     * @param pages keyset pages processed by this invocation
+     * @param resumed whether this invocation continued an interrupted pass
+     */
+    public record PrecomputeSummary(int catalogBooks,
+                                    long processedBooks,
+                                    long writtenRows,
+                                    int pages,
+                                    boolean resumed) {
+    }
+}
@@ -9,6 +9,7 @@ import java.util.UUID;
 import net.findmybook.controller.dto.RecommendationExtras;
 import net.findmybook.application.similarity.BookSimilarityEmbeddingService;
 import net.findmybook.application.similarity.BookSimilarityEmbeddingService.SimilarBookMatch;
+import net.findmybook.application.similarity.BookSimilarityNeighborListService;
 import net.findmybook.controller.dto.BookDto;
 import net.findmybook.controller.dto.BookDtoMapper;
 import net.findmybook.dto.BookCard;
@@ -42,13 +43,16 @@ public class SimilarBooksResponseUseCase {
     private final BookSearchService bookSearchService;
     private final RecommendationService recommendationService;
     private final BookSimilarityEmbeddingService bookSimilarityEmbeddingService;
+    private final BookSimilarityNeighborListService bookSimilarityNeighborListService;
 
     public SimilarBooksResponseUseCase(BookSearchService bookSearchService,
                                        RecommendationService recommendationService,
-                                       BookSimilarityEmbeddingService bookSimilarityEmbeddingService) {
+                                       BookSimilarityEmbeddingService bookSimilarityEmbeddingService,
+                                       BookSimilarityNeighborListService bookSimilarityNeighborListService) {
         this.bookSearchService = bookSearchService;
         this.recommendationService = recommendationService;
         this.bookSimilarityEmbeddingService = bookSimilarityEmbeddingService;
+        this.bookSimilarityNeighborListService = bookSimilarityNeighborListService;
     }
 
     /**
@@ -121,7 +125,9 @@ public class SimilarBooksResponseUseCase {
     }
 
     private List<BookDto> fetchEmbeddingBookDtos(UUID sourceUuid, int safeLimit) {
-        List<SimilarBookMatch> matches = bookSimilarityEmbeddingService.findNearestBooks(sourceUuid, safeLimit);
+        List<SimilarBookMatch> matches = bookSimilarityNeighborListService
+            .findPrecomputedNeighbors(sourceUuid, safeLimit)
+            .orElseGet(() -> bookSimilarityEmbeddingService.findNearestBooks(sourceUuid, safeLimit));
         if (matches == null || matches.isEmpty()) {
             return List.of();
         }
@@ -0,0 +1,85 @@
+package net.findmybook.application.book;
+
+import jakarta.annotation.Nullable;
+import java.nio.charset.StandardCharsets;
+import java.security.GeneralSecurityException;
+import java.security.SecureRandom;
+import java.time.Clock;
+import java.time.LocalDate;
+import java.time.ZoneOffset;
+import java.util.HexFormat;
+import java.util.concurrent.atomic.AtomicReference;
+import javax.crypto.Mac;
+import javax.crypto.spec.SecretKeySpec;
+import org.springframework.stereotype.Component;
+import org.springframework.util.StringUtils;
+
+/**
+ * Derives anonymous session keys that group one visitor's detail views for co-view analysis.
+ *
+ * <p>The key is an HMAC of the client address and user agent under a random salt that exists
+ * only in this process and is replaced every UTC day. Views from the same visitor on the same
+ * day share a key; nothing stored in the database can be reversed into an address, and keys
+ * from different days or different application instances never match.</p>
+ */
+@Component
+public class ViewSessionKeyResolver {
+
+    private static final String MAC_ALGORITHM = "HmacSHA256";
+    private static final int SALT_BYTES = 32;
+    private static final int KEY_BYTES = 16;
+
+    private final Clock clock;
+    private final SecureRandom random = new SecureRandom();
+    private final AtomicReference<DailySalt> currentSalt = new AtomicReference<>();
+
+    public ViewSessionKeyResolver() {
+        this(Clock.systemUTC());
+    }
+
+    ViewSessionKeyResolver(Clock clock) {
+        this.clock = clock;
+    }
+
+    /**
+     * Resolves the session key for one request.
+     *
+     * @param clientAddress remote address of the request, as resolved by the servlet container
+     * @param userAgent raw {@code User-Agent} header
+     * @return hex session key, or {@code null} when the request carries no client address
+     */
+    @Nullable
+    public String resolve(@Nullable String clientAddress, @Nullable String userAgent) {
+        if (!StringUtils.hasText(clientAddress)) {
+            return null;
+        }
+        byte[] salt = saltFor(LocalDate.now(clock.withZone(ZoneOffset.UTC)));
+        String fingerprint = clientAddress.trim() + '\n' + (userAgent == null ? "" : userAgent.trim());
+        try {
+            Mac mac = Mac.getInstance(MAC_ALGORITHM);
+            mac.init(new SecretKeySpec(salt, MAC_ALGORITHM));
+            byte[] digest = mac.doFinal(fingerprint.getBytes(StandardCharsets.UTF_8));
+            return HexFormat.of().formatHex(digest, 0, KEY_BYTES);
+        } catch (GeneralSecurityException macUnavailable) {
+            throw new IllegalStateException("HMAC-SHA256 is unavailable for view session keys", macUnavailable);
+        }
+    }
+
+    private byte[] saltFor(LocalDate day) {
+        DailySalt existing = currentSalt.get();
+        if (existing != null && existing.day().equals(day)) {
+            return existing.salt();
+        }
+        byte[] salt = new byte[SALT_BYTES];
+        random.nextBytes(salt);
+        DailySalt rotated = new DailySalt(day, salt);
+        if (currentSalt.compareAndSet(existing, rotated)) {
+            return salt;
+        }
+        DailySalt winner = currentSalt.get();
+        return winner.day().equals(day) ? winner.salt() : salt;
+    }
+
+    private record DailySalt(LocalDate day, byte[] salt) {
+    }
+}
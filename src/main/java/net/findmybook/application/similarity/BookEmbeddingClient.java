@@ -146,7 +146,7 @@ public class BookEmbeddingClient {
      * @param tier gateway priority tier; must be non-null
      * @return embeddings in input order
      */
-    public List<List<Float>> embedSections(List<String> sectionTexts, LlmGatewayTier tier) {
+    public List<float[]> embedSections(List<String> sectionTexts, LlmGatewayTier tier) {
         ensureAvailable();
         if (tier == null) {
             throw new IllegalArgumentException("tier is required");
@@ -161,7 +161,7 @@ public class BookEmbeddingClient {
         List<EmbeddingInputPlan> inputPlans = planEmbeddingInputs(sectionTexts, inputTokenComfortLimit);
         List<EmbeddingChunk> requestChunks = flattenRequestChunks(inputPlans);
         RequestOptions options = requestOptions();
-        List<List<Float>> chunkEmbeddings = new ArrayList<>(requestChunks.size());
+        List<float[]> chunkEmbeddings = new ArrayList<>(requestChunks.size());
         int fromIndex = 0;
         while (fromIndex < requestChunks.size()) {
             int toIndex = Math.min(fromIndex + requestInputBatchSize, requestChunks.size());
@@ -172,7 +172,7 @@ public class BookEmbeddingClient {
         return collapseChunkEmbeddings(inputPlans, chunkEmbeddings);
     }
 
-    private List<List<Float>> embedChunkBatch(List<EmbeddingChunk> batchChunks,
+    private List<float[]> embedChunkBatch(List<EmbeddingChunk> batchChunks,
                                               BatchEmbeddingRequester requester,
                                               RequestOptions options,
                                               LlmGatewayTier tier) {
@@ -180,7 +180,7 @@ public class BookEmbeddingClient {
             .map(EmbeddingChunk::text)
             .toList();
         try {
-            List<List<Float>> embeddings = requester.embed(batchTexts, options);
+            List<float[]> embeddings = requester.embed(batchTexts, options);
             validateEmbeddingResponse(batchTexts.size(), embeddings);
             return embeddings;
         } catch (OpenAIException openAiException) {
@@ -204,7 +204,7 @@ public class BookEmbeddingClient {
             CreateEmbeddingResponse response = tieredClient.embeddings().create(params, options);
             return response.data().stream()
                 .sorted(Comparator.comparingLong(Embedding::index))
-                .map(Embedding::embedding)
+                .map(embedding -> toPrimitive(embedding.embedding()))
                 .toList();
         };
     }
@@ -267,49 +267,57 @@ public class BookEmbeddingClient {
         return List.copyOf(requestChunks);
     }
 
-    private static List<List<Float>> collapseChunkEmbeddings(List<EmbeddingInputPlan> inputPlans,
-                                                            List<List<Float>> chunkEmbeddings) {
-        List<List<Float>> sectionEmbeddings = new ArrayList<>(inputPlans.size());
+    private static List<float[]> collapseChunkEmbeddings(List<EmbeddingInputPlan> inputPlans,
+                                                         List<float[]> chunkEmbeddings) {
+        List<float[]> sectionEmbeddings = new ArrayList<>(inputPlans.size());
         int chunkIndex = 0;
         for (EmbeddingInputPlan inputPlan : inputPlans) {
             int nextChunkIndex = chunkIndex + inputPlan.chunks().size();
-            List<List<Float>> inputChunkEmbeddings = chunkEmbeddings.subList(chunkIndex, nextChunkIndex);
+            List<float[]> inputChunkEmbeddings = chunkEmbeddings.subList(chunkIndex, nextChunkIndex);
             sectionEmbeddings.add(fuseInputChunks(inputChunkEmbeddings, inputPlan.chunks()));
             chunkIndex = nextChunkIndex;
         }
         return List.copyOf(sectionEmbeddings);
     }
 
-    static List<Float> fuseInputChunks(List<List<Float>> chunkEmbeddings, List<EmbeddingChunk> chunks) {
+    static float[] fuseInputChunks(List<float[]> chunkEmbeddings, List<EmbeddingChunk> chunks) {
         if (chunkEmbeddings.size() != chunks.size()) {
             throw new IllegalStateException("Embedding chunk count did not match request plan");
         }
         if (chunkEmbeddings.size() == 1) {
-            return BookSimilarityVectorFusion.fuseWeighted(chunkEmbeddings, List.of(1.0d));
+            return BookSimilarityVectorFusion.fuseWeighted(chunkEmbeddings, new double[] {1.0d});
         }
         double totalWeight = chunks.stream()
             .mapToDouble(EmbeddingChunk::estimatedTokens)
             .sum();
-        List<Double> chunkWeights = chunks.stream()
-            .map(chunk -> chunk.estimatedTokens() / totalWeight)
-            .toList();
+        double[] chunkWeights = chunks.stream()
+            .mapToDouble(chunk -> chunk.estimatedTokens() / totalWeight)
+            .toArray();
         return BookSimilarityVectorFusion.fuseWeighted(chunkEmbeddings, chunkWeights);
     }
 
-    private static void validateEmbeddingResponse(int inputCount, List<List<Float>> embeddings) {
+    private static void validateEmbeddingResponse(int inputCount, List<float[]> embeddings) {
         if (embeddings.size() != inputCount) {
             throw new IllegalStateException("Embedding response count did not match input count");
         }
-        for (List<Float> embedding : embeddings) {
-            if (embedding.size() != BookSimilarityVectorFusion.EMBEDDING_DIMENSION) {
+        for (float[] embedding : embeddings) {
+            if (embedding.length != BookSimilarityVectorFusion.EMBEDDING_DIMENSION) {
                 throw new IllegalStateException(
                     "Embedding dimension mismatch: expected " + BookSimilarityVectorFusion.EMBEDDING_DIMENSION
-                        + " but received " + embedding.size()
+                        + " but received " + embedding.length
                 );
             }
         }
     }
 
+    private static float[] toPrimitive(List<Float> embedding) {
+        float[] components = new float[embedding.size()];
+        for (int index = 0; index < components.length; index++) {
+            components[index] = embedding.get(index);
+        }
+        return components;
+    }
+
     private static int utf8ByteLength(int codePoint) {
         if (codePoint <= 0x7F) {
             return 1;
@@ -345,6 +353,6 @@ public class BookEmbeddingClient {
 
     @FunctionalInterface
     interface BatchEmbeddingRequester {
-        List<List<Float>> embed(List<String> batchTexts, RequestOptions options);
+        List<float[]> embed(List<String> batchTexts, RequestOptions options);
     }
 }
@@ -6,13 +6,20 @@ import java.security.NoSuchAlgorithmException;
 import java.time.Duration;
 import java.util.ArrayList;
 import java.util.EnumMap;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
 import java.util.Optional;
 import java.util.UUID;
+import java.util.concurrent.atomic.AtomicLong;
 import net.findmybook.adapters.persistence.BookEmbeddingSectionRepository;
+import net.findmybook.adapters.persistence.BookEmbeddingSectionRepository.GeneratedSection;
+import net.findmybook.adapters.persistence.BookEmbeddingSectionRepository.SectionCacheKey;
 import net.findmybook.adapters.persistence.BookSimilarityEmbeddingRepository;
 import net.findmybook.adapters.persistence.BookSimilarityEmbeddingRepository.FusedEmbeddingRow;
 import net.findmybook.boot.BookSimilarityEmbeddingProperties;
+import net.findmybook.boot.BookSimilarityIndexProperties;
 import net.findmybook.domain.similarity.BookSimilarityBookSource;
 import net.findmybook.domain.similarity.BookSimilarityFusionPolicy;
 import net.findmybook.domain.similarity.BookSimilaritySectionInput;
@@ -24,6 +31,7 @@ import net.findmybook.support.llm.LlmGatewayTier;
 import net.findmybook.util.HashUtils;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
 import org.springframework.util.StringUtils;
 import tools.jackson.core.JacksonException;
@@ -31,6 +39,11 @@ import tools.jackson.databind.ObjectMapper;
 
 /**
  * Computes and refreshes section-fused book similarity embeddings.
+ *
+ * @implNote LOC1 split plan (701 lines): extract {@code BookSimilarityRefreshScheduler}
+ *     (candidate discovery and AI queue enqueueing), {@code BookSimilarityNeighborReader}
+ *     (nearest-book lookups, contract resolution, and in-memory index wiring), and
+ *     {@code SectionEmbeddingLoader} (section cache lookups, provider calls, and cache writes).
  */
 @Service
 public class BookSimilarityEmbeddingService {
@@ -47,7 +60,9 @@ public class BookSimilarityEmbeddingService {
     private final BookAiContentRequestQueue requestQueue;
     private final ObjectMapper objectMapper;
     private final BookSimilarityEmbeddingProperties properties;
+    private final BookSimilarityNearestNeighborIndex nearestNeighborIndex;
     private final Cache<UUID, Boolean> recentRefreshAttempts;
+    private final AtomicLong nextFullScanAtMillis = new AtomicLong();
 
     public BookSimilarityEmbeddingService(BookSimilarityEmbeddingRepository repository,
                                           BookEmbeddingSectionRepository sectionRepository,
@@ -57,6 +72,29 @@ public class BookSimilarityEmbeddingService {
                                           BookAiContentRequestQueue requestQueue,
                                           ObjectMapper objectMapper,
                                           BookSimilarityEmbeddingProperties properties) {
+        this(
+            repository,
+            sectionRepository,
+            embeddingClient,
+            policy,
+            vectorFusion,
+            requestQueue,
+            objectMapper,
+            properties,
+            new BookSimilarityNearestNeighborIndex(repository, new BookSimilarityIndexProperties())
+        );
+    }
+
+    @Autowired
+    public BookSimilarityEmbeddingService(BookSimilarityEmbeddingRepository repository,
+                                          BookEmbeddingSectionRepository sectionRepository,
+                                          BookEmbeddingClient embeddingClient,
+                                          BookSimilarityFusionPolicy policy,
+                                          BookSimilarityVectorFusion vectorFusion,
+                                          BookAiContentRequestQueue requestQueue,
+                                          ObjectMapper objectMapper,
+                                          BookSimilarityEmbeddingProperties properties,
+                                          BookSimilarityNearestNeighborIndex nearestNeighborIndex) {
         this.repository = repository;
         this.sectionRepository = sectionRepository;
         this.embeddingClient = embeddingClient;
@@ -65,6 +103,7 @@ public class BookSimilarityEmbeddingService {
         this.requestQueue = requestQueue;
         this.objectMapper = objectMapper;
         this.properties = properties;
+        this.nearestNeighborIndex = nearestNeighborIndex;
         this.recentRefreshAttempts = Caffeine.newBuilder()
             .maximumSize(50_000)
             .expireAfterWrite(Duration.ofMinutes(60))
@@ -87,7 +126,8 @@ public class BookSimilarityEmbeddingService {
      * @param candidateLimit database candidate rows to inspect
      * @param enqueueLimit maximum background tasks to enqueue
      * @param queuePendingLimit central AI queue pending depth that pauses scheduling
-     * @return number of tasks queued
+     * @return number of tasks queued; each task covers up to
+     *     {@link BookSimilarityEmbeddingProperties#refreshBookBatchSize()} books
      */
     public int enqueueRefreshCandidates(int candidateLimit, int enqueueLimit, int queuePendingLimit) {
         if (!embeddingClient.isAvailable()) {
@@ -104,52 +144,103 @@ public class BookSimilarityEmbeddingService {
             return 0;
         }
         String modelVersion = activeModelVersion(embeddingClient.cacheModel());
-        List<UUID> candidates = repository.findRefreshCandidates(modelVersion, policy.profileHash(), candidateLimit);
+        List<UUID> candidates = discoverRefreshCandidates(modelVersion, candidateLimit);
         int enqueued = 0;
         int effectiveEnqueueLimit = Math.min(enqueueLimit, pendingRoom);
-        for (UUID candidate : candidates) {
-            if (enqueued >= effectiveEnqueueLimit) {
-                break;
+        List<UUID> notQueued = new ArrayList<>();
+        int bookBatchSize = properties.refreshBookBatchSize();
+        if (bookBatchSize > 1) {
+            for (List<UUID> batch : partition(candidates, bookBatchSize)) {
+                if (enqueued < effectiveEnqueueLimit && enqueueBatchRefresh(batch, BACKGROUND_PRIORITY, "scheduled")) {
+                    enqueued++;
+                } else {
+                    notQueued.addAll(batch);
+                }
             }
-            if (enqueueRefresh(candidate, BACKGROUND_PRIORITY, "scheduled")) {
-                enqueued++;
+        } else {
+            for (UUID candidate : candidates) {
+                if (enqueued < effectiveEnqueueLimit && enqueueRefresh(candidate, BACKGROUND_PRIORITY, "scheduled")) {
+                    enqueued++;
+                } else {
+                    notQueued.add(candidate);
+                }
             }
         }
+        repository.markBooksChanged(notQueued);
         return enqueued;
     }
 
+    /**
+     * Claims changed books from the change log, topping up with the full anti-join scan only
+     * while that scan is due: on the first pass, while it keeps finding stale books (such as
+     * after a contract change), and otherwise once per {@code fullScanIntervalMs}.
+     */
+    private List<UUID> discoverRefreshCandidates(String modelVersion, int candidateLimit) {
+        int limit = Math.max(1, candidateLimit);
+        List<UUID> candidates = new ArrayList<>(repository.claimChangedBooks(limit));
+        long nowMillis = System.currentTimeMillis();
+        if (candidates.size() >= limit || nowMillis < nextFullScanAtMillis.get()) {
+            return candidates;
+        }
+        List<UUID> scanned = repository.findRefreshCandidates(modelVersion, policy.profileHash(), limit - candidates.size());
+        if (scanned.isEmpty()) {
+            nextFullScanAtMillis.set(nowMillis + properties.fullScanIntervalMs());
+        }
+        for (UUID bookId : scanned) {
+            if (!candidates.contains(bookId)) {
+                candidates.add(bookId);
+            }
+        }
+        return candidates;
+    }
+
     /**
      * Refreshes every book whose vector row is missing or stale for the active contract.
      *
      * <p>Drives backfill from operator CLI or runners through the canonical refresh path
      * so \`source_hash\`, \`source_text\`, \`source_json\`, and \`qwen_4b_fp16\` are populated
-     * identically to scheduled and demand refreshes. Failures on a single book are logged
-     * and skipped so the run continues.</p>
+     * identically to scheduled and demand refreshes. Candidates are refreshed in batches of
+     * {@link BookSimilarityEmbeddingProperties#refreshBookBatchSize()} books. Failures on a
+     * single book are logged and skipped so the run continues.</p>
      *
      * @param candidateLimit bounded number of stale books to refresh in this pass
      * @return number of books whose vector was rewritten
      */
     public int backfillStale(int candidateLimit) {
-        if (!embeddingClient.isAvailable() || !properties.isEnabled()) {
+        if (!canRefresh()) {
             log.info("Skipping book similarity backfill: embedding client unavailable or feature disabled.");
             return 0;
         }
         String modelVersion = activeModelVersion(embeddingClient.cacheModel());
         List<UUID> candidates = repository.findRefreshCandidates(modelVersion, policy.profileHash(), Math.max(1, candidateLimit));
         int refreshed = 0;
-        for (UUID bookId : candidates) {
-            try {
-                if (refreshBookIfStale(bookId, "backfill")) {
-                    refreshed++;
-                }
-            } catch (RuntimeException backfillFailure) {
-                log.error("Book similarity backfill refresh failed for book {}", bookId, backfillFailure);
-            }
+        for (List<UUID> batch : partition(candidates, properties.refreshBookBatchSize())) {
+            refreshed += refreshBatchOrEach(batch, "backfill");
         }
         log.info("Book similarity backfill refreshed {} of {} candidate books.", refreshed, candidates.size());
         return refreshed;
     }
 
+    /**
+     * Reports whether refreshes can run: the feature is enabled and the embedding client is configured.
+     *
+     * @return true when book vectors can be rewritten
+     */
+    public boolean canRefresh() {
+        return embeddingClient.isAvailable() && properties.isEnabled();
+    }
+
+    /**
+     * Refreshes one backfill batch, retrying book by book when the batch fails for a reason
+     * other than the embedding provider.
+     *
+     * @param bookIds candidate books
+     * @return number of books whose vector was rewritten
+     */
+    public int refreshBackfillBatch(List<UUID> bookIds) {
+        return refreshBatchOrEach(bookIds, "backfill");
+    }
+
     /**
      * Reads persisted vector neighbors for the active similarity contract.
      *
@@ -186,6 +277,37 @@ public class BookSimilarityEmbeddingService {
         return legacyMatches.isEmpty() ? currentMatches : legacyMatches;
     }
 
+    /**
+     * Resolves the model version and fusion profile that fresh vectors are written under.
+     *
+     * @return active contract, empty when embeddings are disabled or no model is configured
+     */
+    public Optional<SimilarityContract> activeContract() {
+        if (!properties.isEnabled()) {
+            return Optional.empty();
+        }
+        String cacheModel = embeddingClient.cacheModel();
+        if (!StringUtils.hasText(cacheModel)) {
+            return Optional.empty();
+        }
+        return Optional.of(new SimilarityContract(activeModelVersion(cacheModel), policy.profileHash()));
+    }
+
+    /**
+     * Computes live vector neighbors under one contract, without legacy-model fallback.
+     *
+     * @param sourceBookId canonical source book UUID
+     * @param contract model version and fusion profile to search
+     * @param limit maximum neighbor count
+     * @return ranked neighbor IDs with cosine similarity scores
+     */
+    public List<SimilarBookMatch> findNearestBooksForContract(UUID sourceBookId, SimilarityContract contract, int limit) {
+        if (sourceBookId == null || contract == null || limit <= 0) {
+            return List.of();
+        }
+        return findNearestBooksForModelVersion(sourceBookId, contract.modelVersion(), limit);
+    }
+
     /**
      * Refreshes one book immediately when its source hash changed.
      *
@@ -203,37 +325,174 @@ public class BookSimilarityEmbeddingService {
         String model = embeddingClient.model();
         String cacheModel = embeddingClient.cacheModel();
         String modelVersion = activeModelVersion(cacheModel);
-        BookSimilaritySourceDocument sourceDocument = BookSimilaritySourceDocument.create(
-            source,
-            policy,
-            model,
-            modelVersion,
-            properties.maxSectionTextChars(),
-            this::sha256Hex,
-            this::renderSourceJson
-        );
+        BookSimilaritySourceDocument sourceDocument = createSourceDocument(source, model, modelVersion);
         Optional<String> currentHash = repository.fetchCurrentSourceHash(bookId, modelVersion, policy.profileHash());
         if (currentHash.isPresent() && currentHash.get().equals(sourceDocument.sourceHash())) {
+            repository.markSourcesChecked(List.of(bookId), modelVersion, policy.profileHash());
             log.debug("Book similarity embedding is current for book {} ({})", bookId, reason);
             return false;
         }
-        EnumMap<BookSimilaritySectionKey, List<Float>> sectionEmbeddings = loadOrCreateSectionEmbeddings(
-            sourceDocument,
+        Map<UUID, EnumMap<BookSimilaritySectionKey, float[]>> sectionEmbeddings = loadOrCreateSectionEmbeddings(
+            List.of(sourceDocument),
             cacheModel
         );
-        List<Float> fusedEmbedding = vectorFusion.fuse(sourceDocument, sectionEmbeddings);
-        repository.upsertFusedEmbedding(new FusedEmbeddingRow(
-            sourceDocument,
-            policy.activeProfileId(),
-            policy.profileHash(),
-            model,
-            modelVersion,
-            fusedEmbedding
-        ));
+        FusedEmbeddingRow row = fusedRow(sourceDocument, sectionEmbeddings.get(bookId), model, modelVersion);
+        repository.upsertFusedEmbedding(row);
+        indexFusedEmbedding(row);
         log.info("Refreshed book similarity embedding for book {} ({})", bookId, reason);
         return true;
     }
 
+    /**
+     * Refreshes a batch of books together when their source hashes changed.
+     *
+     * <p>Sources and stored hashes load in one query each, uncached sections from every stale
+     * book are packed into shared embedding requests, and the fused vectors are written as one
+     * JDBC batch. Books without a source row are skipped.</p>
+     *
+     * @param bookIds canonical book UUIDs
+     * @param reason operator-facing reason for logs
+     * @return number of fused vectors written
+     */
+    public int refreshBooksIfStale(List<UUID> bookIds, String reason) {
+        if (!embeddingClient.isAvailable()) {
+            log.debug("Skipping batched book similarity refresh because embedding client is unavailable.");
+            return 0;
+        }
+        if (bookIds == null || bookIds.isEmpty()) {
+            return 0;
+        }
+        List<UUID> distinctBookIds = bookIds.stream().filter(Objects::nonNull).distinct().toList();
+        String model = embeddingClient.model();
+        String cacheModel = embeddingClient.cacheModel();
+        String modelVersion = activeModelVersion(cacheModel);
+        Map<UUID, BookSimilarityBookSource> sources = repository.fetchBookSources(distinctBookIds);
+        Map<UUID, String> currentHashes =
+            repository.fetchCurrentSourceHashes(distinctBookIds, modelVersion, policy.profileHash());
+        if (sources.size() < distinctBookIds.size()) {
+            log.warn(
+                "Book similarity batch refresh ({}) found sources for {} of {} books",
+                reason,
+                sources.size(),
+                distinctBookIds.size()
+            );
+        }
+        List<BookSimilaritySourceDocument> staleDocuments = new ArrayList<>(sources.size());
+        List<UUID> currentBookIds = new ArrayList<>();
+        for (BookSimilarityBookSource source : sources.values()) {
+            BookSimilaritySourceDocument sourceDocument = createSourceDocument(source, model, modelVersion);
+            if (sourceDocument.sourceHash().equals(currentHashes.get(source.bookId()))) {
+                currentBookIds.add(source.bookId());
+            } else {
+                staleDocuments.add(sourceDocument);
+            }
+        }
+        repository.markSourcesChecked(currentBookIds, modelVersion, policy.profileHash());
+        if (staleDocuments.isEmpty()) {
+            log.debug("Book similarity embeddings are current for all {} books ({})", distinctBookIds.size(), reason);
+            return 0;
+        }
+        Map<UUID, EnumMap<BookSimilaritySectionKey, float[]>> sectionEmbeddings =
+            loadOrCreateSectionEmbeddings(staleDocuments, cacheModel);
+        List<FusedEmbeddingRow> rows = new ArrayList<>(staleDocuments.size());
+        for (BookSimilaritySourceDocument sourceDocument : staleDocuments) {
+            rows.add(fusedRow(sourceDocument, sectionEmbeddings.get(sourceDocument.bookId()), model, modelVersion));
+        }
+        repository.upsertFusedEmbeddings(rows);
+        rows.forEach(this::indexFusedEmbedding);
+        log.info(
+            "Refreshed {} book similarity embeddings in one batch of {} books ({})",
+            rows.size(),
+            distinctBookIds.size(),
+            reason
+        );
+        return rows.size();
+    }
+
+    /**
+     * Runs one batch refresh, retrying book by book when the batch fails for a reason other
+     * than the embedding provider so one bad source row cannot hold back its neighbors.
+     */
+    private int refreshBatchOrEach(List<UUID> bookIds, String reason) {
+        if (bookIds.size() > 1) {
+            try {
+                return refreshBooksIfStale(bookIds, reason);
+            } catch (BookEmbeddingApiException embeddingApiException) {
+                log.warn(
+                    "Skipping batched book similarity refresh of {} books ({}): {}",
+                    bookIds.size(),
+                    reason,
+                    embeddingApiException.getMessage()
+                );
+                repository.markBooksChanged(bookIds);
+                return 0;
+            } catch (RuntimeException batchFailure) {
+                log.warn(
+                    "Batched book similarity refresh of {} books failed ({}); retrying one book at a time",
+                    bookIds.size(),
+                    reason,
+                    batchFailure
+                );
+            }
+        }
+        int refreshed = 0;
+        for (UUID bookId : bookIds) {
+            try {
+                if (refreshBookIfStale(bookId, reason)) {
+                    refreshed++;
+                }
+            } catch (BookEmbeddingApiException embeddingApiException) {
+                log.warn(
+                    "Skipping book similarity refresh for book {} ({}): {}",
+                    bookId,
+                    reason,
+                    embeddingApiException.getMessage()
+                );
+                repository.markBooksChanged(List.of(bookId));
+            } catch (RuntimeException refreshFailure) {
+                log.error("Book similarity refresh failed for book {} ({})", bookId, reason, refreshFailure);
+            }
+        }
+        return refreshed;
+    }
+
+    private boolean enqueueBatchRefresh(List<UUID> bookIds, int priority, String reason) {
+        List<UUID> claimedBookIds = new ArrayList<>(bookIds.size());
+        for (UUID bookId : bookIds) {
+            if (recentRefreshAttempts.asMap().putIfAbsent(bookId, Boolean.TRUE) == null) {
+                claimedBookIds.add(bookId);
+            }
+        }
+        if (claimedBookIds.isEmpty()) {
+            return false;
+        }
+        try {
+            requestQueue.enqueueBackground(priority, () -> refreshBatchOrEach(claimedBookIds, reason))
+                .result()
+                .whenComplete((ignored, failure) -> {
+                    recentRefreshAttempts.invalidateAll(claimedBookIds);
+                    if (failure != null) {
+                        log.error(
+                            "Book similarity batch refresh failed for {} books ({})",
+                            claimedBookIds.size(),
+                            reason,
+                            failure
+                        );
+                    }
+                });
+            return true;
+        } catch (BookAiQueueCapacityExceededException queueCapacityExceededException) {
+            recentRefreshAttempts.invalidateAll(claimedBookIds);
+            log.warn(
+                "Book similarity batch refresh enqueue skipped for {} books because AI queue cap was reached (pending={}, max={})",
+                claimedBookIds.size(),
+                queueCapacityExceededException.currentPending(),
+                queueCapacityExceededException.maxPending()
+            );
+            return false;
+        }
+    }
+
     private boolean enqueueRefresh(UUID bookId, int priority, String reason) {
         if (bookId == null || !embeddingClient.isAvailable() || !properties.isEnabled()) {
             return false;
@@ -258,6 +517,7 @@ public class BookSimilarityEmbeddingService {
                         reason,
                         embeddingApiException.getMessage()
                     );
+                    repository.markBooksChanged(List.of(bookId));
                 }
                 return null;
             }).result().whenComplete((ignored, failure) -> {
@@ -279,8 +539,43 @@ public class BookSimilarityEmbeddingService {
         }
     }
 
+    /**
+     * Reloads the in-memory nearest-neighbor index for the active model contract.
+     */
+    public void rebuildNearestNeighborIndex() {
+        if (!nearestNeighborIndex.isEnabled()) {
+            return;
+        }
+        String cacheModel = embeddingClient.cacheModel();
+        if (!StringUtils.hasText(cacheModel)) {
+            log.debug("Skipping book similarity index rebuild because no embedding model is configured.");
+            return;
+        }
+        nearestNeighborIndex.rebuild(activeModelVersion(cacheModel), policy.profileHash());
+    }
+
+    private void indexFusedEmbedding(FusedEmbeddingRow row) {
+        nearestNeighborIndex.upsert(
+            row.sourceDocument().bookId(),
+            row.fusedEmbedding(),
+            row.modelVersion(),
+            row.profileHash()
+        );
+    }
+
     private List<SimilarBookMatch> findNearestBooksForModelVersion(UUID sourceBookId, String modelVersion, int limit) {
-        return repository.findNearestBooks(sourceBookId, modelVersion, policy.profileHash(), limit).stream()
+        String profileHash = policy.profileHash();
+        return nearestNeighborIndex.findNearest(sourceBookId, modelVersion, profileHash, limit)
+            .orElseGet(() -> properties.isQuantizedSearchEnabled()
+                ? repository.findNearestBooksQuantized(
+                    sourceBookId,
+                    modelVersion,
+                    profileHash,
+                    limit,
+                    properties.quantizedCandidatePool()
+                )
+                : repository.findNearestBooks(sourceBookId, modelVersion, profileHash, limit))
+            .stream()
             .map(row -> new SimilarBookMatch(row.bookId(), row.similarity()))
             .toList();
     }
@@ -289,38 +584,88 @@ public class BookSimilarityEmbeddingService {
         return policy.modelVersion(cacheModel + ":" + properties.sourceTextContract());
     }
 
-    private EnumMap<BookSimilaritySectionKey, List<Float>> loadOrCreateSectionEmbeddings(
-        BookSimilaritySourceDocument sourceDocument,
+    private BookSimilaritySourceDocument createSourceDocument(BookSimilarityBookSource source,
+                                                              String model,
+                                                              String modelVersion) {
+        return BookSimilaritySourceDocument.create(
+            source,
+            policy,
+            model,
+            modelVersion,
+            properties.maxSectionTextChars(),
+            this::sha256Hex,
+            this::renderSourceJson
+        );
+    }
+
+    private FusedEmbeddingRow fusedRow(BookSimilaritySourceDocument sourceDocument,
+                                       Map<BookSimilaritySectionKey, float[]> sectionEmbeddings,
+                                       String model,
+                                       String modelVersion) {
+        return new FusedEmbeddingRow(
+            sourceDocument,
+            policy.activeProfileId(),
+            policy.profileHash(),
+            model,
+            modelVersion,
+            vectorFusion.fuse(sourceDocument, sectionEmbeddings)
+        );
+    }
+
+    /**
+     * Resolves every section embedding for the given documents, embedding all cache misses
+     * across the documents in one client call so they share full provider requests.
+     */
+    private Map<UUID, EnumMap<BookSimilaritySectionKey, float[]>> loadOrCreateSectionEmbeddings(
+        List<BookSimilaritySourceDocument> sourceDocuments,
         String cacheModel
     ) {
-        EnumMap<BookSimilaritySectionKey, List<Float>> sectionEmbeddings = new EnumMap<>(BookSimilaritySectionKey.class);
-        List<BookSimilaritySectionInput> missingInputs = new ArrayList<>();
-        for (BookSimilaritySectionInput sectionInput : sourceDocument.sectionInputs()) {
-            Optional<List<Float>> cachedEmbedding = sectionRepository.fetchSectionEmbedding(
-                sourceDocument.bookId(),
-                sectionInput.sectionKey(),
-                cacheModel,
-                sectionInput.inputHash()
-            );
-            if (cachedEmbedding.isPresent()) {
-                sectionEmbeddings.put(sectionInput.sectionKey(), cachedEmbedding.get());
-            } else {
-                missingInputs.add(sectionInput);
+        Map<UUID, EnumMap<BookSimilaritySectionKey, float[]>> embeddingsByBook = new HashMap<>(sourceDocuments.size());
+        List<SectionCacheKey> cacheKeys = new ArrayList<>();
+        for (BookSimilaritySourceDocument sourceDocument : sourceDocuments) {
+            for (BookSimilaritySectionInput sectionInput : sourceDocument.sectionInputs()) {
+                cacheKeys.add(new SectionCacheKey(sourceDocument.bookId(), sectionInput.sectionKey(), sectionInput.inputHash()));
             }
         }
-        if (!missingInputs.isEmpty()) {
-            List<List<Float>> generatedEmbeddings = embeddingClient.embedSections(
-                missingInputs.stream().map(BookSimilaritySectionInput::text).toList(),
+        Map<SectionCacheKey, float[]> cachedEmbeddings = sectionRepository.fetchSectionEmbeddings(cacheKeys, cacheModel);
+        List<PendingSection> missingSections = new ArrayList<>();
+        for (BookSimilaritySourceDocument sourceDocument : sourceDocuments) {
+            EnumMap<BookSimilaritySectionKey, float[]> sectionEmbeddings = new EnumMap<>(BookSimilaritySectionKey.class);
+            embeddingsByBook.put(sourceDocument.bookId(), sectionEmbeddings);
+            for (BookSimilaritySectionInput sectionInput : sourceDocument.sectionInputs()) {
+                float[] cachedEmbedding = cachedEmbeddings.get(
+                    new SectionCacheKey(sourceDocument.bookId(), sectionInput.sectionKey(), sectionInput.inputHash())
+                );
+                if (cachedEmbedding != null) {
+                    sectionEmbeddings.put(sectionInput.sectionKey(), cachedEmbedding);
+                } else {
+                    missingSections.add(new PendingSection(sourceDocument.bookId(), sectionInput));
+                }
+            }
+        }
+        if (!missingSections.isEmpty()) {
+            List<float[]> generatedEmbeddings = embeddingClient.embedSections(
+                missingSections.stream().map(pendingSection -> pendingSection.sectionInput().text()).toList(),
                 LlmGatewayTier.BACKGROUND_BATCH
             );
-            for (int index = 0; index < missingInputs.size(); index++) {
-                BookSimilaritySectionInput sectionInput = missingInputs.get(index);
-                List<Float> embedding = generatedEmbeddings.get(index);
-                sectionRepository.upsertSectionEmbedding(sourceDocument.bookId(), sectionInput, cacheModel, embedding);
-                sectionEmbeddings.put(sectionInput.sectionKey(), embedding);
+            List<GeneratedSection> generatedSections = new ArrayList<>(missingSections.size());
+            for (int index = 0; index < missingSections.size(); index++) {
+                PendingSection pendingSection = missingSections.get(index);
+                float[] embedding = generatedEmbeddings.get(index);
+                generatedSections.add(new GeneratedSection(pendingSection.bookId(), pendingSection.sectionInput(), embedding));
+                embeddingsByBook.get(pendingSection.bookId()).put(pendingSection.sectionInput().sectionKey(), embedding);
             }
+            sectionRepository.upsertSectionEmbeddings(generatedSections, cacheModel);
         }
-        return sectionEmbeddings;
+        return embeddingsByBook;
+    }
+
+    private static List<List<UUID>> partition(List<UUID> bookIds, int batchSize) {
+        List<List<UUID>> batches = new ArrayList<>((bookIds.size() + batchSize - 1) / batchSize);
+        for (int fromIndex = 0; fromIndex < bookIds.size(); fromIndex += batchSize) {
+            batches.add(List.copyOf(bookIds.subList(fromIndex, Math.min(fromIndex + batchSize, bookIds.size()))));
+        }
+        return batches;
     }
 
     private String renderSourceJson(BookSimilaritySourceDocument.SourceMetadata metadata) {
@@ -344,4 +689,13 @@ public class BookSimilarityEmbeddingService {
      */
     public record SimilarBookMatch(UUID bookId, double similarity) {
     }
+
+    /**
+     * Model version and fusion profile hash that identify one comparable vector space.
+     */
+    public record SimilarityContract(String modelVersion, String profileHash) {
+    }
+
+    private record PendingSection(UUID bookId, BookSimilaritySectionInput sectionInput) {
+    }
 }
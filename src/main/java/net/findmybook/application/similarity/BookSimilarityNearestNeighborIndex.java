@@ -0,0 +1,305 @@
+package net.findmybook.application.similarity;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.IntPredicate;
+import net.findmybook.adapters.persistence.BookSimilarityEmbeddingRepository;
+import net.findmybook.adapters.persistence.BookSimilarityEmbeddingRepository.NearestBookRow;
+import net.findmybook.boot.BookSimilarityIndexProperties;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Component;
+
+/**
+ * Optional in-process HNSW index over the active contract's fused book vectors.
+ *
+ * <p>When {@code app.similarity.index.enabled=true} the index is loaded from
+ * {@code book_similarity_vectors} by {@link #rebuild}, kept current by {@link #upsert} after
+ * each committed vector write, and answers similar-book reads with the same exclusions as the
+ * Postgres query (the source book and every book sharing one of its work clusters). Reads
+ * for another contract, or for a book the index has not seen, return empty so callers fall
+ * back to Postgres.</p>
+ *
+ * <p>Books are deleted and re-clustered by SQL paths that never call back into this index, so
+ * the in-memory cluster map only pre-filters the graph walk. Every read over-fetches and then
+ * keeps only hits that still exist in {@code books} and share no current work cluster with the
+ * source, so a removal or merge between rebuilds never surfaces in results.</p>
+ *
+ * <p>Each indexed book costs roughly {@code 4 * 2560} bytes of vector plus its graph links.</p>
+ */
+@Component
+public class BookSimilarityNearestNeighborIndex {
+
+    private static final Logger log = LoggerFactory.getLogger(BookSimilarityNearestNeighborIndex.class);
+    private static final int MAX_SEARCH_EXPANSIONS = 3;
+    private static final int SEARCH_EXPANSION_FACTOR = 4;
+    private static final int READ_FILTER_OVERFETCH = 2;
+    private static final long GRAPH_SEED = 0x5EED_B00CL;
+
+    private final BookSimilarityEmbeddingRepository repository;
+    private final BookSimilarityIndexProperties properties;
+    private final EmbeddingVectorOps vectorOps = EmbeddingVectorOps.preferred();
+    private final Object rebuildMonitor = new Object();
+    private final Object upsertMonitor = new Object();
+    private volatile Snapshot snapshot;
+    private List<PendingUpsert> upsertsDuringRebuild;
+
+    public BookSimilarityNearestNeighborIndex(BookSimilarityEmbeddingRepository repository,
+                                              BookSimilarityIndexProperties properties) {
+        this.repository = repository;
+        this.properties = properties;
+    }
+
+    /**
+     * @return true when the index is configured to load and serve reads
+     */
+    public boolean isEnabled() {
+        return properties.isEnabled();
+    }
+
+    /**
+     * Loads a fresh graph for the given contract and swaps it in once complete.
+     *
+     * <p>Reads keep using the previous graph while the new one builds. Vectors upserted during
+     * the build are replayed onto the new graph before the swap so none are lost.</p>
+     *
+     * @param modelVersion active model version
+     * @param profileHash active fusion profile hash
+     */
+    public void rebuild(String modelVersion, String profileHash) {
+        if (!isEnabled()) {
+            return;
+        }
+        synchronized (rebuildMonitor) {
+            synchronized (upsertMonitor) {
+                upsertsDuringRebuild = new ArrayList<>();
+            }
+            long startedNanos = System.nanoTime();
+            Snapshot rebuilt = new Snapshot(modelVersion, profileHash, newGraph());
+            try {
+                repository.streamIndexVectors(modelVersion, profileHash, row -> rebuilt.put(
+                    row.bookId(),
+                    normalized(row.embedding()),
+                    row.clusterIds()
+                ));
+            } catch (RuntimeException loadFailure) {
+                synchronized (upsertMonitor) {
+                    upsertsDuringRebuild = null;
+                }
+                log.error("Book similarity index rebuild failed; keeping the previous index", loadFailure);
+                return;
+            }
+            synchronized (upsertMonitor) {
+                for (PendingUpsert pending : upsertsDuringRebuild) {
+                    if (rebuilt.matches(pending.modelVersion(), pending.profileHash())) {
+                        rebuilt.put(pending.bookId(), pending.vector(), pending.clusterIds());
+                    }
+                }
+                upsertsDuringRebuild = null;
+                snapshot = rebuilt;
+            }
+            log.info(
+                "Book similarity index loaded {} vectors for {} in {} ms",
+                rebuilt.bookCount(),
+                modelVersion,
+                (System.nanoTime() - startedNanos) / 1_000_000L
+            );
+        }
+    }
+
+    /**
+     * Adds or replaces one book's vector after its database write committed.
+     *
+     * @param bookId canonical book UUID
+     * @param fusedEmbedding fused vector as persisted
+     * @param modelVersion contract the vector was written under
+     * @param profileHash fusion profile the vector was written under
+     */
+    public void upsert(UUID bookId, float[] fusedEmbedding, String modelVersion, String profileHash) {
+        if (!isEnabled() || bookId == null || fusedEmbedding == null) {
+            return;
+        }
+        List<UUID> clusterIds = repository.fetchClusterIds(bookId);
+        float[] vector = normalized(Arrays.copyOf(fusedEmbedding, fusedEmbedding.length));
+        synchronized (upsertMonitor) {
+            if (upsertsDuringRebuild != null) {
+                upsertsDuringRebuild.add(new PendingUpsert(bookId, vector, clusterIds, modelVersion, profileHash));
+            }
+            Snapshot current = snapshot;
+            if (current != null && current.matches(modelVersion, profileHash)) {
+                current.put(bookId, vector, clusterIds);
+            }
+        }
+    }
+
+    /**
+     * Finds nearest neighbors in memory when the index covers the contract and the source book.
+     *
+     * @param sourceBookId canonical source book UUID
+     * @param modelVersion requested model version
+     * @param profileHash requested fusion profile hash
+     * @param limit maximum neighbor count
+     * @return ranked neighbors, or empty when the caller should query Postgres instead
+     */
+    public Optional<List<NearestBookRow>> findNearest(UUID sourceBookId,
+                                                      String modelVersion,
+                                                      String profileHash,
+                                                      int limit) {
+        Snapshot current = snapshot;
+        if (!isEnabled() || current == null || sourceBookId == null || limit <= 0
+            || !current.matches(modelVersion, profileHash)) {
+            return Optional.empty();
+        }
+        int candidateLimit = (int) Math.min(Integer.MAX_VALUE, (long) limit * READ_FILTER_OVERFETCH);
+        return current.nearest(sourceBookId, candidateLimit, properties.efSearch())
+            .map(candidates -> liveNeighbors(sourceBookId, candidates, limit));
+    }
+
+    private List<NearestBookRow> liveNeighbors(UUID sourceBookId, List<NearestBookRow> candidates, int limit) {
+        if (candidates.isEmpty()) {
+            return candidates;
+        }
+        Set<UUID> live = repository.filterLiveNeighbors(
+            sourceBookId,
+            candidates.stream().map(NearestBookRow::bookId).toList()
+        );
+        return candidates.stream()
+            .filter(candidate -> live.contains(candidate.bookId()))
+            .limit(limit)
+            .toList();
+    }
+
+    private HnswGraph newGraph() {
+        return new HnswGraph(properties.maxConnections(), properties.efConstruction(), vectorOps, GRAPH_SEED);
+    }
+
+    private float[] normalized(float[] vector) {
+        double norm = Math.sqrt(vectorOps.sumOfSquares(vector));
+        if (norm > 0.0d) {
+            vectorOps.scaleInPlace(vector, (float) (1.0d / norm));
+        }
+        return vector;
+    }
+
+    private record PendingUpsert(UUID bookId,
+                                 float[] vector,
+                                 List<UUID> clusterIds,
+                                 String modelVersion,
+                                 String profileHash) {
+    }
+
+    /**
+     * One contract's graph plus the book/cluster bookkeeping needed to filter results.
+     * Replaced vectors stay in the graph as superseded nodes until the next rebuild.
+     */
+    private static final class Snapshot {
+
+        private final String modelVersion;
+        private final String profileHash;
+        private final HnswGraph graph;
+        private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+        private final Map<UUID, Integer> nodeByBook = new HashMap<>();
+        private final Map<UUID, List<UUID>> clustersByBook = new HashMap<>();
+        private final BitSet superseded = new BitSet();
+        private UUID[] bookByNode = new UUID[1_024];
+
+        private Snapshot(String modelVersion, String profileHash, HnswGraph graph) {
+            this.modelVersion = modelVersion;
+            this.profileHash = profileHash;
+            this.graph = graph;
+        }
+
+        private boolean matches(String requestedModelVersion, String requestedProfileHash) {
+            return modelVersion.equals(requestedModelVersion) && profileHash.equals(requestedProfileHash);
+        }
+
+        private void put(UUID bookId, float[] vector, List<UUID> clusterIds) {
+            lock.writeLock().lock();
+            try {
+                Integer previousNode = nodeByBook.get(bookId);
+                if (previousNode != null) {
+                    superseded.set(previousNode);
+                }
+                int node = graph.add(vector);
+                if (node >= bookByNode.length) {
+                    bookByNode = Arrays.copyOf(bookByNode, bookByNode.length * 2);
+                }
+                bookByNode[node] = bookId;
+                nodeByBook.put(bookId, node);
+                if (clusterIds == null || clusterIds.isEmpty()) {
+                    clustersByBook.remove(bookId);
+                } else {
+                    clustersByBook.put(bookId, List.copyOf(clusterIds));
+                }
+            } finally {
+                lock.writeLock().unlock();
+            }
+        }
+
+        private int bookCount() {
+            lock.readLock().lock();
+            try {
+                return nodeByBook.size();
+            } finally {
+                lock.readLock().unlock();
+            }
+        }
+
+        private Optional<List<NearestBookRow>> nearest(UUID sourceBookId, int limit, int efSearch) {
+            lock.readLock().lock();
+            try {
+                Integer sourceNode = nodeByBook.get(sourceBookId);
+                if (sourceNode == null) {
+                    return Optional.empty();
+                }
+                List<UUID> sourceClusters = clustersByBook.getOrDefault(sourceBookId, List.of());
+                IntPredicate accept = node -> node != sourceNode
+                    && !superseded.get(node)
+                    && !sharesCluster(bookByNode[node], sourceClusters);
+                float[] query = graph.vector(sourceNode);
+                int ef = Math.max(efSearch, limit);
+                List<HnswGraph.ScoredNode> matches = graph.search(query, ef, accept);
+                for (int expansion = 0;
+                     expansion < MAX_SEARCH_EXPANSIONS && matches.size() < limit && ef < graph.size();
+                     expansion++) {
+                    ef *= SEARCH_EXPANSION_FACTOR;
+                    matches = graph.search(query, ef, accept);
+                }
+                List<NearestBookRow> rows = new ArrayList<>(Math.min(limit, matches.size()));
+                for (HnswGraph.ScoredNode match : matches) {
+                    if (rows.size() >= limit) {
+                        break;
+                    }
+                    rows.add(new NearestBookRow(bookByNode[match.node()], match.similarity()));
+                }
+                return Optional.of(List.copyOf(rows));
+            } finally {
+                lock.readLock().unlock();
+            }
+        }
+
+        private boolean sharesCluster(UUID candidateBookId, List<UUID> sourceClusters) {
+            if (sourceClusters.isEmpty()) {
+                return false;
+            }
+            List<UUID> candidateClusters = clustersByBook.get(candidateBookId);
+            if (candidateClusters == null) {
+                return false;
+            }
+            for (UUID clusterId : candidateClusters) {
+                if (sourceClusters.contains(clusterId)) {
+                    return true;
+                }
+            }
+            return false;
+        }
+    }
+}
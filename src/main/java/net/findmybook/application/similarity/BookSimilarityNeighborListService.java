@@ -0,0 +1,204 @@
+package net.findmybook.application.similarity;
+
+import java.util.ArrayList;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+import java.util.UUID;
+import net.findmybook.adapters.persistence.BookSimilarityEmbeddingRepository.NearestBookRow;
+import net.findmybook.adapters.persistence.BookSimilarityNeighborRepository;
+import net.findmybook.adapters.persistence.BookSimilarityNeighborRepository.NeighborList;
+import net.findmybook.adapters.persistence.BookSimilarityNeighborRepository.QueuedNeighborList;
+import net.findmybook.adapters.persistence.BookSimilarityNeighborRepository.StoredNeighbors;
+import net.findmybook.application.similarity.BookSimilarityEmbeddingService.SimilarBookMatch;
+import net.findmybook.application.similarity.BookSimilarityEmbeddingService.SimilarityContract;
+import net.findmybook.boot.BookSimilarityNeighborProperties;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Service;
+
+/**
+ * Maintains and serves materialized top-K similar-book lists for the active similarity contract.
+ *
+ * <p>A refresh pass claims lists queued when a book's vector {@code computed_at} moved,
+ * recomputes them, and also recomputes the lists that may now rank those books differently:
+ * lists that already contain a changed book, and the changed book's new nearest neighbors
+ * (similarity is symmetric, so those are the lists it most likely entered).</p>
+ */
+@Service
+public class BookSimilarityNeighborListService {
+
+    private static final Logger log = LoggerFactory.getLogger(BookSimilarityNeighborListService.class);
+
+    private final BookSimilarityEmbeddingService embeddingService;
+    private final BookSimilarityNeighborRepository neighborRepository;
+    private final BookSimilarityNeighborProperties properties;
+
+    public BookSimilarityNeighborListService(BookSimilarityEmbeddingService embeddingService,
+                                             BookSimilarityNeighborRepository neighborRepository,
+                                             BookSimilarityNeighborProperties properties) {
+        this.embeddingService = embeddingService;
+        this.neighborRepository = neighborRepository;
+        this.properties = properties;
+    }
+
+    /**
+     * Reads the materialized neighbor list for a book.
+     *
+     * <p>Neighbors deleted or merged into the source's work cluster since the list was written
+     * are dropped on read. When that leaves fewer neighbors than requested, the list is queued
+     * for a rebuild and the caller falls back to a live vector search.</p>
+     *
+     * @param sourceBookId canonical source book UUID
+     * @param limit maximum neighbor count
+     * @return ranked neighbors, or empty when lists are disabled, the limit exceeds the stored
+     *     list length, no list has been materialized for the book yet, or the stored list has
+     *     gone stale
+     */
+    public Optional<List<SimilarBookMatch>> findPrecomputedNeighbors(UUID sourceBookId, int limit) {
+        if (!properties.isEnabled() || sourceBookId == null || limit <= 0 || limit > properties.neighborCount()) {
+            return Optional.empty();
+        }
+        Optional<SimilarityContract> activeContract = embeddingService.activeContract();
+        if (activeContract.isEmpty()) {
+            return Optional.empty();
+        }
+        SimilarityContract contract = activeContract.get();
+        StoredNeighbors stored = neighborRepository.fetchNeighbors(
+            sourceBookId,
+            contract.modelVersion(),
+            contract.profileHash(),
+            limit
+        );
+        if (stored.neighbors().isEmpty()) {
+            return Optional.empty();
+        }
+        if (stored.neighbors().size() < Math.min(limit, stored.storedCount())) {
+            neighborRepository.queueNeighborLists(List.of(sourceBookId), contract.modelVersion(), contract.profileHash(), false);
+            return Optional.empty();
+        }
+        return Optional.of(stored.neighbors().stream()
+            .map(row -> new SimilarBookMatch(row.bookId(), row.similarity()))
+            .toList());
+    }
+
+    /**
+     * Recomputes one bounded batch of queued neighbor lists.
+     *
+     * <p>Claims up to {@code refreshBatchSize} queued lists, then recomputes at most
+     * {@code maxAffectedPerPass} of the lists their changed vectors may have moved. Affected
+     * lists beyond that cap are queued for a later pass. Claimed queue rows are deleted only after
+     * every list of the pass is written; if the pass fails they are released for the next pass, and
+     * if the process dies their lease expires.</p>
+     *
+     * @return number of lists written
+     */
+    public int refreshStaleNeighborLists() {
+        if (!properties.isEnabled()) {
+            return 0;
+        }
+        Optional<SimilarityContract> activeContract = embeddingService.activeContract();
+        if (activeContract.isEmpty()) {
+            return 0;
+        }
+        SimilarityContract contract = activeContract.get();
+        List<QueuedNeighborList> claimed = neighborRepository.claimQueuedNeighborLists(
+            contract.modelVersion(),
+            contract.profileHash(),
+            properties.refreshBatchSize(),
+            properties.claimLease()
+        );
+        if (claimed.isEmpty()) {
+            return 0;
+        }
+        int written;
+        try {
+            written = recomputeClaimed(claimed, contract);
+        } catch (RuntimeException refreshFailure) {
+            neighborRepository.releaseNeighborLists(claimed, contract.modelVersion(), contract.profileHash());
+            throw refreshFailure;
+        }
+        neighborRepository.completeNeighborLists(claimed, contract.modelVersion(), contract.profileHash());
+        return written;
+    }
+
+    private int recomputeClaimed(List<QueuedNeighborList> claimed, SimilarityContract contract) {
+        Set<UUID> claimedBookIds = new LinkedHashSet<>();
+        Set<UUID> changedBookIds = new LinkedHashSet<>();
+        for (QueuedNeighborList entry : claimed) {
+            claimedBookIds.add(entry.bookId());
+            if (entry.expandAffected()) {
+                changedBookIds.add(entry.bookId());
+            }
+        }
+
+        Set<UUID> affectedBookIds = new LinkedHashSet<>();
+        List<NeighborList> pending = new ArrayList<>(properties.refreshBatchSize());
+        int written = 0;
+        for (UUID claimedBookId : claimedBookIds) {
+            NeighborList neighborList = computeNeighborList(claimedBookId, contract);
+            if (changedBookIds.contains(claimedBookId)) {
+                neighborList.neighbors().forEach(neighbor -> affectedBookIds.add(neighbor.bookId()));
+            }
+            pending.add(neighborList);
+            written += flushIfFull(contract, pending);
+        }
+        if (!changedBookIds.isEmpty()) {
+            affectedBookIds.addAll(neighborRepository.findListsContaining(
+                List.copyOf(changedBookIds),
+                contract.modelVersion(),
+                contract.profileHash()
+            ));
+        }
+        affectedBookIds.removeAll(claimedBookIds);
+
+        List<UUID> carriedOver = new ArrayList<>();
+        int recomputedAffected = 0;
+        for (UUID affectedBookId : affectedBookIds) {
+            if (recomputedAffected >= properties.maxAffectedPerPass()) {
+                carriedOver.add(affectedBookId);
+                continue;
+            }
+            pending.add(computeNeighborList(affectedBookId, contract));
+            recomputedAffected++;
+            written += flushIfFull(contract, pending);
+        }
+        written += flush(contract, pending);
+        if (!carriedOver.isEmpty()) {
+            neighborRepository.queueNeighborLists(carriedOver, contract.modelVersion(), contract.profileHash(), false);
+        }
+        log.info(
+            "Recomputed {} similar-book neighbor lists for {} claimed lists ({} changed vectors, {} affected lists, {} carried over).",
+            written,
+            claimedBookIds.size(),
+            changedBookIds.size(),
+            recomputedAffected,
+            carriedOver.size()
+        );
+        return written;
+    }
+
+    private NeighborList computeNeighborList(UUID bookId, SimilarityContract contract) {
+        List<NearestBookRow> neighbors = embeddingService
+            .findNearestBooksForContract(bookId, contract, properties.neighborCount())
+            .stream()
+            .map(match -> new NearestBookRow(match.bookId(), match.similarity()))
+            .toList();
+        return new NeighborList(bookId, neighbors);
+    }
+
+    private int flushIfFull(SimilarityContract contract, List<NeighborList> pending) {
+        return pending.size() >= properties.refreshBatchSize() ? flush(contract, pending) : 0;
+    }
+
+    private int flush(SimilarityContract contract, List<NeighborList> pending) {
+        if (pending.isEmpty()) {
+            return 0;
+        }
+        neighborRepository.upsertNeighborLists(contract.modelVersion(), contract.profileHash(), pending);
+        int flushed = pending.size();
+        pending.clear();
+        return flushed;
+    }
+}
@@ -0,0 +1,460 @@
+package net.findmybook.application.similarity;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.Random;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveTask;
+import java.util.function.IntPredicate;
+import net.findmybook.adapters.persistence.BookSimilarityEmbeddingRepository;
+import net.findmybook.adapters.persistence.BookSimilarityEmbeddingRepository.NearestBookRow;
+import net.findmybook.application.similarity.BookSimilarityEmbeddingService.SimilarityContract;
+import net.findmybook.application.similarity.HnswGraph.ScoredNode;
+import net.findmybook.boot.BookSimilarityIndexProperties;
+import net.findmybook.domain.similarity.BookSimilarityFusionPolicy;
+import net.findmybook.domain.similarity.BookSimilarityFusionProfile;
+import org.springframework.stereotype.Service;
+
+/**
+ * Offline recall and latency evaluation of every configured fusion profile.
+ *
+ * <p>Loads one snapshot of the active contract's vectors together with the cached section
+ * embeddings behind them, re-fuses the sections under each candidate profile, and ranks a
+ * seeded sample of anchors three ways: an exact brute-force scan split across a fork/join
+ * pool, the in-memory {@link HnswGraph}, and (for the active profile, whose vectors are the
+ * ones Postgres indexes) the pgvector HNSW query. Approximate paths are scored as recall@K
+ * against the exact ranking, and every path reports a per-query latency histogram.</p>
+ *
+ * <p>Same-work editions are excluded from every ranking, matching the live query.</p>
+ */
+@Service
+public class BookSimilarityProfileEvaluator {
+
+    static final String EXACT_PATH = "exact";
+    static final String IN_MEMORY_HNSW_PATH = "in-memory-hnsw";
+    static final String PGVECTOR_HNSW_PATH = "pgvector-hnsw";
+
+    private static final double NANOS_PER_MILLI = 1_000_000.0d;
+    private static final double[] LATENCY_BUCKET_BOUNDS_MILLIS =
+        {0.1d, 0.25d, 0.5d, 1.0d, 2.5d, 5.0d, 10.0d, 25.0d, 50.0d, 100.0d, 250.0d};
+    private static final int EXACT_SCAN_LEAF_SIZE = 2_048;
+    private static final long ANCHOR_SEED = 17L;
+    private static final long HNSW_SEED = 42L;
+    private static final Comparator<ScoredNode> WORST_FIRST = Comparator.comparingDouble(ScoredNode::similarity);
+
+    private final BookSimilarityEmbeddingService embeddingService;
+    private final BookSimilarityEmbeddingRepository repository;
+    private final BookEmbeddingClient embeddingClient;
+    private final BookSimilarityFusionPolicy policy;
+    private final BookSimilarityVectorFusion vectorFusion;
+    private final BookSimilarityIndexProperties indexProperties;
+    private final EmbeddingVectorOps vectorOps = EmbeddingVectorOps.preferred();
+
+    public BookSimilarityProfileEvaluator(BookSimilarityEmbeddingService embeddingService,
+                                          BookSimilarityEmbeddingRepository repository,
+                                          BookEmbeddingClient embeddingClient,
+                                          BookSimilarityFusionPolicy policy,
+                                          BookSimilarityVectorFusion vectorFusion,
+                                          BookSimilarityIndexProperties indexProperties) {
+        this.embeddingService = embeddingService;
+        this.repository = repository;
+        this.embeddingClient = embeddingClient;
+        this.policy = policy;
+        this.vectorFusion = vectorFusion;
+        this.indexProperties = indexProperties;
+    }
+
+    /**
+     * Runs one evaluation pass over every configured profile.
+     *
+     * @param sampleSize anchor books ranked per profile
+     * @param k neighbors compared per anchor
+     * @param snapshotLimit maximum books loaded; zero or less loads the whole contract
+     * @return per-profile recall and latency report
+     */
+    public EvaluationReport evaluate(int sampleSize, int k, int snapshotLimit) {
+        SimilarityContract contract = embeddingService.activeContract()
+            .orElseThrow(() -> new IllegalStateException("No active book similarity contract is configured"));
+        Snapshot snapshot = loadSnapshot(contract, snapshotLimit);
+        if (snapshot.size() < 2) {
+            return new EvaluationReport(snapshot.size(), snapshot.booksWithoutSections(), 0, k, List.of());
+        }
+        int[] anchors = sampleAnchors(snapshot.size(), sampleSize);
+        // A truncated snapshot ranks against fewer books than Postgres does, so its exact
+        // neighbors are not ground truth for the pgvector query.
+        boolean completeSnapshot = snapshotLimit <= 0 || snapshot.size() < snapshotLimit;
+        List<ProfileReport> profileReports = new ArrayList<>();
+        try (ForkJoinPool exactScanPool = new ForkJoinPool(Runtime.getRuntime().availableProcessors())) {
+            for (BookSimilarityFusionProfile profile : policy.profiles()) {
+                boolean active = profile.id().equals(policy.activeProfileId());
+                profileReports.add(evaluateProfile(
+                    profile.id(),
+                    active,
+                    snapshot,
+                    anchors,
+                    k,
+                    exactScanPool,
+                    active && completeSnapshot ? contract : null
+                ));
+            }
+        }
+        return new EvaluationReport(
+            snapshot.size(),
+            snapshot.booksWithoutSections(),
+            anchors.length,
+            k,
+            List.copyOf(profileReports)
+        );
+    }
+
+    private ProfileReport evaluateProfile(String profileId,
+                                          boolean active,
+                                          Snapshot snapshot,
+                                          int[] anchors,
+                                          int k,
+                                          ForkJoinPool exactScanPool,
+                                          SimilarityContract pgvectorContract) {
+        float[][] vectors = snapshot.vectorsByProfile().get(profileId);
+        List<Set<UUID>> exactNeighbors = new ArrayList<>(anchors.length);
+        long[] exactNanos = new long[anchors.length];
+        long expectedNeighbors = 0L;
+        for (int anchorIndex = 0; anchorIndex < anchors.length; anchorIndex++) {
+            int anchor = anchors[anchorIndex];
+            long startedNanos = System.nanoTime();
+            List<ScoredNode> exact = exactScanPool.invoke(new ExactTopKTask(
+                vectors,
+                vectors[anchor],
+                0,
+                vectors.length,
+                k,
+                candidateFilter(snapshot, anchor),
+                vectorOps
+            ));
+            exactNanos[anchorIndex] = System.nanoTime() - startedNanos;
+            Set<UUID> expected = snapshot.bookIds(exact);
+            exactNeighbors.add(expected);
+            expectedNeighbors += expected.size();
+        }
+        List<SearchPathReport> paths = new ArrayList<>();
+        paths.add(new SearchPathReport(EXACT_PATH, expectedNeighbors == 0L ? 0.0d : 1.0d, LatencySummary.of(exactNanos)));
+
+        long buildStartedNanos = System.nanoTime();
+        HnswGraph graph = new HnswGraph(
+            indexProperties.maxConnections(),
+            indexProperties.efConstruction(),
+            vectorOps,
+            HNSW_SEED
+        );
+        for (float[] vector : vectors) {
+            graph.add(vector);
+        }
+        long hnswBuildMillis = (System.nanoTime() - buildStartedNanos) / (long) NANOS_PER_MILLI;
+        int ef = Math.max(indexProperties.efSearch(), k);
+        long[] hnswNanos = new long[anchors.length];
+        long hnswHits = 0L;
+        for (int anchorIndex = 0; anchorIndex < anchors.length; anchorIndex++) {
+            int anchor = anchors[anchorIndex];
+            long startedNanos = System.nanoTime();
+            List<ScoredNode> approximate = graph.search(vectors[anchor], ef, candidateFilter(snapshot, anchor));
+            hnswNanos[anchorIndex] = System.nanoTime() - startedNanos;
+            hnswHits += hits(exactNeighbors.get(anchorIndex),
+                snapshot.bookIds(approximate.subList(0, Math.min(k, approximate.size()))));
+        }
+        paths.add(new SearchPathReport(IN_MEMORY_HNSW_PATH, recall(hnswHits, expectedNeighbors), LatencySummary.of(hnswNanos)));
+
+        if (pgvectorContract != null) {
+            long[] pgvectorNanos = new long[anchors.length];
+            long pgvectorHits = 0L;
+            for (int anchorIndex = 0; anchorIndex < anchors.length; anchorIndex++) {
+                long startedNanos = System.nanoTime();
+                List<NearestBookRow> rows = repository.findNearestBooks(
+                    snapshot.bookIds().get(anchors[anchorIndex]),
+                    pgvectorContract.modelVersion(),
+                    pgvectorContract.profileHash(),
+                    k
+                );
+                pgvectorNanos[anchorIndex] = System.nanoTime() - startedNanos;
+                Set<UUID> returned = new HashSet<>(rows.size());
+                rows.forEach(row -> returned.add(row.bookId()));
+                pgvectorHits += hits(exactNeighbors.get(anchorIndex), returned);
+            }
+            paths.add(new SearchPathReport(
+                PGVECTOR_HNSW_PATH,
+                recall(pgvectorHits, expectedNeighbors),
+                LatencySummary.of(pgvectorNanos)
+            ));
+        }
+        return new ProfileReport(profileId, active, hnswBuildMillis, List.copyOf(paths));
+    }
+
+    private Snapshot loadSnapshot(SimilarityContract contract, int snapshotLimit) {
+        List<BookSimilarityFusionProfile> candidateProfiles = policy.profiles().stream()
+            .filter(profile -> !profile.id().equals(policy.activeProfileId()))
+            .toList();
+        List<UUID> bookIds = new ArrayList<>();
+        List<List<UUID>> clusterIds = new ArrayList<>();
+        Map<String, List<float[]>> vectorsByProfile = new LinkedHashMap<>();
+        vectorsByProfile.put(policy.activeProfileId(), new ArrayList<>());
+        candidateProfiles.forEach(profile -> vectorsByProfile.put(profile.id(), new ArrayList<>()));
+        int[] booksWithoutSections = {0};
+        repository.streamProfileSnapshot(
+            contract.modelVersion(),
+            contract.profileHash(),
+            embeddingClient.cacheModel(),
+            snapshotLimit,
+            row -> {
+                bookIds.add(row.bookId());
+                clusterIds.add(row.clusterIds());
+                // The active profile is evaluated on the stored vectors Postgres indexes.
+                vectorsByProfile.get(policy.activeProfileId()).add(row.embedding());
+                boolean hasSections = !row.sectionEmbeddings().isEmpty();
+                if (!hasSections) {
+                    booksWithoutSections[0]++;
+                }
+                for (BookSimilarityFusionProfile profile : candidateProfiles) {
+                    vectorsByProfile.get(profile.id()).add(hasSections
+                        ? vectorFusion.fuseForProfile(profile, row.sectionEmbeddings())
+                        : row.embedding());
+                }
+            }
+        );
+        Map<String, float[][]> vectorArrays = new LinkedHashMap<>();
+        vectorsByProfile.forEach((profileId, vectors) -> vectorArrays.put(profileId, vectors.toArray(new float[0][])));
+        return new Snapshot(List.copyOf(bookIds), List.copyOf(clusterIds), vectorArrays, booksWithoutSections[0]);
+    }
+
+    private static int[] sampleAnchors(int snapshotSize, int sampleSize) {
+        int[] indices = new int[snapshotSize];
+        Arrays.setAll(indices, index -> index);
+        Random random = new Random(ANCHOR_SEED);
+        int anchorCount = Math.min(Math.max(1, sampleSize), snapshotSize);
+        for (int index = 0; index < anchorCount; index++) {
+            int swap = index + random.nextInt(snapshotSize - index);
+            int held = indices[index];
+            indices[index] = indices[swap];
+            indices[swap] = held;
+        }
+        return Arrays.copyOf(indices, anchorCount);
+    }
+
+    private static IntPredicate candidateFilter(Snapshot snapshot, int anchor) {
+        List<UUID> anchorClusters = snapshot.clusterIds().get(anchor);
+        if (anchorClusters.isEmpty()) {
+            return node -> node != anchor;
+        }
+        Set<UUID> excludedClusters = Set.copyOf(anchorClusters);
+        return node -> node != anchor
+            && snapshot.clusterIds().get(node).stream().noneMatch(excludedClusters::contains);
+    }
+
+    private static long hits(Set<UUID> expected, Set<UUID> actual) {
+        return actual.stream().filter(expected::contains).count();
+    }
+
+    private static double recall(long hits, long expected) {
+        return expected == 0L ? 0.0d : hits / (double) expected;
+    }
+
+    /**
+     * Exact top-K over a slice of the snapshot, split recursively so large corpora scan in parallel.
+     */
+    private static final class ExactTopKTask extends RecursiveTask<List<ScoredNode>> {
+
+        private final float[][] vectors;
+        private final float[] query;
+        private final int from;
+        private final int to;
+        private final int k;
+        private final IntPredicate accept;
+        private final EmbeddingVectorOps vectorOps;
+
+        private ExactTopKTask(float[][] vectors,
+                              float[] query,
+                              int from,
+                              int to,
+                              int k,
+                              IntPredicate accept,
+                              EmbeddingVectorOps vectorOps) {
+            this.vectors = vectors;
+            this.query = query;
+            this.from = from;
+            this.to = to;
+            this.k = k;
+            this.accept = accept;
+            this.vectorOps = vectorOps;
+        }
+
+        @Override
+        protected List<ScoredNode> compute() {
+            if (to - from <= EXACT_SCAN_LEAF_SIZE) {
+                return scan();
+            }
+            int middle = (from + to) >>> 1;
+            ExactTopKTask left = new ExactTopKTask(vectors, query, from, middle, k, accept, vectorOps);
+            left.fork();
+            List<ScoredNode> right = new ExactTopKTask(vectors, query, middle, to, k, accept, vectorOps).compute();
+            return merge(left.join(), right);
+        }
+
+        private List<ScoredNode> scan() {
+            PriorityQueue<ScoredNode> best = new PriorityQueue<>(k + 1, WORST_FIRST);
+            for (int node = from; node < to; node++) {
+                if (!accept.test(node)) {
+                    continue;
+                }
+                best.add(new ScoredNode(node, vectorOps.dot(query, vectors[node])));
+                if (best.size() > k) {
+                    best.poll();
+                }
+            }
+            List<ScoredNode> ranked = new ArrayList<>(best);
+            ranked.sort(WORST_FIRST.reversed());
+            return ranked;
+        }
+
+        private List<ScoredNode> merge(List<ScoredNode> left, List<ScoredNode> right) {
+            List<ScoredNode> merged = new ArrayList<>(Math.min(k, left.size() + right.size()));
+            int leftIndex = 0;
+            int rightIndex = 0;
+            while (merged.size() < k && (leftIndex < left.size() || rightIndex < right.size())) {
+                if (rightIndex >= right.size()
+                    || (leftIndex < left.size() && left.get(leftIndex).similarity() >= right.get(rightIndex).similarity())) {
+                    merged.add(left.get(leftIndex++));
+                } else {
+                    merged.add(right.get(rightIndex++));
+                }
+            }
+            return merged;
+        }
+    }
+
+    private record Snapshot(List<UUID> bookIds,
+                            List<List<UUID>> clusterIds,
+                            Map<String, float[][]> vectorsByProfile,
+                            int booksWithoutSections) {
+
+        int size() {
+            return bookIds.size();
+        }
+
+        Set<UUID> bookIds(List<ScoredNode> nodes) {
+            Set<UUID> ids = new HashSet<>(nodes.size());
+            nodes.forEach(node -> ids.add(bookIds.get(node.node())));
+            return ids;
+        }
+    }
+
+    /**
+     * Evaluation results for every configured profile.
+     *
+     * @param snapshotBooks books loaded into the snapshot
+     * @param booksWithoutSections snapshot books with no cached sections, ranked on their stored vector
+     * @param anchorsEvaluated sampled anchors ranked per profile
+     * @param k neighbors compared per anchor
+     * @param profiles one report per configured profile, in policy order
+     */
+    public record EvaluationReport(int snapshotBooks,
+                                   int booksWithoutSections,
+                                   int anchorsEvaluated,
+                                   int k,
+                                   List<ProfileReport> profiles) {
+    }
+
+    /**
+     * Search-path results for one profile.
+     *
+     * @param profileId evaluated profile
+     * @param active whether this is the runtime profile
+     * @param hnswBuildMillis time to build the in-memory graph over the snapshot
+     * @param paths exact, in-memory HNSW, and (active profile only) pgvector HNSW results
+     */
+    public record ProfileReport(String profileId, boolean active, long hnswBuildMillis, List<SearchPathReport> paths) {
+    }
+
+    /**
+     * Recall@K against the exact ranking and per-query latency of one search path.
+     *
+     * @param path search path name
+     * @param recall fraction of exact neighbors returned
+     * @param latency per-query latency distribution
+     */
+    public record SearchPathReport(String path, double recall, LatencySummary latency) {
+    }
+
+    /**
+     * Per-query latency distribution with fixed millisecond buckets.
+     *
+     * @param count queries measured
+     * @param meanMillis mean latency
+     * @param p50Millis median latency
+     * @param p90Millis 90th percentile latency
+     * @param p99Millis 99th percentile latency
+     * @param maxMillis slowest query
+     * @param buckets query counts per latency bucket, the last one unbounded
+     */
+    public record LatencySummary(int count,
+                                 double meanMillis,
+                                 double p50Millis,
+                                 double p90Millis,
+                                 double p99Millis,
+                                 double maxMillis,
+                                 List<LatencyBucket> buckets) {
+
+        static LatencySummary of(long[] nanos) {
+            long[] sorted = nanos.clone();
+            Arrays.sort(sorted);
+            long[] bucketCounts = new long[LATENCY_BUCKET_BOUNDS_MILLIS.length + 1];
+            long totalNanos = 0L;
+            for (long sample : sorted) {
+                totalNanos += sample;
+                double millis = sample / NANOS_PER_MILLI;
+                int bucket = 0;
+                while (bucket < LATENCY_BUCKET_BOUNDS_MILLIS.length && millis > LATENCY_BUCKET_BOUNDS_MILLIS[bucket]) {
+                    bucket++;
+                }
+                bucketCounts[bucket]++;
+            }
+            List<LatencyBucket> buckets = new ArrayList<>(bucketCounts.length);
+            for (int bucket = 0; bucket < bucketCounts.length; bucket++) {
+                double upperBound = bucket < LATENCY_BUCKET_BOUNDS_MILLIS.length
+                    ? LATENCY_BUCKET_BOUNDS_MILLIS[bucket]
+                    : Double.POSITIVE_INFINITY;
+                buckets.add(new LatencyBucket(upperBound, bucketCounts[bucket]));
+            }
+            if (sorted.length == 0) {
+                return new LatencySummary(0, 0.0d, 0.0d, 0.0d, 0.0d, 0.0d, List.copyOf(buckets));
+            }
+            return new LatencySummary(
+                sorted.length,
+                totalNanos / NANOS_PER_MILLI / sorted.length,
+                percentile(sorted, 0.50d),
+                percentile(sorted, 0.90d),
+                percentile(sorted, 0.99d),
+                sorted[sorted.length - 1] / NANOS_PER_MILLI,
+                List.copyOf(buckets)
+            );
+        }
+
+        private static double percentile(long[] sorted, double quantile) {
+            int rank = (int) Math.ceil(quantile * sorted.length) - 1;
+            return sorted[Math.clamp(rank, 0, sorted.length - 1)] / NANOS_PER_MILLI;
+        }
+    }
+
+    /**
+     * Queries whose latency fell at or below {@code upperBoundMillis} and above the previous bound.
+     *
+     * @param upperBoundMillis inclusive bucket ceiling; infinite for the overflow bucket
+     * @param count queries in the bucket
+     */
+    public record LatencyBucket(double upperBoundMillis, long count) {
+    }
+}
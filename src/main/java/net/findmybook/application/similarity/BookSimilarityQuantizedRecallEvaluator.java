@@ -0,0 +1,126 @@
+package net.findmybook.application.similarity;
+
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+import net.findmybook.adapters.persistence.BookSimilarityEmbeddingRepository;
+import net.findmybook.adapters.persistence.BookSimilarityEmbeddingRepository.NearestBookRow;
+import net.findmybook.application.similarity.BookSimilarityEmbeddingService.SimilarityContract;
+import net.findmybook.boot.BookSimilarityEmbeddingProperties;
+import org.springframework.stereotype.Service;
+
+/**
+ * Measures how closely the Postgres search paths track exhaustive cosine ranking.
+ *
+ * <p>For a random sample of anchor books under the active contract, compares the halfvec HNSW
+ * query and the binary-quantized two-stage query against an index-free exact scan, reporting
+ * recall@K and mean query latency for each.</p>
+ */
+@Service
+public class BookSimilarityQuantizedRecallEvaluator {
+
+    private static final double NANOS_PER_MILLI = 1_000_000.0d;
+
+    private final BookSimilarityEmbeddingService embeddingService;
+    private final BookSimilarityEmbeddingRepository repository;
+    private final BookSimilarityEmbeddingProperties properties;
+
+    public BookSimilarityQuantizedRecallEvaluator(BookSimilarityEmbeddingService embeddingService,
+                                                  BookSimilarityEmbeddingRepository repository,
+                                                  BookSimilarityEmbeddingProperties properties) {
+        this.embeddingService = embeddingService;
+        this.repository = repository;
+        this.properties = properties;
+    }
+
+    /**
+     * Runs one recall evaluation pass.
+     *
+     * @param sampleSize anchor books to sample
+     * @param k neighbors compared per anchor
+     * @return recall and latency summary
+     */
+    public RecallReport evaluate(int sampleSize, int k) {
+        SimilarityContract contract = embeddingService.activeContract()
+            .orElseThrow(() -> new IllegalStateException("No active book similarity contract is configured"));
+        int candidatePool = properties.quantizedCandidatePool();
+        List<UUID> anchors = repository.sampleVectorBookIds(contract.modelVersion(), contract.profileHash(), sampleSize);
+
+        int evaluated = 0;
+        long expectedNeighbors = 0L;
+        long halfvecHits = 0L;
+        long quantizedHits = 0L;
+        long halfvecNanos = 0L;
+        long quantizedNanos = 0L;
+        for (UUID anchor : anchors) {
+            List<NearestBookRow> exact =
+                repository.findNearestBooksExhaustive(anchor, contract.modelVersion(), contract.profileHash(), k);
+            if (exact.isEmpty()) {
+                continue;
+            }
+            long startedNanos = System.nanoTime();
+            List<NearestBookRow> halfvec =
+                repository.findNearestBooks(anchor, contract.modelVersion(), contract.profileHash(), k);
+            halfvecNanos += System.nanoTime() - startedNanos;
+
+            startedNanos = System.nanoTime();
+            List<NearestBookRow> quantized = repository.findNearestBooksQuantized(
+                anchor,
+                contract.modelVersion(),
+                contract.profileHash(),
+                k,
+                candidatePool
+            );
+            quantizedNanos += System.nanoTime() - startedNanos;
+
+            Set<UUID> expected = bookIds(exact);
+            expectedNeighbors += expected.size();
+            halfvecHits += hits(expected, halfvec);
+            quantizedHits += hits(expected, quantized);
+            evaluated++;
+        }
+        if (evaluated == 0) {
+            return new RecallReport(0, k, candidatePool, 0.0d, 0.0d, 0.0d, 0.0d);
+        }
+        return new RecallReport(
+            evaluated,
+            k,
+            candidatePool,
+            halfvecHits / (double) expectedNeighbors,
+            quantizedHits / (double) expectedNeighbors,
+            halfvecNanos / NANOS_PER_MILLI / evaluated,
+            quantizedNanos / NANOS_PER_MILLI / evaluated
+        );
+    }
+
+    private static Set<UUID> bookIds(List<NearestBookRow> rows) {
+        Set<UUID> ids = new HashSet<>(rows.size());
+        rows.forEach(row -> ids.add(row.bookId()));
+        return ids;
+    }
+
+    private static long hits(Set<UUID> expected, List<NearestBookRow> actual) {
+        return actual.stream().filter(row -> expected.contains(row.bookId())).count();
+    }
+
+    /**
+     * Recall@K and mean latency of each search path against exhaustive ranking.
+     *
+     * @param anchorsEvaluated sampled anchors that had at least one neighbor
+     * @param k neighbors compared per anchor
+     * @param candidatePool binary-quantized candidates re-ranked per search
+     * @param halfvecRecall recall of the halfvec HNSW query
+     * @param quantizedRecall recall of the binary-quantized two-stage query
+     * @param halfvecMeanMillis mean halfvec HNSW query latency
+     * @param quantizedMeanMillis mean two-stage query latency
+     */
+    public record RecallReport(int anchorsEvaluated,
+                               int k,
+                               int candidatePool,
+                               double halfvecRecall,
+                               double quantizedRecall,
+                               double halfvecMeanMillis,
+                               double quantizedMeanMillis) {
+    }
+}
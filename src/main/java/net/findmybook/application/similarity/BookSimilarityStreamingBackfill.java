@@ -0,0 +1,230 @@
+package net.findmybook.application.similarity;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.TreeMap;
+import java.util.UUID;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Semaphore;
+import net.findmybook.adapters.persistence.BookSimilarityBackfillCheckpointRepository;
+import net.findmybook.adapters.persistence.BookSimilarityBackfillCheckpointRepository.BackfillCheckpoint;
+import net.findmybook.adapters.persistence.BookSimilarityEmbeddingRepository;
+import net.findmybook.application.similarity.BookSimilarityEmbeddingService.SimilarityContract;
+import net.findmybook.boot.BookSimilarityEmbeddingProperties;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Service;
+
+/**
+ * Catalog-wide similarity backfill that streams stale books through bounded concurrent refreshes.
+ *
+ * <p>Candidates are read in primary-key pages, split into refresh batches, and handed to
+ * virtual-thread workers. A semaphore caps the batches in flight, so the reader stops fetching
+ * while the embedding provider is the bottleneck and memory stays flat however large the
+ * catalog is. Batches finish out of order; the checkpoint only advances past a batch once
+ * every earlier batch has finished, so a killed run resumes without skipping books. A failed
+ * batch is handed to the {@code book_similarity_changes} log for the scheduler to retry; if
+ * even that write fails, the checkpoint stays before the batch so the next resumed run
+ * rescans it.</p>
+ */
+@Service
+public class BookSimilarityStreamingBackfill {
+
+    private static final Logger log = LoggerFactory.getLogger(BookSimilarityStreamingBackfill.class);
+    private static final int CANDIDATE_PAGE_SIZE = 1_000;
+
+    private final BookSimilarityEmbeddingService embeddingService;
+    private final BookSimilarityEmbeddingRepository repository;
+    private final BookSimilarityBackfillCheckpointRepository checkpointRepository;
+    private final BookSimilarityEmbeddingProperties properties;
+
+    public BookSimilarityStreamingBackfill(BookSimilarityEmbeddingService embeddingService,
+                                           BookSimilarityEmbeddingRepository repository,
+                                           BookSimilarityBackfillCheckpointRepository checkpointRepository,
+                                           BookSimilarityEmbeddingProperties properties) {
+        this.embeddingService = embeddingService;
+        this.repository = repository;
+        this.checkpointRepository = checkpointRepository;
+        this.properties = properties;
+    }
+
+    /**
+     * Refreshes every missing or stale vector of the active contract.
+     *
+     * @param concurrency refresh batches allowed in flight at once
+     * @param resume continue after the stored checkpoint instead of starting from the first book
+     * @return books scanned and vectors rewritten, including totals carried over from a resumed run
+     */
+    public StreamingBackfillResult run(int concurrency, boolean resume) {
+        Optional<SimilarityContract> activeContract = embeddingService.activeContract();
+        if (activeContract.isEmpty() || !embeddingService.canRefresh()) {
+            log.info("Skipping streaming book similarity backfill: embedding client unavailable or feature disabled.");
+            return new StreamingBackfillResult(0L, 0L, false);
+        }
+        SimilarityContract contract = activeContract.get();
+        Optional<BackfillCheckpoint> checkpoint = resume
+            ? checkpointRepository.fetchCheckpoint(contract.modelVersion(), contract.profileHash())
+            : Optional.empty();
+        checkpoint.ifPresent(resumed -> log.info(
+            "Resuming streaming book similarity backfill after book {} ({} vectors refreshed so far)",
+            resumed.lastBookId(),
+            resumed.refreshedCount()
+        ));
+        UUID cursor = checkpoint.map(BackfillCheckpoint::lastBookId).orElse(null);
+        ProgressTracker progress = new ProgressTracker(
+            contract,
+            cursor,
+            checkpoint.map(BackfillCheckpoint::refreshedCount).orElse(0L)
+        );
+        Semaphore inFlight = new Semaphore(Math.max(1, concurrency));
+        long scanned = 0L;
+        boolean completed = false;
+        try (ExecutorService workers = Executors.newVirtualThreadPerTaskExecutor()) {
+            while (true) {
+                List<UUID> page = repository.findRefreshCandidatesAfter(
+                    contract.modelVersion(),
+                    contract.profileHash(),
+                    cursor,
+                    CANDIDATE_PAGE_SIZE
+                );
+                for (List<UUID> batch : partition(page, properties.refreshBookBatchSize())) {
+                    inFlight.acquire();
+                    long sequence = progress.register(batch.getLast());
+                    workers.submit(() -> {
+                        int refreshed = 0;
+                        boolean settled = true;
+                        try {
+                            refreshed = embeddingService.refreshBackfillBatch(batch);
+                        } catch (RuntimeException batchFailure) {
+                            log.error("Streaming book similarity backfill batch failed", batchFailure);
+                            settled = queueForRetry(batch);
+                        } finally {
+                            if (settled) {
+                                progress.complete(sequence, refreshed);
+                            } else {
+                                progress.hold();
+                            }
+                            inFlight.release();
+                        }
+                    });
+                }
+                scanned += page.size();
+                if (page.size() < CANDIDATE_PAGE_SIZE) {
+                    completed = true;
+                    break;
+                }
+                cursor = page.getLast();
+                log.info(
+                    "Streaming book similarity backfill scanned {} candidates, {} vectors refreshed",
+                    scanned,
+                    progress.refreshed()
+                );
+            }
+        } catch (InterruptedException interrupted) {
+            Thread.currentThread().interrupt();
+            log.warn("Streaming book similarity backfill interrupted; in-flight batches finish and the checkpoint is kept.");
+        }
+        if (completed && progress.holding()) {
+            log.warn("Streaming book similarity backfill kept its checkpoint before a batch that could not be queued for retry.");
+            completed = false;
+        }
+        if (completed) {
+            checkpointRepository.clearCheckpoint(contract.modelVersion(), contract.profileHash());
+        }
+        log.info(
+            "Streaming book similarity backfill {}: {} candidates scanned, {} vectors refreshed",
+            completed ? "finished" : "stopped",
+            scanned,
+            progress.refreshed()
+        );
+        return new StreamingBackfillResult(scanned, progress.refreshed(), completed);
+    }
+
+    private boolean queueForRetry(List<UUID> batch) {
+        try {
+            repository.markBooksChanged(batch);
+            return true;
+        } catch (RuntimeException queueFailure) {
+            log.error("Could not queue failed streaming backfill batch for retry", queueFailure);
+            return false;
+        }
+    }
+
+    private static List<List<UUID>> partition(List<UUID> bookIds, int batchSize) {
+        List<List<UUID>> batches = new ArrayList<>();
+        for (int start = 0; start < bookIds.size(); start += batchSize) {
+            batches.add(bookIds.subList(start, Math.min(start + batchSize, bookIds.size())));
+        }
+        return batches;
+    }
+
+    /**
+     * Orders batch completions so the persisted checkpoint only covers contiguous finished work.
+     * A held batch stays pending for the rest of the run, pinning the checkpoint before it.
+     */
+    private final class ProgressTracker {
+
+        private final SimilarityContract contract;
+        private final TreeMap<Long, UUID> pendingLastBookIds = new TreeMap<>();
+        private final TreeMap<Long, UUID> finishedLastBookIds = new TreeMap<>();
+        private long nextSequence;
+        private UUID checkpointBookId;
+        private long refreshed;
+        private boolean holding;
+
+        private ProgressTracker(SimilarityContract contract, UUID checkpointBookId, long refreshed) {
+            this.contract = contract;
+            this.checkpointBookId = checkpointBookId;
+            this.refreshed = refreshed;
+        }
+
+        synchronized long register(UUID lastBookId) {
+            long sequence = nextSequence++;
+            pendingLastBookIds.put(sequence, lastBookId);
+            return sequence;
+        }
+
+        synchronized void complete(long sequence, int refreshedInBatch) {
+            refreshed += refreshedInBatch;
+            finishedLastBookIds.put(sequence, pendingLastBookIds.remove(sequence));
+            boolean advanced = false;
+            while (!finishedLastBookIds.isEmpty()
+                && (pendingLastBookIds.isEmpty() || finishedLastBookIds.firstKey() < pendingLastBookIds.firstKey())) {
+                checkpointBookId = finishedLastBookIds.pollFirstEntry().getValue();
+                advanced = true;
+            }
+            if (advanced) {
+                checkpointRepository.saveCheckpoint(
+                    contract.modelVersion(),
+                    contract.profileHash(),
+                    new BackfillCheckpoint(checkpointBookId, refreshed)
+                );
+            }
+        }
+
+        synchronized void hold() {
+            holding = true;
+        }
+
+        synchronized boolean holding() {
+            return holding;
+        }
+
+        synchronized long refreshed() {
+            return refreshed;
+        }
+    }
+
+    /**
+     * Outcome of one streaming backfill run.
+     *
+     * @param scanned candidate books read by this run
+     * @param refreshed vectors rewritten, including any carried over from the resumed checkpoint
+     * @param completed whether the run reached the end of the candidate list with every batch
+     *     refreshed or queued for retry
+     */
+    public record StreamingBackfillResult(long scanned, long refreshed, boolean completed) {
+    }
+}
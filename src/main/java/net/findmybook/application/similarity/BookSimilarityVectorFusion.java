@@ -4,6 +4,7 @@ import java.util.ArrayList;
 import java.util.List;
 import java.util.Map;
 import net.findmybook.domain.similarity.BookSimilarityFusionPolicy;
+import net.findmybook.domain.similarity.BookSimilarityFusionProfile;
 import net.findmybook.domain.similarity.BookSimilaritySectionInput;
 import net.findmybook.domain.similarity.BookSimilaritySectionKey;
 import net.findmybook.domain.similarity.BookSimilaritySourceDocument;
@@ -15,6 +16,9 @@ import org.springframework.stereotype.Component;
  * <p>Extracted from {@code BookSimilarityEmbeddingService} so that service code stays
  * focused on scheduling and orchestration while the pure vector math has one owner
  * driven by the active {@link BookSimilarityFusionPolicy} weights.</p>
+ *
+ * <p>Vectors are primitive {@code float[]} end to end; the per-component kernels come from
+ * {@link EmbeddingVectorOps#preferred()} so backfills avoid boxing 2560 floats per section.</p>
  */
 @Component
 public class BookSimilarityVectorFusion {
@@ -34,65 +38,77 @@ public class BookSimilarityVectorFusion {
      * @param sectionEmbeddings per-section embedding vectors keyed by section
      * @return fused vector of length {@link #EMBEDDING_DIMENSION}
      */
-    public List<Float> fuse(BookSimilaritySourceDocument sourceDocument,
-                            Map<BookSimilaritySectionKey, List<Float>> sectionEmbeddings) {
+    public float[] fuse(BookSimilaritySourceDocument sourceDocument,
+                        Map<BookSimilaritySectionKey, float[]> sectionEmbeddings) {
         Map<BookSimilaritySectionKey, Double> weights = policy.normalizedWeightsFor(sectionEmbeddings.keySet());
-        List<List<Float>> weightedEmbeddings = new ArrayList<>();
-        List<Double> embeddingWeights = new ArrayList<>();
-        for (BookSimilaritySectionInput sectionInput : sourceDocument.sectionInputs()) {
-            List<Float> embedding = sectionEmbeddings.get(sectionInput.sectionKey());
+        List<BookSimilaritySectionInput> sectionInputs = sourceDocument.sectionInputs();
+        List<float[]> weightedEmbeddings = new ArrayList<>(sectionInputs.size());
+        double[] embeddingWeights = new double[sectionInputs.size()];
+        for (int sectionIndex = 0; sectionIndex < sectionInputs.size(); sectionIndex++) {
+            BookSimilaritySectionKey sectionKey = sectionInputs.get(sectionIndex).sectionKey();
+            float[] embedding = sectionEmbeddings.get(sectionKey);
             if (embedding == null) {
-                throw new IllegalStateException("Missing section embedding for " + sectionInput.sectionKey().key());
+                throw new IllegalStateException("Missing section embedding for " + sectionKey.key());
             }
             weightedEmbeddings.add(embedding);
-            embeddingWeights.add(weights.get(sectionInput.sectionKey()));
+            embeddingWeights[sectionIndex] = weights.get(sectionKey);
         }
         return fuseWeighted(weightedEmbeddings, embeddingWeights);
     }
 
-    static List<Float> fuseWeighted(List<List<Float>> weightedEmbeddings, List<Double> embeddingWeights) {
+    /**
+     * Fuses cached section embeddings under an arbitrary profile rather than the active one.
+     *
+     * @param profile candidate profile whose weights are applied
+     * @param sectionEmbeddings per-section embedding vectors keyed by section
+     * @return fused vector of length {@link #EMBEDDING_DIMENSION}
+     */
+    public float[] fuseForProfile(BookSimilarityFusionProfile profile,
+                                  Map<BookSimilaritySectionKey, float[]> sectionEmbeddings) {
+        Map<BookSimilaritySectionKey, Double> weights = policy.normalizedWeightsFor(profile, sectionEmbeddings.keySet());
+        List<float[]> weightedEmbeddings = new ArrayList<>(weights.size());
+        double[] embeddingWeights = new double[weights.size()];
+        int embeddingIndex = 0;
+        for (Map.Entry<BookSimilaritySectionKey, Double> weight : weights.entrySet()) {
+            weightedEmbeddings.add(sectionEmbeddings.get(weight.getKey()));
+            embeddingWeights[embeddingIndex++] = weight.getValue();
+        }
+        return fuseWeighted(weightedEmbeddings, embeddingWeights);
+    }
+
+    static float[] fuseWeighted(List<float[]> weightedEmbeddings, double[] embeddingWeights) {
+        return fuseWeighted(weightedEmbeddings, embeddingWeights, EmbeddingVectorOps.preferred());
+    }
+
+    static float[] fuseWeighted(List<float[]> weightedEmbeddings,
+                                double[] embeddingWeights,
+                                EmbeddingVectorOps vectorOps) {
         if (weightedEmbeddings == null || weightedEmbeddings.isEmpty()) {
             throw new IllegalArgumentException("weightedEmbeddings are required");
         }
-        if (embeddingWeights == null || embeddingWeights.size() != weightedEmbeddings.size()) {
+        if (embeddingWeights == null || embeddingWeights.length != weightedEmbeddings.size()) {
             throw new IllegalArgumentException("embeddingWeights must match weightedEmbeddings");
         }
-        double[] fused = new double[EMBEDDING_DIMENSION];
+        float[] fused = new float[EMBEDDING_DIMENSION];
         for (int embeddingIndex = 0; embeddingIndex < weightedEmbeddings.size(); embeddingIndex++) {
-            List<Float> embedding = weightedEmbeddings.get(embeddingIndex);
-            double norm = vectorNorm(embedding);
+            float[] embedding = weightedEmbeddings.get(embeddingIndex);
+            double norm = vectorNorm(embedding, vectorOps);
             if (norm == 0.0d) {
                 continue;
             }
-            double weight = embeddingWeights.get(embeddingIndex);
-            for (int index = 0; index < EMBEDDING_DIMENSION; index++) {
-                fused[index] += (embedding.get(index) / norm) * weight;
-            }
-        }
-        double fusedNorm = vectorNorm(fused);
-        List<Float> result = new ArrayList<>(EMBEDDING_DIMENSION);
-        for (double component : fused) {
-            result.add((float) (fusedNorm == 0.0d ? component : component / fusedNorm));
-        }
-        return List.copyOf(result);
-    }
-
-    private static double vectorNorm(List<Float> embedding) {
-        if (embedding.size() != EMBEDDING_DIMENSION) {
-            throw new IllegalStateException("Embedding dimension mismatch: " + embedding.size());
+            vectorOps.accumulateScaled(fused, embedding, (float) (embeddingWeights[embeddingIndex] / norm));
         }
-        double sum = 0.0d;
-        for (Float component : embedding) {
-            sum += component * component;
+        double fusedNorm = Math.sqrt(vectorOps.sumOfSquares(fused));
+        if (fusedNorm != 0.0d) {
+            vectorOps.scaleInPlace(fused, (float) (1.0d / fusedNorm));
         }
-        return Math.sqrt(sum);
+        return fused;
     }
 
-    private static double vectorNorm(double[] embedding) {
-        double sum = 0.0d;
-        for (double component : embedding) {
-            sum += component * component;
+    private static double vectorNorm(float[] embedding, EmbeddingVectorOps vectorOps) {
+        if (embedding.length != EMBEDDING_DIMENSION) {
+            throw new IllegalStateException("Embedding dimension mismatch: " + embedding.length);
         }
-        return Math.sqrt(sum);
+        return Math.sqrt(vectorOps.sumOfSquares(embedding));
     }
 }
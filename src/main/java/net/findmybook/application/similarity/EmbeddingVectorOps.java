@@ -0,0 +1,56 @@
+package net.findmybook.application.similarity;
+
+/**
+ * Primitive {@code float[]} kernels used by embedding fusion.
+ *
+ * <p>{@link #preferred()} returns the JDK Vector API implementation when the
+ * {@code jdk.incubator.vector} module is resolved at startup (see {@code --add-modules} in the
+ * build and Docker runtime options) and the scalar loops otherwise. Both produce the same
+ * results within float rounding.</p>
+ */
+sealed interface EmbeddingVectorOps permits ScalarEmbeddingVectorOps, PanamaEmbeddingVectorOps {
+
+    /**
+     * @return sum of squared components
+     */
+    double sumOfSquares(float[] vector);
+
+    /**
+     * @return dot product of two equal-length vectors
+     */
+    double dot(float[] left, float[] right);
+
+    /**
+     * Adds {@code vector * scale} into {@code accumulator} component-wise.
+     */
+    void accumulateScaled(float[] accumulator, float[] vector, float scale);
+
+    /**
+     * Multiplies every component of {@code vector} by {@code factor} in place.
+     */
+    void scaleInPlace(float[] vector, float factor);
+
+    static EmbeddingVectorOps preferred() {
+        return PreferredOps.INSTANCE;
+    }
+
+    final class PreferredOps {
+
+        private static final String VECTOR_MODULE = "jdk.incubator.vector";
+        static final EmbeddingVectorOps INSTANCE = select();
+
+        private PreferredOps() {
+        }
+
+        private static EmbeddingVectorOps select() {
+            if (ModuleLayer.boot().findModule(VECTOR_MODULE).isEmpty()) {
+                return new ScalarEmbeddingVectorOps();
+            }
+            try {
+                return new PanamaEmbeddingVectorOps();
+            } catch (LinkageError _) {
+                return new ScalarEmbeddingVectorOps();
+            }
+        }
+    }
+}
@@ -0,0 +1,232 @@
+package net.findmybook.application.similarity;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.Comparator;
+import java.util.List;
+import java.util.PriorityQueue;
+import java.util.SplittableRandom;
+import java.util.function.IntPredicate;
+
+/**
+ * Hierarchical navigable small-world graph over L2-normalized vectors, scored by dot product
+ * (cosine similarity).
+ *
+ * <p>Not thread-safe: callers serialize {@link #add} against {@link #search}. Nodes are dense
+ * ints in insertion order and are never removed; callers hide superseded nodes through the
+ * search filter.</p>
+ */
+final class HnswGraph {
+
+    private static final int[] NO_NEIGHBORS = new int[0];
+    private static final int INITIAL_CAPACITY = 1_024;
+    private static final Comparator<ScoredNode> BEST_FIRST =
+        Comparator.comparingDouble(ScoredNode::similarity).reversed();
+    private static final Comparator<ScoredNode> WORST_FIRST =
+        Comparator.comparingDouble(ScoredNode::similarity);
+
+    private final int maxConnections;
+    private final int maxBaseConnections;
+    private final int efConstruction;
+    private final double levelMultiplier;
+    private final EmbeddingVectorOps vectorOps;
+    private final SplittableRandom random;
+
+    private float[][] vectors = new float[INITIAL_CAPACITY][];
+    private int[][][] neighbors = new int[INITIAL_CAPACITY][][];
+    private int size;
+    private int entryPoint = -1;
+    private int maxLevel = -1;
+
+    HnswGraph(int maxConnections, int efConstruction, EmbeddingVectorOps vectorOps, long seed) {
+        if (maxConnections < 2) {
+            throw new IllegalArgumentException("maxConnections must be at least 2");
+        }
+        this.maxConnections = maxConnections;
+        this.maxBaseConnections = maxConnections * 2;
+        this.efConstruction = Math.max(efConstruction, maxConnections);
+        this.levelMultiplier = 1.0d / Math.log(maxConnections);
+        this.vectorOps = vectorOps;
+        this.random = new SplittableRandom(seed);
+    }
+
+    int size() {
+        return size;
+    }
+
+    /**
+     * Inserts a normalized vector and links it into every layer up to its random level.
+     *
+     * @return the new node id
+     */
+    int add(float[] vector) {
+        int node = size;
+        ensureCapacity(node + 1);
+        int level = randomLevel();
+        vectors[node] = vector;
+        int[][] nodeNeighbors = new int[level + 1][];
+        Arrays.fill(nodeNeighbors, NO_NEIGHBORS);
+        neighbors[node] = nodeNeighbors;
+        size++;
+        if (entryPoint < 0) {
+            entryPoint = node;
+            maxLevel = level;
+            return node;
+        }
+        int current = entryPoint;
+        for (int layer = maxLevel; layer > level; layer--) {
+            current = greedyClosest(vector, current, layer);
+        }
+        for (int layer = Math.min(level, maxLevel); layer >= 0; layer--) {
+            List<ScoredNode> candidates = searchLayer(vector, current, efConstruction, layer, null);
+            int layerLimit = layer == 0 ? maxBaseConnections : maxConnections;
+            int[] selected = new int[Math.min(layerLimit, candidates.size())];
+            for (int index = 0; index < selected.length; index++) {
+                selected[index] = candidates.get(index).node();
+            }
+            nodeNeighbors[layer] = selected;
+            for (int neighbor : selected) {
+                link(neighbor, node, layer, layerLimit);
+            }
+            current = candidates.getFirst().node();
+        }
+        if (level > maxLevel) {
+            maxLevel = level;
+            entryPoint = node;
+        }
+        return node;
+    }
+
+    /**
+     * Returns up to {@code ef} accepted nodes ranked by similarity, best first.
+     *
+     * @param query normalized query vector
+     * @param ef size of the dynamic candidate list; larger values trade latency for recall
+     * @param accept filter applied to results (not to traversal); {@code null} accepts all
+     */
+    List<ScoredNode> search(float[] query, int ef, IntPredicate accept) {
+        if (entryPoint < 0) {
+            return List.of();
+        }
+        int current = entryPoint;
+        for (int layer = maxLevel; layer > 0; layer--) {
+            current = greedyClosest(query, current, layer);
+        }
+        return searchLayer(query, current, Math.max(1, ef), 0, accept);
+    }
+
+    float[] vector(int node) {
+        return vectors[node];
+    }
+
+    private List<ScoredNode> searchLayer(float[] query, int entry, int ef, int layer, IntPredicate accept) {
+        BitSet visited = new BitSet(size);
+        PriorityQueue<ScoredNode> frontier = new PriorityQueue<>(BEST_FIRST);
+        PriorityQueue<ScoredNode> nearest = new PriorityQueue<>(WORST_FIRST);
+        PriorityQueue<ScoredNode> accepted = new PriorityQueue<>(WORST_FIRST);
+        ScoredNode start = new ScoredNode(entry, similarity(query, entry));
+        visited.set(entry);
+        frontier.add(start);
+        nearest.add(start);
+        offer(accepted, start, ef, accept);
+        while (!frontier.isEmpty()) {
+            ScoredNode candidate = frontier.poll();
+            if (nearest.size() >= ef && candidate.similarity() < nearest.peek().similarity()) {
+                break;
+            }
+            for (int neighbor : neighborsAt(candidate.node(), layer)) {
+                if (visited.get(neighbor)) {
+                    continue;
+                }
+                visited.set(neighbor);
+                ScoredNode scored = new ScoredNode(neighbor, similarity(query, neighbor));
+                if (nearest.size() < ef || scored.similarity() > nearest.peek().similarity()) {
+                    frontier.add(scored);
+                    nearest.add(scored);
+                    if (nearest.size() > ef) {
+                        nearest.poll();
+                    }
+                    offer(accepted, scored, ef, accept);
+                }
+            }
+        }
+        List<ScoredNode> ranked = new ArrayList<>(accept == null ? nearest : accepted);
+        ranked.sort(BEST_FIRST);
+        return ranked;
+    }
+
+    private static void offer(PriorityQueue<ScoredNode> accepted, ScoredNode scored, int ef, IntPredicate accept) {
+        if (accept == null || !accept.test(scored.node())) {
+            return;
+        }
+        accepted.add(scored);
+        if (accepted.size() > ef) {
+            accepted.poll();
+        }
+    }
+
+    private int greedyClosest(float[] query, int entry, int layer) {
+        int current = entry;
+        double currentSimilarity = similarity(query, current);
+        boolean improved = true;
+        while (improved) {
+            improved = false;
+            for (int neighbor : neighborsAt(current, layer)) {
+                double neighborSimilarity = similarity(query, neighbor);
+                if (neighborSimilarity > currentSimilarity) {
+                    current = neighbor;
+                    currentSimilarity = neighborSimilarity;
+                    improved = true;
+                }
+            }
+        }
+        return current;
+    }
+
+    private void link(int node, int newNeighbor, int layer, int layerLimit) {
+        int[] existing = neighbors[node][layer];
+        int[] grown = Arrays.copyOf(existing, existing.length + 1);
+        grown[existing.length] = newNeighbor;
+        if (grown.length <= layerLimit) {
+            neighbors[node][layer] = grown;
+            return;
+        }
+        float[] nodeVector = vectors[node];
+        ScoredNode[] scored = new ScoredNode[grown.length];
+        for (int index = 0; index < grown.length; index++) {
+            scored[index] = new ScoredNode(grown[index], vectorOps.dot(nodeVector, vectors[grown[index]]));
+        }
+        Arrays.sort(scored, BEST_FIRST);
+        int[] pruned = new int[layerLimit];
+        for (int index = 0; index < layerLimit; index++) {
+            pruned[index] = scored[index].node();
+        }
+        neighbors[node][layer] = pruned;
+    }
+
+    private int[] neighborsAt(int node, int layer) {
+        int[][] nodeNeighbors = neighbors[node];
+        return layer < nodeNeighbors.length ? nodeNeighbors[layer] : NO_NEIGHBORS;
+    }
+
+    private double similarity(float[] query, int node) {
+        return vectorOps.dot(query, vectors[node]);
+    }
+
+    private int randomLevel() {
+        return (int) Math.floor(-Math.log(1.0d - random.nextDouble()) * levelMultiplier);
+    }
+
+    private void ensureCapacity(int required) {
+        if (required <= vectors.length) {
+            return;
+        }
+        int capacity = Math.max(required, vectors.length * 2);
+        vectors = Arrays.copyOf(vectors, capacity);
+        neighbors = Arrays.copyOf(neighbors, capacity);
+    }
+
+    record ScoredNode(int node, double similarity) {
+    }
+}
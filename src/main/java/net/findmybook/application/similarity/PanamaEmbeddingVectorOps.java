@@ -0,0 +1,74 @@
+package net.findmybook.application.similarity;
+
+import jdk.incubator.vector.FloatVector;
+import jdk.incubator.vector.VectorOperators;
+import jdk.incubator.vector.VectorSpecies;
+
+/**
+ * {@link EmbeddingVectorOps} over the JDK Vector API using the platform's preferred lane width.
+ *
+ * <p>Only loaded through {@link EmbeddingVectorOps#preferred()} after the incubator module has
+ * been confirmed present, so the class never links on a JVM started without it.</p>
+ */
+final class PanamaEmbeddingVectorOps implements EmbeddingVectorOps {
+
+    private static final VectorSpecies<Float> SPECIES = FloatVector.SPECIES_PREFERRED;
+
+    @Override
+    public double sumOfSquares(float[] vector) {
+        FloatVector lanes = FloatVector.zero(SPECIES);
+        int index = 0;
+        int loopBound = SPECIES.loopBound(vector.length);
+        for (; index < loopBound; index += SPECIES.length()) {
+            FloatVector chunk = FloatVector.fromArray(SPECIES, vector, index);
+            lanes = chunk.fma(chunk, lanes);
+        }
+        double sum = lanes.reduceLanes(VectorOperators.ADD);
+        for (; index < vector.length; index++) {
+            sum += vector[index] * vector[index];
+        }
+        return sum;
+    }
+
+    @Override
+    public double dot(float[] left, float[] right) {
+        FloatVector lanes = FloatVector.zero(SPECIES);
+        int index = 0;
+        int loopBound = SPECIES.loopBound(left.length);
+        for (; index < loopBound; index += SPECIES.length()) {
+            lanes = FloatVector.fromArray(SPECIES, left, index).fma(FloatVector.fromArray(SPECIES, right, index), lanes);
+        }
+        double sum = lanes.reduceLanes(VectorOperators.ADD);
+        for (; index < left.length; index++) {
+            sum += left[index] * right[index];
+        }
+        return sum;
+    }
+
+    @Override
+    public void accumulateScaled(float[] accumulator, float[] vector, float scale) {
+        FloatVector scaleLanes = FloatVector.broadcast(SPECIES, scale);
+        int index = 0;
+        int loopBound = SPECIES.loopBound(vector.length);
+        for (; index < loopBound; index += SPECIES.length()) {
+            FloatVector.fromArray(SPECIES, vector, index)
+                .fma(scaleLanes, FloatVector.fromArray(SPECIES, accumulator, index))
+                .intoArray(accumulator, index);
+        }
+        for (; index < vector.length; index++) {
+            accumulator[index] += vector[index] * scale;
+        }
+    }
+
+    @Override
+    public void scaleInPlace(float[] vector, float factor) {
+        int index = 0;
+        int loopBound = SPECIES.loopBound(vector.length);
+        for (; index < loopBound; index += SPECIES.length()) {
+            FloatVector.fromArray(SPECIES, vector, index).mul(factor).intoArray(vector, index);
+        }
+        for (; index < vector.length; index++) {
+            vector[index] *= factor;
+        }
+    }
+}
@@ -0,0 +1,39 @@
+package net.findmybook.application.similarity;
+
+/**
+ * Plain-loop fallback for {@link EmbeddingVectorOps} when the Vector API module is not resolved.
+ */
+final class ScalarEmbeddingVectorOps implements EmbeddingVectorOps {
+
+    @Override
+    public double sumOfSquares(float[] vector) {
+        double sum = 0.0d;
+        for (float component : vector) {
+            sum += component * component;
+        }
+        return sum;
+    }
+
+    @Override
+    public double dot(float[] left, float[] right) {
+        double sum = 0.0d;
+        for (int index = 0; index < left.length; index++) {
+            sum += left[index] * right[index];
+        }
+        return sum;
+    }
+
+    @Override
+    public void accumulateScaled(float[] accumulator, float[] vector, float scale) {
+        for (int index = 0; index < vector.length; index++) {
+            accumulator[index] += vector[index] * scale;
+        }
+    }
+
+    @Override
+    public void scaleInPlace(float[] vector, float factor) {
+        for (int index = 0; index < vector.length; index++) {
+            vector[index] *= factor;
+        }
+    }
+}
@@ -1,6 +1,9 @@
 package net.findmybook.boot;
 
+import java.util.List;
 import net.findmybook.application.similarity.BookSimilarityEmbeddingService;
+import net.findmybook.application.similarity.BookSimilarityStreamingBackfill;
+import net.findmybook.application.similarity.BookSimilarityStreamingBackfill.StreamingBackfillResult;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.boot.ApplicationArguments;
@@ -18,6 +21,11 @@ import org.springframework.stereotype.Component;
  * logic confined to {@link BookSimilarityEmbeddingService} instead of duplicating it in a
  * standalone tool. Activation requires {@code app.similarity.embeddings.backfill=true} so
  * regular application starts never touch the backfill path.</p>
+ *
+ * <p>With {@code app.similarity.embeddings.backfill-streaming=true} the limit is ignored and the
+ * whole catalog is streamed through {@link BookSimilarityStreamingBackfill} with
+ * {@code backfill-concurrency} batches in flight, resuming from the stored checkpoint unless
+ * {@code backfill-resume=false}.</p>
  */
 @Component
 @ConditionalOnProperty(name = "app.similarity.embeddings.backfill", havingValue = "true")
@@ -25,14 +33,21 @@ public class BookSimilarityBackfillRunner implements ApplicationRunner {
 
     private static final Logger log = LoggerFactory.getLogger(BookSimilarityBackfillRunner.class);
     private static final String LIMIT_OPTION = "app.similarity.embeddings.backfill-limit";
+    private static final String STREAMING_OPTION = "app.similarity.embeddings.backfill-streaming";
+    private static final String CONCURRENCY_OPTION = "app.similarity.embeddings.backfill-concurrency";
+    private static final String RESUME_OPTION = "app.similarity.embeddings.backfill-resume";
     private static final int DEFAULT_LIMIT = 120;
+    private static final int DEFAULT_CONCURRENCY = 4;
 
     private final BookSimilarityEmbeddingService embeddingService;
+    private final BookSimilarityStreamingBackfill streamingBackfill;
     private final ConfigurableApplicationContext applicationContext;
 
     public BookSimilarityBackfillRunner(BookSimilarityEmbeddingService embeddingService,
+                                        BookSimilarityStreamingBackfill streamingBackfill,
                                         ConfigurableApplicationContext applicationContext) {
         this.embeddingService = embeddingService;
+        this.streamingBackfill = streamingBackfill;
         this.applicationContext = applicationContext;
     }
 
@@ -45,6 +60,16 @@ public class BookSimilarityBackfillRunner implements ApplicationRunner {
     public void run(ApplicationArguments args) {
         int exitCode = 0;
         try {
+            if (resolveFlag(args, STREAMING_OPTION, false)) {
+                int concurrency = resolveConcurrency(args);
+                boolean resume = resolveFlag(args, RESUME_OPTION, true);
+                log.info("Starting streaming book similarity backfill (concurrency={}, resume={})", concurrency, resume);
+                StreamingBackfillResult result = streamingBackfill.run(concurrency, resume);
+                if (!result.completed()) {
+                    exitCode = 1;
+                }
+                return;
+            }
             int limit = resolveLimit(args);
             log.info("Starting book similarity backfill (limit={})", limit);
             int refreshed = embeddingService.backfillStale(limit);
@@ -58,6 +83,25 @@ public class BookSimilarityBackfillRunner implements ApplicationRunner {
         }
     }
 
+    private boolean resolveFlag(ApplicationArguments args, String option, boolean defaultValue) {
+        if (!args.containsOption(option)) {
+            return defaultValue;
+        }
+        List<String> values = args.getOptionValues(option);
+        return values.isEmpty() || Boolean.parseBoolean(values.getFirst().trim());
+    }
+
+    private int resolveConcurrency(ApplicationArguments args) {
+        if (!args.containsOption(CONCURRENCY_OPTION)) {
+            return DEFAULT_CONCURRENCY;
+        }
+        int parsed = Integer.parseInt(args.getOptionValues(CONCURRENCY_OPTION).getFirst().trim());
+        if (parsed < 1) {
+            throw new IllegalArgumentException("Backfill concurrency must be >= 1 but was " + parsed);
+        }
+        return parsed;
+    }
+
     private int resolveLimit(ApplicationArguments args) {
         if (!args.containsOption(LIMIT_OPTION)) {
             return DEFAULT_LIMIT;
@@ -14,6 +14,9 @@ public class BookSimilarityEmbeddingProperties {
     private static final int DEFAULT_MAX_SECTION_TEXT_CHARS = 15_000;
     private static final int DEFAULT_INPUT_TOKEN_COMFORT_LIMIT = MAX_INPUT_TOKEN_COMFORT_LIMIT;
     private static final int DEFAULT_REQUEST_INPUT_BATCH_SIZE = 32;
+    private static final int DEFAULT_REFRESH_BOOK_BATCH_SIZE = 16;
+    private static final long DEFAULT_FULL_SCAN_INTERVAL_MS = 3_600_000L;
+    private static final int DEFAULT_QUANTIZED_CANDIDATE_POOL = 200;
     private static final String CONTRACT_VERSION = "v1";
 
     private boolean enabled = true;
@@ -23,6 +26,10 @@ public class BookSimilarityEmbeddingProperties {
     private int maxSectionTextChars = DEFAULT_MAX_SECTION_TEXT_CHARS;
     private int inputTokenComfortLimit = DEFAULT_INPUT_TOKEN_COMFORT_LIMIT;
     private int requestInputBatchSize = DEFAULT_REQUEST_INPUT_BATCH_SIZE;
+    private int refreshBookBatchSize = DEFAULT_REFRESH_BOOK_BATCH_SIZE;
+    private long fullScanIntervalMs = DEFAULT_FULL_SCAN_INTERVAL_MS;
+    private boolean quantizedSearchEnabled = false;
+    private int quantizedCandidatePool = DEFAULT_QUANTIZED_CANDIDATE_POOL;
 
     /**
      * Indicates whether scheduled background refresh is enabled.
@@ -199,4 +206,87 @@ public class BookSimilarityEmbeddingProperties {
     public void setRequestInputBatchSize(int requestInputBatchSize) {
         this.requestInputBatchSize = Math.max(1, requestInputBatchSize);
     }
+
+    /**
+     * Returns how many books one background refresh task embeds together.
+     *
+     * <p>Section inputs from every stale book in the batch are packed into shared provider
+     * requests and the fused vectors are written with one JDBC batch. A value of one keeps
+     * the per-book refresh path.</p>
+     *
+     * @return books per refresh task
+     */
+    public int refreshBookBatchSize() {
+        return Math.max(1, refreshBookBatchSize);
+    }
+
+    /**
+     * Binds the number of books per batched refresh task.
+     *
+     * @param refreshBookBatchSize books per refresh task; values below one mean one
+     */
+    public void setRefreshBookBatchSize(int refreshBookBatchSize) {
+        this.refreshBookBatchSize = Math.max(1, refreshBookBatchSize);
+    }
+
+    /**
+     * Returns how long the scheduler waits between full catalog scans once a scan finds
+     * nothing stale.
+     *
+     * <p>Routine discovery reads the {@code book_similarity_changes} log. The full
+     * anti-join scan still runs on the first pass after startup and keeps running each pass
+     * while it finds candidates (for example after a model contract change), then backs off
+     * to this interval.</p>
+     *
+     * @return minimum milliseconds between idle full scans
+     */
+    public long fullScanIntervalMs() {
+        return Math.max(0L, fullScanIntervalMs);
+    }
+
+    /**
+     * Binds the idle full-scan interval.
+     *
+     * @param fullScanIntervalMs minimum milliseconds between idle full scans
+     */
+    public void setFullScanIntervalMs(long fullScanIntervalMs) {
+        this.fullScanIntervalMs = Math.max(0L, fullScanIntervalMs);
+    }
+
+    /**
+     * Indicates whether Postgres similar-book searches take their candidates from the
+     * binary-quantized HNSW index and re-rank them against the full halfvec.
+     *
+     * @return true when two-stage quantized search is used
+     */
+    public boolean isQuantizedSearchEnabled() {
+        return quantizedSearchEnabled;
+    }
+
+    /**
+     * Binds the two-stage quantized search flag.
+     *
+     * @param quantizedSearchEnabled true to search the binary-quantized index first
+     */
+    public void setQuantizedSearchEnabled(boolean quantizedSearchEnabled) {
+        this.quantizedSearchEnabled = quantizedSearchEnabled;
+    }
+
+    /**
+     * Returns how many binary-quantized candidates are re-ranked exactly per search.
+     *
+     * @return first-stage candidate pool size
+     */
+    public int quantizedCandidatePool() {
+        return Math.max(1, quantizedCandidatePool);
+    }
+
+    /**
+     * Binds the first-stage candidate pool size.
+     *
+     * @param quantizedCandidatePool candidates re-ranked per search
+     */
+    public void setQuantizedCandidatePool(int quantizedCandidatePool) {
+        this.quantizedCandidatePool = Math.max(1, quantizedCandidatePool);
+    }
 }
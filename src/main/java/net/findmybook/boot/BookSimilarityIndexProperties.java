@@ -0,0 +1,93 @@
+package net.findmybook.boot;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+/**
+ * Controls for the optional in-memory nearest-neighbor index over book similarity vectors.
+ */
+@Component
+@ConfigurationProperties(prefix = "app.similarity.index")
+public class BookSimilarityIndexProperties {
+
+    private static final int DEFAULT_MAX_CONNECTIONS = 16;
+    private static final int DEFAULT_EF_CONSTRUCTION = 100;
+    private static final int DEFAULT_EF_SEARCH = 64;
+
+    private boolean enabled = false;
+    private int maxConnections = DEFAULT_MAX_CONNECTIONS;
+    private int efConstruction = DEFAULT_EF_CONSTRUCTION;
+    private int efSearch = DEFAULT_EF_SEARCH;
+
+    /**
+     * Indicates whether similar-book reads are served from the in-memory index.
+     *
+     * @return true when the index is loaded at startup and kept current
+     */
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    /**
+     * Binds the in-memory index flag.
+     *
+     * @param enabled true to load and serve the index
+     */
+    public void setEnabled(boolean enabled) {
+        this.enabled = enabled;
+    }
+
+    /**
+     * Returns the HNSW connection budget per node on upper layers (doubled on the base layer).
+     *
+     * @return neighbor links per node
+     */
+    public int maxConnections() {
+        return Math.max(2, maxConnections);
+    }
+
+    /**
+     * Binds the HNSW connection budget.
+     *
+     * @param maxConnections neighbor links per node
+     */
+    public void setMaxConnections(int maxConnections) {
+        this.maxConnections = Math.max(2, maxConnections);
+    }
+
+    /**
+     * Returns the candidate list size used while inserting vectors.
+     *
+     * @return build-time beam width
+     */
+    public int efConstruction() {
+        return Math.max(1, efConstruction);
+    }
+
+    /**
+     * Binds the build-time beam width.
+     *
+     * @param efConstruction candidate list size during insertion
+     */
+    public void setEfConstruction(int efConstruction) {
+        this.efConstruction = Math.max(1, efConstruction);
+    }
+
+    /**
+     * Returns the minimum candidate list size used for queries.
+     *
+     * @return query-time beam width
+     */
+    public int efSearch() {
+        return Math.max(1, efSearch);
+    }
+
+    /**
+     * Binds the query-time beam width.
+     *
+     * @param efSearch candidate list size during search
+     */
+    public void setEfSearch(int efSearch) {
+        this.efSearch = Math.max(1, efSearch);
+    }
+}
@@ -0,0 +1,118 @@
+package net.findmybook.boot;
+
+import java.time.Duration;
+import net.findmybook.util.ApplicationConstants;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+/**
+ * Controls for materialized top-K similar-book lists.
+ */
+@Component
+@ConfigurationProperties(prefix = "app.similarity.neighbors")
+public class BookSimilarityNeighborProperties {
+
+    private static final int DEFAULT_REFRESH_BATCH_SIZE = 200;
+    private static final int DEFAULT_MAX_AFFECTED_PER_PASS = 1_000;
+    private static final long DEFAULT_CLAIM_LEASE_SECONDS = 600L;
+
+    private boolean enabled = false;
+    private int neighborCount = ApplicationConstants.Paging.MAX_SIMILAR_LIMIT;
+    private int refreshBatchSize = DEFAULT_REFRESH_BATCH_SIZE;
+    private int maxAffectedPerPass = DEFAULT_MAX_AFFECTED_PER_PASS;
+    private long claimLeaseSeconds = DEFAULT_CLAIM_LEASE_SECONDS;
+
+    /**
+     * Indicates whether similar-book reads use materialized lists and the refresh job runs.
+     *
+     * @return true when neighbor lists are maintained and served
+     */
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    /**
+     * Binds the materialized neighbor list flag.
+     *
+     * @param enabled true to maintain and serve neighbor lists
+     */
+    public void setEnabled(boolean enabled) {
+        this.enabled = enabled;
+    }
+
+    /**
+     * Returns how many neighbors are stored per book. Reads asking for more fall back to a
+     * live vector search.
+     *
+     * @return stored neighbors per book
+     */
+    public int neighborCount() {
+        return Math.max(1, neighborCount);
+    }
+
+    /**
+     * Binds the stored neighbors per book.
+     *
+     * @param neighborCount stored neighbors per book
+     */
+    public void setNeighborCount(int neighborCount) {
+        this.neighborCount = Math.max(1, neighborCount);
+    }
+
+    /**
+     * Returns how many queued lists one refresh pass claims. Lists that reference changed
+     * books are recomputed in the same pass, up to {@link #maxAffectedPerPass()}.
+     *
+     * @return queued lists claimed per pass
+     */
+    public int refreshBatchSize() {
+        return Math.max(1, refreshBatchSize);
+    }
+
+    /**
+     * Binds the queued lists claimed per refresh pass.
+     *
+     * @param refreshBatchSize queued lists claimed per pass
+     */
+    public void setRefreshBatchSize(int refreshBatchSize) {
+        this.refreshBatchSize = Math.max(1, refreshBatchSize);
+    }
+
+    /**
+     * Returns how many affected lists one refresh pass recomputes beyond the lists it claimed.
+     * The rest are queued again for later passes, so a popular book cannot stall one tick.
+     *
+     * @return affected list recomputes per pass
+     */
+    public int maxAffectedPerPass() {
+        return Math.max(0, maxAffectedPerPass);
+    }
+
+    /**
+     * Binds the affected list recomputes per refresh pass.
+     *
+     * @param maxAffectedPerPass affected list recomputes per pass
+     */
+    public void setMaxAffectedPerPass(int maxAffectedPerPass) {
+        this.maxAffectedPerPass = Math.max(0, maxAffectedPerPass);
+    }
+
+    /**
+     * Returns how long a refresh pass may hold claimed queue rows before another pass treats
+     * them as abandoned and claims them again.
+     *
+     * @return claim lease
+     */
+    public Duration claimLease() {
+        return Duration.ofSeconds(Math.max(1L, claimLeaseSeconds));
+    }
+
+    /**
+     * Binds the claim lease in seconds.
+     *
+     * @param claimLeaseSeconds seconds before an unfinished claim expires
+     */
+    public void setClaimLeaseSeconds(long claimLeaseSeconds) {
+        this.claimLeaseSeconds = Math.max(1L, claimLeaseSeconds);
+    }
+}
@@ -0,0 +1,103 @@
+package net.findmybook.boot;
+
+import java.util.stream.Collectors;
+import net.findmybook.application.similarity.BookSimilarityProfileEvaluator;
+import net.findmybook.application.similarity.BookSimilarityProfileEvaluator.EvaluationReport;
+import net.findmybook.application.similarity.BookSimilarityProfileEvaluator.LatencySummary;
+import net.findmybook.application.similarity.BookSimilarityProfileEvaluator.ProfileReport;
+import net.findmybook.application.similarity.BookSimilarityProfileEvaluator.SearchPathReport;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.boot.SpringApplication;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.stereotype.Component;
+
+/**
+ * Boot-time runner that reports recall@K and query latency for every configured fusion profile.
+ *
+ * <p>Activation requires {@code app.similarity.embeddings.profile-eval=true}; the application
+ * exits after logging one report. The snapshot holds one decoded vector per book per profile,
+ * so large contracts should be capped with {@code profile-eval-snapshot-limit} or given heap.</p>
+ */
+@Component
+@ConditionalOnProperty(name = "app.similarity.embeddings.profile-eval", havingValue = "true")
+public class BookSimilarityProfileEvaluationRunner implements ApplicationRunner {
+
+    private static final Logger log = LoggerFactory.getLogger(BookSimilarityProfileEvaluationRunner.class);
+    private static final String SAMPLE_OPTION = "app.similarity.embeddings.profile-eval-sample";
+    private static final String K_OPTION = "app.similarity.embeddings.profile-eval-k";
+    private static final String SNAPSHOT_LIMIT_OPTION = "app.similarity.embeddings.profile-eval-snapshot-limit";
+    private static final int DEFAULT_SAMPLE = 200;
+    private static final int DEFAULT_K = 20;
+    private static final int DEFAULT_SNAPSHOT_LIMIT = 0;
+
+    private final BookSimilarityProfileEvaluator evaluator;
+    private final ConfigurableApplicationContext applicationContext;
+
+    public BookSimilarityProfileEvaluationRunner(BookSimilarityProfileEvaluator evaluator,
+                                                 ConfigurableApplicationContext applicationContext) {
+        this.evaluator = evaluator;
+        this.applicationContext = applicationContext;
+    }
+
+    /**
+     * Runs one profile evaluation, logs the report, and shuts down.
+     *
+     * @param args Spring Boot application arguments
+     */
+    @Override
+    public void run(ApplicationArguments args) {
+        int exitCode = 0;
+        try {
+            int sampleSize = resolveInt(args, SAMPLE_OPTION, DEFAULT_SAMPLE, 1);
+            int k = resolveInt(args, K_OPTION, DEFAULT_K, 1);
+            int snapshotLimit = resolveInt(args, SNAPSHOT_LIMIT_OPTION, DEFAULT_SNAPSHOT_LIMIT, 0);
+            log.info("Evaluating book similarity profiles (sample={}, k={}, snapshotLimit={})",
+                sampleSize, k, snapshotLimit);
+            EvaluationReport report = evaluator.evaluate(sampleSize, k, snapshotLimit);
+            log.info("Profile evaluation snapshot: {} books ({} without cached sections), {} anchors, k={}",
+                report.snapshotBooks(), report.booksWithoutSections(), report.anchorsEvaluated(), report.k());
+            for (ProfileReport profile : report.profiles()) {
+                log.info("Profile {}{}: in-memory HNSW built in {} ms",
+                    profile.profileId(), profile.active() ? " (active)" : "", profile.hnswBuildMillis());
+                for (SearchPathReport path : profile.paths()) {
+                    LatencySummary latency = path.latency();
+                    log.info("  {} recall@{}={} latency ms mean={} p50={} p90={} p99={} max={} histogram=[{}]",
+                        path.path(),
+                        report.k(),
+                        String.format("%.4f", path.recall()),
+                        String.format("%.2f", latency.meanMillis()),
+                        String.format("%.2f", latency.p50Millis()),
+                        String.format("%.2f", latency.p90Millis()),
+                        String.format("%.2f", latency.p99Millis()),
+                        String.format("%.2f", latency.maxMillis()),
+                        latency.buckets().stream()
+                            .map(bucket -> (Double.isInfinite(bucket.upperBoundMillis())
+                                ? "inf"
+                                : "<=" + bucket.upperBoundMillis()) + ":" + bucket.count())
+                            .collect(Collectors.joining(" ")));
+                }
+            }
+        } catch (RuntimeException evaluationFailure) {
+            log.error("Book similarity profile evaluation failed", evaluationFailure);
+            exitCode = 1;
+        } finally {
+            int finalExit = exitCode;
+            System.exit(SpringApplication.exit(applicationContext, () -> finalExit));
+        }
+    }
+
+    private int resolveInt(ApplicationArguments args, String option, int defaultValue, int minimum) {
+        if (!args.containsOption(option)) {
+            return defaultValue;
+        }
+        int parsed = Integer.parseInt(args.getOptionValues(option).getFirst().trim());
+        if (parsed < minimum) {
+            throw new IllegalArgumentException(option + " must be >= " + minimum + " but was " + parsed);
+        }
+        return parsed;
+    }
+}
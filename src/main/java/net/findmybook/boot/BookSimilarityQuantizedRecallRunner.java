@@ -0,0 +1,82 @@
+package net.findmybook.boot;
+
+import net.findmybook.application.similarity.BookSimilarityQuantizedRecallEvaluator;
+import net.findmybook.application.similarity.BookSimilarityQuantizedRecallEvaluator.RecallReport;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.boot.SpringApplication;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.stereotype.Component;
+
+/**
+ * Boot-time runner that reports binary-quantized search recall against exhaustive ranking.
+ *
+ * <p>Activation requires {@code app.similarity.embeddings.quantized-recall-eval=true}; the
+ * application exits after logging one report.</p>
+ */
+@Component
+@ConditionalOnProperty(name = "app.similarity.embeddings.quantized-recall-eval", havingValue = "true")
+public class BookSimilarityQuantizedRecallRunner implements ApplicationRunner {
+
+    private static final Logger log = LoggerFactory.getLogger(BookSimilarityQuantizedRecallRunner.class);
+    private static final String SAMPLE_OPTION = "app.similarity.embeddings.quantized-recall-sample";
+    private static final String K_OPTION = "app.similarity.embeddings.quantized-recall-k";
+    private static final int DEFAULT_SAMPLE = 200;
+    private static final int DEFAULT_K = 20;
+
+    private final BookSimilarityQuantizedRecallEvaluator evaluator;
+    private final ConfigurableApplicationContext applicationContext;
+
+    public BookSimilarityQuantizedRecallRunner(BookSimilarityQuantizedRecallEvaluator evaluator,
+                                               ConfigurableApplicationContext applicationContext) {
+        this.evaluator = evaluator;
+        this.applicationContext = applicationContext;
+    }
+
+    /**
+     * Runs one recall evaluation, logs the report, and shuts down.
+     *
+     * @param args Spring Boot application arguments
+     */
+    @Override
+    public void run(ApplicationArguments args) {
+        int exitCode = 0;
+        try {
+            int sampleSize = resolvePositive(args, SAMPLE_OPTION, DEFAULT_SAMPLE);
+            int k = resolvePositive(args, K_OPTION, DEFAULT_K);
+            log.info("Evaluating quantized similarity recall (sample={}, k={})", sampleSize, k);
+            RecallReport report = evaluator.evaluate(sampleSize, k);
+            log.info(
+                "Quantized similarity recall@{} over {} anchors (pool={}): halfvec HNSW {} ({} ms mean), "
+                    + "binary-quantized + re-rank {} ({} ms mean)",
+                report.k(),
+                report.anchorsEvaluated(),
+                report.candidatePool(),
+                String.format("%.4f", report.halfvecRecall()),
+                String.format("%.2f", report.halfvecMeanMillis()),
+                String.format("%.4f", report.quantizedRecall()),
+                String.format("%.2f", report.quantizedMeanMillis())
+            );
+        } catch (RuntimeException evaluationFailure) {
+            log.error("Quantized similarity recall evaluation failed", evaluationFailure);
+            exitCode = 1;
+        } finally {
+            int finalExit = exitCode;
+            System.exit(SpringApplication.exit(applicationContext, () -> finalExit));
+        }
+    }
+
+    private int resolvePositive(ApplicationArguments args, String option, int defaultValue) {
+        if (!args.containsOption(option)) {
+            return defaultValue;
+        }
+        int parsed = Integer.parseInt(args.getOptionValues(option).getFirst().trim());
+        if (parsed < 1) {
+            throw new IllegalArgumentException(option + " must be >= 1 but was " + parsed);
+        }
+        return parsed;
+    }
+}
@@ -0,0 +1,37 @@
+package net.findmybook.boot.scheduler;
+
+import net.findmybook.application.similarity.BookSimilarityEmbeddingService;
+import net.findmybook.boot.BookSimilarityIndexProperties;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+/**
+ * Loads the in-memory book similarity index shortly after startup and rebuilds it periodically
+ * so superseded nodes left by incremental upserts are compacted away.
+ */
+@Component
+public class BookSimilarityIndexScheduler {
+
+    private final BookSimilarityEmbeddingService embeddingService;
+    private final BookSimilarityIndexProperties properties;
+
+    public BookSimilarityIndexScheduler(BookSimilarityEmbeddingService embeddingService,
+                                        BookSimilarityIndexProperties properties) {
+        this.embeddingService = embeddingService;
+        this.properties = properties;
+    }
+
+    /**
+     * Rebuilds the index for the active model contract.
+     */
+    @Scheduled(
+        fixedDelayString = "${app.similarity.index.rebuild-interval-ms:21600000}",
+        initialDelayString = "${app.similarity.index.initial-delay-ms:5000}"
+    )
+    public void rebuildIndex() {
+        if (!properties.isEnabled()) {
+            return;
+        }
+        embeddingService.rebuildNearestNeighborIndex();
+    }
+}
@@ -0,0 +1,36 @@
+package net.findmybook.boot.scheduler;
+
+import net.findmybook.application.similarity.BookSimilarityNeighborListService;
+import net.findmybook.boot.BookSimilarityNeighborProperties;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+/**
+ * Keeps materialized similar-book neighbor lists in step with changed vectors.
+ */
+@Component
+public class BookSimilarityNeighborScheduler {
+
+    private final BookSimilarityNeighborListService neighborListService;
+    private final BookSimilarityNeighborProperties properties;
+
+    public BookSimilarityNeighborScheduler(BookSimilarityNeighborListService neighborListService,
+                                           BookSimilarityNeighborProperties properties) {
+        this.neighborListService = neighborListService;
+        this.properties = properties;
+    }
+
+    /**
+     * Recomputes one bounded batch of lists whose source vectors changed.
+     */
+    @Scheduled(
+        fixedDelayString = "${app.similarity.neighbors.fixed-delay-ms:60000}",
+        initialDelayString = "${app.similarity.neighbors.initial-delay-ms:60000}"
+    )
+    public void refreshStaleNeighborLists() {
+        if (!properties.isEnabled()) {
+            return;
+        }
+        neighborListService.refreshStaleNeighborLists();
+    }
+}
@@ -0,0 +1,38 @@
+package net.findmybook.boot.scheduler;
+
+import net.findmybook.application.book.CoViewRecommendationRefreshUseCase;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+/**
+ * Rebuilds the co-view recommendation graph once a day.
+ */
+@Component
+public class CoViewRecommendationScheduler {
+
+    private static final Logger log = LoggerFactory.getLogger(CoViewRecommendationScheduler.class);
+
+    private final CoViewRecommendationRefreshUseCase coViewRecommendationRefreshUseCase;
+    private final boolean enabled;
+
+    public CoViewRecommendationScheduler(CoViewRecommendationRefreshUseCase coViewRecommendationRefreshUseCase,
+                                         @Value("${app.recommendations.co-view.enabled:true}") boolean enabled) {
+        this.coViewRecommendationRefreshUseCase = coViewRecommendationRefreshUseCase;
+        this.enabled = enabled;
+    }
+
+    /**
+     * Replaces every {@code CO_VIEW} recommendation row with the current window's graph.
+     */
+    @Scheduled(cron = "${app.recommendations.co-view.cron:0 30 3 * * *}")
+    public void refreshCoViewRecommendations() {
+        if (!enabled) {
+            log.debug("Co-view recommendation refresh is disabled via configuration.");
+            return;
+        }
+        coViewRecommendationRefreshUseCase.refreshCoViewRecommendations();
+    }
+}
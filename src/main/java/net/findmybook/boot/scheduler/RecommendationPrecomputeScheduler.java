@@ -0,0 +1,38 @@
+package net.findmybook.boot.scheduler;
+
+import net.findmybook.application.book.RecommendationPrecomputeUseCase;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+/**
+ * Precomputes pipeline recommendations for books with missing or expired rows once a day.
+ */
+@Component
+public class RecommendationPrecomputeScheduler {
+
+    private static final Logger log = LoggerFactory.getLogger(RecommendationPrecomputeScheduler.class);
+
+    private final RecommendationPrecomputeUseCase recommendationPrecomputeUseCase;
+    private final boolean enabled;
+
+    public RecommendationPrecomputeScheduler(RecommendationPrecomputeUseCase recommendationPrecomputeUseCase,
+                                             @Value("${app.recommendations.precompute.enabled:true}") boolean enabled) {
+        this.recommendationPrecomputeUseCase = recommendationPrecomputeUseCase;
+        this.enabled = enabled;
+    }
+
+    /**
+     * Runs one precompute pass, continuing an interrupted pass when a checkpoint exists.
+     */
+    @Scheduled(cron = "${app.recommendations.precompute.cron:0 0 5 * * *}")
+    public void precomputeRecommendations() {
+        if (!enabled) {
+            log.debug("Recommendation precompute is disabled via configuration.");
+            return;
+        }
+        recommendationPrecomputeUseCase.precomputeRecommendations();
+    }
+}
@@ -64,7 +64,7 @@ public class AsyncConfig implements WebMvcConfigurer {
      *
      * <p>This provides bounded thread pooling for general async operations like:
      * <ul>
-     *   <li>{@code OutboxRelay.relayEvents()} - runs every second</li>
+     *   <li>{@code OutboxRelay.pollOutbox()} - safety-net tick every second</li>
      *   <li>{@code RecentBookViewRepository.recordView()} - runs on every book view</li>
      * </ul>
      *
@@ -268,12 +268,13 @@ public class AdminController {
             RecommendationCacheRefreshUseCase.RefreshSummary summary =
                 recommendationCacheRefreshUseCase.refreshAllRecommendations();
             return String.format(
-                "Recommendation refresh completed. totalRows=%d, activeBefore=%d, refreshedRows=%d, activeAfter=%d, ttlDays=%d",
+                "Recommendation refresh completed. totalRows=%d, activeBefore=%d, refreshedRows=%d, activeAfter=%d, ttlDays=%d, slices=%d",
                 summary.totalRows(),
                 summary.activeRowsBefore(),
                 summary.refreshedRows(),
                 summary.activeRowsAfter(),
-                summary.ttlDays()
+                summary.ttlDays(),
+                summary.slices()
             );
         });
     }
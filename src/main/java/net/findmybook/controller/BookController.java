@@ -4,6 +4,7 @@
 package net.findmybook.controller;
 
 import jakarta.annotation.Nullable;
+import jakarta.servlet.http.HttpServletRequest;
 import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
@@ -26,6 +27,7 @@ import net.findmybook.service.BookDataOrchestrator;
 import net.findmybook.service.BookIdentifierResolver;
 import net.findmybook.service.BookSearchService;
 import net.findmybook.service.SearchPaginationService;
+import net.findmybook.support.search.SearchCursor;
 import net.findmybook.util.ApplicationConstants;
 import net.findmybook.util.EnumParsingUtils;
 import net.findmybook.util.PagingUtils;
@@ -33,6 +35,7 @@ import net.findmybook.util.ReactiveControllerUtils;
 import net.findmybook.util.SearchExternalProviderUtils;
 import net.findmybook.util.SearchQueryUtils;
 import net.findmybook.util.UuidUtils;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.util.StringUtils;
@@ -114,6 +117,11 @@ public class BookController {
      * <p>{@code startIndex} is a zero-based absolute offset and {@code maxResults}
      * controls page size. UI routes may use a one-based {@code page} query parameter,
      * but clients must convert that value to {@code startIndex} before calling this API.</p>
+     *
+     * <p>Passing {@code cursor} switches to keyset pagination: {@code *} returns the first page
+     * and each response's {@code nextCursor} resumes after it. Cursor pages are ordered by relevance,
+     * so any other explicit {@code orderBy} is rejected with {@code 400}, as are cursors issued for a
+     * different query or filter set.</p>
      */
     @GetMapping("/search")
     public Mono<ResponseEntity<SearchResponse>> searchBooks(@RequestParam String query,
@@ -125,6 +133,13 @@ public class BookController {
                 "Invalid orderBy parameter: Supported values: "
                     + String.join(", ", SearchExternalProviderUtils.supportedOrderByValues()));
         }
+        if (StringUtils.hasText(filters.cursor())
+            && StringUtils.hasText(filters.orderBy())
+            && !SearchPaginationService.KEYSET_ORDER_BY.equals(filters.effectiveOrderBy())) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST,
+                "Invalid orderBy parameter: cursor pagination only supports orderBy="
+                    + SearchPaginationService.KEYSET_ORDER_BY);
+        }
         CoverImageSource coverSourcePreference = EnumParsingUtils.parseOrDefault(
             filters.effectiveCoverSource(),
             CoverImageSource.class,
@@ -144,7 +159,8 @@ public class BookController {
             filters.effectiveOrderBy(),
             coverSourcePreference,
             resolutionPreference,
-            filters.publishedYear()
+            filters.publishedYear(),
+            filters.cursor()
         );
 
         return searchPaginationService.search(request)
@@ -154,6 +170,9 @@ public class BookController {
                 if (ex instanceof ResponseStatusException responseStatusException) {
                     return Mono.error(responseStatusException);
                 }
+                if (ex instanceof SearchCursor.InvalidSearchCursorException invalidCursor) {
+                    return Mono.error(new ResponseStatusException(HttpStatus.BAD_REQUEST, invalidCursor.getMessage(), invalidCursor));
+                }
                 log.error("Failed to search books for query '{}': {}", normalizedQuery, ex.getMessage(), ex);
                 return Mono.error(new ResponseStatusException(
                     HttpStatus.INTERNAL_SERVER_ERROR,
@@ -202,16 +221,19 @@ public class BookController {
      *
      * @param identifier client-supplied book identifier
      * @param viewWindow optional time window for view-count tracking
+     * @param request servlet request whose client address and user agent key the anonymous view session
      * @return the resolved book DTO, or 404 if no match is found
      */
     @GetMapping("/{identifier}")
     public Mono<ResponseEntity<BookDto>> getBookByIdentifier(@PathVariable String identifier,
-                                                              @RequestParam(name = "viewWindow", required = false) String viewWindow) {
+                                                              @RequestParam(name = "viewWindow", required = false) String viewWindow,
+                                                              HttpServletRequest request) {
         return resolveBookRequest(
             identifier,
             String.format("No book found for identifier: %s", identifier),
             String.format("Failed to fetch book '%s'", identifier),
-            viewWindow
+            viewWindow,
+            request
         );
     }
 
@@ -221,12 +243,14 @@ public class BookController {
      */
     @GetMapping("/slug/{slug}")
     public Mono<ResponseEntity<BookDto>> getBookBySlug(@PathVariable String slug,
-                                                        @RequestParam(name = "viewWindow", required = false) String viewWindow) {
+                                                        @RequestParam(name = "viewWindow", required = false) String viewWindow,
+                                                        HttpServletRequest request) {
         return resolveBookRequest(
             slug,
             String.format("No book found for slug: %s", slug),
             String.format("Failed to fetch book by slug '%s'", slug),
-            viewWindow
+            viewWindow,
+            request
         );
     }
 
@@ -265,10 +289,19 @@ public class BookController {
     private Mono<ResponseEntity<BookDto>> resolveBookRequest(String identifier,
                                                              String notFoundDetail,
                                                              String failureDetail,
-                                                             @Nullable String rawViewWindow) {
+                                                             @Nullable String rawViewWindow,
+                                                             HttpServletRequest request) {
         bookDetailResponseUseCase.validateViewWindow(rawViewWindow);
+        // Read request state here: the servlet request must not be touched from the elastic worker.
+        String clientAddress = request.getRemoteAddr();
+        String userAgent = request.getHeader(HttpHeaders.USER_AGENT);
         return findBookDto(identifier)
-            .flatMap(dto -> Mono.fromCallable(() -> bookDetailResponseUseCase.enrichDetailResponse(dto, rawViewWindow))
+            .flatMap(dto -> Mono.fromCallable(() -> bookDetailResponseUseCase.enrichDetailResponse(
+                    dto,
+                    rawViewWindow,
+                    clientAddress,
+                    userAgent
+                ))
                 .subscribeOn(Schedulers.boundedElastic()))
             .map(ResponseEntity::ok)
             .switchIfEmpty(Mono.error(new ResponseStatusException(HttpStatus.NOT_FOUND, notFoundDetail)))
@@ -0,0 +1,43 @@
+package net.findmybook.controller;
+
+import net.findmybook.controller.dto.search.SearchContractMapper;
+import net.findmybook.controller.dto.search.SuggestResponse;
+import net.findmybook.service.SearchSuggestionService;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+/**
+ * Search-as-you-type endpoint served entirely from the in-memory suggestion index.
+ *
+ * <p>Unlike {@code /api/books/search}, this endpoint never queries Postgres or external
+ * providers, so it is cheap enough to call on every keystroke.</p>
+ */
+@RestController
+@RequestMapping("/api/books")
+public class BookSuggestController {
+
+    private final SearchSuggestionService searchSuggestionService;
+
+    public BookSuggestController(SearchSuggestionService searchSuggestionService) {
+        this.searchSuggestionService = searchSuggestionService;
+    }
+
+    /**
+     * Returns title and author suggestions for a typed prefix.
+     *
+     * @param query raw prefix typed by the user
+     * @param limit maximum number of suggestions (clamped to {@code 1..20})
+     * @return popularity-ranked suggestions; empty while the index is warming up
+     */
+    @GetMapping("/suggest")
+    public ResponseEntity<SuggestResponse> suggest(@RequestParam String query,
+                                                   @RequestParam(name = "limit", defaultValue = "8") int limit) {
+        return ResponseEntity.ok(SearchContractMapper.fromSuggestions(
+            query,
+            searchSuggestionService.suggest(query, limit)
+        ));
+    }
+}
@@ -7,6 +7,7 @@ import net.findmybook.model.image.CoverImageSource;
 import net.findmybook.model.image.ImageResolutionPreference;
 import net.findmybook.service.BookSearchService;
 import net.findmybook.service.SearchPaginationService;
+import net.findmybook.service.SearchSuggestionService;
 import net.findmybook.util.SearchQueryUtils;
 import net.findmybook.util.SlugGenerator;
 import org.slf4j.Logger;
@@ -58,7 +59,8 @@ public final class SearchContractMapper {
             page.orderBy(),
             page.coverSource() != null ? page.coverSource().name() : CoverImageSource.ANY.name(),
             page.resolutionPreference() != null ? page.resolutionPreference().name() : ImageResolutionPreference.ANY.name(),
-            hits
+            hits,
+            page.nextCursor()
         );
     }
 
@@ -82,7 +84,8 @@ public final class SearchContractMapper {
             request.orderBy(),
             request.coverSource().name(),
             request.resolutionPreference().name(),
-            List.of()
+            List.of(),
+            null
         );
     }
 
@@ -117,6 +120,27 @@ public final class SearchContractMapper {
         return new AuthorSearchResponse(query, limit, List.of());
     }
 
+    /**
+     * Maps typeahead suggestions into the suggest API payload.
+     *
+     * @param query prefix echoed from the request
+     * @param suggestions popularity-ranked suggestions
+     * @return immutable API response
+     */
+    public static SuggestResponse fromSuggestions(String query, List<SearchSuggestionService.Suggestion> suggestions) {
+        List<SearchSuggestionService.Suggestion> safeSuggestions = suggestions == null ? List.of() : suggestions;
+        List<SuggestionHitDto> hits = safeSuggestions.stream()
+            .map(suggestion -> new SuggestionHitDto(
+                suggestion.type(),
+                suggestion.id(),
+                suggestion.text(),
+                suggestion.slug(),
+                suggestion.detail()
+            ))
+            .toList();
+        return new SuggestResponse(query == null ? "" : query.trim(), hits);
+    }
+
     private static AuthorHitDto toAuthorHit(BookSearchService.AuthorResult authorResult) {
         String effectiveId = authorResult.authorId();
         if (!StringUtils.hasText(effectiveId)) {
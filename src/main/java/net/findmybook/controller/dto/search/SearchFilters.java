@@ -9,19 +9,25 @@ import net.findmybook.util.SearchExternalProviderUtils;
  * {@code maxResults} as a page size. This API does not use Spring Data
  * page-number pagination semantics.</p>
  *
+ * <p>Clients paging deep into results may opt into keyset pagination by passing
+ * {@code cursor=*} and then echoing each response's {@code nextCursor}; the cursor
+ * replaces {@code startIndex} for those requests.</p>
+ *
  * @param startIndex optional zero-based absolute offset
  * @param maxResults optional page size
  * @param orderBy optional requested ordering key
  * @param publishedYear optional publication-year filter
  * @param coverSource optional preferred cover source
  * @param resolution optional preferred cover resolution
+ * @param cursor optional keyset cursor ({@code *} for the first page)
  */
 public record SearchFilters(Integer startIndex,
                             Integer maxResults,
                             String orderBy,
                             Integer publishedYear,
                             String coverSource,
-                            String resolution) {
+                            String resolution,
+                            String cursor) {
 
     /**
      * Returns a normalized start index defaulting to {@code 0}.
@@ -39,8 +45,14 @@ public record SearchFilters(Integer startIndex,
 
     /**
      * Returns an order-by value normalized to supported external-provider semantics.
+     *
+     * <p>Cursor requests without an explicit ordering default to {@code relevance}, the only
+     * ordering keyset pages support.</p>
      */
     public String effectiveOrderBy() {
+        if (cursor != null && !cursor.isBlank() && (orderBy == null || orderBy.isBlank())) {
+            return "relevance";
+        }
         return SearchExternalProviderUtils.normalizeOrderBy(orderBy);
     }
 
@@ -3,7 +3,7 @@ package net.findmybook.controller.dto.search;
 import java.util.List;
 
 /**
- * API payload for offset-based search responses.
+ * API payload for offset-based and cursor-based search responses.
  *
  * @param query normalized search text
  * @param queryHash deterministic websocket key for realtime updates
@@ -17,6 +17,7 @@ import java.util.List;
  * @param coverSource normalized cover source filter
  * @param resolution normalized resolution filter
  * @param results current page rows
+ * @param nextCursor opaque keyset cursor for the next page when the request used {@code cursor}, else {@code null}
  */
 public record SearchResponse(String query,
                              String queryHash,
@@ -29,5 +30,6 @@ public record SearchResponse(String query,
                              String orderBy,
                              String coverSource,
                              String resolution,
-                             List<SearchHitDto> results) {
+                             List<SearchHitDto> results,
+                             String nextCursor) {
 }
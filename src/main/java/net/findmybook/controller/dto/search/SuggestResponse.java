@@ -0,0 +1,13 @@
+package net.findmybook.controller.dto.search;
+
+import java.util.List;
+
+/**
+ * API payload for {@code /api/books/suggest} typeahead responses.
+ *
+ * @param query prefix echoed from the request
+ * @param suggestions suggestions ordered by popularity
+ */
+public record SuggestResponse(String query,
+                              List<SuggestionHitDto> suggestions) {
+}
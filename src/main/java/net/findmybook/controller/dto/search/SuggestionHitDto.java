@@ -0,0 +1,17 @@
+package net.findmybook.controller.dto.search;
+
+/**
+ * One typeahead suggestion row.
+ *
+ * @param type {@code book} or {@code author}
+ * @param id book UUID or author identifier
+ * @param text display text (title or author name)
+ * @param slug book slug for direct navigation, {@code null} for authors
+ * @param detail secondary display line
+ */
+public record SuggestionHitDto(String type,
+                               String id,
+                               String text,
+                               String slug,
+                               String detail) {
+}
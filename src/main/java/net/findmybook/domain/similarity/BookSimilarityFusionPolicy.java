@@ -85,16 +85,35 @@ public record BookSimilarityFusionPolicy(
     public LinkedHashMap<BookSimilaritySectionKey, Double> normalizedWeightsFor(
         Collection<BookSimilaritySectionKey> presentSections
     ) {
+        return normalizedWeightsFor(activeProfile(), presentSections);
+    }
+
+    /**
+     * Renormalizes one profile's weights across sections that have source text.
+     *
+     * <p>Used by offline evaluation to fuse candidate profiles the same way the active
+     * profile is fused at runtime.</p>
+     *
+     * @param profile profile whose weights are applied
+     * @param presentSections sections available for the current book
+     * @return ordered normalized weights
+     */
+    public LinkedHashMap<BookSimilaritySectionKey, Double> normalizedWeightsFor(
+        BookSimilarityFusionProfile profile,
+        Collection<BookSimilaritySectionKey> presentSections
+    ) {
+        if (profile == null) {
+            throw new IllegalArgumentException("book similarity fusion requires a profile");
+        }
         if (presentSections == null || presentSections.isEmpty()) {
             throw new IllegalArgumentException("book similarity fusion requires at least one present section");
         }
         EnumMap<BookSimilaritySectionKey, Boolean> present = new EnumMap<>(BookSimilaritySectionKey.class);
         presentSections.forEach(sectionKey -> present.put(sectionKey, Boolean.TRUE));
-        BookSimilarityFusionProfile activeProfile = activeProfile();
         LinkedHashMap<BookSimilaritySectionKey, Double> weightedSections = new LinkedHashMap<>();
         double totalWeight = 0.0d;
         for (BookSimilaritySectionKey sectionKey : sectionOrder) {
-            double weight = activeProfile.weightFor(sectionKey);
+            double weight = profile.weightFor(sectionKey);
             if (present.containsKey(sectionKey) && weight > 0.0d) {
                 weightedSections.put(sectionKey, weight);
                 totalWeight += weight;
@@ -45,6 +45,7 @@ final class BookRecommendationQuerySupport {
     /** Database values for the {@code book_recommendations.source} column. */
     enum RecommendationSource {
         RECOMMENDATION_PIPELINE,
+        CO_VIEW,
         SAME_AUTHOR,
         SAME_CATEGORY,
         OTHER;
@@ -55,6 +56,7 @@ final class BookRecommendationQuerySupport {
             }
             return switch (value.toUpperCase(Locale.ROOT)) {
                 case "RECOMMENDATION_PIPELINE" -> RECOMMENDATION_PIPELINE;
+                case "CO_VIEW" -> CO_VIEW;
                 case "SAME_AUTHOR" -> SAME_AUTHOR;
                 case "SAME_CATEGORY" -> SAME_CATEGORY;
                 default -> OTHER;
@@ -203,6 +205,7 @@ final class BookRecommendationQuerySupport {
         }
 
         List<RecommendationCard> pipeline = new ArrayList<>();
+        List<RecommendationCard> coView = new ArrayList<>();
         List<RecommendationCard> sameAuthor = new ArrayList<>();
         List<RecommendationCard> sameCategory = new ArrayList<>();
         List<RecommendationCard> others = new ArrayList<>();
@@ -213,6 +216,7 @@ final class BookRecommendationQuerySupport {
             }
             switch (RecommendationSource.fromDatabase(card.source())) {
                 case RECOMMENDATION_PIPELINE -> pipeline.add(card);
+                case CO_VIEW -> coView.add(card);
                 case SAME_AUTHOR -> sameAuthor.add(card);
                 case SAME_CATEGORY -> sameCategory.add(card);
                 case OTHER -> others.add(card);
@@ -221,9 +225,12 @@ final class BookRecommendationQuerySupport {
 
         var acc = new MergeAccumulator(limit);
         acc.append(pipeline, pipeline.size());
+        acc.append(coView, Math.min(MAX_PER_SOURCE_PRIORITY, acc.remaining));
         acc.append(sameAuthor, Math.min(MAX_PER_SOURCE_PRIORITY, acc.remaining));
         acc.append(sameCategory, Math.min(MAX_PER_SOURCE_PRIORITY, acc.remaining));
         acc.append(others, acc.remaining);
+        // Co-view rows beyond their priority slots still beat an unfilled list.
+        acc.append(coView, acc.remaining);
         return acc.toList();
     }
 
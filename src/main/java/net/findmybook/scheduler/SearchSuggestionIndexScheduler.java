@@ -0,0 +1,33 @@
+package net.findmybook.scheduler;
+
+import net.findmybook.service.SearchSuggestionService;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnBean;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+/**
+ * Rebuilds the in-memory typeahead index off the request path so {@code /api/books/suggest}
+ * never queries Postgres. Each pass builds a fresh snapshot and swaps it in atomically.
+ */
+@Component
+@ConditionalOnBean(JdbcTemplate.class)
+public class SearchSuggestionIndexScheduler {
+
+    private final SearchSuggestionService searchSuggestionService;
+
+    public SearchSuggestionIndexScheduler(SearchSuggestionService searchSuggestionService) {
+        this.searchSuggestionService = searchSuggestionService;
+    }
+
+    /**
+     * Refreshes titles, author names, and popularity ranking for suggestions.
+     */
+    @Scheduled(
+        fixedDelayString = "${app.search.suggest.refresh-fixed-delay-ms:600000}",
+        initialDelayString = "${app.search.suggest.refresh-initial-delay-ms:10000}"
+    )
+    public void rebuildSuggestionIndex() {
+        searchSuggestionService.rebuild();
+    }
+}
@@ -0,0 +1,41 @@
+package net.findmybook.scheduler;
+
+import net.findmybook.service.BookSearchService;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnBean;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+/**
+ * Drains queued {@code book_search_view} changes so writes from any path (upserts,
+ * enrichment, clustering hygiene) become searchable within seconds.
+ * An idle pass costs one indexed read of an empty queue.
+ */
+@Component
+@ConditionalOnBean(JdbcTemplate.class)
+public class SearchViewRefreshScheduler {
+
+    private static final Logger log = LoggerFactory.getLogger(SearchViewRefreshScheduler.class);
+
+    private final BookSearchService bookSearchService;
+
+    public SearchViewRefreshScheduler(BookSearchService bookSearchService) {
+        this.bookSearchService = bookSearchService;
+    }
+
+    /**
+     * Applies pending search document changes in bounded batches.
+     */
+    @Scheduled(
+        fixedDelayString = "${app.search.view-refresh.fixed-delay-ms:5000}",
+        initialDelayString = "${app.search.view-refresh.initial-delay-ms:15000}"
+    )
+    public void drainPendingSearchViewChanges() {
+        int refreshed = bookSearchService.refreshSearchView();
+        if (refreshed > 0) {
+            log.debug("Applied {} queued book_search_view change(s).", refreshed);
+        }
+    }
+}
@@ -42,7 +42,7 @@ public class BookDataOrchestrator {
     private final Optional<OpenLibraryBookDataService> openLibraryBookDataService;
     private final GoogleExternalSearchFlow googleExternalSearchFlow;
     private final BookUpsertService bookUpsertService;
-    private static final long SEARCH_VIEW_REFRESH_INTERVAL_MS = 60_000L;
+    private static final long SEARCH_VIEW_REFRESH_INTERVAL_MS = 5_000L;
     private static final int DESCRIPTION_ENRICHMENT_LIMIT = 6;
     private static final Duration DESCRIPTION_ENRICHMENT_TIMEOUT = Duration.ofSeconds(8);
     private static final String DESCRIPTION_ENRICHMENT_SORT = "relevance";
@@ -308,7 +308,14 @@ public class BookDataOrchestrator {
      * @param context Context string for logging (e.g., "SEARCH", "RECOMMENDATION")
      */
     public void persistBooksAsync(List<Book> books, String context) {
-        bookExternalBatchPersistenceService.persistBooksAsync(books, context, () -> triggerSearchViewRefresh(false));
+        bookExternalBatchPersistenceService.persistBooksAsync(books, context, this::refreshSearchViewAfterPersistence);
+    }
+
+    private void refreshSearchViewAfterPersistence() {
+        if (bookSearchService != null) {
+            bookSearchService.markResultCacheStale();
+        }
+        triggerSearchViewRefresh(false);
     }
 
     private void triggerSearchViewRefresh(boolean force) {
@@ -324,14 +331,14 @@ public class BookDataOrchestrator {
         }
 
         if (!searchViewRefreshInProgress.compareAndSet(false, true)) {
-            logger.debug("Skipping materialized view refresh - another thread is handling it");
+            logger.debug("Skipping search view refresh - another thread is handling it");
             return;
         }
 
         lastSearchViewRefresh.set(now);
 
         try {
-            bookSearchService.refreshMaterializedView();
+            bookSearchService.refreshSearchView();
         } finally {
             searchViewRefreshInProgress.set(false);
         }
@@ -9,6 +9,9 @@ import net.findmybook.util.IsbnUtils;
 import net.findmybook.util.PagingUtils;
 import net.findmybook.util.SearchQueryUtils;
 import net.findmybook.util.ValidationUtils;
+import jakarta.annotation.Nullable;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.dao.DataAccessException;
@@ -17,19 +20,25 @@ import org.springframework.stereotype.Service;
 
 import org.springframework.context.annotation.Bean;
 import org.springframework.stereotype.Component;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Types;
 import java.util.List;
 import java.util.Locale;
 import java.util.Map;
 import java.util.Objects;
 import java.util.Optional;
 import java.util.UUID;
+import java.util.concurrent.atomic.AtomicBoolean;
 import org.springframework.util.StringUtils;
 
 /**
  * Postgres-first book search and detail projection service.
  *
- * @implNote LOC1 split plan (383 lines): extract {@code SearchBackfillCoordinator}
- *     (external search backfill orchestration).
+ * @implNote LOC1 split plan (580 lines): extract {@code SearchBackfillCoordinator}
+ *     (external search backfill orchestration), {@code KeysetSearchReader}
+ *     ({@code searchBooksAfter} with its position and slice records), and
+ *     {@code SearchViewRefresher} (search document drain and result cache invalidation).
  */
 @Service
 @Slf4j
@@ -40,12 +49,17 @@ public class BookSearchService {
     private static final int DEFAULT_CATEGORY_FACET_LIMIT = 24;
     private static final int MIN_CATEGORY_FACET_LIMIT = 1;
     private static final int MAX_CATEGORY_FACET_MIN_BOOKS = 10_000;
+    private static final int SEARCH_VIEW_DRAIN_BATCH_SIZE = 500;
+    private static final int SEARCH_VIEW_DRAIN_MAX_BATCHES = 20;
 
     private final JdbcTemplate jdbcTemplate;
     private final ExternalBookIdResolver externalBookIdResolver;
     private final BackfillCoordinator backfillCoordinator;
     private final BookQueryRepository bookQueryRepository;
     private final SearchResultDeduplicator deduplicator;
+    private final TieredSearchExecutor tieredSearchExecutor;
+    private final SearchResultCache resultCache;
+    private final AtomicBoolean resultCacheStale = new AtomicBoolean();
     private final boolean asyncBackfillEnabled;
 
     public BookSearchService(
@@ -57,7 +71,12 @@ public class BookSearchService {
         this.externalBookIdResolver = deps.externalBookIdResolver().orElse(null);
         this.backfillCoordinator = deps.backfillCoordinator().orElse(null);
         this.bookQueryRepository = deps.bookQueryRepository().orElse(null);
-        this.deduplicator = new SearchResultDeduplicator(jdbcTemplate);
+        this.deduplicator = new SearchResultDeduplicator();
+        this.tieredSearchExecutor = new TieredSearchExecutor(
+            jdbcTemplate,
+            deps.meterRegistry().orElseGet(SimpleMeterRegistry::new)
+        );
+        this.resultCache = new SearchResultCache();
         this.asyncBackfillEnabled = asyncBackfillEnabled;
     }
 
@@ -67,17 +86,25 @@ public class BookSearchService {
         public SearchDependencies searchDependencies(
             Optional<ExternalBookIdResolver> externalBookIdResolver,
             Optional<BackfillCoordinator> backfillCoordinator,
-            Optional<BookQueryRepository> bookQueryRepository
+            Optional<BookQueryRepository> bookQueryRepository,
+            Optional<MeterRegistry> meterRegistry
         ) {
-            return new SearchDependencies(externalBookIdResolver, backfillCoordinator, bookQueryRepository);
+            return new SearchDependencies(externalBookIdResolver, backfillCoordinator, bookQueryRepository, meterRegistry);
         }
     }
 
     public record SearchDependencies(
         Optional<ExternalBookIdResolver> externalBookIdResolver,
         Optional<BackfillCoordinator> backfillCoordinator,
-        Optional<BookQueryRepository> bookQueryRepository
-    ) {}
+        Optional<BookQueryRepository> bookQueryRepository,
+        Optional<MeterRegistry> meterRegistry
+    ) {
+        public SearchDependencies(Optional<ExternalBookIdResolver> externalBookIdResolver,
+                                  Optional<BackfillCoordinator> backfillCoordinator,
+                                  Optional<BookQueryRepository> bookQueryRepository) {
+            this(externalBookIdResolver, backfillCoordinator, bookQueryRepository, Optional.empty());
+        }
+    }
 
     public List<SearchResult> searchBooks(String query, Integer limit) {
         if (jdbcTemplate == null) {
@@ -89,34 +116,112 @@ public class BookSearchService {
             return List.of();
         }
         int safeLimit = PagingUtils.safeLimit(limit != null ? limit : 0, DEFAULT_LIMIT, 1, MAX_LIMIT);
-        List<SearchResult> rawResults = jdbcTemplate.query(
-                "SELECT * FROM search_books(?, ?)",
-                ps -> {
-                    ps.setString(1, sanitizedQuery);
-                    ps.setInt(2, safeLimit);
-                },
-                (rs, rowNum) -> {
-                    UUID bookId = rs.getObject("book_id", UUID.class);
-                    if (bookId == null) {
-                        return null; // Skip null book IDs
-                    }
-                    return new SearchResult(
-                        bookId,
-                        rs.getDouble("relevance_score"),
-                        rs.getString("match_type"),
-                        new ClusterInfo(rs.getInt("edition_count"), rs.getObject("cluster_id", UUID.class)));
+        List<SearchResult> deduplicated = resultCache.getOrLoad(
+            sanitizedQuery,
+            safeLimit,
+            required -> loadDeduplicatedWindow(sanitizedQuery, required)
+        ).firstResults(safeLimit);
+
+        if (asyncBackfillEnabled && !deduplicated.isEmpty()) {
+            enqueueBackfillForResults(deduplicated);
+        }
+
+        return deduplicated;
+    }
+
+    /**
+     * Loads the widest window, up to {@value #MAX_LIMIT} results, that the tiers produce without
+     * the trigram tier, or the complete window when {@code required} is not filled that way; later
+     * pages are sliced from the cached window.
+     */
+    private SearchResultCache.CachedWindow loadDeduplicatedWindow(String sanitizedQuery, int required) {
+        TieredSearchExecutor.TieredResults tiered = tieredSearchExecutor.search(sanitizedQuery, required, MAX_LIMIT);
+        return new SearchResultCache.CachedWindow(deduplicator.deduplicate(tiered.candidates()), tiered.complete());
+    }
+
+    /**
+     * Resumes {@code search_books()} ordering strictly after a keyset position.
+     *
+     * <p>Fetches one row beyond {@code limit} to detect whether more rows exist, so a deep page
+     * costs the same as the first page instead of re-reading every earlier page. Results are
+     * deduplicated within the slice and bypass the result cache because every position is
+     * a distinct key.</p>
+     *
+     * <p>Keyset slices draw from the same bounded candidate pool as {@link #searchBooks}: the
+     * strategy CTEs keep at most 50 exact, 100 full-text, and 50 fuzzy matches before cluster
+     * deduplication, so paging ends after roughly 200 candidates.</p>
+     *
+     * @param query raw search text
+     * @param after position of the last row consumed by the previous slice, or {@code null} to start at the top
+     * @param limit number of raw search rows to consume
+     * @return deduplicated slice plus the position of its last consumed row
+     */
+    public SearchSlice searchBooksAfter(String query, @Nullable SearchPosition after, int limit) {
+        if (jdbcTemplate == null) {
+            throw new IllegalStateException("BookSearchService requires JdbcTemplate but it is null — database may be unavailable");
+        }
+        String sanitizedQuery = SearchQueryUtils.normalize(query);
+        if (SearchQueryUtils.isWildcard(sanitizedQuery)) {
+            log.debug("Postgres keyset search skipped for blank query");
+            return new SearchSlice(List.of(), after, false);
+        }
+        int safeLimit = PagingUtils.safeLimit(limit, DEFAULT_LIMIT, 1, MAX_LIMIT);
+        List<KeysetRow> rows = jdbcTemplate.query(
+            "SELECT * FROM search_books_after(?, ?, ?, ?, ?)",
+            ps -> {
+                ps.setString(1, sanitizedQuery);
+                if (after == null) {
+                    ps.setNull(2, Types.DOUBLE);
+                    ps.setNull(3, Types.VARCHAR);
+                    ps.setNull(4, Types.OTHER);
+                } else {
+                    ps.setDouble(2, after.relevanceScore());
+                    ps.setString(3, after.sortTitle());
+                    ps.setObject(4, after.sortKey());
                 }
-            ).stream()
-             .filter(Objects::nonNull)
-             .toList();
+                ps.setInt(5, safeLimit + 1);
+            },
+            (rs, rowNum) -> new KeysetRow(
+                mapCandidate(rs),
+                new SearchPosition(
+                    rs.getDouble("relevance_score"),
+                    rs.getString("sort_title"),
+                    rs.getObject("sort_key", UUID.class)
+                )
+            )
+        );
 
-        List<SearchResult> deduplicated = deduplicator.deduplicate(rawResults);
+        boolean hasMore = rows.size() > safeLimit;
+        List<KeysetRow> consumed = hasMore ? rows.subList(0, safeLimit) : rows;
+        SearchPosition lastPosition = consumed.isEmpty() ? after : consumed.getLast().position();
+        List<SearchResultDeduplicator.Candidate> candidates = consumed.stream()
+            .map(KeysetRow::candidate)
+            .filter(Objects::nonNull)
+            .toList();
+        List<SearchResult> deduplicated = deduplicator.deduplicate(candidates);
 
         if (asyncBackfillEnabled && !deduplicated.isEmpty()) {
             enqueueBackfillForResults(deduplicated);
         }
 
-        return deduplicated;
+        return new SearchSlice(deduplicated, lastPosition, hasMore);
+    }
+
+    private static SearchResultDeduplicator.Candidate mapCandidate(ResultSet rs) throws SQLException {
+        UUID bookId = rs.getObject("book_id", UUID.class);
+        if (bookId == null) {
+            return null; // Skip null book IDs
+        }
+        SearchResult result = new SearchResult(
+            bookId,
+            rs.getDouble("relevance_score"),
+            rs.getString("match_type"),
+            new ClusterInfo(rs.getInt("edition_count"), rs.getObject("cluster_id", UUID.class)));
+        return new SearchResultDeduplicator.Candidate(
+            result,
+            rs.getObject("primary_book_id", UUID.class),
+            rs.getBoolean("has_primary_edition"),
+            rs.getString("title_author_key"));
     }
 
     public Optional<IsbnSearchResult> searchByIsbn(String isbnQuery) {
@@ -264,16 +369,72 @@ public class BookSearchService {
         return bookQueryRepository;
     }
 
-    public void refreshMaterializedView() {
+    /**
+     * Applies queued {@code book_search_view} changes in bounded batches.
+     *
+     * <p>Row triggers enqueue every book whose search document inputs changed, so each call
+     * rebuilds only those documents rather than the whole catalog. Draining stops when the
+     * queue is empty or after {@value #SEARCH_VIEW_DRAIN_MAX_BATCHES} batches, leaving any
+     * remainder for the next call. Cached search results are left in place and pick up the
+     * rebuilt documents when their TTL expires, unless {@link #markResultCacheStale()} ran since
+     * the previous drain: then the cache is cleared once this drain has applied the persisted
+     * books' documents.</p>
+     *
+     * @return number of book documents rebuilt
+     */
+    public int refreshSearchView() {
         if (jdbcTemplate == null) {
-            return;
+            return 0;
         }
+        boolean invalidateResults = resultCacheStale.getAndSet(false);
+        int drained = 0;
         try {
-            jdbcTemplate.execute("SELECT refresh_book_search_view()");
+            for (int batch = 0; batch < SEARCH_VIEW_DRAIN_MAX_BATCHES; batch++) {
+                Integer processed = jdbcTemplate.queryForObject(
+                    "SELECT refresh_book_search_view_incremental(?)",
+                    Integer.class,
+                    SEARCH_VIEW_DRAIN_BATCH_SIZE
+                );
+                int processedCount = processed == null ? 0 : processed;
+                drained += processedCount;
+                if (processedCount < SEARCH_VIEW_DRAIN_BATCH_SIZE) {
+                    break;
+                }
+            }
         } catch (DataAccessException ex) {
-            // Non-critical: search still works with stale materialized view data
+            // Non-critical: search still works with slightly stale search documents
             log.warn("Non-critical: Failed to refresh book_search_view: {}", ex.getMessage());
+            if (invalidateResults) {
+                resultCacheStale.set(true);
+            }
+            return drained;
+        }
+        // Routine drains leave the cache alone: on a live catalog nearly every drain finds work, so
+        // clearing it each cycle would leave it empty. Only drains following a persisted external
+        // fallback clear it, so the next search sees the books instead of re-running the fallback.
+        if (invalidateResults) {
+            resultCache.invalidateAll();
         }
+        if (drained > 0) {
+            log.debug("Refreshed {} book_search_view document(s)", drained);
+        }
+        return drained;
+    }
+
+    /**
+     * Records that externally discovered books were persisted, so the next search-view drain also
+     * clears cached search windows that could not contain them yet.
+     */
+    public void markResultCacheStale() {
+        resultCacheStale.set(true);
+    }
+
+    /**
+     * Drops every cached search window so the next call reads Postgres; benchmarks use this to
+     * measure the cache-miss path.
+     */
+    void invalidateSearchResultCache() {
+        resultCache.invalidateAll();
     }
 
     /**
@@ -350,6 +511,36 @@ public class BookSearchService {
         }
     }
 
+    /**
+     * Keyset position in {@code search_books_after()} ordering.
+     *
+     * @param relevanceScore relevance score of the last consumed row
+     * @param sortTitle lower-cased title exactly as Postgres ordered it
+     * @param sortKey cluster identifier, or book identifier for unclustered rows
+     */
+    public record SearchPosition(double relevanceScore, String sortTitle, UUID sortKey) {
+        public SearchPosition {
+            Objects.requireNonNull(sortTitle, "sortTitle");
+            Objects.requireNonNull(sortKey, "sortKey");
+        }
+    }
+
+    /**
+     * One keyset page of deduplicated search hits.
+     *
+     * @param results deduplicated hits in relevance order
+     * @param lastPosition position to resume after, or {@code null} when nothing has been consumed yet
+     * @param hasMore whether rows exist after {@code lastPosition}
+     */
+    public record SearchSlice(List<SearchResult> results, @Nullable SearchPosition lastPosition, boolean hasMore) {
+        public SearchSlice {
+            results = results == null ? List.of() : List.copyOf(results);
+        }
+    }
+
+    private record KeysetRow(@Nullable SearchResultDeduplicator.Candidate candidate, SearchPosition position) {
+    }
+
     public record ClusterInfo(int editionCount, UUID clusterId) {
         public ClusterInfo {
             editionCount = editionCount < 1 ? 1 : editionCount;
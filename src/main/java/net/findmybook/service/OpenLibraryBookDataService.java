@@ -59,6 +59,16 @@ public class OpenLibraryBookDataService {
         this.externalFallbackEnabled = externalFallbackEnabled;
     }
 
+    /**
+     * Indicates whether search calls reach Open Library; when disabled they complete empty
+     * without a request.
+     *
+     * @return true when external fallback searches are enabled
+     */
+    public boolean isExternalFallbackEnabled() {
+        return externalFallbackEnabled;
+    }
+
     /**
      * Searches OpenLibrary for books matching the given title.
      *
@@ -0,0 +1,177 @@
+package net.findmybook.service;
+
+import jakarta.annotation.PreDestroy;
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.time.Duration;
+import java.util.Properties;
+import lombok.extern.slf4j.Slf4j;
+import org.postgresql.PGConnection;
+import org.postgresql.PGNotification;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.springframework.util.StringUtils;
+
+/**
+ * Wakes {@link OutboxRelay} as soon as an outbox insert commits.
+ * <p>
+ * Holds one dedicated Postgres connection outside the Hikari pool, so a long-lived LISTEN never
+ * occupies a pooled connection, and blocks on it for notifications from the
+ * {@code events_outbox_notify} trigger (migration {@code 58_events_outbox_notify.sql}).
+ * Every wake-up drains the outbox on this thread; notifications that arrive during a drain are
+ * folded into one more pass.
+ * <p>
+ * When the connection drops, the relay is told notifications are down, which puts it back on
+ * its 1-second poll until the listener reconnects. Each (re)connect drains once to pick up
+ * events committed while nobody was listening.
+ */
+@Component
+@Slf4j
+public class OutboxNotificationListener {
+
+    static final String CHANNEL = "events_outbox";
+
+    private static final String THREAD_NAME = "outbox-notify-listener";
+    private static final Duration RECEIVE_TIMEOUT = Duration.ofSeconds(10);
+
+    private final OutboxRelay outboxRelay;
+    private final String jdbcUrl;
+    private final String username;
+    private final String password;
+    private final boolean enabled;
+    private final Duration reconnectDelay;
+
+    private volatile boolean running;
+    private volatile Connection connection;
+    private Thread listenerThread;
+
+    public OutboxNotificationListener(OutboxRelay outboxRelay,
+                                      @Value("${spring.datasource.url:}") String jdbcUrl,
+                                      @Value("${spring.datasource.username:}") String username,
+                                      @Value("${spring.datasource.password:}") String password,
+                                      @Value("${app.outbox.relay.listen-enabled:true}") boolean enabled,
+                                      @Value("${app.outbox.relay.reconnect-delay-ms:5000}") long reconnectDelayMs) {
+        if (reconnectDelayMs < 1) {
+            throw new IllegalArgumentException("app.outbox.relay.reconnect-delay-ms must be >= 1");
+        }
+        this.outboxRelay = outboxRelay;
+        this.jdbcUrl = jdbcUrl;
+        this.username = username;
+        this.password = password;
+        this.enabled = enabled;
+        this.reconnectDelay = Duration.ofMillis(reconnectDelayMs);
+    }
+
+    /**
+     * Starts listening once the application, including the STOMP broker, is ready to publish.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    void startListening() {
+        if (!enabled) {
+            log.info("Outbox LISTEN/NOTIFY wake-ups disabled via configuration; relay polls every tick.");
+            return;
+        }
+        if (!StringUtils.hasText(jdbcUrl) || !jdbcUrl.startsWith("jdbc:postgresql:")) {
+            log.info("Outbox LISTEN/NOTIFY wake-ups need a Postgres datasource URL; relay polls every tick.");
+            return;
+        }
+        running = true;
+        listenerThread = new Thread(this::listenLoop, THREAD_NAME);
+        listenerThread.setDaemon(true);
+        listenerThread.start();
+    }
+
+    @PreDestroy
+    void stopListening() {
+        running = false;
+        outboxRelay.setNotificationsActive(false);
+        if (listenerThread != null) {
+            listenerThread.interrupt();
+        }
+        closeQuietly(connection);
+    }
+
+    private void listenLoop() {
+        while (running) {
+            try (Connection listenConnection = openListenConnection()) {
+                connection = listenConnection;
+                PGConnection pgConnection = listenConnection.unwrap(PGConnection.class);
+                outboxRelay.setNotificationsActive(true);
+                log.info("Listening for outbox notifications on channel {}", CHANNEL);
+                drainSafely();
+                while (running) {
+                    PGNotification[] notifications = pgConnection.getNotifications((int) RECEIVE_TIMEOUT.toMillis());
+                    if (notifications != null && notifications.length > 0) {
+                        drainSafely();
+                    } else if (!listenConnection.isValid((int) RECEIVE_TIMEOUT.toSeconds())) {
+                        throw new SQLException("Outbox LISTEN connection is no longer valid");
+                    }
+                }
+            } catch (SQLException listenFailure) {
+                outboxRelay.setNotificationsActive(false);
+                if (!running) {
+                    return;
+                }
+                log.warn("Outbox LISTEN connection failed; relay falls back to polling and reconnects in {} ms: {}",
+                    reconnectDelay.toMillis(), listenFailure.getMessage());
+                if (!sleepBeforeReconnect()) {
+                    return;
+                }
+            } finally {
+                connection = null;
+            }
+        }
+    }
+
+    private Connection openListenConnection() throws SQLException {
+        Properties properties = new Properties();
+        if (StringUtils.hasText(username)) {
+            properties.setProperty("user", username);
+        }
+        if (StringUtils.hasText(password)) {
+            properties.setProperty("password", password);
+        }
+        properties.setProperty("ApplicationName", THREAD_NAME);
+        Connection listenConnection = DriverManager.getConnection(jdbcUrl, properties);
+        try (Statement statement = listenConnection.createStatement()) {
+            statement.execute("LISTEN " + CHANNEL);
+        } catch (SQLException listenFailure) {
+            closeQuietly(listenConnection);
+            throw listenFailure;
+        }
+        return listenConnection;
+    }
+
+    private void drainSafely() {
+        try {
+            outboxRelay.drainOutbox();
+        } catch (RuntimeException drainFailure) {
+            log.error("Outbox drain after notification failed; the safety-net poll will retry", drainFailure);
+        }
+    }
+
+    private boolean sleepBeforeReconnect() {
+        try {
+            Thread.sleep(reconnectDelay.toMillis());
+            return true;
+        } catch (InterruptedException _) {
+            Thread.currentThread().interrupt();
+            return false;
+        }
+    }
+
+    private static void closeQuietly(Connection listenConnection) {
+        if (listenConnection == null) {
+            return;
+        }
+        try {
+            listenConnection.close();
+        } catch (SQLException closeFailure) {
+            log.debug("Ignoring failure while closing outbox LISTEN connection: {}", closeFailure.getMessage());
+        }
+    }
+}
@@ -1,7 +1,8 @@
 package net.findmybook.service;
 
-import lombok.Value;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.dao.DataAccessException;
 import org.springframework.jdbc.core.JdbcTemplate;
 import org.springframework.messaging.MessagingException;
@@ -9,15 +10,18 @@ import org.springframework.messaging.simp.SimpMessagingTemplate;
 import org.springframework.scheduling.annotation.Scheduled;
 import org.springframework.stereotype.Service;
 
+import java.time.Duration;
 import java.util.List;
 import java.util.UUID;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.locks.ReentrantLock;
 
 /**
  * Relays events from transactional outbox table to WebSocket clients.
  * <p>
  * Implements the Transactional Outbox Pattern:
  * 1. Services write events to events_outbox table (same transaction as business logic)
- * 2. This relay polls the outbox and publishes to WebSocket
+ * 2. A trigger NOTIFYs the relay on commit; it drains the outbox and publishes to WebSocket
  * 3. Successfully sent events are marked with sent_at timestamp
  * <p>
  * Benefits:
@@ -27,8 +31,11 @@ import java.util.UUID;
  * - Decouples event production from delivery
  * <p>
  * Processing:
- * - Runs every 1 second via @Scheduled
- * - Fetches up to 100 unsent events per batch
+ * - {@link OutboxNotificationListener} LISTENs on the events_outbox channel over a dedicated
+ *   connection and calls {@link #drainOutbox()} as soon as an inserting transaction commits
+ * - A 1-second @Scheduled tick only queries the table when notifications are down or the
+ *   safety-net interval (default 30 seconds) has passed since the last drain
+ * - Fetches up to 100 unsent events per batch, draining batch after batch until the outbox is empty
  * - Publishes to WebSocket via SimpMessagingTemplate
  * - Marks successful events with sent_at = NOW()
  * <p>
@@ -36,9 +43,9 @@ import java.util.UUID;
  * <pre>
  * BookUpsertService → INSERT INTO events_outbox (SAME TX)
  *                  ↓
- * OutboxRelay (every 1s) → Poll unsent events
- *                        → Publish to /topic/book.{id}
- *                        → Mark as sent
+ * NOTIFY events_outbox (on commit) → OutboxRelay drains unsent events
+ *                                   → Publish to /topic/book.{id}
+ *                                   → Mark as sent
  * </pre>
  * <p>
  * Topics:
@@ -58,19 +65,83 @@ public class OutboxRelay {
     // Batch size for processing
     private static final int BATCH_SIZE = 100;
 
-    // Processing interval (1 second for near-real-time)
-    private static final long PROCESS_INTERVAL_MS = 1000;
+    // Safety-net poll interval while LISTEN/NOTIFY wake-ups are active
+    private static final long DEFAULT_SAFETY_POLL_INTERVAL_MS = 30_000;
+
+    private final Duration safetyPollInterval;
+    private final ReentrantLock drainLock = new ReentrantLock();
+    private final AtomicBoolean drainRequested = new AtomicBoolean();
+    private volatile boolean notificationsActive;
+    private volatile long lastDrainNanos = System.nanoTime();
 
     public OutboxRelay(JdbcTemplate jdbcTemplate, SimpMessagingTemplate messagingTemplate) {
+        this(jdbcTemplate, messagingTemplate, DEFAULT_SAFETY_POLL_INTERVAL_MS);
+    }
+
+    @Autowired
+    public OutboxRelay(JdbcTemplate jdbcTemplate,
+                       SimpMessagingTemplate messagingTemplate,
+                       @Value("${app.outbox.relay.safety-poll-interval-ms:30000}") long safetyPollIntervalMs) {
+        if (safetyPollIntervalMs < 1) {
+            throw new IllegalArgumentException("app.outbox.relay.safety-poll-interval-ms must be >= 1");
+        }
         this.jdbcTemplate = jdbcTemplate;
         this.messagingTemplate = messagingTemplate;
+        this.safetyPollInterval = Duration.ofMillis(safetyPollIntervalMs);
     }
 
     /**
-     * Process outbox events and relay to WebSocket.
+     * Scheduled safety net for the notification-driven drain.
      * <p>
-     * Runs every 1 second via @Scheduled and executes sequentially.
-     * Processes up to 100 events per batch.
+     * While {@link OutboxNotificationListener} holds an active LISTEN, the tick only drains once
+     * the safety-net interval has passed without a drain, catching anything a dropped
+     * notification left behind. Without an active LISTEN it drains on every tick, which is the
+     * original 1-second polling behavior.
+     */
+    @Scheduled(fixedDelayString = "${app.outbox.relay.tick-ms:1000}")
+    public void pollOutbox() {
+        if (notificationsActive && System.nanoTime() - lastDrainNanos < safetyPollInterval.toNanos()) {
+            return;
+        }
+        drainOutbox();
+    }
+
+    /**
+     * Relays unsent events batch after batch until the outbox is empty.
+     * <p>
+     * Only one thread drains at a time. A caller arriving while a drain runs leaves a request
+     * behind instead of waiting, and the running drain makes one more pass for it, so a
+     * notification that lands mid-drain is never lost. A batch with publish failures ends the
+     * pass so failing events are retried on the next wake-up rather than in a tight loop.
+     */
+    public void drainOutbox() {
+        drainRequested.set(true);
+        while (drainRequested.get() && drainLock.tryLock()) {
+            try {
+                while (drainRequested.getAndSet(false)) {
+                    lastDrainNanos = System.nanoTime();
+                    BatchResult batch;
+                    do {
+                        batch = relayBatch();
+                    } while (batch.fetched() == BATCH_SIZE && batch.failed() == 0);
+                }
+            } finally {
+                drainLock.unlock();
+            }
+        }
+    }
+
+    /**
+     * Records whether LISTEN wake-ups are currently being received.
+     */
+    void setNotificationsActive(boolean active) {
+        this.notificationsActive = active;
+    }
+
+    /**
+     * Process one batch of outbox events and relay to WebSocket.
+     * <p>
+     * Processes up to 100 events per batch; {@link #drainOutbox()} repeats it until the outbox is empty.
      * <p>
      * For each event:
      * 1. Fetch from events_outbox WHERE sent_at IS NULL
@@ -79,35 +150,40 @@ public class OutboxRelay {
      * <p>
      * If publish fails, event remains unsent and will be retried.
      */
-    @Scheduled(fixedDelay = PROCESS_INTERVAL_MS)
     public void relayEvents() {
+        relayBatch();
+    }
+
+    private BatchResult relayBatch() {
         List<OutboxEvent> events = fetchUnsentEvents(BATCH_SIZE);
 
         if (events.isEmpty()) {
-            return;
+            return new BatchResult(0, 0);
         }
 
         log.debug("Relaying {} outbox events to WebSocket", events.size());
         int clusterEventsRelayed = 0;
+        int failed = 0;
 
         for (OutboxEvent event : events) {
             try {
                 // Publish to WebSocket
-                messagingTemplate.convertAndSend(event.getTopic(), event.getPayload());
+                messagingTemplate.convertAndSend(event.topic(), event.payload());
             } catch (MessagingException | IllegalArgumentException | IllegalStateException ex) {
                 log.warn("Failed to relay event {} to topic {}: {}",
-                    event.getEventId(),
-                    event.getTopic(),
+                    event.eventId(),
+                    event.topic(),
                     ex.getMessage()
                 );
+                failed++;
 
                 // Increment retry count
                 try {
-                    incrementRetryCount(event.getEventId());
+                    incrementRetryCount(event.eventId());
                 } catch (IllegalStateException retryEx) {
                     log.error(
                         "Stopping outbox relay cycle because retry count update failed for event {}",
-                        event.getEventId(),
+                        event.eventId(),
                         retryEx
                     );
                     throw retryEx;
@@ -117,25 +193,26 @@ public class OutboxRelay {
 
             // Mark as sent
             try {
-                markSent(event.getEventId());
+                markSent(event.eventId());
             } catch (IllegalStateException markSentException) {
                 log.error(
                     "Stopping outbox relay cycle because mark-sent failed for event {}",
-                    event.getEventId(),
+                    event.eventId(),
                     markSentException
                 );
                 throw markSentException;
             }
 
-            if (event.getTopic() != null && event.getTopic().startsWith("/topic/cluster.")) {
+            if (event.topic() != null && event.topic().startsWith("/topic/cluster.")) {
                 clusterEventsRelayed++;
             }
-            log.debug("Relayed event {} to topic {}", event.getEventId(), event.getTopic());
+            log.debug("Relayed event {} to topic {}", event.eventId(), event.topic());
         }
 
         if (clusterEventsRelayed > 0) {
             log.info("Relayed {} work-cluster primary change event(s) this cycle", clusterEventsRelayed);
         }
+        return new BatchResult(events.size(), failed);
     }
 
     /**
@@ -260,13 +337,12 @@ public class OutboxRelay {
     /**
      * Outbox event data.
      */
-    @Value
-    private static class OutboxEvent {
-        UUID eventId;
-        String topic;
-        String payload;
-        int retryCount;
-    }
+    private record OutboxEvent(UUID eventId, String topic, String payload, int retryCount) {}
+
+    /**
+     * Events fetched by one batch and how many of them failed to publish.
+     */
+    private record BatchResult(int fetched, int failed) {}
 
     /**
      * Outbox statistics for monitoring.
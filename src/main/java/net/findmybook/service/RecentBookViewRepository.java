@@ -8,6 +8,7 @@ import org.springframework.scheduling.annotation.Async;
 import org.springframework.stereotype.Service;
 
 import java.sql.Timestamp;
+import java.sql.Types;
 import java.time.Instant;
 import java.util.Collections;
 import java.util.List;
@@ -47,9 +48,13 @@ public class RecentBookViewRepository {
      * @param canonicalBookId Canonical UUID string for the book that was viewed
      * @param viewedAt         Timestamp for the view (defaults to {@link Instant#now()} when null)
      * @param source           Optional source label (e.g., "web", "api")
+     * @param sessionKey       Optional anonymous session key used to group co-viewed books
      */
     @Async
-    public void recordView(String canonicalBookId, @Nullable Instant viewedAt, @Nullable String source) {
+    public void recordView(String canonicalBookId,
+                           @Nullable Instant viewedAt,
+                           @Nullable String source,
+                           @Nullable String sessionKey) {
         if (!isEnabled() || !StringUtils.hasText(canonicalBookId)) {
             return;
         }
@@ -58,15 +63,20 @@ public class RecentBookViewRepository {
 
         try {
             jdbcTemplate.update(
-                    "INSERT INTO recent_book_views (book_id, viewed_at, source) VALUES (?, ?, ?)",
+                    "INSERT INTO recent_book_views (book_id, viewed_at, source, session_key) VALUES (?, ?, ?, ?)",
                     ps -> {
                         ps.setString(1, canonicalBookId);
                         ps.setTimestamp(2, Timestamp.from(effectiveInstant));
                         if (!StringUtils.hasText(source)) {
-                            ps.setNull(3, java.sql.Types.VARCHAR);
+                            ps.setNull(3, Types.VARCHAR);
                         } else {
                             ps.setString(3, source);
                         }
+                        if (!StringUtils.hasText(sessionKey)) {
+                            ps.setNull(4, Types.VARCHAR);
+                        } else {
+                            ps.setString(4, sessionKey);
+                        }
                     }
             );
         } catch (DataAccessException ex) {
@@ -15,6 +15,7 @@
  */
 package net.findmybook.service;
 
+import jakarta.annotation.Nullable;
 import net.findmybook.model.Book;
 import net.findmybook.util.ApplicationConstants;
 import net.findmybook.util.UuidUtils;
@@ -76,6 +77,17 @@ public class RecentlyViewedService {
      * creates a defensive copy when necessary, and maintains the max-size deque without locks.
      */
     public void addToRecentlyViewed(Book book) {
+        addToRecentlyViewed(book, null);
+    }
+
+    /**
+     * Adds a book to the recently viewed list and records the view under an anonymous session.
+     *
+     * @param book the book to add to recently viewed history
+     * @param sessionKey anonymous session key grouping this view with the visitor's other views,
+     *                   or {@code null} when the view has no request context
+     */
+    public void addToRecentlyViewed(Book book, @Nullable String sessionKey) {
         if (book == null) {
             log.debug("Attempted to add a null book to recently viewed.");
             return;
@@ -149,7 +161,7 @@ public class RecentlyViewedService {
         }
 
         if (recentBookViewRepository != null && recentBookViewRepository.isEnabled()) {
-            recentBookViewRepository.recordView(finalCanonicalId, Instant.now(), "web");
+            recentBookViewRepository.recordView(finalCanonicalId, Instant.now(), "web", sessionKey);
         }
     }
 
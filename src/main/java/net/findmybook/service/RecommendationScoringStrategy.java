@@ -64,8 +64,19 @@ public class RecommendationScoringStrategy {
         Set<String> intersection = new HashSet<>(sourceCategories);
         intersection.retainAll(candidateCategories);
 
-        double overlapRatio = (double) intersection.size() /
-                PagingUtils.atLeast(Math.min(sourceCategories.size(), candidateCategories.size()), 1);
+        return categoryOverlapScore(intersection.size(), sourceCategories.size(), candidateCategories.size());
+    }
+
+    /**
+     * Calculates category overlap score from pre-computed category segment counts.
+     *
+     * @param sharedSegments normalized category segments both books carry
+     * @param sourceSegments normalized category segments of the source book
+     * @param candidateSegments normalized category segments of the candidate book
+     */
+    public double categoryOverlapScore(int sharedSegments, int sourceSegments, int candidateSegments) {
+        double overlapRatio = (double) sharedSegments /
+                PagingUtils.atLeast(Math.min(sourceSegments, candidateSegments), 1);
 
         return CATEGORY_SCORE_BASE + (overlapRatio * CATEGORY_SCORE_RANGE);
     }
@@ -87,6 +98,29 @@ public class RecommendationScoringStrategy {
         return REASON_TEXT;
     }
 
+    /**
+     * Merges candidates from every strategy into one entry per book.
+     *
+     * <p>A book found by several strategies keeps the sum of its scores and the union of its
+     * reasons, so partial result sets merge the same way whichever strategies finished.</p>
+     *
+     * @param candidates scored candidates from any subset of strategies, in any order
+     * @return merged candidates keyed by book ID; candidates without an ID are dropped
+     */
+    public Map<String, ScoredBook> mergeCandidates(Collection<ScoredBook> candidates) {
+        Map<String, ScoredBook> merged = new HashMap<>();
+        if (candidates == null) {
+            return merged;
+        }
+        for (ScoredBook candidate : candidates) {
+            if (candidate == null || candidate.book() == null || !StringUtils.hasText(candidate.book().getId())) {
+                continue;
+            }
+            merged.merge(candidate.book().getId(), candidate, ScoredBook::mergeWith);
+        }
+        return merged;
+    }
+
     /**
      * Extracts main categories from book (first segment before "/").
      */
@@ -101,6 +135,31 @@ public class RecommendationScoringStrategy {
             .toList();
     }
 
+    /** Returns how many main categories a source book contributes to a category search. */
+    public int maxMainCategories() {
+        return MAX_MAIN_CATEGORIES;
+    }
+
+    /**
+     * Splits one category path into the lowercase segments category overlap is measured on.
+     *
+     * @param category raw category such as {@code "Fiction / Science Fiction / General"}
+     * @return non-blank segments in path order; the first one is the main category
+     */
+    public List<String> normalizeCategorySegments(String category) {
+        if (category == null) {
+            return List.of();
+        }
+        List<String> segments = new ArrayList<>();
+        for (String part : category.split("\\s*/\\s*")) {
+            String trimmed = part.trim();
+            if (!trimmed.isEmpty()) {
+                segments.add(trimmed.toLowerCase(Locale.ROOT));
+            }
+        }
+        return segments;
+    }
+
     /**
      * Extracts keywords from book title and description.
      */
@@ -128,14 +187,7 @@ public class RecommendationScoringStrategy {
     private Set<String> normalizeCategories(List<String> categories) {
         Set<String> normalized = new HashSet<>();
         for (String category : categories) {
-            if (category == null) continue;
-            String[] parts = category.split("\\s*/\\s*");
-            for (String part : parts) {
-                String trimmed = part.trim();
-                if (!trimmed.isEmpty()) {
-                    normalized.add(trimmed.toLowerCase(Locale.ROOT));
-                }
-            }
+            normalized.addAll(normalizeCategorySegments(category));
         }
         return normalized;
     }
@@ -3,7 +3,9 @@
  *
  * <p>Composes {@link RecommendationScoringStrategy} (scoring, ranking, deduplication)
  * and {@link RecommendationStrategyChain} (author/category/text search orchestration)
- * to discover, score, and persist recommendation candidates.</p>
+ * to discover, score, and persist recommendation candidates. The strategies run
+ * concurrently under one shared deadline, and concurrent regenerations of the same book
+ * share a single pipeline run.</p>
  *
  * @author William Callahan
  */
@@ -22,15 +24,18 @@ import org.springframework.util.StringUtils;
 import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
 
+import java.time.Duration;
 import java.util.ArrayList;
 import java.util.Collections;
 import java.util.Comparator;
-import java.util.HashMap;
 import java.util.LinkedHashSet;
 import java.util.List;
 import java.util.Map;
 import java.util.Objects;
 import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicBoolean;
 import java.util.stream.Collectors;
 @Service
 @Slf4j
@@ -42,7 +47,10 @@ public class RecommendationService {
     private final BookDataOrchestrator bookDataOrchestrator;
     private final BookRecommendationPersistenceService recommendationPersistenceService;
     private final RecommendationStrategyChain strategyChain;
+    private final RecommendationScoringStrategy scoringStrategy;
     private final boolean externalFallbackEnabled;
+    private final Duration regenerationDeadline;
+    private final ConcurrentMap<RegenerationKey, Mono<List<Book>>> inFlightRegenerations = new ConcurrentHashMap<>();
 
     /**
      * Constructs the RecommendationService with required dependencies.
@@ -53,34 +61,47 @@ public class RecommendationService {
         this.bookDataOrchestrator = services.bookDataOrchestrator();
         this.recommendationPersistenceService = services.recommendationPersistenceService();
         this.strategyChain = strategyChain;
+        this.scoringStrategy = services.scoringStrategy();
         this.externalFallbackEnabled = config.externalFallbackEnabled();
+        this.regenerationDeadline = config.regenerationDeadline();
     }
 
     @Component
     public static class ConfigLoader {
         @Bean
         public RecommendationConfig recommendationConfig(
-            @Value("${app.features.external-fallback.enabled:${app.features.google-fallback.enabled:true}}") boolean externalFallbackEnabled
+            @Value("${app.features.external-fallback.enabled:${app.features.google-fallback.enabled:true}}") boolean externalFallbackEnabled,
+            @Value("${app.recommendations.regeneration.deadline-ms:2500}") long regenerationDeadlineMs
         ) {
-            return new RecommendationConfig(externalFallbackEnabled);
+            if (regenerationDeadlineMs < 1) {
+                throw new IllegalArgumentException("app.recommendations.regeneration.deadline-ms must be >= 1");
+            }
+            return new RecommendationConfig(externalFallbackEnabled, Duration.ofMillis(regenerationDeadlineMs));
         }
 
         @Bean
         public RecommendationServices recommendationServices(
             BookDataOrchestrator bookDataOrchestrator,
-            BookRecommendationPersistenceService recommendationPersistenceService
+            BookRecommendationPersistenceService recommendationPersistenceService,
+            RecommendationScoringStrategy scoringStrategy
         ) {
             return new RecommendationServices(
                 bookDataOrchestrator,
-                recommendationPersistenceService
+                recommendationPersistenceService,
+                scoringStrategy
             );
         }
     }
 
-    public record RecommendationConfig(boolean externalFallbackEnabled) {}
+    /**
+     * @param externalFallbackEnabled whether cache misses may run the search pipeline
+     * @param regenerationDeadline shared budget for all strategies of one regeneration; candidates found by then are kept
+     */
+    public record RecommendationConfig(boolean externalFallbackEnabled, Duration regenerationDeadline) {}
 
     public record RecommendationServices(BookDataOrchestrator bookDataOrchestrator,
-                                         BookRecommendationPersistenceService recommendationPersistenceService) {}
+                                         BookRecommendationPersistenceService recommendationPersistenceService,
+                                         RecommendationScoringStrategy scoringStrategy) {}
 
     /**
      * Generates recommendations for books similar to the specified book
@@ -208,29 +229,78 @@ public class RecommendationService {
                 .doOnNext(results -> log.debug("Hydrated {} cached recommendations for {}", results.size(), sourceBook.getId()));
     }
 
+    /**
+     * Runs the pipeline for a source book, joining a run already in flight for the same book and count.
+     *
+     * <p>The shared run is cached until it terminates, so a burst of cold misses for one book
+     * costs one set of searches and one persistence write; the next request after it finishes
+     * starts fresh.</p>
+     */
     private Mono<List<Book>> fetchRecommendationsFromApiAndUpdateCache(Book sourceBook, int effectiveCount) {
+        if (!StringUtils.hasText(sourceBook.getId())) {
+            return runRecommendationPipeline(sourceBook, effectiveCount);
+        }
+        RegenerationKey key = new RegenerationKey(sourceBook.getId(), effectiveCount);
+        return inFlightRegenerations.computeIfAbsent(key, ignored -> runRecommendationPipeline(sourceBook, effectiveCount)
+            .doFinally(signal -> inFlightRegenerations.remove(key))
+            .cache());
+    }
+
+    private Mono<List<Book>> runRecommendationPipeline(Book sourceBook, int effectiveCount) {
         return collectScoredCandidates(sourceBook)
-            .flatMap(recommendationMap -> processAndPersistRecommendations(sourceBook, recommendationMap, effectiveCount));
+            .flatMap(candidateRun -> processAndPersistRecommendations(sourceBook, candidateRun, effectiveCount));
     }
 
-    private Mono<Map<String, ScoredBook>> collectScoredCandidates(Book sourceBook) {
-        return Flux.merge(
-                strategyChain.findByAuthors(sourceBook),
-                strategyChain.findByCategories(sourceBook),
-                strategyChain.findByText(sourceBook)
-            )
-            .collect(Collectors.toMap(
-                scoredBook -> scoredBook.book().getId(),
-                scoredBook -> scoredBook,
-                ScoredBook::mergeWith,
-                HashMap::new
-            ));
+    /**
+     * Merges the strategies' candidates and records whether every strategy finished cleanly
+     * before the deadline.
+     */
+    private Mono<CandidateRun> collectScoredCandidates(Book sourceBook) {
+        return Mono.defer(() -> {
+            AtomicBoolean strategyFailed = new AtomicBoolean();
+            AtomicBoolean strategiesFinished = new AtomicBoolean();
+            return Flux.merge(
+                    isolateStrategyFailure("author", strategyChain.findByAuthors(sourceBook), sourceBook, strategyFailed),
+                    isolateStrategyFailure("category", strategyChain.findByCategories(sourceBook), sourceBook, strategyFailed),
+                    isolateStrategyFailure("text", strategyChain.findByText(sourceBook), sourceBook, strategyFailed)
+                )
+                .doOnComplete(() -> strategiesFinished.set(true))
+                .take(regenerationDeadline)
+                .collectList()
+                .map(candidates -> new CandidateRun(
+                    scoringStrategy.mergeCandidates(candidates),
+                    strategiesFinished.get() && !strategyFailed.get()
+                ));
+        });
     }
 
+    /**
+     * Isolates one strategy so its failure leaves the other strategies' candidates usable.
+     */
+    private Flux<ScoredBook> isolateStrategyFailure(String strategy,
+                                                    Flux<ScoredBook> candidates,
+                                                    Book sourceBook,
+                                                    AtomicBoolean strategyFailed) {
+        return candidates
+            .onErrorResume(error -> {
+                strategyFailed.set(true);
+                LoggingUtils.warn(log, error, "Recommendation {} strategy failed for {}; merging the remaining strategies",
+                    strategy, sourceBook.getId());
+                return Flux.empty();
+            });
+    }
+
+    /**
+     * Ranks a run's candidates and persists them only when the run was complete.
+     *
+     * <p>A run cut short by the deadline or missing a failed strategy still answers the current
+     * request, but storing it would serve the partial list for the full 30-day expiry; the next
+     * miss regenerates instead.</p>
+     */
     private Mono<List<Book>> processAndPersistRecommendations(Book sourceBook,
-                                                              Map<String, ScoredBook> recommendationMap,
+                                                              CandidateRun candidateRun,
                                                               int effectiveCount) {
-        List<ScoredBook> orderedCandidates = sortAndFilterCandidates(sourceBook, recommendationMap);
+        List<ScoredBook> orderedCandidates = sortAndFilterCandidates(sourceBook, candidateRun.candidates());
 
         if (orderedCandidates.isEmpty()) {
             log.info("No recommendations generated from API for book ID: {}", sourceBook.getId());
@@ -245,6 +315,12 @@ public class RecommendationService {
             .limit(effectiveCount)
             .toList();
 
+        if (!candidateRun.complete()) {
+            log.info("Recommendation run for book {} was partial; returning {} recommendations without persisting them.",
+                sourceBook.getId(), limitedRecommendations.size());
+            return Mono.just(limitedRecommendations);
+        }
+
         return persistRecommendations(sourceBook,
             new PersistableRecommendations(orderedCandidates, orderedBooks, limitedRecommendations));
     }
@@ -338,6 +414,14 @@ public class RecommendationService {
         return Objects.equals(sourceLang, candidate.getLanguage());
     }
 
+    private record RegenerationKey(String sourceBookId, int count) {}
+
+    /**
+     * Merged candidates of one pipeline run; {@code complete} is false when the deadline fired
+     * or a strategy failed.
+     */
+    private record CandidateRun(Map<String, ScoredBook> candidates, boolean complete) {}
+
     private record PersistableRecommendations(List<ScoredBook> orderedCandidates, List<Book> orderedBooks, List<Book> limitedRecommendations) {}
 
     private IllegalStateException logAndWrapError(Throwable cause, String context) {
@@ -1,5 +1,6 @@
 package net.findmybook.service;
 
+import jakarta.annotation.PreDestroy;
 import net.findmybook.dto.BookListItem;
 import net.findmybook.model.Book;
 import net.findmybook.repository.BookQueryRepository;
@@ -7,10 +8,12 @@ import net.findmybook.util.BookDomainMapper;
 import net.findmybook.util.ValidationUtils;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Component;
 import org.springframework.util.StringUtils;
 import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Scheduler;
 import reactor.core.scheduler.Schedulers;
 
 import java.util.ArrayList;
@@ -22,13 +25,17 @@ import java.util.Map;
 import java.util.Objects;
 import java.util.Set;
 import java.util.UUID;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Semaphore;
 import java.util.stream.Collectors;
 
 /**
  * Strategy chain for orchestrating author, category, and text-based book searches.
  *
  * <p>Encapsulates search query building and external API coordination for
- * recommendation candidate discovery.</p>
+ * recommendation candidate discovery. Each search and its list-item hydration run as one
+ * blocking task on a virtual thread, and a node-wide semaphore caps how many of those tasks
+ * hold database work at once so concurrent regenerations cannot drain the connection pool.</p>
  */
 @Component
 public class RecommendationStrategyChain {
@@ -36,20 +43,42 @@ public class RecommendationStrategyChain {
     private static final Logger log = LoggerFactory.getLogger(RecommendationStrategyChain.class);
 
     private static final int MAX_SEARCH_RESULTS = 40;
+    private static final String SEARCH_THREAD_NAME = "recommendation-search";
 
     private final BookSearchService bookSearchService;
     private final BookQueryRepository bookQueryRepository;
     private final RecommendationScoringStrategy scoringStrategy;
+    private final Semaphore searchPermits;
+    private final Scheduler searchScheduler;
 
     /**
      * Constructs the strategy chain with required dependencies.
+     *
+     * @param maxConcurrentSearches searches allowed to run against Postgres at once on this node
      */
     public RecommendationStrategyChain(BookSearchService bookSearchService,
                                         BookQueryRepository bookQueryRepository,
-                                        RecommendationScoringStrategy scoringStrategy) {
+                                        RecommendationScoringStrategy scoringStrategy,
+                                        @Value("${app.recommendations.regeneration.max-concurrent-searches:8}") int maxConcurrentSearches) {
         this.bookSearchService = Objects.requireNonNull(bookSearchService, "bookSearchService");
         this.bookQueryRepository = Objects.requireNonNull(bookQueryRepository, "bookQueryRepository");
         this.scoringStrategy = Objects.requireNonNull(scoringStrategy, "scoringStrategy");
+        if (maxConcurrentSearches < 1) {
+            throw new IllegalArgumentException("app.recommendations.regeneration.max-concurrent-searches must be >= 1");
+        }
+        this.searchPermits = new Semaphore(maxConcurrentSearches);
+        this.searchScheduler = Schedulers.fromExecutorService(
+            Executors.newThreadPerTaskExecutor(Thread.ofVirtual().name(SEARCH_THREAD_NAME + "-", 0).factory()),
+            SEARCH_THREAD_NAME
+        );
+    }
+
+    /**
+     * Stops the virtual-thread search executor, interrupting searches still waiting for a permit.
+     */
+    @PreDestroy
+    void shutdown() {
+        searchScheduler.dispose();
     }
 
     /**
@@ -139,29 +168,33 @@ public class RecommendationStrategyChain {
 
         final int safeLimit = Math.max(limit, 1);
 
-        Mono<List<BookSearchService.SearchResult>> searchMono = Mono.fromCallable(() -> bookSearchService.searchBooks(query, safeLimit))
-            .subscribeOn(Schedulers.boundedElastic());
+        return Mono.fromCallable(() -> searchAndHydrate(query, safeLimit))
+            .subscribeOn(searchScheduler);
+    }
 
-        return searchMono.flatMap(results -> {
+    private List<Book> searchAndHydrate(String query, int limit) throws InterruptedException {
+        searchPermits.acquire();
+        try {
+            List<BookSearchService.SearchResult> results = bookSearchService.searchBooks(query, limit);
             if (results == null || results.isEmpty()) {
-                return Mono.just(Collections.emptyList());
+                return Collections.emptyList();
             }
 
             List<UUID> orderedIds = results.stream()
                 .map(BookSearchService.SearchResult::bookId)
                 .filter(Objects::nonNull)
                 .distinct()
-                .limit(safeLimit)
+                .limit(limit)
                 .toList();
 
             if (orderedIds.isEmpty()) {
-                return Mono.just(Collections.emptyList());
+                return Collections.emptyList();
             }
 
-            return Mono.fromCallable(() -> bookQueryRepository.fetchBookListItems(orderedIds))
-                .subscribeOn(Schedulers.boundedElastic())
-                .map(items -> orderBooksBySearchResults(results, items, safeLimit));
-        });
+            return orderBooksBySearchResults(results, bookQueryRepository.fetchBookListItems(orderedIds), limit);
+        } finally {
+            searchPermits.release();
+        }
     }
 
     private List<Book> orderBooksBySearchResults(List<BookSearchService.SearchResult> results,
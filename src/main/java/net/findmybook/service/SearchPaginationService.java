@@ -5,10 +5,13 @@ import net.findmybook.model.Book;
 import net.findmybook.model.image.CoverImageSource;
 import net.findmybook.model.image.ImageResolutionPreference;
 import net.findmybook.repository.BookQueryRepository;
+import net.findmybook.support.search.ExternalSearchMissCache;
 import net.findmybook.support.search.GoogleExternalSearchFlow;
+import net.findmybook.support.search.LatencyPercentileTracker;
 import net.findmybook.support.search.PostgresSearchResultHydrator;
 import net.findmybook.support.search.CandidateKeyResolver;
 import net.findmybook.support.search.SearchCandidatePersistence;
+import net.findmybook.support.search.SearchCursor;
 import net.findmybook.support.search.SearchPageAssembler;
 import net.findmybook.util.ApplicationConstants;
 import net.findmybook.util.PagingUtils;
@@ -26,6 +29,7 @@ import reactor.core.publisher.Mono;
 import reactor.core.scheduler.Schedulers;
 
 import java.util.ArrayList;
+import java.util.HashSet;
 import java.util.LinkedHashMap;
 import java.time.Duration;
 import java.util.List;
@@ -34,6 +38,7 @@ import java.util.Map;
 import java.util.Objects;
 import java.util.Optional;
 import java.util.Set;
+import java.util.UUID;
 import java.util.concurrent.ConcurrentHashMap;
 
 /**
@@ -45,6 +50,18 @@ import java.util.concurrent.ConcurrentHashMap;
 public class SearchPaginationService {
 
     private static final int EXTERNAL_PROVIDER_WINDOW_CAP = ApplicationConstants.Paging.MAX_TIERED_LIMIT;
+    private static final long DEFAULT_FALLBACK_DEADLINE_MS = 2_500L;
+    private static final double DEFAULT_HEDGE_PERCENTILE = 0.95;
+    private static final long DEFAULT_HEDGE_MIN_DELAY_MS = 250L;
+    private static final long DEFAULT_MISS_CACHE_TTL_SECONDS = 600L;
+    private static final long DEFAULT_MISS_CACHE_MAX_SIZE = 10_000L;
+    private static final int OPEN_LIBRARY_LATENCY_SAMPLES = 256;
+    private static final int HEDGE_MIN_SAMPLES = 20;
+    private static final Duration MIN_FALLBACK_WAIT = Duration.ofMillis(100);
+    private static final Duration LATE_HANDOFF_BUDGET = Duration.ofSeconds(30);
+    /** Ordering every keyset page uses; the cursor position is a relevance position. */
+    public static final String KEYSET_ORDER_BY = "relevance";
+    private static final int MAX_KEYSET_SLICES_PER_PAGE = 5;
 
     private final BookSearchService bookSearchService;
     private final PostgresSearchResultHydrator postgresSearchResultHydrator;
@@ -53,6 +70,11 @@ public class SearchPaginationService {
     private final GoogleExternalSearchFlow googleExternalSearchFlow;
     private final SearchCandidatePersistence searchCandidatePersistence;
     private final SearchRealtimeCoordinator searchRealtimeCoordinator;
+    private final Duration fallbackDeadline;
+    private final double hedgePercentile;
+    private final Duration hedgeMinDelay;
+    private final LatencyPercentileTracker openLibraryLatency = new LatencyPercentileTracker(OPEN_LIBRARY_LATENCY_SAMPLES);
+    private final ExternalSearchMissCache externalSearchMissCache;
 
     SearchPaginationService(BookSearchService bookSearchService,
                             BookQueryRepository bookQueryRepository,
@@ -70,6 +92,31 @@ public class SearchPaginationService {
         );
     }
 
+    public SearchPaginationService(BookSearchService bookSearchService,
+                                   BookQueryRepository bookQueryRepository,
+                                   Optional<GoogleApiFetcher> googleApiFetcher,
+                                   Optional<GoogleBooksMapper> googleBooksMapper,
+                                   Optional<OpenLibraryBookDataService> openLibraryBookDataService,
+                                   Optional<BookDataOrchestrator> bookDataOrchestrator,
+                                   Optional<ApplicationEventPublisher> eventPublisher,
+                                   boolean persistSearchResultsEnabled) {
+        this(
+            bookSearchService,
+            bookQueryRepository,
+            googleApiFetcher,
+            googleBooksMapper,
+            openLibraryBookDataService,
+            bookDataOrchestrator,
+            eventPublisher,
+            persistSearchResultsEnabled,
+            DEFAULT_FALLBACK_DEADLINE_MS,
+            DEFAULT_HEDGE_PERCENTILE,
+            DEFAULT_HEDGE_MIN_DELAY_MS,
+            DEFAULT_MISS_CACHE_TTL_SECONDS,
+            DEFAULT_MISS_CACHE_MAX_SIZE
+        );
+    }
+
     @Autowired
     public SearchPaginationService(BookSearchService bookSearchService,
                                    BookQueryRepository bookQueryRepository,
@@ -78,7 +125,12 @@ public class SearchPaginationService {
                                    Optional<OpenLibraryBookDataService> openLibraryBookDataService,
                                    Optional<BookDataOrchestrator> bookDataOrchestrator,
                                    Optional<ApplicationEventPublisher> eventPublisher,
-                                   @Value("${app.features.persist-search-results:true}") boolean persistSearchResultsEnabled) {
+                                   @Value("${app.features.persist-search-results:true}") boolean persistSearchResultsEnabled,
+                                   @Value("${app.search.fallback.deadline-ms:2500}") long fallbackDeadlineMs,
+                                   @Value("${app.search.fallback.hedge-percentile:0.95}") double hedgePercentile,
+                                   @Value("${app.search.fallback.hedge-min-delay-ms:250}") long hedgeMinDelayMs,
+                                   @Value("${app.search.fallback.miss-cache-ttl-seconds:600}") long missCacheTtlSeconds,
+                                   @Value("${app.search.fallback.miss-cache-max-size:10000}") long missCacheMaxSize) {
         this.bookSearchService = Objects.requireNonNull(bookSearchService, "bookSearchService");
         this.postgresSearchResultHydrator = new PostgresSearchResultHydrator(bookQueryRepository);
         this.searchPageAssembler = new SearchPageAssembler();
@@ -93,18 +145,28 @@ public class SearchPaginationService {
             eventPublisher,
             persistSearchResultsEnabled
         );
+        this.fallbackDeadline = Duration.ofMillis(Math.max(MIN_FALLBACK_WAIT.toMillis(), fallbackDeadlineMs));
+        this.hedgePercentile = hedgePercentile > 0 && hedgePercentile <= 1 ? hedgePercentile : DEFAULT_HEDGE_PERCENTILE;
+        this.hedgeMinDelay = Duration.ofMillis(Math.max(0L, hedgeMinDelayMs));
+        this.externalSearchMissCache = new ExternalSearchMissCache(Duration.ofSeconds(missCacheTtlSeconds), missCacheMaxSize);
     }
 
     /**
      * Executes a postgres-first paginated search and optionally supplements the requested
      * result window with external providers.
      *
+     * <p>When the request carries a cursor, the page is served by keyset pagination instead:
+     * Postgres resumes strictly after the cursor position, so deep pages cost the same as the
+     * first page. Cursor pages are Postgres-only, skip external fallback, and always come back in
+     * relevance order.</p>
+     *
      * @param request normalized search request
      * @return page payload containing ordered items and pagination metadata
+     * @throws SearchCursor.InvalidSearchCursorException (as an error signal) when the cursor cannot be resumed
      */
     public Mono<SearchPage> search(SearchRequest request) {
         PagingUtils.Window window = PagingUtils.window(
-            request.startIndex(),
+            request.cursor() != null ? 0 : request.startIndex(),
             request.maxResults(),
             ApplicationConstants.Paging.DEFAULT_SEARCH_LIMIT,
             ApplicationConstants.Paging.MIN_SEARCH_LIMIT,
@@ -112,9 +174,104 @@ public class SearchPaginationService {
             0
         );
 
+        if (request.cursor() != null) {
+            return Mono.defer(() -> performCursorSearch(request, window, System.nanoTime()));
+        }
         return performSearch(request, window, System.nanoTime());
     }
 
+    private Mono<SearchPage> performCursorSearch(SearchRequest request,
+                                                 PagingUtils.Window window,
+                                                 long startNanos) {
+        BookSearchService.SearchPosition after = SearchCursor.isStart(request.cursor())
+            ? null
+            : SearchCursor.decode(request.cursor(), request);
+        PagingUtils.Window keysetWindow = new PagingUtils.Window(0, window.limit(), window.limit());
+
+        return Mono.fromCallable(() -> fillKeysetPage(request, after, keysetWindow))
+            .subscribeOn(Schedulers.boundedElastic())
+            .doOnNext(page -> {
+                // Only the first page can be supplemented in realtime; later pages resume a fixed position.
+                if (after == null) {
+                    searchRealtimeCoordinator.trigger(request, page);
+                }
+            })
+            .doOnNext(page -> logPageMetrics(request, keysetWindow, page, startNanos));
+    }
+
+    /**
+     * Reads keyset slices until the page is full, the result list ends, or the slice budget runs out.
+     *
+     * <p>The published-year filter, cross-slice deduplication, and cover preferences all drop rows
+     * after Postgres applied its {@code LIMIT}, so one slice can leave the page short. Each follow-up
+     * slice asks only for the rows still missing; a consumed row adds at most one page item, so the
+     * page never overflows and the cursor always points at the last row the page actually used.
+     * Pages stay in {@code search_books_after()} relevance order whatever {@code orderBy} says,
+     * because the keyset position is a relevance position.</p>
+     */
+    private SearchPage fillKeysetPage(SearchRequest request,
+                                      BookSearchService.SearchPosition after,
+                                      PagingUtils.Window keysetWindow) {
+        List<Book> candidates = new ArrayList<>();
+        Set<UUID> seenBookIds = new HashSet<>();
+        BookSearchService.SearchPosition position = after;
+        boolean hasMore = true;
+        SearchPage page = buildKeysetPage(request, candidates, keysetWindow);
+
+        for (int slices = 0;
+             slices < MAX_KEYSET_SLICES_PER_PAGE && hasMore && page.pageItems().size() < keysetWindow.limit();
+             slices++) {
+            int missing = keysetWindow.limit() - page.pageItems().size();
+            BookSearchService.SearchSlice slice = bookSearchService.searchBooksAfter(request.query(), position, missing);
+            List<BookSearchService.SearchResult> fresh = new ArrayList<>();
+            for (BookSearchService.SearchResult result
+                : postgresSearchResultHydrator.filterByPublishedYear(slice.results(), request.publishedYear())) {
+                if (result.bookId() != null && seenBookIds.add(result.bookId())) {
+                    fresh.add(result);
+                }
+            }
+            candidates.addAll(postgresSearchResultHydrator.mapOrderedResults(fresh));
+            if (slice.lastPosition() != null) {
+                position = slice.lastPosition();
+            }
+            hasMore = slice.hasMore();
+            page = buildKeysetPage(request, candidates, keysetWindow);
+        }
+
+        String nextCursor = hasMore && position != null ? SearchCursor.encode(request, position) : null;
+        return withKeysetContinuation(page, hasMore, nextCursor);
+    }
+
+    private SearchPage buildKeysetPage(SearchRequest request, List<Book> candidates, PagingUtils.Window keysetWindow) {
+        return searchPageAssembler.buildPage(
+            request.query(),
+            KEYSET_ORDER_BY,
+            request.coverSource(),
+            request.resolutionPreference(),
+            candidates,
+            keysetWindow
+        );
+    }
+
+    private static SearchPage withKeysetContinuation(SearchPage page, boolean hasMore, String nextCursor) {
+        return new SearchPage(
+            page.query(),
+            page.startIndex(),
+            page.maxResults(),
+            page.totalRequested(),
+            page.totalUnique(),
+            page.pageItems(),
+            page.uniqueResults(),
+            hasMore,
+            page.startIndex(),
+            0,
+            page.orderBy(),
+            page.coverSource(),
+            page.resolutionPreference(),
+            nextCursor
+        );
+    }
+
     private Mono<SearchPage> performSearch(SearchRequest request,
                                            PagingUtils.Window window,
                                            long startNanos) {
@@ -130,7 +287,7 @@ public class SearchPaginationService {
                 list,
                 window
             ))
-            .flatMap(page -> maybeFallback(request, window, page))
+            .flatMap(page -> maybeFallback(request, window, page, startNanos))
             .doOnNext(page -> searchRealtimeCoordinator.trigger(request, page))
             .doOnNext(page -> logPageMetrics(request, window, page, startNanos));
     }
@@ -139,10 +296,17 @@ public class SearchPaginationService {
      * Attempts to backfill empty search results using external providers while respecting runtime
      * feature flags and rate-limit guards. Open Library is the primary external provider and
      * Google Books supplements remaining slots when Open Library does not satisfy the request.
+     *
+     * <p>The fallback runs against the request's latency budget ({@code app.search.fallback.deadline-ms},
+     * measured from the start of the search). Google is started as soon as Open Library underfills,
+     * or as a hedge once Open Library has been outstanding longer than its recent latency percentile.
+     * The page is assembled from whatever both providers delivered by the deadline; candidates that
+     * arrive afterwards are persisted and pushed to subscribers through {@link SearchRealtimeCoordinator}.</p>
      */
     private Mono<SearchPage> maybeFallback(SearchRequest request,
                                            PagingUtils.Window window,
-                                           SearchPage currentPage) {
+                                           SearchPage currentPage,
+                                           long startNanos) {
         boolean openLibraryAvailable = openLibraryBookDataService.isPresent();
         boolean googleAvailable = googleExternalSearchFlow.isAvailable();
         int requestedWindow = requestedExternalWindow(window);
@@ -164,34 +328,111 @@ public class SearchPaginationService {
             return Mono.just(currentPage);
         }
 
+        Duration remainingBudget = remainingFallbackBudget(startNanos);
+
         // Always hydrate from offset 0 to keep merged sorting/slicing deterministic for later pages.
-        return streamOpenLibraryCandidates(request, 0, requestedWindow)
-            .collectList()
-            .flatMap(primaryCandidates -> {
-                if (!shouldFetchGoogleSecondary(
-                    requestedWindow,
-                    currentPage.uniqueResults(),
-                    primaryCandidates,
-                    googleAvailable,
-                    shouldSupplementCurrentPage
-                )) {
-                    return Mono.just(mergeFallbackResults(primaryCandidates, currentPage, window, request));
-                }
+        // Both streams are replayed so the deadline-bound page and the late-result handoff share one provider call each.
+        Flux<Book> primaryStream = timedOpenLibraryCandidates(request, requestedWindow, openLibraryAvailable).cache();
+        Flux<Book> secondaryStream = googleAvailable && shouldSupplementCurrentPage
+            ? hedgedGoogleCandidates(request, requestedWindow, currentPage, primaryStream, remainingBudget).cache()
+            : Flux.empty();
+
+        return Mono.zip(
+                primaryStream.take(remainingBudget).collectList(),
+                secondaryStream.take(remainingBudget).collectList()
+            )
+            .map(arrived -> {
+                List<Book> primaryCandidates = arrived.getT1();
+                List<Book> secondaryCandidates = arrived.getT2();
+                List<Book> combined = new ArrayList<>(primaryCandidates.size() + secondaryCandidates.size());
+                combined.addAll(primaryCandidates);
+                combined.addAll(secondaryCandidates);
+                SearchPage page = mergeFallbackResults(combined, currentPage, window, request);
+                forwardLateCandidates(request, page, primaryStream, primaryCandidates.size(), "OPEN_LIBRARY");
+                forwardLateCandidates(request, page, secondaryStream, secondaryCandidates.size(), "GOOGLE_BOOKS");
+                return page;
+            });
+    }
+
+    private Duration remainingFallbackBudget(long startNanos) {
+        Duration remaining = fallbackDeadline.minusNanos(System.nanoTime() - startNanos);
+        return remaining.compareTo(MIN_FALLBACK_WAIT) < 0 ? MIN_FALLBACK_WAIT : remaining;
+    }
+
+    private Flux<Book> timedOpenLibraryCandidates(SearchRequest request, int requestedWindow, boolean openLibraryAvailable) {
+        if (!openLibraryAvailable) {
+            return Flux.empty();
+        }
+        return Flux.defer(() -> {
+            long subscribedNanos = System.nanoTime();
+            return streamOpenLibraryCandidates(request, 0, requestedWindow)
+                .doOnComplete(() -> openLibraryLatency.record(Duration.ofNanos(System.nanoTime() - subscribedNanos)));
+        });
+    }
 
-                return googleExternalSearchFlow
-                    .streamCandidates(request.query(), request.orderBy(), request.publishedYear(), requestedWindow)
+    /**
+     * Starts Google when Open Library completes without filling the window, or when Open Library is
+     * still outstanding after the hedge delay, whichever happens first.
+     */
+    private Flux<Book> hedgedGoogleCandidates(SearchRequest request,
+                                              int requestedWindow,
+                                              SearchPage currentPage,
+                                              Flux<Book> primaryStream,
+                                              Duration remainingBudget) {
+        Mono<Boolean> primaryUnderfilled = primaryStream.collectList()
+            .map(primaryCandidates -> shouldFetchGoogleSecondary(
+                requestedWindow,
+                currentPage.uniqueResults(),
+                primaryCandidates,
+                true,
+                true
+            ));
+        Mono<Boolean> hedgeElapsed = Mono.delay(hedgeDelay(remainingBudget))
+            .doOnNext(ignored -> log.debug("Hedging Google fallback for '{}' while Open Library is outstanding", request.query()))
+            .thenReturn(Boolean.TRUE);
+
+        return Mono.firstWithSignal(primaryUnderfilled, hedgeElapsed)
+            .flatMapMany(startGoogle -> !startGoogle
+                ? Flux.<Book>empty()
+                : externalSearchMissCache.guard(
+                        ExternalSearchMissCache.Provider.GOOGLE_BOOKS,
+                        request.query(),
+                        request.publishedYear(),
+                        answered -> googleExternalSearchFlow.streamCandidates(
+                            request.query(), request.orderBy(), request.publishedYear(), requestedWindow, answered)
+                    )
                     .onErrorResume(ex -> {
                         log.warn("Google fallback failed for '{}': {}", request.query(), ex.getMessage());
                         return Flux.empty();
-                    })
-                    .collectList()
-                    .map(secondaryCandidates -> {
-                        List<Book> combined = new ArrayList<>(primaryCandidates.size() + secondaryCandidates.size());
-                        combined.addAll(primaryCandidates);
-                        combined.addAll(secondaryCandidates);
-                        return mergeFallbackResults(combined, currentPage, window, request);
-                    });
-            });
+                    }));
+    }
+
+    private Duration hedgeDelay(Duration remainingBudget) {
+        // Until enough samples exist, hedge halfway through the budget.
+        Duration observed = openLibraryLatency.percentile(hedgePercentile, HEDGE_MIN_SAMPLES)
+            .orElse(remainingBudget.dividedBy(2));
+        if (observed.compareTo(hedgeMinDelay) < 0) {
+            return hedgeMinDelay;
+        }
+        return observed.compareTo(remainingBudget) > 0 ? remainingBudget : observed;
+    }
+
+    private void forwardLateCandidates(SearchRequest request,
+                                       SearchPage page,
+                                       Flux<Book> replayedStream,
+                                       int arrivedCount,
+                                       String source) {
+        // A provider that never completes would otherwise pin this subscription and its buffered
+        // books indefinitely; whatever arrived within the budget is still handed off.
+        replayedStream.skip(arrivedCount)
+            .take(EXTERNAL_PROVIDER_WINDOW_CAP)
+            .take(LATE_HANDOFF_BUDGET)
+            .collectList()
+            .filter(late -> !late.isEmpty())
+            .subscribe(
+                late -> searchRealtimeCoordinator.publishLateFallbackResults(request, page, source, late),
+                ex -> log.warn("Late {} fallback handoff failed for '{}': {}", source, request.query(), ex.getMessage())
+            );
     }
 
     private int requestedExternalWindow(PagingUtils.Window window) {
@@ -241,14 +482,25 @@ public class SearchPaginationService {
 
         OpenLibraryBookDataService service = openLibraryBookDataService.get();
         Set<String> seenKeys = ConcurrentHashMap.newKeySet();
-        return service.queryBooksByEverything(query, request.orderBy(), startIndex, maxResults)
+        return externalSearchMissCache.guard(
+                ExternalSearchMissCache.Provider.OPEN_LIBRARY,
+                query,
+                request.publishedYear(),
+                answered -> service.queryBooksByEverything(query, request.orderBy(), startIndex, maxResults)
+                    // Open Library failures surface as errors; only a disabled service completes without asking it.
+                    .doOnComplete(() -> {
+                        if (service.isExternalFallbackEnabled()) {
+                            answered.run();
+                        }
+                    })
+                    .filter(Objects::nonNull)
+                    .map(SearchExternalProviderUtils::tagOpenLibraryFallback)
+                    .filter(book -> SearchExternalProviderUtils.matchesPublishedYear(book, request.publishedYear()))
+            )
             .onErrorResume(ex -> {
                 log.warn("Open Library fallback failed for '{}': {}", request.query(), ex.getMessage());
                 return Flux.empty();
             })
-            .filter(Objects::nonNull)
-            .map(SearchExternalProviderUtils::tagOpenLibraryFallback)
-            .filter(book -> SearchExternalProviderUtils.matchesPublishedYear(book, request.publishedYear()))
             .filter(book -> CandidateKeyResolver.resolve(book)
                 .filter(seenKeys::add)
                 .isPresent())
@@ -482,6 +734,7 @@ public class SearchPaginationService {
      * @param coverSource preferred cover source filter
      * @param resolutionPreference preferred cover resolution filter
      * @param publishedYear optional publication-year filter
+     * @param cursor optional keyset cursor ({@value SearchCursor#START} for the first page); overrides startIndex
      */
     public record SearchRequest(String query,
                                 int startIndex,
@@ -489,7 +742,18 @@ public class SearchPaginationService {
                                 String orderBy,
                                 CoverImageSource coverSource,
                                 ImageResolutionPreference resolutionPreference,
-                                Integer publishedYear) {
+                                Integer publishedYear,
+                                String cursor) {
+        public SearchRequest(String query,
+                             int startIndex,
+                             int maxResults,
+                             String orderBy,
+                             CoverImageSource coverSource,
+                             ImageResolutionPreference resolutionPreference,
+                             Integer publishedYear) {
+            this(query, startIndex, maxResults, orderBy, coverSource, resolutionPreference, publishedYear, null);
+        }
+
         public SearchRequest(String query,
                              int startIndex,
                              int maxResults,
@@ -505,6 +769,7 @@ public class SearchPaginationService {
             coverSource = Optional.ofNullable(coverSource).orElse(CoverImageSource.ANY);
             resolutionPreference = Optional.ofNullable(resolutionPreference).orElse(ImageResolutionPreference.ANY);
             publishedYear = publishedYear != null && publishedYear > 0 ? publishedYear : null;
+            cursor = StringUtils.hasText(cursor) ? cursor.trim() : null;
         }
     }
 
@@ -524,6 +789,7 @@ public class SearchPaginationService {
      * @param orderBy normalized ordering key applied by the assembler
      * @param coverSource effective cover source filter applied by the assembler
      * @param resolutionPreference effective resolution preference applied by the assembler
+     * @param nextCursor keyset cursor for the next page, or {@code null} for offset pages and the last cursor page
      */
     public record SearchPage(String query,
                              int startIndex,
@@ -537,6 +803,23 @@ public class SearchPaginationService {
                              int prefetchedCount,
                              String orderBy,
                              CoverImageSource coverSource,
-                             ImageResolutionPreference resolutionPreference) {
+                             ImageResolutionPreference resolutionPreference,
+                             String nextCursor) {
+        public SearchPage(String query,
+                          int startIndex,
+                          int maxResults,
+                          int totalRequested,
+                          int totalUnique,
+                          List<Book> pageItems,
+                          List<Book> uniqueResults,
+                          boolean hasMore,
+                          int nextStartIndex,
+                          int prefetchedCount,
+                          String orderBy,
+                          CoverImageSource coverSource,
+                          ImageResolutionPreference resolutionPreference) {
+            this(query, startIndex, maxResults, totalRequested, totalUnique, pageItems, uniqueResults,
+                hasMore, nextStartIndex, prefetchedCount, orderBy, coverSource, resolutionPreference, null);
+        }
     }
 }
@@ -113,6 +113,42 @@ final class SearchRealtimeCoordinator {
             );
     }
 
+    /**
+     * Hands off external fallback candidates that arrived after the paginated response's latency
+     * budget expired. They are persisted so follow-up clicks resolve, and first-page subscribers
+     * receive the ones not already on the page (or already streamed) as a results update.
+     *
+     * @param request originating search request
+     * @param page page that was returned without these candidates
+     * @param source provider label ({@code OPEN_LIBRARY} or {@code GOOGLE_BOOKS})
+     * @param lateCandidates candidates delivered after the deadline
+     */
+    void publishLateFallbackResults(SearchPaginationService.SearchRequest request,
+                                    SearchPaginationService.SearchPage page,
+                                    String source,
+                                    List<Book> lateCandidates) {
+        if (lateCandidates == null || lateCandidates.isEmpty()) {
+            return;
+        }
+        String queryHash = SearchQueryUtils.topicKey(request.query());
+        SearchRealtimeState state = realtimeStates.get(queryHash, unused -> new SearchRealtimeState());
+        state.prepareForLateResults(realtimeSignature(request), page.totalUnique(), page.uniqueResults());
+
+        List<Book> unseen = lateCandidates.stream()
+            .filter(Objects::nonNull)
+            .filter(book -> StringUtils.hasText(book.getId()))
+            .filter(state::registerCandidate)
+            .toList();
+        if (unseen.isEmpty()) {
+            return;
+        }
+        searchCandidatePersistence.persist(unseen, "SEARCH");
+        if (request.startIndex() != 0 || eventPublisher.isEmpty()) {
+            return;
+        }
+        publishResults(request.query(), unseen, source, state.addToTotalAndGet(unseen.size()), queryHash, false);
+    }
+
     private Flux<RealtimeCandidate> googleRealtimeCandidates(SearchPaginationService.SearchRequest request,
                                                               String queryHash) {
         if (!googleExternalSearchFlow.isAvailable()) {
@@ -261,6 +297,24 @@ final class SearchRealtimeCoordinator {
             return streaming.compareAndSet(false, true);
         }
 
+        /**
+         * Seeds dedupe keys without claiming the streaming slot, so late fallback results and an
+         * in-flight realtime stream share one emitted-key set.
+         */
+        synchronized void prepareForLateResults(String newSignature, int baselineTotal, List<Book> existingResults) {
+            if (!Objects.equals(signature, newSignature)) {
+                emittedKeys.clear();
+                signature = newSignature;
+                totalResults.set(0);
+            }
+            totalResults.accumulateAndGet(Math.max(0, baselineTotal), Math::max);
+            if (existingResults != null) {
+                for (Book existing : existingResults) {
+                    CandidateKeyResolver.resolve(existing).ifPresent(emittedKeys::add);
+                }
+            }
+        }
+
         boolean registerCandidate(Book candidate) {
             return CandidateKeyResolver.resolve(candidate)
                 .filter(emittedKeys::add)
@@ -274,5 +328,9 @@ final class SearchRealtimeCoordinator {
         int incrementTotalAndGet() {
             return totalResults.incrementAndGet();
         }
+
+        int addToTotalAndGet(int delta) {
+            return totalResults.addAndGet(delta);
+        }
     }
 }
@@ -0,0 +1,165 @@
+package net.findmybook.service;
+
+import com.github.benmanes.caffeine.cache.AsyncCache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import net.findmybook.util.SearchQueryUtils;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.function.IntFunction;
+
+/**
+ * First-level in-process cache for deduplicated {@code search_books()} results.
+ *
+ * <p>Entries are keyed by the canonical query text alone and hold the widest result window
+ * loaded for it, so every page of a popular query is sliced from one database round-trip.
+ * A window that stopped before the trigram tier only covers requests up to its size; a wider
+ * request replaces it once with a complete load. Trigram matches can outrank full-text rows, so
+ * the widened window keeps the earlier window as its prefix and appends only the rows it adds;
+ * pages already served from the entry keep their positions and later pages neither repeat nor
+ * skip them. Loads are single-flight: concurrent callers
+ * for the same key wait on the first caller's in-flight load instead of issuing their own
+ * query. Failed loads are never cached.</p>
+ *
+ * <p>The cache mirrors {@code book_search_view} but routine drains of queued search document
+ * changes do not invalidate it, since the drain finds changes almost every cycle on a live
+ * catalog; those entries reflect rebuilt documents at most one TTL later. Drains that follow
+ * persisted external-fallback books do invalidate it, so a query that missed in Postgres does
+ * not keep serving its short window and re-running the fallback until the TTL expires. Results
+ * are hydrated by id, so only the matched set and its order can lag.</p>
+ */
+final class SearchResultCache {
+
+    static final int DEFAULT_MAXIMUM_SIZE = 2_000;
+    static final Duration DEFAULT_TIME_TO_LIVE = Duration.ofMinutes(5);
+
+    private final AsyncCache<String, CachedWindow> cache;
+
+    SearchResultCache() {
+        this(DEFAULT_MAXIMUM_SIZE, DEFAULT_TIME_TO_LIVE);
+    }
+
+    SearchResultCache(int maximumSize, Duration timeToLive) {
+        this.cache = Caffeine.newBuilder()
+            .maximumSize(maximumSize)
+            .expireAfterWrite(timeToLive)
+            .recordStats()
+            .buildAsync();
+    }
+
+    /**
+     * Returns a cached window covering {@code required} results or loads one on the calling thread.
+     *
+     * @param query raw or normalized search text
+     * @param required results the caller needs, counted from the first result
+     * @param loader database loader; receives the results the load must cover, or
+     *               {@link Integer#MAX_VALUE} when it must load the complete window
+     * @return immutable deduplicated window, possibly longer than {@code required}
+     */
+    CachedWindow getOrLoad(String query, int required, IntFunction<CachedWindow> loader) {
+        String key = SearchQueryUtils.canonicalize(SearchQueryUtils.normalize(query));
+        while (true) {
+            CompletableFuture<CachedWindow> created = new CompletableFuture<>();
+            CompletableFuture<CachedWindow> shared = cache.get(key, (ignoredKey, executor) -> created);
+            if (shared == created) {
+                return load(created, required, loader);
+            }
+            CachedWindow cached = await(shared);
+            if (cached.covers(required)) {
+                return cached;
+            }
+            // Widen the entry once; losing the race means another caller already replaced or dropped it.
+            CompletableFuture<CachedWindow> widened = new CompletableFuture<>();
+            if (cache.asMap().replace(key, shared, widened)) {
+                return load(widened, Integer.MAX_VALUE, complete -> cached.extendedBy(loader.apply(complete)));
+            }
+        }
+    }
+
+    private static CachedWindow load(CompletableFuture<CachedWindow> target,
+                                     int required,
+                                     IntFunction<CachedWindow> loader) {
+        try {
+            CachedWindow loaded = loader.apply(required);
+            target.complete(loaded);
+            return loaded;
+        } catch (RuntimeException | Error ex) {
+            // Exceptionally completed futures are evicted automatically, so waiters see the failure once.
+            target.completeExceptionally(ex);
+            throw ex;
+        }
+    }
+
+    /**
+     * Drops every cached window, including in-flight loads, so the next search reads fresh rows.
+     */
+    void invalidateAll() {
+        cache.synchronous().invalidateAll();
+    }
+
+    long estimatedSize() {
+        return cache.synchronous().estimatedSize();
+    }
+
+    private static CachedWindow await(CompletableFuture<CachedWindow> future) {
+        try {
+            return future.join();
+        } catch (CompletionException ex) {
+            if (ex.getCause() instanceof RuntimeException runtimeException) {
+                throw runtimeException;
+            }
+            throw ex;
+        }
+    }
+
+    /**
+     * Deduplicated results of one load.
+     *
+     * @param results results in {@code search_books()} order
+     * @param complete {@code true} when no wider request can find more results
+     */
+    record CachedWindow(List<BookSearchService.SearchResult> results, boolean complete) {
+
+        CachedWindow {
+            results = List.copyOf(results);
+        }
+
+        boolean covers(int required) {
+            return complete || results.size() >= required;
+        }
+
+        /**
+         * Appends the rows of a wider load that this window does not already hold.
+         *
+         * @param wider window loaded for a larger request
+         * @return window whose first rows are this window's rows, in their original order
+         */
+        CachedWindow extendedBy(CachedWindow wider) {
+            Set<UUID> present = new HashSet<>();
+            List<BookSearchService.SearchResult> merged = new ArrayList<>(results.size() + wider.results().size());
+            for (BookSearchService.SearchResult result : results) {
+                present.add(result.bookId());
+                merged.add(result);
+            }
+            for (BookSearchService.SearchResult result : wider.results()) {
+                if (present.add(result.bookId())) {
+                    merged.add(result);
+                }
+            }
+            return new CachedWindow(merged, wider.complete());
+        }
+
+        /**
+         * @return the first {@code limit} results
+         */
+        List<BookSearchService.SearchResult> firstResults(int limit) {
+            return results.size() <= limit ? results : results.subList(0, limit);
+        }
+    }
+}
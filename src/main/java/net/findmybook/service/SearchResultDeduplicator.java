@@ -2,7 +2,6 @@ package net.findmybook.service;
 
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
-import org.springframework.jdbc.core.JdbcTemplate;
 
 import java.util.HashMap;
 import java.util.LinkedHashMap;
@@ -10,7 +9,6 @@ import java.util.List;
 import java.util.Map;
 import java.util.Objects;
 import java.util.UUID;
-import java.util.stream.Collectors;
 
 /**
  * Collapses multiple editions returned by the search function so each work
@@ -22,57 +20,49 @@ import java.util.stream.Collectors;
  *   <li>Title+Author-based: group remaining unclustered books by normalized title+authors</li>
  * </ol>
  *
+ * <p>Both passes run in memory: {@code search_books()} returns each row's primary edition
+ * and normalized title/author key, so deduplication adds no database round-trips.</p>
+ *
  * <p>Extracted from {@link BookSearchService} to keep it under the LOC ceiling.</p>
  */
 final class SearchResultDeduplicator {
 
     private static final Logger log = LoggerFactory.getLogger(SearchResultDeduplicator.class);
 
-    private final JdbcTemplate jdbcTemplate;
-
-    SearchResultDeduplicator(JdbcTemplate jdbcTemplate) {
-        this.jdbcTemplate = jdbcTemplate;
-    }
-
-    List<BookSearchService.SearchResult> deduplicate(List<BookSearchService.SearchResult> rawResults) {
-        if (rawResults == null || rawResults.isEmpty()) {
+    List<BookSearchService.SearchResult> deduplicate(List<Candidate> candidates) {
+        if (candidates == null || candidates.isEmpty()) {
             return List.of();
         }
 
-        List<UUID> editionIds = rawResults.stream()
-            .map(BookSearchService.SearchResult::bookId)
-            .filter(Objects::nonNull)
-            .distinct()
-            .collect(Collectors.toList());
-
-        Map<UUID, ClusterMapping> clusterMappings = fetchClusterMappings(editionIds);
-        Map<UUID, TitleAuthorKey> titleAuthorKeys = fetchTitleAuthorKeys(editionIds);
-
-        Map<UUID, BookSearchService.SearchResult> byCluster = deduplicateByCluster(rawResults, clusterMappings);
+        Map<UUID, String> titleAuthorKeys = new HashMap<>();
+        Map<UUID, BookSearchService.SearchResult> byCluster = deduplicateByCluster(candidates, titleAuthorKeys);
         return deduplicateByTitleAuthor(byCluster, titleAuthorKeys);
     }
 
     private Map<UUID, BookSearchService.SearchResult> deduplicateByCluster(
-            List<BookSearchService.SearchResult> rawResults,
-            Map<UUID, ClusterMapping> clusterMappings) {
+            List<Candidate> candidates,
+            Map<UUID, String> titleAuthorKeys) {
 
         Map<UUID, BookSearchService.SearchResult> byCluster = new LinkedHashMap<>();
         Map<UUID, UUID> clusterCanonical = new HashMap<>();
 
-        for (BookSearchService.SearchResult result : rawResults) {
-            UUID editionId = result.bookId();
-            if (editionId == null) {
+        for (Candidate candidate : candidates) {
+            if (candidate == null) {
                 continue;
             }
-            ClusterMapping mapping = clusterMappings.get(editionId);
-            UUID clusterId = mapping != null ? mapping.clusterId() : result.clusterId();
-            UUID canonicalId = resolveCanonicalId(editionId, mapping, clusterId, clusterCanonical);
-            int editionCount = Math.max(mapping != null ? mapping.editionCount() : result.editionCount(), 1);
+            BookSearchService.SearchResult result = candidate.result();
+            UUID editionId = result.bookId();
+            UUID clusterId = result.clusterId();
+            UUID canonicalId = resolveCanonicalId(editionId, candidate, clusterId, clusterCanonical);
+            int editionCount = Math.max(result.editionCount(), 1);
 
             BookSearchService.SearchResult existing = byCluster.get(canonicalId);
             if (existing == null) {
                 byCluster.put(canonicalId, new BookSearchService.SearchResult(
                         canonicalId, result.relevanceScore(), result.matchType(), new BookSearchService.ClusterInfo(editionCount, clusterId)));
+                if (candidate.titleAuthorKey() != null) {
+                    titleAuthorKeys.put(canonicalId, candidate.titleAuthorKey());
+                }
             } else {
                 byCluster.put(canonicalId, mergeResults(existing, result, editionCount, clusterId));
             }
@@ -80,14 +70,14 @@ final class SearchResultDeduplicator {
         return byCluster;
     }
 
-    private UUID resolveCanonicalId(UUID editionId, ClusterMapping mapping, UUID clusterId,
+    private UUID resolveCanonicalId(UUID editionId, Candidate candidate, UUID clusterId,
                                     Map<UUID, UUID> clusterCanonical) {
         UUID canonicalId = null;
-        if (mapping != null && mapping.primaryId() != null) {
-            canonicalId = mapping.primaryId();
+        if (candidate.primaryBookId() != null) {
+            canonicalId = candidate.primaryBookId();
             if (clusterId != null) {
                 clusterCanonical.putIfAbsent(clusterId, canonicalId);
-                if (!mapping.hasExplicitPrimary() && mapping.editionCount() > 1 && log.isDebugEnabled()) {
+                if (!candidate.hasExplicitPrimary() && candidate.result().editionCount() > 1 && log.isDebugEnabled()) {
                     log.debug("Cluster {} lacks explicit primary edition; using {} as canonical for search dedupe",
                             clusterId, canonicalId);
                 }
@@ -101,26 +91,26 @@ final class SearchResultDeduplicator {
 
     private List<BookSearchService.SearchResult> deduplicateByTitleAuthor(
             Map<UUID, BookSearchService.SearchResult> byCluster,
-            Map<UUID, TitleAuthorKey> titleAuthorKeys) {
+            Map<UUID, String> titleAuthorKeys) {
 
         Map<String, BookSearchService.SearchResult> byTitleAuthor = new LinkedHashMap<>();
         for (BookSearchService.SearchResult result : byCluster.values()) {
-            TitleAuthorKey key = titleAuthorKeys.get(result.bookId());
-            if (key == null || key.normalizedKey() == null) {
+            String key = titleAuthorKeys.get(result.bookId());
+            if (key == null) {
                 byTitleAuthor.put(result.bookId().toString(), result);
                 continue;
             }
 
-            BookSearchService.SearchResult existing = byTitleAuthor.get(key.normalizedKey());
+            BookSearchService.SearchResult existing = byTitleAuthor.get(key);
             if (existing == null) {
-                byTitleAuthor.put(key.normalizedKey(), result);
+                byTitleAuthor.put(key, result);
             } else {
                 double bestScore = Math.max(existing.relevanceScore(), result.relevanceScore());
                 String matchType = bestScore == existing.relevanceScore() ? existing.matchType() : result.matchType();
                 int combinedEditionCount = existing.editionCount() + result.editionCount();
                 UUID canonicalId = bestScore == existing.relevanceScore() ? existing.bookId() : result.bookId();
                 UUID clusterId = existing.clusterId() != null ? existing.clusterId() : result.clusterId();
-                byTitleAuthor.put(key.normalizedKey(),
+                byTitleAuthor.put(key,
                         new BookSearchService.SearchResult(canonicalId, bestScore, matchType, new BookSearchService.ClusterInfo(combinedEditionCount, clusterId)));
             }
         }
@@ -139,104 +129,24 @@ final class SearchResultDeduplicator {
         return new BookSearchService.SearchResult(existing.bookId(), bestScore, matchType, new BookSearchService.ClusterInfo(combinedEditionCount, effectiveClusterId));
     }
 
-    private Map<UUID, TitleAuthorKey> fetchTitleAuthorKeys(List<UUID> bookIds) {
-        if (bookIds == null || bookIds.isEmpty() || jdbcTemplate == null) {
-            return Map.of();
+    /**
+     * One raw {@code search_books()} row plus the dedupe hints computed alongside it.
+     *
+     * @param result raw search hit for the matched edition
+     * @param primaryBookId primary edition of the hit's work cluster, or {@code null} when unknown
+     * @param hasExplicitPrimary whether the cluster flags an explicit primary edition
+     * @param titleAuthorKey normalized title/author key of the primary edition, or {@code null} when unknown
+     */
+    record Candidate(BookSearchService.SearchResult result,
+                     UUID primaryBookId,
+                     boolean hasExplicitPrimary,
+                     String titleAuthorKey) {
+        Candidate {
+            Objects.requireNonNull(result, "result");
         }
 
-        String placeholders = bookIds.stream()
-            .map(id -> "?")
-            .collect(Collectors.joining(","));
-
-        String sql = """
-            SELECT
-                b.id AS book_id,
-                normalize_title_for_clustering(b.title) AS normalized_title,
-                get_normalized_authors(b.id) AS normalized_authors
-            FROM books b
-            WHERE b.id IN (%s)
-            """.formatted(placeholders);
-
-        return jdbcTemplate.query(sql, ps -> {
-            for (int i = 0; i < bookIds.size(); i++) {
-                ps.setObject(i + 1, bookIds.get(i));
-            }
-        }, rs -> {
-            Map<UUID, TitleAuthorKey> map = new HashMap<>();
-            while (rs.next()) {
-                UUID bookId = (UUID) rs.getObject("book_id");
-                String title = rs.getString("normalized_title");
-                String authors = rs.getString("normalized_authors");
-                String key = (title != null ? title : "") + "::" + (authors != null ? authors : "");
-                map.put(bookId, new TitleAuthorKey(key));
-            }
-            return map;
-        });
-    }
-
-    private Map<UUID, ClusterMapping> fetchClusterMappings(List<UUID> bookIds) {
-        if (bookIds == null || bookIds.isEmpty() || jdbcTemplate == null) {
-            return Map.of();
+        Candidate(BookSearchService.SearchResult result) {
+            this(result, null, false, null);
         }
-
-        String placeholders = bookIds.stream()
-            .map(id -> "?")
-            .collect(Collectors.joining(","));
-
-        String sql = """
-            SELECT
-                wcm.book_id AS edition_id,
-                COALESCE(primary_wcm.book_id, fallback_wcm.book_id, wcm.book_id) AS resolved_primary_book_id,
-                wcm.cluster_id,
-                COALESCE(wc.member_count, 1) AS edition_count,
-                primary_wcm.book_id IS NOT NULL AS has_primary
-            FROM work_cluster_members wcm
-            LEFT JOIN work_cluster_members primary_wcm
-              ON primary_wcm.cluster_id = wcm.cluster_id
-             AND primary_wcm.is_primary = true
-            LEFT JOIN LATERAL (
-                SELECT wcm2.book_id
-                FROM work_cluster_members wcm2
-                WHERE wcm2.cluster_id = wcm.cluster_id
-                ORDER BY wcm2.confidence DESC NULLS LAST, wcm2.book_id
-                LIMIT 1
-            ) fallback_wcm ON TRUE
-            LEFT JOIN work_clusters wc ON wc.id = wcm.cluster_id
-            WHERE wcm.book_id IN (%s)
-            """.formatted(placeholders);
-
-        return jdbcTemplate.query(
-            sql,
-            ps -> {
-                for (int i = 0; i < bookIds.size(); i++) {
-                    ps.setObject(i + 1, bookIds.get(i));
-                }
-            },
-            rs -> {
-                Map<UUID, ClusterMapping> mappings = new HashMap<>();
-                while (rs.next()) {
-                    UUID editionId = (UUID) rs.getObject("edition_id");
-                    UUID primaryId = (UUID) rs.getObject("resolved_primary_book_id");
-                    UUID clusterId = (UUID) rs.getObject("cluster_id");
-                    int editionCount = rs.getInt("edition_count");
-                    boolean hasPrimary = rs.getBoolean("has_primary");
-                    if (editionId != null) {
-                        mappings.put(editionId, new ClusterMapping(
-                            primaryId != null ? primaryId : editionId,
-                            clusterId,
-                            editionCount > 0 ? editionCount : 1,
-                            hasPrimary
-                        ));
-                    }
-                }
-                return mappings;
-            }
-        );
-    }
-
-    private record ClusterMapping(UUID primaryId, UUID clusterId, int editionCount, boolean hasExplicitPrimary) {
-    }
-
-    private record TitleAuthorKey(String normalizedKey) {
     }
 }
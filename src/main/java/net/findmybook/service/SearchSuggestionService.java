@@ -0,0 +1,225 @@
+package net.findmybook.service;
+
+import jakarta.annotation.Nullable;
+import lombok.extern.slf4j.Slf4j;
+import net.findmybook.support.search.PrefixSuggestionIndex;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataAccessException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.util.StringUtils;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.Objects;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Serves search-as-you-type suggestions from an in-memory {@link PrefixSuggestionIndex}.
+ *
+ * <p>Lookups never touch the database: the index is rebuilt in the background from
+ * {@code book_search_view} titles and author names, ranked by recent detail-page views, and
+ * swapped in atomically so readers always see a complete snapshot. Until the first build
+ * completes (or when no database is configured) suggestions are empty.</p>
+ */
+@Service
+@Slf4j
+public class SearchSuggestionService {
+
+    static final int DEFAULT_LIMIT = 8;
+    static final int MAX_LIMIT = 20;
+    private static final int TOP_K_PER_NODE = MAX_LIMIT * 2;
+    private static final int MAX_INDEXED_DEPTH = 32;
+    private static final List<String> LEADING_ARTICLES = List.of("the ", "a ", "an ");
+
+    private static final String BOOK_SUGGESTIONS_SQL = """
+        SELECT bsv.book_id::text AS book_id,
+               bsv.title,
+               bsv.slug,
+               bsv.authors,
+               COALESCE(v.view_count, 0) AS view_count
+        FROM book_search_view bsv
+        LEFT JOIN (
+            SELECT rbv.book_id, COUNT(*) AS view_count
+            FROM recent_book_views rbv
+            WHERE rbv.viewed_at >= now() - make_interval(days => ?)
+            GROUP BY rbv.book_id
+        ) v ON v.book_id = bsv.book_id::text
+        WHERE bsv.title IS NOT NULL
+        ORDER BY view_count DESC, bsv.book_id
+        LIMIT ?
+        """;
+
+    private static final String AUTHOR_SUGGESTIONS_SQL = """
+        SELECT a.id AS author_id,
+               a.name,
+               COUNT(DISTINCT ba.book_id) AS book_count,
+               COALESCE(SUM(v.view_count), 0) AS view_count
+        FROM authors a
+        JOIN book_authors_join ba ON ba.author_id = a.id
+        LEFT JOIN (
+            SELECT rbv.book_id, COUNT(*) AS view_count
+            FROM recent_book_views rbv
+            WHERE rbv.viewed_at >= now() - make_interval(days => ?)
+            GROUP BY rbv.book_id
+        ) v ON v.book_id = ba.book_id::text
+        GROUP BY a.id, a.name
+        ORDER BY view_count DESC, book_count DESC, a.id
+        LIMIT ?
+        """;
+
+    private final JdbcTemplate jdbcTemplate;
+    private final int maxBooks;
+    private final int maxAuthors;
+    private final int viewWindowDays;
+    private final AtomicBoolean rebuilding = new AtomicBoolean(false);
+    private volatile PrefixSuggestionIndex<Suggestion> index = PrefixSuggestionIndex.empty();
+
+    public SearchSuggestionService(@Nullable JdbcTemplate jdbcTemplate,
+                                   @Value("${app.search.suggest.max-books:100000}") int maxBooks,
+                                   @Value("${app.search.suggest.max-authors:25000}") int maxAuthors,
+                                   @Value("${app.search.suggest.view-window-days:30}") int viewWindowDays) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.maxBooks = Math.max(0, maxBooks);
+        this.maxAuthors = Math.max(0, maxAuthors);
+        this.viewWindowDays = Math.max(1, viewWindowDays);
+    }
+
+    /**
+     * Returns the best suggestions for a typed prefix from the current in-memory snapshot.
+     *
+     * @param prefix raw user input
+     * @param limit requested suggestion count (clamped to {@code 1..20})
+     * @return suggestions ordered by popularity, never {@code null}
+     */
+    public List<Suggestion> suggest(String prefix, int limit) {
+        if (!StringUtils.hasText(prefix)) {
+            return List.of();
+        }
+        int safeLimit = limit <= 0 ? DEFAULT_LIMIT : Math.min(limit, MAX_LIMIT);
+        return index.suggest(prefix, safeLimit, Suggestion::identity);
+    }
+
+    /**
+     * Number of keys in the current snapshot.
+     */
+    public int indexedKeyCount() {
+        return index.size();
+    }
+
+    /**
+     * Rebuilds the suggestion snapshot from Postgres and swaps it in. Concurrent calls collapse
+     * into the one already running; failures keep the previous snapshot.
+     *
+     * @return number of indexed keys in the active snapshot
+     */
+    public int rebuild() {
+        if (jdbcTemplate == null || !rebuilding.compareAndSet(false, true)) {
+            return index.size();
+        }
+        try {
+            long startNanos = System.nanoTime();
+            List<PrefixSuggestionIndex.Entry<Suggestion>> entries = new ArrayList<>();
+            loadBookEntries(entries);
+            loadAuthorEntries(entries);
+            PrefixSuggestionIndex<Suggestion> rebuilt = PrefixSuggestionIndex.build(entries, TOP_K_PER_NODE, MAX_INDEXED_DEPTH);
+            index = rebuilt;
+            log.info("Rebuilt search suggestion index with {} key(s) in {} ms",
+                rebuilt.size(), (System.nanoTime() - startNanos) / 1_000_000L);
+            return rebuilt.size();
+        } catch (DataAccessException ex) {
+            log.warn("Search suggestion index rebuild failed; keeping previous snapshot: {}", ex.getMessage());
+            return index.size();
+        } finally {
+            rebuilding.set(false);
+        }
+    }
+
+    private void loadBookEntries(List<PrefixSuggestionIndex.Entry<Suggestion>> entries) {
+        if (maxBooks == 0) {
+            return;
+        }
+        jdbcTemplate.query(BOOK_SUGGESTIONS_SQL, rs -> {
+            String title = rs.getString("title");
+            if (!StringUtils.hasText(title)) {
+                return;
+            }
+            long views = rs.getLong("view_count");
+            Suggestion suggestion = new Suggestion(
+                Suggestion.TYPE_BOOK,
+                rs.getString("book_id"),
+                title,
+                rs.getString("slug"),
+                rs.getString("authors"),
+                views
+            );
+            entries.add(new PrefixSuggestionIndex.Entry<>(title, views, suggestion));
+            String withoutArticle = stripLeadingArticle(title);
+            if (withoutArticle != null) {
+                entries.add(new PrefixSuggestionIndex.Entry<>(withoutArticle, views, suggestion));
+            }
+        }, viewWindowDays, maxBooks);
+    }
+
+    private void loadAuthorEntries(List<PrefixSuggestionIndex.Entry<Suggestion>> entries) {
+        if (maxAuthors == 0) {
+            return;
+        }
+        jdbcTemplate.query(AUTHOR_SUGGESTIONS_SQL, rs -> {
+            String name = rs.getString("name");
+            if (!StringUtils.hasText(name)) {
+                return;
+            }
+            long views = rs.getLong("view_count");
+            int bookCount = rs.getInt("book_count");
+            Suggestion suggestion = new Suggestion(
+                Suggestion.TYPE_AUTHOR,
+                rs.getString("author_id"),
+                name,
+                null,
+                bookCount == 1 ? "1 book" : bookCount + " books",
+                views
+            );
+            // Authors rank on their books' combined views, with catalog depth breaking ties.
+            entries.add(new PrefixSuggestionIndex.Entry<>(name, views + bookCount, suggestion));
+        }, viewWindowDays, maxAuthors);
+    }
+
+    private static String stripLeadingArticle(String title) {
+        String lower = title.toLowerCase(Locale.ROOT);
+        for (String article : LEADING_ARTICLES) {
+            if (lower.startsWith(article) && lower.length() > article.length()) {
+                return title.substring(article.length());
+            }
+        }
+        return null;
+    }
+
+    /**
+     * One typeahead suggestion.
+     *
+     * @param type {@code book} or {@code author}
+     * @param id book UUID or author identifier
+     * @param text display text (title or author name)
+     * @param slug book slug for direct navigation, {@code null} for authors
+     * @param detail secondary line (book authors, or author book count)
+     * @param popularity recent detail-page views used for ranking
+     */
+    public record Suggestion(String type, String id, String text, String slug, String detail, long popularity) {
+        public static final String TYPE_BOOK = "book";
+        public static final String TYPE_AUTHOR = "author";
+
+        public Suggestion {
+            Objects.requireNonNull(type, "type");
+            Objects.requireNonNull(text, "text");
+        }
+
+        /**
+         * Collapses duplicate editions that share a title and author line into one suggestion.
+         */
+        String identity() {
+            return type + "|" + text.toLowerCase(Locale.ROOT) + "|" + (detail == null ? "" : detail.toLowerCase(Locale.ROOT));
+        }
+    }
+}
@@ -0,0 +1,259 @@
+package net.findmybook.service;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+/**
+ * Executes the {@code search_books()} strategies as separate statements so cheap tiers can
+ * short-circuit the expensive one.
+ *
+ * <p>The exact-title and full-text tiers run concurrently on virtual threads. The trigram tier
+ * only runs when those two leave the requested window unfilled, and it excludes books they
+ * already matched. Merging mirrors {@code search_books_after()}: earlier tiers win per book and
+ * the best row per work cluster survives. The survivors are ranked and limited by
+ * {@code search_books_tier_rank()}, so the relevance, title, and work-key order uses the
+ * database collation, and dedupe hints are resolved only for the rows returned.</p>
+ *
+ * <p>Per-tier latency, plus the ranking statement as {@code tier=rank}, is exported as
+ * {@code book.search.tier.duration} (tag {@code tier}) and trigram short-circuits as
+ * {@code book.search.tier.fuzzy} (tag {@code outcome}).</p>
+ */
+final class TieredSearchExecutor {
+
+    static final int EXACT_TIER_LIMIT = 50;
+    static final int FULLTEXT_TIER_LIMIT = 100;
+    static final int FUZZY_TIER_LIMIT = 50;
+
+    private static final String TIER_SQL = "SELECT * FROM search_books_tier_candidates(?, ?, ?, ?)";
+    private static final String RANK_SQL = "SELECT * FROM search_books_tier_rank(?, ?, ?, ?, ?)";
+    private static final String EXACT = "exact";
+    private static final String FULLTEXT = "fulltext";
+    private static final String FUZZY = "fuzzy";
+    private static final String RANK = "rank";
+
+    private static final Comparator<TierRow> BEST_IN_WORK = Comparator
+        .comparingDouble(TierRow::relevanceScore).reversed()
+        .thenComparing(TierRow::isPrimary, Comparator.reverseOrder())
+        .thenComparing(TierRow::hasHighResCover, Comparator.reverseOrder())
+        .thenComparing(TierRow::publishedDate, Comparator.nullsLast(Comparator.reverseOrder()));
+
+    private final JdbcTemplate jdbcTemplate;
+    private final ExecutorService tierExecutor;
+    private final Timer exactTimer;
+    private final Timer fulltextTimer;
+    private final Timer fuzzyTimer;
+    private final Timer rankTimer;
+    private final Counter fuzzyExecuted;
+    private final Counter fuzzySkipped;
+
+    TieredSearchExecutor(JdbcTemplate jdbcTemplate, MeterRegistry meterRegistry) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.tierExecutor = Executors.newThreadPerTaskExecutor(Thread.ofVirtual().name("search-tier-", 0).factory());
+        this.exactTimer = meterRegistry.timer("book.search.tier.duration", "tier", EXACT);
+        this.fulltextTimer = meterRegistry.timer("book.search.tier.duration", "tier", FULLTEXT);
+        this.fuzzyTimer = meterRegistry.timer("book.search.tier.duration", "tier", FUZZY);
+        this.rankTimer = meterRegistry.timer("book.search.tier.duration", "tier", RANK);
+        this.fuzzyExecuted = meterRegistry.counter("book.search.tier.fuzzy", "outcome", "executed");
+        this.fuzzySkipped = meterRegistry.counter("book.search.tier.fuzzy", "outcome", "skipped");
+    }
+
+    /**
+     * Runs the tiers for one query and returns at most {@code maxResults} work-level candidates.
+     *
+     * @param query normalized search text
+     * @param maxResults result window requested by the caller
+     * @return candidates in {@code search_books()} order, with dedupe hints attached
+     */
+    List<SearchResultDeduplicator.Candidate> search(String query, int maxResults) {
+        return search(query, maxResults, maxResults).candidates();
+    }
+
+    /**
+     * Runs the tiers for one query, skipping the trigram tier once {@code minimumResults} works
+     * are matched, and returns at most {@code maxResults} work-level candidates.
+     *
+     * @param query normalized search text
+     * @param minimumResults works the exact and full-text tiers must match to skip the trigram tier
+     * @param maxResults most candidates returned
+     * @return candidates in {@code search_books()} order, and whether they are every match up to {@code maxResults}
+     */
+    TieredResults search(String query, int minimumResults, int maxResults) {
+        // Full-text over-fetches by the exact tier's size because it cannot exclude exact matches
+        // while both run concurrently; the overlap is trimmed below.
+        CompletableFuture<List<TierRow>> exactFuture = CompletableFuture.supplyAsync(
+            () -> runTier(query, EXACT, EXACT_TIER_LIMIT, List.of(), exactTimer), tierExecutor);
+        CompletableFuture<List<TierRow>> fulltextFuture = CompletableFuture.supplyAsync(
+            () -> runTier(query, FULLTEXT, EXACT_TIER_LIMIT + FULLTEXT_TIER_LIMIT, List.of(), fulltextTimer), tierExecutor);
+        List<TierRow> exactRows = await(exactFuture);
+        List<TierRow> fulltextRows = await(fulltextFuture);
+
+        Set<UUID> matchedBookIds = new HashSet<>();
+        List<TierRow> candidates = new ArrayList<>(exactRows.size() + FULLTEXT_TIER_LIMIT + FUZZY_TIER_LIMIT);
+        for (TierRow row : exactRows) {
+            if (matchedBookIds.add(row.bookId())) {
+                candidates.add(row);
+            }
+        }
+        int fulltextKept = 0;
+        for (TierRow row : fulltextRows) {
+            if (fulltextKept >= FULLTEXT_TIER_LIMIT) {
+                break;
+            }
+            if (matchedBookIds.add(row.bookId())) {
+                candidates.add(row);
+                fulltextKept++;
+            }
+        }
+
+        int matchedWorks = bestPerWork(candidates).size();
+        boolean fuzzyRan = matchedWorks < Math.min(minimumResults, maxResults);
+        if (fuzzyRan) {
+            fuzzyExecuted.increment();
+            candidates.addAll(runTier(query, FUZZY, FUZZY_TIER_LIMIT, matchedBookIds, fuzzyTimer));
+        } else {
+            fuzzySkipped.increment();
+        }
+
+        List<SearchResultDeduplicator.Candidate> ordered = rank(bestPerWork(candidates), maxResults);
+        return new TieredResults(ordered, fuzzyRan || matchedWorks >= maxResults);
+    }
+
+    private List<SearchResultDeduplicator.Candidate> rank(Collection<TierRow> rows, int maxResults) {
+        if (rows.isEmpty() || maxResults <= 0) {
+            return List.of();
+        }
+        Map<UUID, TierRow> rowsByBookId = new HashMap<>();
+        UUID[] bookIds = new UUID[rows.size()];
+        UUID[] clusterIds = new UUID[rows.size()];
+        String[] titles = new String[rows.size()];
+        Double[] relevanceScores = new Double[rows.size()];
+        int index = 0;
+        for (TierRow row : rows) {
+            rowsByBookId.put(row.bookId(), row);
+            bookIds[index] = row.bookId();
+            clusterIds[index] = row.clusterId();
+            titles[index] = row.title();
+            relevanceScores[index] = row.relevanceScore();
+            index++;
+        }
+        return rankTimer.record(() -> jdbcTemplate.query(
+            RANK_SQL,
+            ps -> {
+                ps.setArray(1, ps.getConnection().createArrayOf("uuid", bookIds));
+                ps.setArray(2, ps.getConnection().createArrayOf("uuid", clusterIds));
+                ps.setArray(3, ps.getConnection().createArrayOf("text", titles));
+                ps.setArray(4, ps.getConnection().createArrayOf("float8", relevanceScores));
+                ps.setInt(5, maxResults);
+            },
+            (rs, rowNum) -> rowsByBookId.get(rs.getObject("book_id", UUID.class)).toCandidate(
+                rs.getObject("primary_book_id", UUID.class),
+                rs.getBoolean("has_primary_edition"),
+                rs.getString("title_author_key")
+            )
+        ));
+    }
+
+    private List<TierRow> runTier(String query, String tier, int limit, Collection<UUID> excludeBookIds, Timer timer) {
+        return timer.record(() -> jdbcTemplate.query(
+            TIER_SQL,
+            ps -> {
+                ps.setString(1, query);
+                ps.setString(2, tier);
+                ps.setInt(3, limit);
+                ps.setArray(4, ps.getConnection().createArrayOf("uuid", excludeBookIds.toArray()));
+            },
+            (rs, rowNum) -> mapRow(rs)
+        ));
+    }
+
+    private static Collection<TierRow> bestPerWork(List<TierRow> rows) {
+        Map<UUID, TierRow> best = new LinkedHashMap<>();
+        for (TierRow row : rows) {
+            best.merge(row.workKey(), row, (current, incoming) ->
+                BEST_IN_WORK.compare(incoming, current) < 0 ? incoming : current);
+        }
+        return best.values();
+    }
+
+    private static TierRow mapRow(ResultSet rs) throws SQLException {
+        return new TierRow(
+            rs.getObject("book_id", UUID.class),
+            rs.getString("title"),
+            rs.getObject("published_date", LocalDate.class),
+            rs.getDouble("relevance_score"),
+            rs.getString("match_type"),
+            rs.getInt("edition_count"),
+            rs.getObject("cluster_id", UUID.class),
+            rs.getBoolean("is_primary"),
+            rs.getBoolean("has_high_res_cover")
+        );
+    }
+
+    private static <T> T await(CompletableFuture<T> future) {
+        try {
+            return future.join();
+        } catch (CompletionException ex) {
+            if (ex.getCause() instanceof RuntimeException runtimeException) {
+                throw runtimeException;
+            }
+            throw ex;
+        }
+    }
+
+    /**
+     * Candidates of one tiered search.
+     *
+     * @param candidates work-level candidates in {@code search_books()} order
+     * @param complete {@code true} when the trigram tier ran or the window was filled, so a wider
+     *                 request up to the same {@code maxResults} cannot find more rows
+     */
+    record TieredResults(List<SearchResultDeduplicator.Candidate> candidates, boolean complete) {
+    }
+
+    private record TierRow(UUID bookId,
+                           String title,
+                           LocalDate publishedDate,
+                           double relevanceScore,
+                           String matchType,
+                           int editionCount,
+                           UUID clusterId,
+                           boolean isPrimary,
+                           boolean hasHighResCover) {
+
+        UUID workKey() {
+            return clusterId != null ? clusterId : bookId;
+        }
+
+        SearchResultDeduplicator.Candidate toCandidate(UUID primaryBookId,
+                                                       boolean hasPrimaryEdition,
+                                                       String titleAuthorKey) {
+            BookSearchService.SearchResult result = new BookSearchService.SearchResult(
+                bookId,
+                relevanceScore,
+                matchType,
+                new BookSearchService.ClusterInfo(editionCount, clusterId)
+            );
+            return new SearchResultDeduplicator.Candidate(result, primaryBookId, hasPrimaryEdition, titleAuthorKey);
+        }
+    }
+}
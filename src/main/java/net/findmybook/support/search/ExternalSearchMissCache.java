@@ -0,0 +1,96 @@
+package net.findmybook.support.search;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import net.findmybook.util.SearchExternalProviderUtils;
+import org.springframework.util.StringUtils;
+import reactor.core.publisher.Flux;
+
+import java.time.Duration;
+import java.util.Locale;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.Function;
+
+/**
+ * Bounded, TTL-based negative cache for external search providers.
+ *
+ * <p>When a provider answers a query and the stream completes without a single candidate, the
+ * normalized query is remembered for that provider and identical queries skip the call until the
+ * entry expires. A source must confirm that the provider actually answered; an empty stream
+ * produced because the provider was rate-limited, behind an open circuit, or disallowed is not
+ * an answer. Errors, cancellations, and deadline cut-offs are never recorded either, so transient
+ * provider failures do not suppress later lookups.</p>
+ */
+public final class ExternalSearchMissCache {
+
+    /**
+     * External providers whose misses are tracked independently.
+     */
+    public enum Provider {
+        OPEN_LIBRARY,
+        GOOGLE_BOOKS
+    }
+
+    private static final Runnable NO_ANSWER_TRACKING = () -> { };
+
+    private final Cache<String, Boolean> misses;
+
+    /**
+     * @param ttl how long a miss suppresses repeat calls; zero or negative disables the cache
+     * @param maxSize maximum remembered misses across providers
+     */
+    public ExternalSearchMissCache(Duration ttl, long maxSize) {
+        if (ttl == null || ttl.isZero() || ttl.isNegative() || maxSize <= 0) {
+            this.misses = null;
+            return;
+        }
+        this.misses = Caffeine.newBuilder()
+            .maximumSize(maxSize)
+            .expireAfterWrite(ttl)
+            .build();
+    }
+
+    /**
+     * Defers to {@code source} unless the query is a remembered miss, in which case the provider is
+     * not called at all. A normal completion without elements records a new miss only when the
+     * source reported a provider answer.
+     *
+     * @param provider provider being queried
+     * @param query raw search query; normalized with {@link SearchExternalProviderUtils#normalizeExternalQuery}
+     * @param publishedYear optional year filter applied inside {@code source}
+     * @param source receives a callback to run once the provider has answered, and supplies the
+     *               provider candidate stream with errors still propagating
+     * @return guarded stream
+     */
+    public <T> Flux<T> guard(Provider provider,
+                             String query,
+                             Integer publishedYear,
+                             Function<Runnable, Flux<T>> source) {
+        String key = key(provider, query, publishedYear);
+        if (misses == null || key == null) {
+            return Flux.defer(() -> source.apply(NO_ANSWER_TRACKING));
+        }
+        return Flux.defer(() -> {
+            if (misses.getIfPresent(key) != null) {
+                return Flux.empty();
+            }
+            AtomicBoolean answered = new AtomicBoolean(false);
+            AtomicBoolean emitted = new AtomicBoolean(false);
+            return source.apply(() -> answered.set(true))
+                .doOnNext(ignored -> emitted.set(true))
+                .doOnComplete(() -> {
+                    if (answered.get() && !emitted.get()) {
+                        misses.put(key, Boolean.TRUE);
+                    }
+                });
+        });
+    }
+
+    private static String key(Provider provider, String query, Integer publishedYear) {
+        String normalized = SearchExternalProviderUtils.normalizeExternalQuery(query);
+        if (!StringUtils.hasText(normalized)) {
+            return null;
+        }
+        return provider.name() + "|" + normalized.toLowerCase(Locale.ROOT) + "|" + (publishedYear == null ? "-" : publishedYear);
+    }
+}
@@ -58,6 +58,29 @@ public final class GoogleExternalSearchFlow {
                                        String orderBy,
                                        Integer publishedYear,
                                        int maxResults) {
+        return streamCandidates(query, orderBy, publishedYear, maxResults, () -> { });
+    }
+
+    /**
+     * Streams normalized Google Books candidates and reports when Google actually answered.
+     *
+     * <p>{@code onProviderAnswered} runs when a tier that was allowed to call Google completes
+     * normally. It does not run when the authenticated call fails and the fallback tier is
+     * disallowed or skipped, so an empty stream caused by rate limiting or an open circuit is
+     * distinguishable from Google finding nothing.</p>
+     *
+     * @param query search query string
+     * @param orderBy requested sort order
+     * @param publishedYear optional year filter
+     * @param maxResults maximum results to return
+     * @param onProviderAnswered callback run once per tier that completed a provider call
+     * @return candidate books tagged as Google external fallback hits
+     */
+    public Flux<Book> streamCandidates(String query,
+                                       String orderBy,
+                                       Integer publishedYear,
+                                       int maxResults,
+                                       Runnable onProviderAnswered) {
         if (!isAvailable()
             || !StringUtils.hasText(query)
             || SearchQueryUtils.isWildcard(query)
@@ -71,10 +94,12 @@ public final class GoogleExternalSearchFlow {
 
         Flux<JsonNode> authenticated = fetcher.isApiKeyAvailable()
             ? fetcher.streamSearchItems(query, maxResults, externalOrderBy, null, true)
+                .doOnComplete(onProviderAnswered)
                 .onErrorResume(ex -> fetcher.isFallbackAllowed() ? Flux.empty() : Flux.error(ex))
             : Flux.empty();
         Flux<JsonNode> unauthenticated = fetcher.isFallbackAllowed()
             ? fetcher.streamSearchItems(query, maxResults, externalOrderBy, null, false)
+                .doOnComplete(onProviderAnswered)
             : Flux.empty();
 
         return Flux.concat(authenticated, unauthenticated)
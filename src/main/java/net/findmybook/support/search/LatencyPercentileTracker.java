@@ -0,0 +1,65 @@
+package net.findmybook.support.search;
+
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.Optional;
+
+/**
+ * Fixed-size ring of recent call latencies that answers percentile queries.
+ *
+ * <p>Used to derive hedge thresholds from what a provider has actually been doing lately
+ * rather than a static timeout. Recording and querying are synchronized; both run once per
+ * external fallback, so contention is negligible.</p>
+ */
+public final class LatencyPercentileTracker {
+
+    private final long[] samplesNanos;
+    private int next;
+    private int count;
+
+    /**
+     * @param capacity number of most recent samples retained
+     */
+    public LatencyPercentileTracker(int capacity) {
+        this.samplesNanos = new long[Math.max(1, capacity)];
+    }
+
+    /**
+     * Records one completed call.
+     *
+     * @param latency elapsed time; negative values are ignored
+     */
+    public synchronized void record(Duration latency) {
+        if (latency == null || latency.isNegative()) {
+            return;
+        }
+        samplesNanos[next] = latency.toNanos();
+        next = (next + 1) % samplesNanos.length;
+        count = Math.min(count + 1, samplesNanos.length);
+    }
+
+    /**
+     * Returns the nearest-rank percentile of the retained samples.
+     *
+     * @param percentile fraction in {@code (0, 1]}
+     * @param minSamples samples required before an estimate is trusted
+     * @return the percentile latency, or empty while fewer than {@code minSamples} are retained
+     */
+    public synchronized Optional<Duration> percentile(double percentile, int minSamples) {
+        if (count == 0 || count < minSamples) {
+            return Optional.empty();
+        }
+        long[] sorted = Arrays.copyOf(samplesNanos, count);
+        Arrays.sort(sorted);
+        double clamped = Math.min(1.0, Math.max(0.0, percentile));
+        int rank = (int) Math.ceil(clamped * count);
+        return Optional.of(Duration.ofNanos(sorted[Math.max(0, rank - 1)]));
+    }
+
+    /**
+     * Number of retained samples.
+     */
+    public synchronized int sampleCount() {
+        return count;
+    }
+}
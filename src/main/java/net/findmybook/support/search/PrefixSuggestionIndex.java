@@ -0,0 +1,301 @@
+package net.findmybook.support.search;
+
+import java.text.Normalizer;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Objects;
+import java.util.Set;
+import java.util.function.Function;
+import java.util.regex.Pattern;
+
+/**
+ * Immutable compressed prefix trie that answers "top suggestions for this prefix" without
+ * touching the database.
+ *
+ * <p>Keys are normalized and sorted once at build time, so every trie node covers a contiguous
+ * range of the sorted key array and its edge label is implied by the first key in that range.
+ * Each node caches the indices of its highest-weight entries, which makes a lookup cost
+ * {@code O(prefix length)} plus a walk over at most {@code topK} cached entries.</p>
+ *
+ * <p>Keys deeper than {@code maxIndexedDepth} characters are not split further; longer prefixes
+ * fall back to scanning that leaf's (small) key range. Instances are safe to share across
+ * threads because they are never mutated after {@link #build}.</p>
+ *
+ * @param <T> suggestion payload type
+ */
+public final class PrefixSuggestionIndex<T> {
+
+    private static final Pattern COMBINING_MARKS = Pattern.compile("\\p{M}+");
+    private static final Pattern NON_ALPHANUMERIC = Pattern.compile("[^\\p{L}\\p{N}]+");
+
+    private static final PrefixSuggestionIndex<?> EMPTY =
+        new PrefixSuggestionIndex<>(new String[0], new long[0], new Object[0], null);
+
+    private final String[] keys;
+    private final long[] weights;
+    private final Object[] values;
+    private final Node root;
+
+    private PrefixSuggestionIndex(String[] keys, long[] weights, Object[] values, Node root) {
+        this.keys = keys;
+        this.weights = weights;
+        this.values = values;
+        this.root = root;
+    }
+
+    /**
+     * One indexed key pointing at a suggestion payload.
+     *
+     * @param key raw text to index; normalized with {@link #normalizeKey(String)}
+     * @param weight ranking weight, higher first
+     * @param value suggestion payload returned for matching prefixes
+     */
+    public record Entry<T>(String key, long weight, T value) {
+        public Entry {
+            Objects.requireNonNull(value, "value");
+        }
+    }
+
+    /**
+     * Returns an index with no entries.
+     */
+    @SuppressWarnings("unchecked")
+    public static <T> PrefixSuggestionIndex<T> empty() {
+        return (PrefixSuggestionIndex<T>) EMPTY;
+    }
+
+    /**
+     * Builds an index from raw entries. Blank keys are skipped.
+     *
+     * @param entries indexed keys and payloads
+     * @param topK number of best entries cached per node
+     * @param maxIndexedDepth key length past which nodes are not split further
+     * @return immutable index
+     */
+    public static <T> PrefixSuggestionIndex<T> build(List<Entry<T>> entries, int topK, int maxIndexedDepth) {
+        if (entries == null || entries.isEmpty()) {
+            return empty();
+        }
+        List<NormalizedEntry<T>> normalized = new ArrayList<>(entries.size());
+        for (Entry<T> entry : entries) {
+            if (entry == null) {
+                continue;
+            }
+            String key = normalizeKey(entry.key());
+            if (!key.isEmpty()) {
+                normalized.add(new NormalizedEntry<>(key, entry.weight(), entry.value()));
+            }
+        }
+        if (normalized.isEmpty()) {
+            return empty();
+        }
+        normalized.sort(Comparator.comparing(NormalizedEntry<T>::key));
+
+        int size = normalized.size();
+        String[] keys = new String[size];
+        long[] weights = new long[size];
+        Object[] values = new Object[size];
+        for (int i = 0; i < size; i++) {
+            NormalizedEntry<T> entry = normalized.get(i);
+            keys[i] = entry.key();
+            weights[i] = entry.weight();
+            values[i] = entry.value();
+        }
+        Builder builder = new Builder(keys, weights, Math.max(1, topK), Math.max(1, maxIndexedDepth));
+        return new PrefixSuggestionIndex<>(keys, weights, values, builder.build(0, size, 0));
+    }
+
+    /**
+     * Normalizes text for prefix matching: strips accents, lower-cases, and collapses
+     * punctuation and whitespace runs to single spaces.
+     */
+    public static String normalizeKey(String raw) {
+        if (raw == null || raw.isBlank()) {
+            return "";
+        }
+        String decomposed = Normalizer.normalize(raw, Normalizer.Form.NFKD);
+        String stripped = COMBINING_MARKS.matcher(decomposed).replaceAll("");
+        return NON_ALPHANUMERIC.matcher(stripped.toLowerCase(Locale.ROOT)).replaceAll(" ").trim();
+    }
+
+    /**
+     * Number of indexed keys.
+     */
+    public int size() {
+        return keys.length;
+    }
+
+    /**
+     * Returns the highest-weight payloads whose key starts with {@code prefix}.
+     *
+     * @param prefix raw user input
+     * @param limit maximum number of suggestions
+     * @param identity collapses payloads indexed under several keys (or duplicate titles) into one suggestion
+     * @return suggestions ordered by weight descending
+     */
+    public List<T> suggest(String prefix, int limit, Function<T, ?> identity) {
+        String normalizedPrefix = normalizeKey(prefix);
+        if (root == null || normalizedPrefix.isEmpty() || limit <= 0) {
+            return List.of();
+        }
+        Node node = root;
+        int position = 0;
+        while (true) {
+            int comparable = Math.min(normalizedPrefix.length(), node.end);
+            String label = keys[node.lo];
+            for (int i = position; i < comparable; i++) {
+                if (label.charAt(i) != normalizedPrefix.charAt(i)) {
+                    return List.of();
+                }
+            }
+            if (normalizedPrefix.length() <= node.end) {
+                return collect(node.top, limit, identity);
+            }
+            if (node.children == null) {
+                return scanLeaf(node, normalizedPrefix, limit, identity);
+            }
+            int childIndex = Arrays.binarySearch(node.childChars, normalizedPrefix.charAt(node.end));
+            if (childIndex < 0) {
+                return List.of();
+            }
+            position = node.end;
+            node = node.children[childIndex];
+        }
+    }
+
+    private List<T> collect(int[] ranked, int limit, Function<T, ?> identity) {
+        List<T> results = new ArrayList<>(Math.min(limit, ranked.length));
+        Set<Object> seen = new HashSet<>();
+        for (int index : ranked) {
+            T value = valueAt(index);
+            if (seen.add(identity.apply(value))) {
+                results.add(value);
+                if (results.size() >= limit) {
+                    break;
+                }
+            }
+        }
+        return List.copyOf(results);
+    }
+
+    private List<T> scanLeaf(Node leaf, String normalizedPrefix, int limit, Function<T, ?> identity) {
+        List<Integer> matches = new ArrayList<>();
+        for (int i = leaf.lo; i < leaf.hi; i++) {
+            if (keys[i].startsWith(normalizedPrefix)) {
+                matches.add(i);
+            }
+        }
+        int[] ranked = matches.stream()
+            .sorted(rankComparator(keys, weights))
+            .mapToInt(Integer::intValue)
+            .toArray();
+        return collect(ranked, limit, identity);
+    }
+
+    @SuppressWarnings("unchecked")
+    private T valueAt(int index) {
+        return (T) values[index];
+    }
+
+    private static Comparator<Integer> rankComparator(String[] keys, long[] weights) {
+        return Comparator.<Integer>comparingLong(index -> weights[index]).reversed()
+            .thenComparingInt(index -> keys[index].length())
+            .thenComparingInt(Integer::intValue);
+    }
+
+    private record NormalizedEntry<T>(String key, long weight, T value) {
+    }
+
+    /**
+     * Trie node covering sorted keys {@code [lo, hi)} that all share their first {@code end} characters.
+     */
+    private record Node(int lo, int hi, int end, char[] childChars, Node[] children, int[] top) {
+    }
+
+    private static final class Builder {
+        private final String[] keys;
+        private final long[] weights;
+        private final int topK;
+        private final int maxIndexedDepth;
+        private final Comparator<Integer> rank;
+
+        private Builder(String[] keys, long[] weights, int topK, int maxIndexedDepth) {
+            this.keys = keys;
+            this.weights = weights;
+            this.topK = topK;
+            this.maxIndexedDepth = maxIndexedDepth;
+            this.rank = rankComparator(keys, weights);
+        }
+
+        private Node build(int lo, int hi, int depth) {
+            // Sorted keys: the range's common prefix is the common prefix of its first and last keys.
+            int end = Math.min(commonPrefixLength(keys[lo], keys[hi - 1]), maxIndexedDepth);
+            end = Math.max(end, depth);
+            if (end >= maxIndexedDepth) {
+                return new Node(lo, hi, end, null, null, rankRange(lo, hi));
+            }
+
+            List<Integer> candidates = new ArrayList<>();
+            int cursor = lo;
+            // Keys that end exactly here sort before every longer key sharing the prefix.
+            while (cursor < hi && keys[cursor].length() == end) {
+                candidates.add(cursor++);
+            }
+            if (cursor == hi) {
+                return new Node(lo, hi, end, null, null, topOf(candidates));
+            }
+
+            List<Character> childChars = new ArrayList<>();
+            List<Node> children = new ArrayList<>();
+            while (cursor < hi) {
+                char edge = keys[cursor].charAt(end);
+                int groupEnd = cursor + 1;
+                while (groupEnd < hi && keys[groupEnd].charAt(end) == edge) {
+                    groupEnd++;
+                }
+                Node child = build(cursor, groupEnd, end + 1);
+                childChars.add(edge);
+                children.add(child);
+                for (int index : child.top()) {
+                    candidates.add(index);
+                }
+                cursor = groupEnd;
+            }
+
+            char[] edges = new char[childChars.size()];
+            for (int i = 0; i < edges.length; i++) {
+                edges[i] = childChars.get(i);
+            }
+            return new Node(lo, hi, end, edges, children.toArray(Node[]::new), topOf(candidates));
+        }
+
+        private int[] rankRange(int lo, int hi) {
+            List<Integer> candidates = new ArrayList<>(hi - lo);
+            for (int i = lo; i < hi; i++) {
+                candidates.add(i);
+            }
+            return topOf(candidates);
+        }
+
+        private int[] topOf(List<Integer> candidates) {
+            return candidates.stream()
+                .sorted(rank)
+                .limit(topK)
+                .mapToInt(Integer::intValue)
+                .toArray();
+        }
+
+        private static int commonPrefixLength(String left, String right) {
+            int max = Math.min(left.length(), right.length());
+            int i = 0;
+            while (i < max && left.charAt(i) == right.charAt(i)) {
+                i++;
+            }
+            return i;
+        }
+    }
+}
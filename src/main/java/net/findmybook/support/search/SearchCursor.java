@@ -0,0 +1,133 @@
+package net.findmybook.support.search;
+
+import net.findmybook.service.BookSearchService;
+import net.findmybook.service.SearchPaginationService;
+import net.findmybook.util.SearchQueryUtils;
+import org.springframework.util.StringUtils;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Base64;
+import java.util.HexFormat;
+import java.util.Objects;
+import java.util.UUID;
+
+/**
+ * Opaque keyset cursor codec for {@code /api/books/search}.
+ *
+ * <p>A cursor carries the {@code (relevance_score, sort_title, sort_key)} position of the last
+ * row a page consumed plus a fingerprint of the search that produced it. The fingerprint binds
+ * the cursor to one query and filter combination so a cursor replayed against a different
+ * search is rejected instead of silently skipping rows. {@value #START} requests the first
+ * page of a cursor-paginated search.</p>
+ */
+public final class SearchCursor {
+
+    /** Cursor value that starts keyset pagination from the top of the result list. */
+    public static final String START = "*";
+
+    private static final String VERSION = "v2";
+    private static final String SEPARATOR = "|";
+    private static final int FIELD_COUNT = 5;
+    /** 128 bits of SHA-256: collisions between two real searches are not a practical concern. */
+    private static final int FINGERPRINT_BYTES = 16;
+
+    private SearchCursor() {
+    }
+
+    /**
+     * Returns whether the raw cursor asks for the first keyset page.
+     */
+    public static boolean isStart(String rawCursor) {
+        return START.equals(rawCursor);
+    }
+
+    /**
+     * Encodes the position of the last consumed row for the given search.
+     *
+     * @param request search the cursor belongs to
+     * @param position keyset position of the last consumed row
+     * @return URL-safe opaque cursor token
+     */
+    public static String encode(SearchPaginationService.SearchRequest request,
+                                BookSearchService.SearchPosition position) {
+        Objects.requireNonNull(position, "position");
+        // The title goes last because it is the only field that may contain the separator.
+        String payload = String.join(SEPARATOR,
+            VERSION,
+            fingerprint(request),
+            Double.toString(position.relevanceScore()),
+            position.sortKey().toString(),
+            position.sortTitle());
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(payload.getBytes(StandardCharsets.UTF_8));
+    }
+
+    /**
+     * Decodes a cursor previously issued for the same search.
+     *
+     * @param token opaque cursor token (not {@value #START})
+     * @param request search the cursor is being replayed against
+     * @return keyset position to resume after
+     * @throws InvalidSearchCursorException when the token is malformed or was issued for another search
+     */
+    public static BookSearchService.SearchPosition decode(String token,
+                                                          SearchPaginationService.SearchRequest request) {
+        if (!StringUtils.hasText(token)) {
+            throw new InvalidSearchCursorException("Search cursor is empty");
+        }
+        String payload;
+        try {
+            payload = new String(Base64.getUrlDecoder().decode(token.trim()), StandardCharsets.UTF_8);
+        } catch (IllegalArgumentException ex) {
+            throw new InvalidSearchCursorException("Search cursor is not valid Base64");
+        }
+        String[] fields = payload.split("\\" + SEPARATOR, FIELD_COUNT);
+        if (fields.length != FIELD_COUNT || !VERSION.equals(fields[0])) {
+            throw new InvalidSearchCursorException("Search cursor has an unsupported format");
+        }
+        if (!fingerprint(request).equals(fields[1])) {
+            throw new InvalidSearchCursorException("Search cursor was issued for a different query or filter set");
+        }
+        try {
+            return new BookSearchService.SearchPosition(
+                Double.parseDouble(fields[2]),
+                fields[4],
+                UUID.fromString(fields[3])
+            );
+        } catch (IllegalArgumentException ex) {
+            throw new InvalidSearchCursorException("Search cursor has an invalid position");
+        }
+    }
+
+    private static String fingerprint(SearchPaginationService.SearchRequest request) {
+        Objects.requireNonNull(request, "request");
+        // Enum names, not enum instances, so the digest is stable across JVM runs. The query goes
+        // last so a separator inside it cannot shift the boundaries of the fixed fields.
+        String canonical = String.join("\u001F",
+            String.valueOf(request.orderBy()),
+            request.coverSource().name(),
+            request.resolutionPreference().name(),
+            String.valueOf(request.publishedYear()),
+            String.valueOf(SearchQueryUtils.canonicalize(request.query())));
+        byte[] digest = sha256().digest(canonical.getBytes(StandardCharsets.UTF_8));
+        return HexFormat.of().formatHex(digest, 0, FINGERPRINT_BYTES);
+    }
+
+    private static MessageDigest sha256() {
+        try {
+            return MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException ex) {
+            throw new IllegalStateException("SHA-256 is required by every Java platform", ex);
+        }
+    }
+
+    /**
+     * Raised when a client supplies a cursor that cannot be resumed.
+     */
+    public static final class InvalidSearchCursorException extends IllegalArgumentException {
+        public InvalidSearchCursorException(String message) {
+            super(message);
+        }
+    }
+}
@@ -44,3 +44,12 @@
 \ir ../../../migrations/49_category_dedup_cleanup.sql
 \ir ../../../migrations/50_book_similarity_embeddings.sql
 \ir ../../../migrations/51_book_similarity_hybrid_contract.sql
+\ir ../../../migrations/52_book_similarity_neighbors.sql
+\ir ../../../migrations/53_book_similarity_changes.sql
+\ir ../../../migrations/54_book_similarity_binary_quantized_index.sql
+\ir ../../../migrations/55_book_similarity_backfill_checkpoints.sql
+\ir ../../../migrations/56_recent_book_view_sessions.sql
+\ir ../../../migrations/57_book_recommendation_precompute_checkpoints.sql
+\ir ../../../migrations/58_events_outbox_notify.sql
+\ir ../../../migrations/59_book_similarity_neighbor_queue.sql
+\ir ../../../migrations/60_book_similarity_neighbor_queue_lease.sql
@@ -0,0 +1,92 @@
+package net.findmybook.adapters.persistence;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.sql.PreparedStatement;
+import javax.sql.DataSource;
+import org.junit.jupiter.api.Test;
+import org.postgresql.core.BaseConnection;
+import org.postgresql.core.QueryExecutor;
+import org.postgresql.core.TypeInfo;
+import org.postgresql.util.PGBinaryObject;
+import org.postgresql.util.PGobject;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+class BookSimilarityVectorBinaryTest {
+
+    @Test
+    void should_EncodeDecimalComponents_When_RenderingTextLiteral() {
+        assertThat(BookSimilarityVectorLiteral.toHalfvecLiteral(new float[] {0.25f, -1.5f, 3.0E-4f}))
+            .isEqualTo("[0.25,-1.5,3.0E-4]");
+    }
+
+    @Test
+    void should_WriteHalfvecRecvLayout_When_EncodingBinaryParameter() {
+        PGobject parameter = BookSimilarityVectorBinary.toHalfvecParameter(new float[] {1.0f, -2.0f});
+        PGBinaryObject binaryParameter = (PGBinaryObject) parameter;
+        byte[] payload = new byte[binaryParameter.lengthInBytes()];
+
+        binaryParameter.toBytes(payload, 0);
+
+        assertThat(parameter.getType()).isEqualTo("halfvec");
+        assertThat(payload).containsExactly(0x00, 0x02, 0x00, 0x00, 0x3C, 0x00, 0xC0, 0x00);
+    }
+
+    @Test
+    void should_RoundTripToFp16Precision_When_DecodingHalfvecSendPayload() {
+        float[] embedding = {0.25f, -1.5f, 0.1f};
+        PGBinaryObject parameter = (PGBinaryObject) BookSimilarityVectorBinary.toHalfvecParameter(embedding);
+        byte[] payload = new byte[parameter.lengthInBytes()];
+        parameter.toBytes(payload, 0);
+
+        float[] decoded = BookSimilarityVectorBinary.fromHalfvecSend(payload);
+
+        assertThat(decoded).containsExactly(0.25f, -1.5f, Float.float16ToFloat(Float.floatToFloat16(0.1f)));
+    }
+
+    @Test
+    void should_FallBackToTextLiteral_When_DriverSendsParameterAsText() {
+        PGobject parameter = BookSimilarityVectorBinary.toHalfvecParameter(new float[] {0.5f, 1.0f});
+
+        assertThat(parameter.getValue()).isEqualTo("[0.5,1.0]");
+    }
+
+    @Test
+    void should_RejectPayload_When_LengthDoesNotMatchDimension() {
+        assertThatThrownBy(() -> BookSimilarityVectorBinary.fromHalfvecSend(new byte[] {0x00, 0x02, 0x00, 0x00, 0x3C, 0x00}))
+            .isInstanceOf(IllegalStateException.class);
+    }
+
+    @Test
+    void should_RegisterBinarySendOnce_When_UpdatesReuseTheSamePhysicalConnection() throws Exception {
+        String sql = "INSERT INTO book_embedding_sections (embedding) VALUES (CAST(? AS halfvec))";
+        BaseConnection connection = mock(BaseConnection.class);
+        QueryExecutor queryExecutor = mock(QueryExecutor.class);
+        TypeInfo typeInfo = mock(TypeInfo.class);
+        PreparedStatement statement = mock(PreparedStatement.class);
+        DataSource dataSource = mock(DataSource.class);
+        when(dataSource.getConnection()).thenReturn(connection);
+        when(connection.isWrapperFor(BaseConnection.class)).thenReturn(true);
+        when(connection.unwrap(BaseConnection.class)).thenReturn(connection);
+        when(connection.getQueryExecutor()).thenReturn(queryExecutor);
+        when(connection.getTypeInfo()).thenReturn(typeInfo);
+        when(typeInfo.getPGType("halfvec")).thenReturn(16_400);
+        when(queryExecutor.useBinaryForSend(16_400)).thenReturn(false, true);
+        when(connection.prepareStatement(sql)).thenReturn(statement);
+        when(statement.executeUpdate()).thenReturn(1);
+        JdbcTemplate jdbcTemplate = new JdbcTemplate(dataSource);
+        PGobject parameter = BookSimilarityVectorBinary.toHalfvecParameter(new float[] {0.5f, 1.0f});
+
+        int first = BookSimilarityVectorBinary.update(jdbcTemplate, sql, parameter);
+        int second = BookSimilarityVectorBinary.update(jdbcTemplate, sql, parameter);
+
+        assertThat(first + second).isEqualTo(2);
+        verify(queryExecutor, times(1)).addBinarySendOid(16_400);
+        verify(statement, times(2)).setObject(1, parameter);
+    }
+}
@@ -0,0 +1,95 @@
+package net.findmybook.application.book;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.tuple;
+import static org.assertj.core.api.Assertions.within;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+class CoViewGraphTest {
+
+    private static final UUID BOOK_A = UUID.fromString("019c3b68-3ee9-7ef0-917c-c37b663d97a1");
+    private static final UUID BOOK_B = UUID.fromString("019c3b68-3ee9-7ef0-917c-c37b663d97a2");
+    private static final UUID BOOK_C = UUID.fromString("019c3b68-3ee9-7ef0-917c-c37b663d97a3");
+    private static final UUID BOOK_D = UUID.fromString("019c3b68-3ee9-7ef0-917c-c37b663d97a4");
+
+    @Test
+    @DisplayName("Co-view graph scores shared sessions by cosine and orders each book's neighbors strongest first")
+    void should_RankNeighborsByCosine_When_SessionsShareBooks() {
+        CoViewGraph graph = sampleSessions(CoViewGraph.builder(10)).build(5, 2);
+
+        List<Edge> edges = edges(graph);
+
+        assertThat(graph.sessionCount()).isEqualTo(4);
+        assertThat(graph.bookCount()).isEqualTo(4);
+        assertThat(edges).extracting(Edge::source, Edge::neighbor).containsExactly(
+            tuple(BOOK_A, BOOK_C),
+            tuple(BOOK_A, BOOK_B),
+            tuple(BOOK_B, BOOK_A),
+            tuple(BOOK_C, BOOK_A)
+        );
+        assertThat(edges.get(0).score()).isCloseTo(2.0d / Math.sqrt(6.0d), within(1.0e-6d));
+        assertThat(edges.get(1).score()).isCloseTo(2.0d / 3.0d, within(1.0e-6d));
+    }
+
+    @Test
+    @DisplayName("Co-view graph keeps only the top-K neighbors of every book")
+    void should_PruneToTopK_When_BookHasMoreNeighbors() {
+        CoViewGraph graph = sampleSessions(CoViewGraph.builder(10)).build(1, 2);
+
+        assertThat(edges(graph)).extracting(Edge::source, Edge::neighbor).containsExactly(
+            tuple(BOOK_A, BOOK_C),
+            tuple(BOOK_B, BOOK_A),
+            tuple(BOOK_C, BOOK_A)
+        );
+        assertThat(graph.edgeCount()).isEqualTo(3);
+    }
+
+    @Test
+    @DisplayName("Co-view graph drops oversized sessions and counts repeated views in a session once")
+    void should_DropOversizedSessionsAndDeduplicate_When_Building() {
+        CoViewGraph.Builder builder = CoViewGraph.builder(2);
+        builder.add("crawler", BOOK_A);
+        builder.add("crawler", BOOK_B);
+        builder.add("crawler", BOOK_C);
+        builder.add("reader-1", BOOK_A);
+        builder.add("reader-1", BOOK_A);
+        builder.add("reader-1", BOOK_B);
+        builder.add("reader-2", BOOK_B);
+
+        CoViewGraph graph = builder.build(5, 1);
+
+        assertThat(builder.droppedSessions()).isEqualTo(1);
+        assertThat(graph.sessionCount()).isEqualTo(1);
+        assertThat(edges(graph)).containsExactly(
+            new Edge(BOOK_A, BOOK_B, 1.0d),
+            new Edge(BOOK_B, BOOK_A, 1.0d)
+        );
+    }
+
+    private static CoViewGraph.Builder sampleSessions(CoViewGraph.Builder builder) {
+        builder.add("session-1", BOOK_A);
+        builder.add("session-1", BOOK_B);
+        builder.add("session-1", BOOK_C);
+        builder.add("session-2", BOOK_A);
+        builder.add("session-2", BOOK_B);
+        builder.add("session-3", BOOK_A);
+        builder.add("session-3", BOOK_C);
+        builder.add("session-4", BOOK_B);
+        builder.add("session-4", BOOK_D);
+        return builder;
+    }
+
+    private static List<Edge> edges(CoViewGraph graph) {
+        List<Edge> edges = new ArrayList<>();
+        graph.forEachEdge((source, neighbor, score) -> edges.add(new Edge(source, neighbor, score)));
+        return edges;
+    }
+
+    private record Edge(UUID source, UUID neighbor, double score) {
+    }
+}
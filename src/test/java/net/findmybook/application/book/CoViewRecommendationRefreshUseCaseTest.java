@@ -0,0 +1,80 @@
+package net.findmybook.application.book;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.time.Instant;
+import java.util.List;
+import java.util.UUID;
+import java.util.function.Consumer;
+import net.findmybook.adapters.persistence.CoViewRecommendationRepository;
+import net.findmybook.adapters.persistence.CoViewRecommendationRepository.CoViewEdge;
+import net.findmybook.adapters.persistence.CoViewRecommendationRepository.SessionView;
+import net.findmybook.application.book.CoViewRecommendationRefreshUseCase.CoViewRefreshSummary;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.dao.DataAccessResourceFailureException;
+
+@ExtendWith(MockitoExtension.class)
+class CoViewRecommendationRefreshUseCaseTest {
+
+    private static final UUID FIRST_BOOK_ID = UUID.fromString("019c3b68-3ee9-7ef0-917c-c37b663d97c1");
+    private static final UUID SECOND_BOOK_ID = UUID.fromString("019c3b68-3ee9-7ef0-917c-c37b663d97c2");
+
+    @Mock
+    private CoViewRecommendationRepository coViewRecommendationRepository;
+
+    @Test
+    @DisplayName("Co-view refresh writes graph edges in bulk and removes rows from earlier runs")
+    void should_UpsertEdgesAndDeleteStaleRows_When_SessionsShareBooks() {
+        CoViewRecommendationRefreshUseCase useCase =
+            new CoViewRecommendationRefreshUseCase(coViewRecommendationRepository, 30, 20, 1, 50);
+        doAnswer(invocation -> {
+            Consumer<SessionView> consumer = invocation.getArgument(1);
+            consumer.accept(new SessionView("session-1", FIRST_BOOK_ID));
+            consumer.accept(new SessionView("session-1", SECOND_BOOK_ID));
+            return null;
+        }).when(coViewRecommendationRepository).streamSessionViews(any(Instant.class), any());
+        when(coViewRecommendationRepository.upsertCoViewRecommendations(any(), any(Instant.class))).thenReturn(2);
+        when(coViewRecommendationRepository.deleteCoViewRecommendationsGeneratedBefore(any(Instant.class)))
+            .thenReturn(7);
+
+        CoViewRefreshSummary summary = useCase.refreshCoViewRecommendations();
+
+        @SuppressWarnings("unchecked")
+        ArgumentCaptor<List<CoViewEdge>> edges = ArgumentCaptor.forClass(List.class);
+        ArgumentCaptor<Instant> generatedAt = ArgumentCaptor.forClass(Instant.class);
+        verify(coViewRecommendationRepository).upsertCoViewRecommendations(edges.capture(), generatedAt.capture());
+        assertThat(edges.getValue()).containsExactly(
+            new CoViewEdge(FIRST_BOOK_ID, SECOND_BOOK_ID, 1.0d),
+            new CoViewEdge(SECOND_BOOK_ID, FIRST_BOOK_ID, 1.0d)
+        );
+        verify(coViewRecommendationRepository).deleteCoViewRecommendationsGeneratedBefore(eq(generatedAt.getValue()));
+        assertThat(summary).isEqualTo(new CoViewRefreshSummary(1, 0, 2, 2, 2L, 7, 30));
+    }
+
+    @Test
+    @DisplayName("Co-view refresh wraps data-access failures and keeps existing rows")
+    void should_WrapDataAccessFailure_When_StreamingViewsFails() {
+        CoViewRecommendationRefreshUseCase useCase =
+            new CoViewRecommendationRefreshUseCase(coViewRecommendationRepository, 30, 20, 2, 50);
+        doThrow(new DataAccessResourceFailureException("database unavailable"))
+            .when(coViewRecommendationRepository).streamSessionViews(any(Instant.class), any());
+
+        assertThatThrownBy(useCase::refreshCoViewRecommendations)
+            .isInstanceOf(IllegalStateException.class)
+            .hasMessageContaining("data-access error");
+        verify(coViewRecommendationRepository, never()).deleteCoViewRecommendationsGeneratedBefore(any(Instant.class));
+    }
+}
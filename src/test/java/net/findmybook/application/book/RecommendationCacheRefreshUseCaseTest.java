@@ -1,6 +1,7 @@
 package net.findmybook.application.book;
 
 import net.findmybook.adapters.persistence.RecommendationMaintenanceRepository;
+import net.findmybook.adapters.persistence.RecommendationMaintenanceRepository.ExpirySlice;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.Mock;
@@ -9,6 +10,9 @@ import org.springframework.dao.DataAccessResourceFailureException;
 
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
@@ -21,12 +25,12 @@ class RecommendationCacheRefreshUseCaseTest {
     @Test
     void should_ReturnRefreshSummary_When_RefreshingAllRecommendationRows() {
         RecommendationCacheRefreshUseCase useCase =
-            new RecommendationCacheRefreshUseCase(recommendationMaintenanceRepository, 30);
-        when(recommendationMaintenanceRepository.countRecommendationRows()).thenReturn(100L);
-        when(recommendationMaintenanceRepository.countActiveRecommendationRows())
-            .thenReturn(0L)
-            .thenReturn(100L);
-        when(recommendationMaintenanceRepository.refreshAllRecommendationExpirations(30)).thenReturn(100);
+            new RecommendationCacheRefreshUseCase(recommendationMaintenanceRepository, 30, 60, 0L);
+        when(recommendationMaintenanceRepository.estimateRecommendationRows()).thenReturn(100L);
+        when(recommendationMaintenanceRepository.refreshRecommendationExpirationSlice("", 60, 30))
+            .thenReturn(new ExpirySlice("id-060", 60, 0, 60));
+        when(recommendationMaintenanceRepository.refreshRecommendationExpirationSlice("id-060", 60, 30))
+            .thenReturn(new ExpirySlice("id-100", 40, 0, 40));
 
         RecommendationCacheRefreshUseCase.RefreshSummary summary = useCase.refreshAllRecommendations();
 
@@ -35,16 +39,31 @@ class RecommendationCacheRefreshUseCaseTest {
         assertThat(summary.refreshedRows()).isEqualTo(100);
         assertThat(summary.activeRowsAfter()).isEqualTo(100L);
         assertThat(summary.ttlDays()).isEqualTo(30);
-        verify(recommendationMaintenanceRepository).refreshAllRecommendationExpirations(30);
+        assertThat(summary.slices()).isEqualTo(2);
+        verify(recommendationMaintenanceRepository, never()).refreshRecommendationExpirationSlice("id-100", 60, 30);
+    }
+
+    @Test
+    void should_StopAtEmptySlice_When_TableEndsOnSliceBoundary() {
+        RecommendationCacheRefreshUseCase useCase =
+            new RecommendationCacheRefreshUseCase(recommendationMaintenanceRepository, 30, 10, 0L);
+        when(recommendationMaintenanceRepository.refreshRecommendationExpirationSlice("", 10, 30))
+            .thenReturn(new ExpirySlice("id-010", 10, 4, 10));
+        when(recommendationMaintenanceRepository.refreshRecommendationExpirationSlice("id-010", 10, 30))
+            .thenReturn(new ExpirySlice(null, 0, 0, 0));
+
+        RecommendationCacheRefreshUseCase.RefreshSummary summary = useCase.refreshAllRecommendations();
+
+        assertThat(summary.totalRows()).isEqualTo(10L);
+        assertThat(summary.activeRowsBefore()).isEqualTo(4L);
+        assertThat(summary.slices()).isEqualTo(1);
     }
 
     @Test
     void should_PropagateFailure_When_RefreshUpdateThrows() {
         RecommendationCacheRefreshUseCase useCase =
-            new RecommendationCacheRefreshUseCase(recommendationMaintenanceRepository, 30);
-        when(recommendationMaintenanceRepository.countRecommendationRows()).thenReturn(10L);
-        when(recommendationMaintenanceRepository.countActiveRecommendationRows()).thenReturn(1L);
-        when(recommendationMaintenanceRepository.refreshAllRecommendationExpirations(30))
+            new RecommendationCacheRefreshUseCase(recommendationMaintenanceRepository, 30, 5000, 0L);
+        when(recommendationMaintenanceRepository.refreshRecommendationExpirationSlice(anyString(), anyInt(), anyInt()))
             .thenThrow(new IllegalStateException("refresh failed"));
 
         assertThatThrownBy(useCase::refreshAllRecommendations)
@@ -53,10 +72,10 @@ class RecommendationCacheRefreshUseCaseTest {
     }
 
     @Test
-    void should_WrapDataAccessFailure_When_CountQueryThrows() {
+    void should_WrapDataAccessFailure_When_SliceUpdateThrows() {
         RecommendationCacheRefreshUseCase useCase =
-            new RecommendationCacheRefreshUseCase(recommendationMaintenanceRepository, 30);
-        when(recommendationMaintenanceRepository.countRecommendationRows())
+            new RecommendationCacheRefreshUseCase(recommendationMaintenanceRepository, 30, 5000, 0L);
+        when(recommendationMaintenanceRepository.refreshRecommendationExpirationSlice(anyString(), anyInt(), anyInt()))
             .thenThrow(new DataAccessResourceFailureException("database unavailable"));
 
         assertThatThrownBy(useCase::refreshAllRecommendations)
@@ -0,0 +1,82 @@
+package net.findmybook.application.book;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.tuple;
+import static org.assertj.core.api.Assertions.within;
+
+import java.util.List;
+import java.util.UUID;
+import net.findmybook.application.book.RecommendationPostings.ScoredCandidate;
+import net.findmybook.service.RecommendationScoringStrategy;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+class RecommendationPostingsTest {
+
+    private static final UUID SOURCE = UUID.fromString("019c3b68-3ee9-7ef0-917c-c37b663d97b0");
+    private static final UUID SAME_AUTHOR = UUID.fromString("019c3b68-3ee9-7ef0-917c-c37b663d97b1");
+    private static final UUID SAME_AUTHOR_AND_CATEGORY = UUID.fromString("019c3b68-3ee9-7ef0-917c-c37b663d97b2");
+    private static final UUID SAME_CATEGORY = UUID.fromString("019c3b68-3ee9-7ef0-917c-c37b663d97b3");
+    private static final UUID OTHER_LANGUAGE = UUID.fromString("019c3b68-3ee9-7ef0-917c-c37b663d97b4");
+    private static final UUID UNRELATED = UUID.fromString("019c3b68-3ee9-7ef0-917c-c37b663d97b5");
+
+    private final RecommendationScoringStrategy scoringStrategy = new RecommendationScoringStrategy();
+
+    @Test
+    @DisplayName("Postings score shared authors and category overlap with the regeneration weights")
+    void should_ScoreAuthorAndCategoryMatches_When_PostingsShareTerms() {
+        RecommendationPostings postings = samplePostings();
+
+        List<ScoredCandidate> candidates = postings.recommend(SOURCE, 6, 100);
+
+        assertThat(candidates)
+            .extracting(ScoredCandidate::bookId, ScoredCandidate::authorMatch, ScoredCandidate::categoryMatch)
+            .containsExactly(
+                tuple(SAME_AUTHOR_AND_CATEGORY, true, true),
+                tuple(SAME_AUTHOR, true, false),
+                tuple(SAME_CATEGORY, false, true)
+            );
+        assertThat(candidates.get(0).score()).isCloseTo(4.0d + 1.0d + 2.0d, within(1.0e-9d));
+        assertThat(candidates.get(1).score()).isCloseTo(4.0d, within(1.0e-9d));
+        assertThat(candidates.get(2).score()).isCloseTo(1.0d + 2.0d * 0.5d, within(1.0e-9d));
+        assertThat(postings.recommend(SOURCE, 6, 100)).isEqualTo(candidates);
+    }
+
+    @Test
+    @DisplayName("Postings cap each posting scan and the number of returned candidates")
+    void should_LimitScanAndResults_When_PostingsAreLarge() {
+        RecommendationPostings postings = samplePostings();
+
+        assertThat(postings.recommend(SOURCE, 1, 100))
+            .extracting(ScoredCandidate::bookId)
+            .containsExactly(SAME_AUTHOR_AND_CATEGORY);
+        assertThat(postings.recommend(SOURCE, 6, 1))
+            .extracting(ScoredCandidate::bookId)
+            .containsExactly(SAME_AUTHOR, SAME_AUTHOR_AND_CATEGORY);
+        assertThat(postings.recommend(UUID.randomUUID(), 6, 100)).isEmpty();
+        assertThat(postings.recommend(UNRELATED, 6, 100)).isEmpty();
+    }
+
+    private RecommendationPostings samplePostings() {
+        RecommendationPostings.Builder builder = RecommendationPostings.builder(scoringStrategy);
+        builder.addBook(SOURCE, "en");
+        builder.addBook(SAME_AUTHOR, "en");
+        builder.addBook(SAME_AUTHOR_AND_CATEGORY, "en");
+        builder.addBook(SAME_CATEGORY, "en");
+        builder.addBook(OTHER_LANGUAGE, "fr");
+        builder.addBook(UNRELATED, "en");
+
+        builder.addAuthor(SOURCE, "author-1");
+        builder.addAuthor(SAME_AUTHOR, "author-1");
+        builder.addAuthor(SAME_AUTHOR_AND_CATEGORY, "author-1");
+        builder.addAuthor(OTHER_LANGUAGE, "author-1");
+        builder.addAuthor(UNRELATED, "author-2");
+
+        builder.addCategory(SOURCE, "Fiction / Science Fiction");
+        builder.addCategory(SAME_AUTHOR_AND_CATEGORY, "Fiction / Science Fiction");
+        builder.addCategory(SAME_CATEGORY, "Fiction / Romance");
+        builder.addCategory(OTHER_LANGUAGE, "Fiction / Science Fiction");
+        builder.addCategory(UNRELATED, "Cooking");
+        return builder.build();
+    }
+}
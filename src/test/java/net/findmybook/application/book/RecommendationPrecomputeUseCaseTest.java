@@ -0,0 +1,119 @@
+package net.findmybook.application.book;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.time.Instant;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.function.Consumer;
+import net.findmybook.adapters.persistence.RecommendationPrecomputeCheckpointRepository;
+import net.findmybook.adapters.persistence.RecommendationPrecomputeCheckpointRepository.PrecomputeCheckpoint;
+import net.findmybook.adapters.persistence.RecommendationPrecomputeRepository;
+import net.findmybook.adapters.persistence.RecommendationPrecomputeRepository.BookTerm;
+import net.findmybook.adapters.persistence.RecommendationPrecomputeRepository.CatalogBook;
+import net.findmybook.adapters.persistence.RecommendationPrecomputeRepository.PrecomputedRecommendation;
+import net.findmybook.application.book.RecommendationPrecomputeUseCase.PrecomputeSummary;
+import net.findmybook.service.RecommendationScoringStrategy;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.dao.DataAccessResourceFailureException;
+
+@ExtendWith(MockitoExtension.class)
+class RecommendationPrecomputeUseCaseTest {
+
+    private static final UUID FIRST_BOOK_ID = UUID.fromString("019c3b68-3ee9-7ef0-917c-c37b663d97c1");
+    private static final UUID SECOND_BOOK_ID = UUID.fromString("019c3b68-3ee9-7ef0-917c-c37b663d97c2");
+    private static final UUID THIRD_BOOK_ID = UUID.fromString("019c3b68-3ee9-7ef0-917c-c37b663d97c3");
+    private static final Instant STARTED_AT = Instant.parse("2026-10-15T05:00:00Z");
+
+    @Mock
+    private RecommendationPrecomputeRepository precomputeRepository;
+
+    @Mock
+    private RecommendationPrecomputeCheckpointRepository checkpointRepository;
+
+    @Test
+    @DisplayName("Precompute resumes after the checkpoint, writes each page in bulk and clears the checkpoint at the end")
+    void should_ResumeAndWritePages_When_CheckpointExists() {
+        RecommendationPrecomputeUseCase useCase = newUseCase(2);
+        when(checkpointRepository.fetchCheckpoint())
+            .thenReturn(Optional.of(new PrecomputeCheckpoint(FIRST_BOOK_ID, 1L, 3L, STARTED_AT)));
+        streamCatalog();
+        when(precomputeRepository.fetchBooksNeedingRecommendations(FIRST_BOOK_ID, 2))
+            .thenReturn(List.of(SECOND_BOOK_ID, THIRD_BOOK_ID));
+        when(precomputeRepository.fetchBooksNeedingRecommendations(THIRD_BOOK_ID, 2)).thenReturn(List.of());
+        when(precomputeRepository.replacePipelineRecommendations(any(), any(Instant.class))).thenReturn(2);
+
+        PrecomputeSummary summary = useCase.precomputeRecommendations();
+
+        @SuppressWarnings("unchecked")
+        ArgumentCaptor<List<PrecomputedRecommendation>> rows = ArgumentCaptor.forClass(List.class);
+        verify(precomputeRepository).replacePipelineRecommendations(rows.capture(), any(Instant.class));
+        assertThat(rows.getValue()).containsExactly(
+            new PrecomputedRecommendation(SECOND_BOOK_ID, THIRD_BOOK_ID, 0.4d, "AUTHOR"),
+            new PrecomputedRecommendation(THIRD_BOOK_ID, SECOND_BOOK_ID, 0.4d, "AUTHOR")
+        );
+        verify(checkpointRepository).saveCheckpoint(new PrecomputeCheckpoint(THIRD_BOOK_ID, 3L, 5L, STARTED_AT));
+        verify(checkpointRepository).clearCheckpoint();
+        assertThat(summary).isEqualTo(new PrecomputeSummary(3, 3L, 5L, 1, true));
+    }
+
+    @Test
+    @DisplayName("Precompute wraps data-access failures and keeps the checkpoint for the next run")
+    void should_WrapDataAccessFailure_When_WritingPageFails() {
+        RecommendationPrecomputeUseCase useCase = newUseCase(500);
+        when(checkpointRepository.fetchCheckpoint()).thenReturn(Optional.empty());
+        streamCatalog();
+        when(precomputeRepository.fetchBooksNeedingRecommendations(eq(new UUID(0L, 0L)), eq(500)))
+            .thenReturn(List.of(FIRST_BOOK_ID));
+        doThrow(new DataAccessResourceFailureException("database unavailable"))
+            .when(precomputeRepository).replacePipelineRecommendations(any(), any(Instant.class));
+
+        assertThatThrownBy(useCase::precomputeRecommendations)
+            .isInstanceOf(IllegalStateException.class)
+            .hasMessageContaining("data-access error");
+        verify(checkpointRepository, never()).saveCheckpoint(any());
+        verify(checkpointRepository, never()).clearCheckpoint();
+    }
+
+    private RecommendationPrecomputeUseCase newUseCase(int pageSize) {
+        return new RecommendationPrecomputeUseCase(
+            precomputeRepository,
+            checkpointRepository,
+            new RecommendationScoringStrategy(),
+            pageSize,
+            6,
+            200
+        );
+    }
+
+    private void streamCatalog() {
+        doAnswer(invocation -> {
+            Consumer<CatalogBook> consumer = invocation.getArgument(0);
+            consumer.accept(new CatalogBook(FIRST_BOOK_ID, "en"));
+            consumer.accept(new CatalogBook(SECOND_BOOK_ID, "en"));
+            consumer.accept(new CatalogBook(THIRD_BOOK_ID, "en"));
+            return null;
+        }).when(precomputeRepository).streamCatalogBooks(any());
+        doAnswer(invocation -> {
+            Consumer<BookTerm> consumer = invocation.getArgument(0);
+            consumer.accept(new BookTerm(FIRST_BOOK_ID, "author-1"));
+            consumer.accept(new BookTerm(SECOND_BOOK_ID, "author-2"));
+            consumer.accept(new BookTerm(THIRD_BOOK_ID, "author-2"));
+            return null;
+        }).when(precomputeRepository).streamBookAuthors(any());
+    }
+}
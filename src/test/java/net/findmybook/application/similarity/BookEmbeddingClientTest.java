@@ -92,7 +92,7 @@ class BookEmbeddingClientTest {
             }
         );
 
-        List<List<Float>> sectionEmbeddings = client.embedSections(
+        List<float[]> sectionEmbeddings = client.embedSections(
             List.of("abcdefghij", "klmnop"),
             LlmGatewayTier.BACKGROUND_BATCH
         );
@@ -104,12 +104,12 @@ class BookEmbeddingClientTest {
                 List.of("op")
             );
         assertThat(sectionEmbeddings).hasSize(2);
-        assertThat(sectionEmbeddings.getFirst().getFirst()).isLessThan(sectionEmbeddings.get(1).getFirst());
+        assertThat(sectionEmbeddings.getFirst()[0]).isLessThan(sectionEmbeddings.get(1)[0]);
     }
 
     @Test
     void should_FuseChunkEmbeddingsByEstimatedTokenWeight_When_InputWasSplit() {
-        List<Float> fusedEmbedding = BookEmbeddingClient.fuseInputChunks(
+        float[] fusedEmbedding = BookEmbeddingClient.fuseInputChunks(
             List.of(embeddingWith(1.0f, 0.0f), embeddingWith(0.0f, 1.0f)),
             List.of(
                 new BookEmbeddingClient.EmbeddingChunk("a", 1),
@@ -118,20 +118,20 @@ class BookEmbeddingClientTest {
         );
 
         assertThat(fusedEmbedding).hasSize(EMBEDDING_DIMENSION);
-        assertThat(fusedEmbedding.get(0)).isCloseTo(0.31622776f, withinTolerance());
-        assertThat(fusedEmbedding.get(1)).isCloseTo(0.9486833f, withinTolerance());
+        assertThat(fusedEmbedding[0]).isCloseTo(0.31622776f, withinTolerance());
+        assertThat(fusedEmbedding[1]).isCloseTo(0.9486833f, withinTolerance());
     }
 
     @Test
     void should_NormalizeChunkEmbedding_When_InputHasSingleChunk() {
-        List<Float> fusedEmbedding = BookEmbeddingClient.fuseInputChunks(
+        float[] fusedEmbedding = BookEmbeddingClient.fuseInputChunks(
             List.of(embeddingWith(3.0f, 4.0f)),
             List.of(new BookEmbeddingClient.EmbeddingChunk("section text", 12))
         );
 
         assertThat(fusedEmbedding).hasSize(EMBEDDING_DIMENSION);
-        assertThat(fusedEmbedding.get(0)).isCloseTo(0.6f, withinTolerance());
-        assertThat(fusedEmbedding.get(1)).isCloseTo(0.8f, withinTolerance());
+        assertThat(fusedEmbedding[0]).isCloseTo(0.6f, withinTolerance());
+        assertThat(fusedEmbedding[1]).isCloseTo(0.8f, withinTolerance());
     }
 
     @Test
@@ -247,13 +247,10 @@ class BookEmbeddingClientTest {
         );
     }
 
-    private static List<Float> embeddingWith(float firstComponent, float secondComponent) {
-        List<Float> embedding = new ArrayList<>(EMBEDDING_DIMENSION);
-        embedding.add(firstComponent);
-        embedding.add(secondComponent);
-        while (embedding.size() < EMBEDDING_DIMENSION) {
-            embedding.add(0.0f);
-        }
-        return List.copyOf(embedding);
+    private static float[] embeddingWith(float firstComponent, float secondComponent) {
+        float[] embedding = new float[EMBEDDING_DIMENSION];
+        embedding[0] = firstComponent;
+        embedding[1] = secondComponent;
+        return embedding;
     }
 }
@@ -0,0 +1,227 @@
+package net.findmybook.application.similarity;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.doReturn;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import net.findmybook.adapters.persistence.BookEmbeddingSectionRepository;
+import net.findmybook.adapters.persistence.BookEmbeddingSectionRepository.GeneratedSection;
+import net.findmybook.adapters.persistence.BookEmbeddingSectionRepository.SectionCacheKey;
+import net.findmybook.adapters.persistence.BookSimilarityEmbeddingRepository;
+import net.findmybook.adapters.persistence.BookSimilarityEmbeddingRepository.FusedEmbeddingRow;
+import net.findmybook.boot.BookSimilarityEmbeddingProperties;
+import net.findmybook.domain.similarity.BookSimilarityBookSource;
+import net.findmybook.domain.similarity.BookSimilarityFusionPolicy;
+import net.findmybook.domain.similarity.BookSimilarityFusionProfile;
+import net.findmybook.domain.similarity.BookSimilaritySectionKey;
+import net.findmybook.support.ai.BookAiContentRequestQueue;
+import net.findmybook.support.llm.LlmGatewayTier;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import tools.jackson.databind.ObjectMapper;
+
+@ExtendWith(MockitoExtension.class)
+class BookSimilarityEmbeddingServiceTest {
+
+    private static final String MODEL_VERSION =
+        "qwen/qwen3-embedding-4b:chunked_8192_v1:source_chars_15000_v1:test:section_fusion";
+    private static final UUID FIRST_BOOK_ID = UUID.fromString("019da3e5-3838-703e-9112-bad4a489239e");
+    private static final UUID SECOND_BOOK_ID = UUID.fromString("019c3b68-3ee9-7ef0-917c-c37b663d97c1");
+
+    @Mock
+    private BookSimilarityEmbeddingRepository repository;
+
+    @Mock
+    private BookEmbeddingSectionRepository sectionRepository;
+
+    @Mock
+    private BookAiContentRequestQueue requestQueue;
+
+    private final List<List<String>> requestBatches = new ArrayList<>();
+    private BookSimilarityEmbeddingService service;
+
+    @BeforeEach
+    void createService() {
+        BookSimilarityFusionPolicy policy = similarityPolicy();
+        BookEmbeddingClient embeddingClient = new BookEmbeddingClient(
+            "qwen/qwen3-embedding-4b",
+            1,
+            1,
+            8_192,
+            32,
+            Map.of(LlmGatewayTier.BACKGROUND_BATCH, (batchTexts, ignoredOptions) -> {
+                requestBatches.add(List.copyOf(batchTexts));
+                return batchTexts.stream().map(ignoredText -> unitEmbedding()).toList();
+            })
+        );
+        BookSimilarityEmbeddingProperties properties = new BookSimilarityEmbeddingProperties();
+        properties.setRefreshBookBatchSize(16);
+        service = new BookSimilarityEmbeddingService(
+            repository,
+            sectionRepository,
+            embeddingClient,
+            policy,
+            new BookSimilarityVectorFusion(policy),
+            requestQueue,
+            new ObjectMapper(),
+            properties
+        );
+    }
+
+    @Test
+    @DisplayName("Batch refresh loads sources once, shares one embedding request, and batch-upserts fused rows")
+    void should_PackSectionsFromEveryBookIntoOneRequest_When_RefreshingBatch() {
+        List<UUID> bookIds = List.of(FIRST_BOOK_ID, SECOND_BOOK_ID);
+        when(repository.fetchBookSources(bookIds)).thenReturn(sources(bookIds));
+        when(repository.fetchCurrentSourceHashes(bookIds, MODEL_VERSION, "profile-hash")).thenReturn(Map.of());
+        when(sectionRepository.fetchSectionEmbeddings(anyCollection(), anyString())).thenReturn(Map.of());
+
+        int refreshed = service.refreshBooksIfStale(bookIds, "test");
+
+        assertThat(refreshed).isEqualTo(2);
+        assertThat(requestBatches).hasSize(1);
+        assertThat(requestBatches.getFirst()).hasSize(2);
+        @SuppressWarnings("unchecked")
+        ArgumentCaptor<List<FusedEmbeddingRow>> rowsCaptor = ArgumentCaptor.forClass(List.class);
+        verify(repository).upsertFusedEmbeddings(rowsCaptor.capture());
+        assertThat(rowsCaptor.getValue())
+            .extracting(row -> row.sourceDocument().bookId())
+            .containsExactly(FIRST_BOOK_ID, SECOND_BOOK_ID);
+        @SuppressWarnings("unchecked")
+        ArgumentCaptor<List<GeneratedSection>> sectionsCaptor = ArgumentCaptor.forClass(List.class);
+        verify(sectionRepository, times(1)).upsertSectionEmbeddings(sectionsCaptor.capture(), anyString());
+        assertThat(sectionsCaptor.getValue())
+            .extracting(GeneratedSection::bookId)
+            .containsExactly(FIRST_BOOK_ID, SECOND_BOOK_ID);
+        verify(repository, never()).fetchBookSource(any());
+    }
+
+    @Test
+    @DisplayName("Batch refresh looks up every section in one cache query and skips the provider on full hits")
+    void should_FuseCachedSectionsWithoutProviderCall_When_EverySectionIsCached() {
+        List<UUID> bookIds = List.of(FIRST_BOOK_ID, SECOND_BOOK_ID);
+        when(repository.fetchBookSources(bookIds)).thenReturn(sources(bookIds));
+        when(repository.fetchCurrentSourceHashes(bookIds, MODEL_VERSION, "profile-hash")).thenReturn(Map.of());
+        when(sectionRepository.fetchSectionEmbeddings(anyCollection(), anyString())).thenAnswer(invocation -> {
+            Collection<SectionCacheKey> cacheKeys = invocation.getArgument(0);
+            Map<SectionCacheKey, float[]> cached = new HashMap<>();
+            cacheKeys.forEach(cacheKey -> cached.put(cacheKey, unitEmbedding()));
+            return cached;
+        });
+
+        int refreshed = service.refreshBooksIfStale(bookIds, "profile weights changed");
+
+        assertThat(refreshed).isEqualTo(2);
+        assertThat(requestBatches).isEmpty();
+        verify(sectionRepository, times(1)).fetchSectionEmbeddings(anyCollection(), anyString());
+        verify(sectionRepository, never()).upsertSectionEmbeddings(anyList(), anyString());
+    }
+
+    @Test
+    @DisplayName("Batch refresh skips books whose stored source hash already matches")
+    void should_SkipCurrentBooks_When_StoredHashMatches() {
+        List<UUID> bookIds = List.of(FIRST_BOOK_ID);
+        when(repository.fetchBookSources(bookIds)).thenReturn(sources(bookIds));
+        when(sectionRepository.fetchSectionEmbeddings(anyCollection(), anyString())).thenReturn(Map.of());
+        when(repository.fetchCurrentSourceHashes(bookIds, MODEL_VERSION, "profile-hash")).thenReturn(Map.of());
+        service.refreshBooksIfStale(bookIds, "first pass");
+        @SuppressWarnings("unchecked")
+        ArgumentCaptor<List<FusedEmbeddingRow>> rowsCaptor = ArgumentCaptor.forClass(List.class);
+        verify(repository).upsertFusedEmbeddings(rowsCaptor.capture());
+        String storedHash = rowsCaptor.getValue().getFirst().sourceDocument().sourceHash();
+        when(repository.fetchCurrentSourceHashes(bookIds, MODEL_VERSION, "profile-hash"))
+            .thenReturn(Map.of(FIRST_BOOK_ID, storedHash));
+
+        int refreshed = service.refreshBooksIfStale(bookIds, "second pass");
+
+        assertThat(refreshed).isZero();
+        assertThat(requestBatches).hasSize(1);
+    }
+
+    @Test
+    @DisplayName("Backfill retries one book at a time when the batched source load fails")
+    void should_FallBackToPerBookRefresh_When_BatchFails() {
+        List<UUID> bookIds = List.of(FIRST_BOOK_ID, SECOND_BOOK_ID);
+        Map<UUID, BookSimilarityBookSource> sources = sources(bookIds);
+        when(repository.findRefreshCandidates(MODEL_VERSION, "profile-hash", 10)).thenReturn(bookIds);
+        when(repository.fetchBookSources(anyList())).thenThrow(new IllegalStateException("boom"));
+        when(repository.fetchBookSource(FIRST_BOOK_ID)).thenReturn(Optional.of(sources.get(FIRST_BOOK_ID)));
+        when(repository.fetchBookSource(SECOND_BOOK_ID)).thenReturn(Optional.of(sources.get(SECOND_BOOK_ID)));
+        when(repository.fetchCurrentSourceHash(any(), eq(MODEL_VERSION), eq("profile-hash"))).thenReturn(Optional.empty());
+        when(sectionRepository.fetchSectionEmbeddings(anyCollection(), anyString())).thenReturn(Map.of());
+
+        int refreshed = service.backfillStale(10);
+
+        assertThat(refreshed).isEqualTo(2);
+        verify(repository, times(2)).upsertFusedEmbedding(any());
+    }
+
+    @Test
+    @DisplayName("Scheduled discovery reads the change log and backs off the full scan once it finds nothing")
+    void should_SkipFullScan_When_PreviousScanFoundNothing() {
+        when(requestQueue.snapshot()).thenReturn(new BookAiContentRequestQueue.QueueSnapshot(0, 0, 1));
+        when(repository.claimChangedBooks(25)).thenReturn(List.of(), List.of(FIRST_BOOK_ID));
+        when(repository.findRefreshCandidates(MODEL_VERSION, "profile-hash", 25)).thenReturn(List.of());
+        doReturn(new BookAiContentRequestQueue.EnqueuedTask<>("task", new CompletableFuture<>(), new CompletableFuture<>()))
+            .when(requestQueue).enqueueBackground(anyInt(), any());
+
+        int firstPass = service.enqueueRefreshCandidates(25, 25, 100);
+        int secondPass = service.enqueueRefreshCandidates(25, 25, 100);
+
+        assertThat(firstPass).isZero();
+        assertThat(secondPass).isEqualTo(1);
+        verify(repository, times(1)).findRefreshCandidates(anyString(), anyString(), anyInt());
+    }
+
+    private static Map<UUID, BookSimilarityBookSource> sources(List<UUID> bookIds) {
+        Map<UUID, BookSimilarityBookSource> sources = new LinkedHashMap<>();
+        for (UUID bookId : bookIds) {
+            sources.put(bookId, new BookSimilarityBookSource(
+                bookId, "Title " + bookId, null, "Author", null, null, null, null, null, null,
+                null, null, null, null, null, null, null, null
+            ));
+        }
+        return sources;
+    }
+
+    private static float[] unitEmbedding() {
+        float[] embedding = new float[BookSimilarityVectorFusion.EMBEDDING_DIMENSION];
+        embedding[0] = 1.0f;
+        return embedding;
+    }
+
+    private static BookSimilarityFusionPolicy similarityPolicy() {
+        EnumMap<BookSimilaritySectionKey, Double> weights = new EnumMap<>(BookSimilaritySectionKey.class);
+        weights.put(BookSimilaritySectionKey.IDENTITY, 1.0d);
+        return new BookSimilarityFusionPolicy(
+            "test",
+            List.of(BookSimilaritySectionKey.IDENTITY),
+            List.of(new BookSimilarityFusionProfile("test", "Test profile", weights)),
+            "profile-hash"
+        );
+    }
+}
@@ -0,0 +1,136 @@
+package net.findmybook.application.similarity;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+import java.util.function.Consumer;
+import net.findmybook.adapters.persistence.BookSimilarityEmbeddingRepository;
+import net.findmybook.adapters.persistence.BookSimilarityEmbeddingRepository.IndexVectorRow;
+import net.findmybook.adapters.persistence.BookSimilarityEmbeddingRepository.NearestBookRow;
+import net.findmybook.boot.BookSimilarityIndexProperties;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+@ExtendWith(MockitoExtension.class)
+class BookSimilarityNearestNeighborIndexTest {
+
+    private static final String MODEL_VERSION = "qwen3-embedding-4b:v1";
+    private static final String PROFILE_HASH = "profile-hash";
+    private static final UUID SOURCE_BOOK = UUID.fromString("00000000-0000-0000-0000-00000000000a");
+    private static final UUID SIBLING_EDITION = UUID.fromString("00000000-0000-0000-0000-00000000000b");
+    private static final UUID OTHER_BOOK = UUID.fromString("00000000-0000-0000-0000-00000000000c");
+    private static final UUID LATE_BOOK = UUID.fromString("00000000-0000-0000-0000-00000000000d");
+    private static final UUID SHARED_CLUSTER = UUID.fromString("00000000-0000-0000-0000-0000000000f1");
+
+    @Mock
+    private BookSimilarityEmbeddingRepository repository;
+
+    private BookSimilarityNearestNeighborIndex index;
+
+    @BeforeEach
+    void initIndex() {
+        BookSimilarityIndexProperties properties = new BookSimilarityIndexProperties();
+        properties.setEnabled(true);
+        index = new BookSimilarityNearestNeighborIndex(repository, properties);
+    }
+
+    @Test
+    @DisplayName("rebuild() replays vectors upserted while the graph was loading")
+    void should_ReplayUpsert_When_VectorWrittenDuringRebuild() {
+        when(repository.fetchClusterIds(LATE_BOOK)).thenReturn(List.of());
+        doAnswer(invocation -> {
+            Consumer<IndexVectorRow> consumer = invocation.getArgument(2);
+            consumer.accept(new IndexVectorRow(SOURCE_BOOK, new float[] {1f, 0f, 0f}, List.of()));
+            index.upsert(LATE_BOOK, new float[] {0.9f, 0.1f, 0f}, MODEL_VERSION, PROFILE_HASH);
+            consumer.accept(new IndexVectorRow(OTHER_BOOK, new float[] {0f, 1f, 0f}, List.of()));
+            return null;
+        }).when(repository).streamIndexVectors(eq(MODEL_VERSION), eq(PROFILE_HASH), any());
+        stubAllCandidatesLive();
+
+        index.rebuild(MODEL_VERSION, PROFILE_HASH);
+
+        assertThat(neighborIds(index.findNearest(SOURCE_BOOK, MODEL_VERSION, PROFILE_HASH, 5).orElseThrow()))
+            .containsExactly(LATE_BOOK, OTHER_BOOK);
+    }
+
+    @Test
+    @DisplayName("findNearest() excludes editions that share a work cluster with the source")
+    void should_ExcludeSameClusterBooks_When_FindingNearest() {
+        rebuildWith(
+            new IndexVectorRow(SOURCE_BOOK, new float[] {1f, 0f, 0f}, List.of(SHARED_CLUSTER)),
+            new IndexVectorRow(SIBLING_EDITION, new float[] {0.99f, 0.01f, 0f}, List.of(SHARED_CLUSTER)),
+            new IndexVectorRow(OTHER_BOOK, new float[] {0.5f, 0.5f, 0f}, List.of())
+        );
+        stubAllCandidatesLive();
+
+        assertThat(neighborIds(index.findNearest(SOURCE_BOOK, MODEL_VERSION, PROFILE_HASH, 5).orElseThrow()))
+            .containsExactly(OTHER_BOOK);
+    }
+
+    @Test
+    @DisplayName("upsert() re-fetches clusters and findNearest() skips superseded nodes and removed books")
+    void should_SkipSupersededAndRemovedBooks_When_IndexChangedSinceRebuild() {
+        rebuildWith(
+            new IndexVectorRow(SOURCE_BOOK, new float[] {1f, 0f, 0f}, List.of(SHARED_CLUSTER)),
+            new IndexVectorRow(SIBLING_EDITION, new float[] {0f, 0f, 1f}, List.of(SHARED_CLUSTER)),
+            new IndexVectorRow(OTHER_BOOK, new float[] {0.9f, 0.1f, 0f}, List.of())
+        );
+        // The sibling left the shared cluster before its vector was rewritten.
+        when(repository.fetchClusterIds(SIBLING_EDITION)).thenReturn(List.of());
+        index.upsert(SIBLING_EDITION, new float[] {0.8f, 0.2f, 0f}, MODEL_VERSION, PROFILE_HASH);
+        // The other book was deleted by SQL without telling the index.
+        when(repository.filterLiveNeighbors(eq(SOURCE_BOOK), anyList())).thenAnswer(invocation -> {
+            Set<UUID> live = new HashSet<>(invocation.<List<UUID>>getArgument(1));
+            live.remove(OTHER_BOOK);
+            return live;
+        });
+
+        List<NearestBookRow> neighbors = index.findNearest(SOURCE_BOOK, MODEL_VERSION, PROFILE_HASH, 5).orElseThrow();
+
+        assertThat(neighborIds(neighbors)).containsExactly(SIBLING_EDITION);
+        verify(repository, times(1)).fetchClusterIds(SIBLING_EDITION);
+    }
+
+    @Test
+    @DisplayName("findNearest() defers to Postgres for another contract or an unindexed book")
+    void should_ReturnEmpty_When_ContractOrSourceNotIndexed() {
+        rebuildWith(new IndexVectorRow(SOURCE_BOOK, new float[] {1f, 0f, 0f}, List.of()));
+
+        assertThat(index.findNearest(SOURCE_BOOK, "other-model", PROFILE_HASH, 5)).isEmpty();
+        assertThat(index.findNearest(LATE_BOOK, MODEL_VERSION, PROFILE_HASH, 5)).isEmpty();
+    }
+
+    private void rebuildWith(IndexVectorRow... rows) {
+        doAnswer(invocation -> {
+            Consumer<IndexVectorRow> consumer = invocation.getArgument(2);
+            for (IndexVectorRow row : rows) {
+                consumer.accept(row);
+            }
+            return null;
+        }).when(repository).streamIndexVectors(eq(MODEL_VERSION), eq(PROFILE_HASH), any());
+        index.rebuild(MODEL_VERSION, PROFILE_HASH);
+    }
+
+    private void stubAllCandidatesLive() {
+        when(repository.filterLiveNeighbors(eq(SOURCE_BOOK), anyList()))
+            .thenAnswer(invocation -> new HashSet<>(invocation.<List<UUID>>getArgument(1)));
+    }
+
+    private static List<UUID> neighborIds(List<NearestBookRow> rows) {
+        return rows.stream().map(NearestBookRow::bookId).toList();
+    }
+}
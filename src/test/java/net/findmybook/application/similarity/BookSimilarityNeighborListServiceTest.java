@@ -0,0 +1,193 @@
+package net.findmybook.application.similarity;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.inOrder;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.when;
+
+import java.time.Duration;
+import java.time.OffsetDateTime;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+import net.findmybook.adapters.persistence.BookSimilarityEmbeddingRepository.NearestBookRow;
+import net.findmybook.adapters.persistence.BookSimilarityNeighborRepository;
+import net.findmybook.adapters.persistence.BookSimilarityNeighborRepository.NeighborList;
+import net.findmybook.adapters.persistence.BookSimilarityNeighborRepository.QueuedNeighborList;
+import net.findmybook.adapters.persistence.BookSimilarityNeighborRepository.StoredNeighbors;
+import net.findmybook.application.similarity.BookSimilarityEmbeddingService.SimilarBookMatch;
+import net.findmybook.application.similarity.BookSimilarityEmbeddingService.SimilarityContract;
+import net.findmybook.boot.BookSimilarityNeighborProperties;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.InOrder;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+@ExtendWith(MockitoExtension.class)
+class BookSimilarityNeighborListServiceTest {
+
+    private static final SimilarityContract CONTRACT = new SimilarityContract("model-version", "profile-hash");
+    private static final UUID CHANGED_BOOK_ID = UUID.fromString("019da3e5-3838-703e-9112-bad4a489239e");
+    private static final UUID NEW_NEIGHBOR_ID = UUID.fromString("019c3b68-3ee9-7ef0-917c-c37b663d97c1");
+    private static final UUID REFERENCING_BOOK_ID = UUID.fromString("019c3b68-3ee9-7ef0-917c-c37b663d97c2");
+    private static final Duration LEASE = Duration.ofMinutes(10);
+    private static final OffsetDateTime CLAIMED_AT = OffsetDateTime.parse("2026-10-16T12:00:00Z");
+
+    @Mock
+    private BookSimilarityEmbeddingService embeddingService;
+
+    @Mock
+    private BookSimilarityNeighborRepository neighborRepository;
+
+    private BookSimilarityNeighborProperties properties;
+
+    private BookSimilarityNeighborListService service;
+
+    @BeforeEach
+    void createService() {
+        properties = new BookSimilarityNeighborProperties();
+        properties.setEnabled(true);
+        properties.setNeighborCount(2);
+        service = new BookSimilarityNeighborListService(embeddingService, neighborRepository, properties);
+    }
+
+    @Test
+    @DisplayName("Refresh recomputes changed lists, the changed book's new neighbors, and lists that referenced it")
+    void should_RecomputeAffectedLists_When_VectorChanged() {
+        when(embeddingService.activeContract()).thenReturn(Optional.of(CONTRACT));
+        when(neighborRepository.claimQueuedNeighborLists("model-version", "profile-hash", 200, LEASE))
+            .thenReturn(List.of(new QueuedNeighborList(CHANGED_BOOK_ID, true, CLAIMED_AT)));
+        when(embeddingService.findNearestBooksForContract(CHANGED_BOOK_ID, CONTRACT, 2))
+            .thenReturn(List.of(new SimilarBookMatch(NEW_NEIGHBOR_ID, 0.9d)));
+        when(neighborRepository.findListsContaining(List.of(CHANGED_BOOK_ID), "model-version", "profile-hash"))
+            .thenReturn(List.of(REFERENCING_BOOK_ID, CHANGED_BOOK_ID));
+        when(embeddingService.findNearestBooksForContract(NEW_NEIGHBOR_ID, CONTRACT, 2))
+            .thenReturn(List.of(new SimilarBookMatch(CHANGED_BOOK_ID, 0.9d)));
+        when(embeddingService.findNearestBooksForContract(REFERENCING_BOOK_ID, CONTRACT, 2))
+            .thenReturn(List.of());
+
+        int written = service.refreshStaleNeighborLists();
+
+        @SuppressWarnings("unchecked")
+        ArgumentCaptor<List<NeighborList>> listsCaptor = ArgumentCaptor.forClass(List.class);
+        verify(neighborRepository).upsertNeighborLists(eq("model-version"), eq("profile-hash"), listsCaptor.capture());
+        assertThat(written).isEqualTo(3);
+        assertThat(listsCaptor.getValue())
+            .extracting(NeighborList::bookId)
+            .containsExactly(CHANGED_BOOK_ID, NEW_NEIGHBOR_ID, REFERENCING_BOOK_ID);
+        assertThat(listsCaptor.getValue().getFirst().neighbors())
+            .containsExactly(new NearestBookRow(NEW_NEIGHBOR_ID, 0.9d));
+    }
+
+    @Test
+    @DisplayName("Refresh queues affected lists beyond the per-pass cap instead of recomputing them")
+    void should_CarryOverAffectedLists_When_CapReached() {
+        properties.setMaxAffectedPerPass(1);
+        when(embeddingService.activeContract()).thenReturn(Optional.of(CONTRACT));
+        when(neighborRepository.claimQueuedNeighborLists("model-version", "profile-hash", 200, LEASE))
+            .thenReturn(List.of(new QueuedNeighborList(CHANGED_BOOK_ID, true, CLAIMED_AT)));
+        when(embeddingService.findNearestBooksForContract(CHANGED_BOOK_ID, CONTRACT, 2))
+            .thenReturn(List.of(new SimilarBookMatch(NEW_NEIGHBOR_ID, 0.9d)));
+        when(neighborRepository.findListsContaining(List.of(CHANGED_BOOK_ID), "model-version", "profile-hash"))
+            .thenReturn(List.of(REFERENCING_BOOK_ID));
+        when(embeddingService.findNearestBooksForContract(NEW_NEIGHBOR_ID, CONTRACT, 2))
+            .thenReturn(List.of(new SimilarBookMatch(CHANGED_BOOK_ID, 0.9d)));
+
+        int written = service.refreshStaleNeighborLists();
+
+        assertThat(written).isEqualTo(2);
+        verify(embeddingService, never()).findNearestBooksForContract(REFERENCING_BOOK_ID, CONTRACT, 2);
+        verify(neighborRepository).queueNeighborLists(
+            List.of(REFERENCING_BOOK_ID), "model-version", "profile-hash", false);
+    }
+
+    @Test
+    @DisplayName("Carried-over lists are recomputed alone, without expanding to lists that contain them")
+    void should_RecomputeOnlyOwnList_When_ClaimedEntryIsCarriedOver() {
+        when(embeddingService.activeContract()).thenReturn(Optional.of(CONTRACT));
+        when(neighborRepository.claimQueuedNeighborLists("model-version", "profile-hash", 200, LEASE))
+            .thenReturn(List.of(new QueuedNeighborList(REFERENCING_BOOK_ID, false, CLAIMED_AT)));
+        when(embeddingService.findNearestBooksForContract(REFERENCING_BOOK_ID, CONTRACT, 2))
+            .thenReturn(List.of(new SimilarBookMatch(NEW_NEIGHBOR_ID, 0.8d)));
+
+        int written = service.refreshStaleNeighborLists();
+
+        assertThat(written).isEqualTo(1);
+        InOrder writeThenComplete = inOrder(neighborRepository);
+        writeThenComplete.verify(neighborRepository).upsertNeighborLists(eq("model-version"), eq("profile-hash"), anyList());
+        writeThenComplete.verify(neighborRepository).completeNeighborLists(
+            List.of(new QueuedNeighborList(REFERENCING_BOOK_ID, false, CLAIMED_AT)), "model-version", "profile-hash");
+        verify(neighborRepository, never()).findListsContaining(any(), anyString(), anyString());
+        verify(embeddingService, never()).findNearestBooksForContract(NEW_NEIGHBOR_ID, CONTRACT, 2);
+    }
+
+    @Test
+    @DisplayName("A failed refresh pass releases its claim instead of completing it")
+    void should_ReleaseClaimedLists_When_RefreshFails() {
+        when(embeddingService.activeContract()).thenReturn(Optional.of(CONTRACT));
+        when(neighborRepository.claimQueuedNeighborLists("model-version", "profile-hash", 200, LEASE))
+            .thenReturn(List.of(
+                new QueuedNeighborList(CHANGED_BOOK_ID, true, CLAIMED_AT),
+                new QueuedNeighborList(REFERENCING_BOOK_ID, false, CLAIMED_AT)
+            ));
+        when(embeddingService.findNearestBooksForContract(CHANGED_BOOK_ID, CONTRACT, 2))
+            .thenThrow(new IllegalStateException("vector search unavailable"));
+
+        assertThatThrownBy(() -> service.refreshStaleNeighborLists())
+            .isInstanceOf(IllegalStateException.class);
+
+        verify(neighborRepository).releaseNeighborLists(List.of(
+            new QueuedNeighborList(CHANGED_BOOK_ID, true, CLAIMED_AT),
+            new QueuedNeighborList(REFERENCING_BOOK_ID, false, CLAIMED_AT)
+        ), "model-version", "profile-hash");
+        verify(neighborRepository, never()).completeNeighborLists(anyList(), anyString(), anyString());
+    }
+
+    @Test
+    @DisplayName("Reads asking for more neighbors than are stored fall back to live search")
+    void should_ReturnEmpty_When_LimitExceedsStoredNeighborCount() {
+        Optional<List<SimilarBookMatch>> neighbors = service.findPrecomputedNeighbors(CHANGED_BOOK_ID, 3);
+
+        assertThat(neighbors).isEmpty();
+        verifyNoInteractions(neighborRepository, embeddingService);
+    }
+
+    @Test
+    @DisplayName("Reads return the stored ranked list for the active contract")
+    void should_ReturnStoredNeighbors_When_ListMaterialized() {
+        when(embeddingService.activeContract()).thenReturn(Optional.of(CONTRACT));
+        when(neighborRepository.fetchNeighbors(any(UUID.class), anyString(), anyString(), anyInt()))
+            .thenReturn(new StoredNeighbors(List.of(new NearestBookRow(NEW_NEIGHBOR_ID, 0.75d)), 1));
+
+        Optional<List<SimilarBookMatch>> neighbors = service.findPrecomputedNeighbors(CHANGED_BOOK_ID, 2);
+
+        assertThat(neighbors).contains(List.of(new SimilarBookMatch(NEW_NEIGHBOR_ID, 0.75d)));
+        verify(neighborRepository).fetchNeighbors(CHANGED_BOOK_ID, "model-version", "profile-hash", 2);
+    }
+
+    @Test
+    @DisplayName("Reads fall back to live search and queue a rebuild when dropped neighbors leave the list short")
+    void should_FallBackAndQueueRebuild_When_StoredNeighborsNoLongerLive() {
+        when(embeddingService.activeContract()).thenReturn(Optional.of(CONTRACT));
+        // Two neighbors were stored; one was deleted or joined the source's work cluster since.
+        when(neighborRepository.fetchNeighbors(CHANGED_BOOK_ID, "model-version", "profile-hash", 2))
+            .thenReturn(new StoredNeighbors(List.of(new NearestBookRow(NEW_NEIGHBOR_ID, 0.75d)), 2));
+
+        Optional<List<SimilarBookMatch>> neighbors = service.findPrecomputedNeighbors(CHANGED_BOOK_ID, 2);
+
+        assertThat(neighbors).isEmpty();
+        verify(neighborRepository).queueNeighborLists(List.of(CHANGED_BOOK_ID), "model-version", "profile-hash", false);
+    }
+}
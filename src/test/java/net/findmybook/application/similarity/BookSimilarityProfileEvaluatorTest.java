@@ -0,0 +1,177 @@
+package net.findmybook.application.similarity;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Random;
+import java.util.UUID;
+import java.util.function.Consumer;
+import net.findmybook.adapters.persistence.BookSimilarityEmbeddingRepository;
+import net.findmybook.adapters.persistence.BookSimilarityEmbeddingRepository.ProfileSnapshotRow;
+import net.findmybook.application.similarity.BookSimilarityEmbeddingService.SimilarityContract;
+import net.findmybook.application.similarity.BookSimilarityProfileEvaluator.EvaluationReport;
+import net.findmybook.application.similarity.BookSimilarityProfileEvaluator.LatencyBucket;
+import net.findmybook.application.similarity.BookSimilarityProfileEvaluator.LatencySummary;
+import net.findmybook.application.similarity.BookSimilarityProfileEvaluator.ProfileReport;
+import net.findmybook.application.similarity.BookSimilarityProfileEvaluator.SearchPathReport;
+import net.findmybook.boot.BookSimilarityIndexProperties;
+import net.findmybook.domain.similarity.BookSimilarityFusionPolicy;
+import net.findmybook.domain.similarity.BookSimilarityFusionProfile;
+import net.findmybook.domain.similarity.BookSimilaritySectionKey;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+@ExtendWith(MockitoExtension.class)
+class BookSimilarityProfileEvaluatorTest {
+
+    private static final SimilarityContract CONTRACT = new SimilarityContract("model-version", "profile-hash");
+    private static final int SNAPSHOT_BOOKS = 40;
+    private static final int DIMENSION = 2560;
+
+    @Mock
+    private BookSimilarityEmbeddingService embeddingService;
+
+    @Mock
+    private BookSimilarityEmbeddingRepository repository;
+
+    @Mock
+    private BookEmbeddingClient embeddingClient;
+
+    private BookSimilarityProfileEvaluator evaluator;
+    private BookSimilarityVectorFusion vectorFusion;
+    private BookSimilarityFusionPolicy policy;
+
+    @BeforeEach
+    void createEvaluator() {
+        policy = new BookSimilarityFusionPolicy(
+            "balanced",
+            List.of(BookSimilaritySectionKey.IDENTITY, BookSimilaritySectionKey.DESCRIPTION),
+            List.of(
+                profile("balanced", Map.of(BookSimilaritySectionKey.IDENTITY, 0.5d, BookSimilaritySectionKey.DESCRIPTION, 0.5d)),
+                profile("identity_only", Map.of(BookSimilaritySectionKey.IDENTITY, 1.0d))
+            ),
+            "profile-hash"
+        );
+        vectorFusion = new BookSimilarityVectorFusion(policy);
+        evaluator = new BookSimilarityProfileEvaluator(
+            embeddingService,
+            repository,
+            embeddingClient,
+            policy,
+            vectorFusion,
+            new BookSimilarityIndexProperties()
+        );
+    }
+
+    @Test
+    @DisplayName("Evaluation scores every profile and compares pgvector only for the active profile")
+    void should_ReportEveryProfile_When_SnapshotComplete() {
+        stubSnapshot();
+        when(repository.findNearestBooks(any(UUID.class), eq("model-version"), eq("profile-hash"), eq(3)))
+            .thenReturn(List.of());
+
+        EvaluationReport report = evaluator.evaluate(5, 3, 0);
+
+        assertThat(report.snapshotBooks()).isEqualTo(SNAPSHOT_BOOKS);
+        assertThat(report.anchorsEvaluated()).isEqualTo(5);
+        assertThat(report.profiles()).extracting(ProfileReport::profileId).containsExactly("balanced", "identity_only");
+        ProfileReport active = report.profiles().getFirst();
+        assertThat(active.paths()).extracting(SearchPathReport::path).containsExactly(
+            BookSimilarityProfileEvaluator.EXACT_PATH,
+            BookSimilarityProfileEvaluator.IN_MEMORY_HNSW_PATH,
+            BookSimilarityProfileEvaluator.PGVECTOR_HNSW_PATH
+        );
+        assertThat(active.paths().get(0).recall()).isEqualTo(1.0d);
+        assertThat(active.paths().get(1).recall()).isGreaterThan(0.9d);
+        assertThat(active.paths().get(2).recall()).isZero();
+        assertThat(active.paths().get(2).latency().count()).isEqualTo(5);
+        assertThat(report.profiles().get(1).paths()).extracting(SearchPathReport::path).containsExactly(
+            BookSimilarityProfileEvaluator.EXACT_PATH,
+            BookSimilarityProfileEvaluator.IN_MEMORY_HNSW_PATH
+        );
+    }
+
+    @Test
+    @DisplayName("A snapshot truncated by its limit skips the pgvector comparison")
+    void should_SkipPgvectorPath_When_SnapshotTruncated() {
+        stubSnapshot();
+
+        EvaluationReport report = evaluator.evaluate(5, 3, SNAPSHOT_BOOKS);
+
+        assertThat(report.profiles().getFirst().paths())
+            .extracting(SearchPathReport::path)
+            .doesNotContain(BookSimilarityProfileEvaluator.PGVECTOR_HNSW_PATH);
+        verify(repository, never()).findNearestBooks(any(UUID.class), anyString(), anyString(), anyInt());
+    }
+
+    @Test
+    @DisplayName("Latency summary reports nearest-rank percentiles and fills fixed buckets")
+    void should_SummarizePercentilesAndBuckets_When_SamplesGiven() {
+        long[] nanos = {200_000L, 400_000L, 3_000_000L, 60_000_000L};
+
+        LatencySummary summary = LatencySummary.of(nanos);
+
+        assertThat(summary.count()).isEqualTo(4);
+        assertThat(summary.p50Millis()).isEqualTo(0.4d);
+        assertThat(summary.maxMillis()).isEqualTo(60.0d);
+        assertThat(summary.buckets()).extracting(LatencyBucket::count)
+            .containsExactly(0L, 1L, 1L, 0L, 0L, 1L, 0L, 0L, 0L, 1L, 0L, 0L);
+    }
+
+    private void stubSnapshot() {
+        when(embeddingService.activeContract()).thenReturn(Optional.of(CONTRACT));
+        when(embeddingClient.cacheModel()).thenReturn("embedding-model");
+        Random random = new Random(5L);
+        List<ProfileSnapshotRow> rows = new ArrayList<>();
+        for (int book = 0; book < SNAPSHOT_BOOKS; book++) {
+            EnumMap<BookSimilaritySectionKey, float[]> sections = new EnumMap<>(BookSimilaritySectionKey.class);
+            sections.put(BookSimilaritySectionKey.IDENTITY, randomVector(random));
+            sections.put(BookSimilaritySectionKey.DESCRIPTION, randomVector(random));
+            rows.add(new ProfileSnapshotRow(
+                new UUID(0L, book + 1L),
+                vectorFusion.fuseForProfile(policy.activeProfile(), sections),
+                List.of(),
+                sections
+            ));
+        }
+        doAnswer(invocation -> {
+            Consumer<ProfileSnapshotRow> consumer = invocation.getArgument(4);
+            rows.forEach(consumer);
+            return null;
+        }).when(repository).streamProfileSnapshot(
+            eq("model-version"),
+            eq("profile-hash"),
+            eq("embedding-model"),
+            anyInt(),
+            any()
+        );
+    }
+
+    private static float[] randomVector(Random random) {
+        float[] vector = new float[DIMENSION];
+        for (int index = 0; index < DIMENSION; index++) {
+            vector[index] = (float) random.nextGaussian();
+        }
+        return vector;
+    }
+
+    private static BookSimilarityFusionProfile profile(String id, Map<BookSimilaritySectionKey, Double> weights) {
+        return new BookSimilarityFusionProfile(id, "Test profile " + id, new EnumMap<>(weights));
+    }
+}
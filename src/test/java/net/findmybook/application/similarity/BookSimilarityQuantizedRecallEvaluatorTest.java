@@ -0,0 +1,57 @@
+package net.findmybook.application.similarity;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.when;
+
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+import net.findmybook.adapters.persistence.BookSimilarityEmbeddingRepository;
+import net.findmybook.adapters.persistence.BookSimilarityEmbeddingRepository.NearestBookRow;
+import net.findmybook.application.similarity.BookSimilarityEmbeddingService.SimilarityContract;
+import net.findmybook.boot.BookSimilarityEmbeddingProperties;
+import org.assertj.core.data.Offset;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+@ExtendWith(MockitoExtension.class)
+class BookSimilarityQuantizedRecallEvaluatorTest {
+
+    private static final UUID ANCHOR = UUID.fromString("019da3e5-3838-703e-9112-bad4a489239e");
+    private static final UUID FIRST = UUID.fromString("019c3b68-3ee9-7ef0-917c-c37b663d97c1");
+    private static final UUID SECOND = UUID.fromString("019c3b68-3ee9-7ef0-917c-c37b663d97c2");
+    private static final UUID OTHER = UUID.fromString("019c3b68-3ee9-7ef0-917c-c37b663d97c3");
+
+    @Mock
+    private BookSimilarityEmbeddingService embeddingService;
+
+    @Mock
+    private BookSimilarityEmbeddingRepository repository;
+
+    @Test
+    @DisplayName("Recall counts how many exhaustive neighbors each search path returned")
+    void should_ReportRecallPerSearchPath_When_ResultsDiffer() {
+        BookSimilarityEmbeddingProperties properties = new BookSimilarityEmbeddingProperties();
+        properties.setQuantizedCandidatePool(50);
+        BookSimilarityQuantizedRecallEvaluator evaluator =
+            new BookSimilarityQuantizedRecallEvaluator(embeddingService, repository, properties);
+        when(embeddingService.activeContract()).thenReturn(Optional.of(new SimilarityContract("mv", "ph")));
+        when(repository.sampleVectorBookIds("mv", "ph", 10)).thenReturn(List.of(ANCHOR));
+        when(repository.findNearestBooksExhaustive(ANCHOR, "mv", "ph", 2))
+            .thenReturn(List.of(new NearestBookRow(FIRST, 0.9d), new NearestBookRow(SECOND, 0.8d)));
+        when(repository.findNearestBooks(ANCHOR, "mv", "ph", 2))
+            .thenReturn(List.of(new NearestBookRow(FIRST, 0.9d), new NearestBookRow(SECOND, 0.8d)));
+        when(repository.findNearestBooksQuantized(ANCHOR, "mv", "ph", 2, 50))
+            .thenReturn(List.of(new NearestBookRow(FIRST, 0.9d), new NearestBookRow(OTHER, 0.7d)));
+
+        BookSimilarityQuantizedRecallEvaluator.RecallReport report = evaluator.evaluate(10, 2);
+
+        assertThat(report.anchorsEvaluated()).isEqualTo(1);
+        assertThat(report.candidatePool()).isEqualTo(50);
+        assertThat(report.halfvecRecall()).isCloseTo(1.0d, Offset.offset(1e-9d));
+        assertThat(report.quantizedRecall()).isCloseTo(0.5d, Offset.offset(1e-9d));
+    }
+}
@@ -0,0 +1,149 @@
+package net.findmybook.application.similarity;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.isNull;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.inOrder;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.when;
+
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+import net.findmybook.adapters.persistence.BookSimilarityBackfillCheckpointRepository;
+import net.findmybook.adapters.persistence.BookSimilarityBackfillCheckpointRepository.BackfillCheckpoint;
+import net.findmybook.adapters.persistence.BookSimilarityEmbeddingRepository;
+import net.findmybook.application.similarity.BookSimilarityEmbeddingService.SimilarityContract;
+import net.findmybook.application.similarity.BookSimilarityStreamingBackfill.StreamingBackfillResult;
+import net.findmybook.boot.BookSimilarityEmbeddingProperties;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InOrder;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+@ExtendWith(MockitoExtension.class)
+class BookSimilarityStreamingBackfillTest {
+
+    private static final SimilarityContract CONTRACT = new SimilarityContract("model-version", "profile-hash");
+    private static final UUID FIRST_BOOK_ID = UUID.fromString("019c3b68-3ee9-7ef0-917c-c37b663d97c1");
+    private static final UUID SECOND_BOOK_ID = UUID.fromString("019c3b68-3ee9-7ef0-917c-c37b663d97c2");
+    private static final UUID THIRD_BOOK_ID = UUID.fromString("019c3b68-3ee9-7ef0-917c-c37b663d97c3");
+
+    @Mock
+    private BookSimilarityEmbeddingService embeddingService;
+
+    @Mock
+    private BookSimilarityEmbeddingRepository repository;
+
+    @Mock
+    private BookSimilarityBackfillCheckpointRepository checkpointRepository;
+
+    private BookSimilarityStreamingBackfill backfill;
+
+    @BeforeEach
+    void createBackfill() {
+        BookSimilarityEmbeddingProperties properties = new BookSimilarityEmbeddingProperties();
+        properties.setRefreshBookBatchSize(2);
+        backfill = new BookSimilarityStreamingBackfill(embeddingService, repository, checkpointRepository, properties);
+    }
+
+    @Test
+    @DisplayName("Streaming backfill refreshes every candidate batch, checkpoints progress, and clears the checkpoint at the end")
+    void should_RefreshAllBatchesAndClearCheckpoint_When_CandidatesExhausted() {
+        when(embeddingService.activeContract()).thenReturn(Optional.of(CONTRACT));
+        when(embeddingService.canRefresh()).thenReturn(true);
+        when(repository.findRefreshCandidatesAfter(eq("model-version"), eq("profile-hash"), isNull(), anyInt()))
+            .thenReturn(List.of(FIRST_BOOK_ID, SECOND_BOOK_ID, THIRD_BOOK_ID));
+        when(embeddingService.refreshBackfillBatch(List.of(FIRST_BOOK_ID, SECOND_BOOK_ID))).thenReturn(2);
+        when(embeddingService.refreshBackfillBatch(List.of(THIRD_BOOK_ID))).thenReturn(1);
+
+        StreamingBackfillResult result = backfill.run(1, false);
+
+        assertThat(result).isEqualTo(new StreamingBackfillResult(3L, 3L, true));
+        InOrder checkpoints = inOrder(checkpointRepository);
+        checkpoints.verify(checkpointRepository)
+            .saveCheckpoint("model-version", "profile-hash", new BackfillCheckpoint(SECOND_BOOK_ID, 2L));
+        checkpoints.verify(checkpointRepository)
+            .saveCheckpoint("model-version", "profile-hash", new BackfillCheckpoint(THIRD_BOOK_ID, 3L));
+        checkpoints.verify(checkpointRepository).clearCheckpoint("model-version", "profile-hash");
+    }
+
+    @Test
+    @DisplayName("Resumed backfill continues after the stored book and carries the refreshed count")
+    void should_ContinueAfterCheckpoint_When_Resuming() {
+        when(embeddingService.activeContract()).thenReturn(Optional.of(CONTRACT));
+        when(embeddingService.canRefresh()).thenReturn(true);
+        when(checkpointRepository.fetchCheckpoint("model-version", "profile-hash"))
+            .thenReturn(Optional.of(new BackfillCheckpoint(SECOND_BOOK_ID, 40L)));
+        when(repository.findRefreshCandidatesAfter(eq("model-version"), eq("profile-hash"), eq(SECOND_BOOK_ID), anyInt()))
+            .thenReturn(List.of(THIRD_BOOK_ID));
+        when(embeddingService.refreshBackfillBatch(List.of(THIRD_BOOK_ID))).thenReturn(1);
+
+        StreamingBackfillResult result = backfill.run(2, true);
+
+        assertThat(result).isEqualTo(new StreamingBackfillResult(1L, 41L, true));
+        verify(checkpointRepository).clearCheckpoint("model-version", "profile-hash");
+    }
+
+    @Test
+    @DisplayName("Failed backfill batch is queued in the change log before the checkpoint moves past it")
+    void should_QueueFailedBatchForRetry_When_BatchRefreshFails() {
+        stubThreeCandidates();
+        when(embeddingService.refreshBackfillBatch(List.of(FIRST_BOOK_ID, SECOND_BOOK_ID)))
+            .thenThrow(new IllegalStateException("provider down"));
+        when(embeddingService.refreshBackfillBatch(List.of(THIRD_BOOK_ID))).thenReturn(1);
+
+        StreamingBackfillResult result = backfill.run(1, false);
+
+        assertThat(result).isEqualTo(new StreamingBackfillResult(3L, 1L, true));
+        InOrder retryThenCheckpoint = inOrder(repository, checkpointRepository);
+        retryThenCheckpoint.verify(repository).markBooksChanged(List.of(FIRST_BOOK_ID, SECOND_BOOK_ID));
+        retryThenCheckpoint.verify(checkpointRepository)
+            .saveCheckpoint("model-version", "profile-hash", new BackfillCheckpoint(SECOND_BOOK_ID, 0L));
+        retryThenCheckpoint.verify(checkpointRepository).clearCheckpoint("model-version", "profile-hash");
+    }
+
+    @Test
+    @DisplayName("Checkpoint stays before a failed batch that could not be queued for retry")
+    void should_HoldCheckpoint_When_FailedBatchCannotBeQueued() {
+        stubThreeCandidates();
+        when(embeddingService.refreshBackfillBatch(List.of(FIRST_BOOK_ID, SECOND_BOOK_ID)))
+            .thenThrow(new IllegalStateException("provider down"));
+        when(embeddingService.refreshBackfillBatch(List.of(THIRD_BOOK_ID))).thenReturn(1);
+        doThrow(new IllegalStateException("database down"))
+            .when(repository).markBooksChanged(List.of(FIRST_BOOK_ID, SECOND_BOOK_ID));
+
+        StreamingBackfillResult result = backfill.run(1, false);
+
+        assertThat(result).isEqualTo(new StreamingBackfillResult(3L, 1L, false));
+        verify(checkpointRepository, never()).saveCheckpoint(any(), any(), any());
+        verify(checkpointRepository, never()).clearCheckpoint(any(), any());
+    }
+
+    @Test
+    @DisplayName("Streaming backfill does nothing when embeddings cannot be refreshed")
+    void should_Skip_When_RefreshUnavailable() {
+        when(embeddingService.activeContract()).thenReturn(Optional.of(CONTRACT));
+        when(embeddingService.canRefresh()).thenReturn(false);
+
+        StreamingBackfillResult result = backfill.run(4, true);
+
+        assertThat(result.completed()).isFalse();
+        verifyNoInteractions(repository, checkpointRepository);
+    }
+
+    private void stubThreeCandidates() {
+        when(embeddingService.activeContract()).thenReturn(Optional.of(CONTRACT));
+        when(embeddingService.canRefresh()).thenReturn(true);
+        when(repository.findRefreshCandidatesAfter(eq("model-version"), eq("profile-hash"), isNull(), anyInt()))
+            .thenReturn(List.of(FIRST_BOOK_ID, SECOND_BOOK_ID, THIRD_BOOK_ID));
+    }
+}
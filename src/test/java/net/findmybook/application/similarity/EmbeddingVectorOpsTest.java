@@ -0,0 +1,60 @@
+package net.findmybook.application.similarity;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assumptions.assumeThat;
+
+import java.util.List;
+import java.util.Random;
+import org.assertj.core.data.Offset;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+class EmbeddingVectorOpsTest {
+
+    private static final int EMBEDDING_DIMENSION = BookSimilarityVectorFusion.EMBEDDING_DIMENSION;
+
+    private final EmbeddingVectorOps scalarOps = new ScalarEmbeddingVectorOps();
+    private EmbeddingVectorOps vectorOps;
+
+    @BeforeEach
+    void requireVectorModule() {
+        assumeThat(ModuleLayer.boot().findModule("jdk.incubator.vector")).isPresent();
+        vectorOps = new PanamaEmbeddingVectorOps();
+    }
+
+    @Test
+    @DisplayName("Vector API sum of squares matches the scalar loop, including the tail past the last full lane")
+    void should_MatchScalarSumOfSquares_When_LengthIsNotLaneMultiple() {
+        float[] vector = randomVector(new Random(7L), EMBEDDING_DIMENSION + 3);
+
+        assertThat(vectorOps.sumOfSquares(vector))
+            .isCloseTo(scalarOps.sumOfSquares(vector), Offset.offset(1e-2d));
+    }
+
+    @Test
+    @DisplayName("Vector API fusion matches scalar fusion for weighted section embeddings")
+    void should_MatchScalarFusion_When_FusingWeightedSections() {
+        Random random = new Random(11L);
+        List<float[]> sections = List.of(
+            randomVector(random, EMBEDDING_DIMENSION),
+            randomVector(random, EMBEDDING_DIMENSION),
+            new float[EMBEDDING_DIMENSION]
+        );
+        double[] weights = {0.5d, 0.3d, 0.2d};
+
+        float[] scalarFused = BookSimilarityVectorFusion.fuseWeighted(sections, weights, scalarOps);
+        float[] vectorFused = BookSimilarityVectorFusion.fuseWeighted(sections, weights, vectorOps);
+
+        assertThat(vectorFused).containsExactly(scalarFused, Offset.offset(1e-5f));
+        assertThat(Math.sqrt(vectorOps.sumOfSquares(vectorFused))).isCloseTo(1.0d, Offset.offset(1e-5d));
+    }
+
+    private static float[] randomVector(Random random, int length) {
+        float[] vector = new float[length];
+        for (int index = 0; index < length; index++) {
+            vector[index] = (float) random.nextGaussian();
+        }
+        return vector;
+    }
+}
@@ -0,0 +1,94 @@
+package net.findmybook.application.similarity;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.Comparator;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Random;
+import java.util.Set;
+import java.util.stream.IntStream;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+class HnswGraphTest {
+
+    private static final int DIMENSION = 64;
+    private static final int NODE_COUNT = 2_000;
+    private static final int QUERY_COUNT = 50;
+    private static final int TOP_K = 10;
+
+    private final EmbeddingVectorOps vectorOps = new ScalarEmbeddingVectorOps();
+
+    @Test
+    @DisplayName("HNSW search recalls most of the exact top-k neighbors")
+    void should_RecallMostExactNeighbors_When_SearchingRandomVectors() {
+        Random random = new Random(17L);
+        HnswGraph graph = new HnswGraph(16, 100, vectorOps, 42L);
+        float[][] vectors = new float[NODE_COUNT][];
+        for (int node = 0; node < NODE_COUNT; node++) {
+            vectors[node] = normalizedRandomVector(random);
+            assertThat(graph.add(vectors[node])).isEqualTo(node);
+        }
+
+        int hits = 0;
+        for (int query = 0; query < QUERY_COUNT; query++) {
+            float[] queryVector = normalizedRandomVector(random);
+            Set<Integer> exact = exactTopK(vectors, queryVector);
+            List<HnswGraph.ScoredNode> approximate = graph.search(queryVector, 64, null);
+            for (HnswGraph.ScoredNode match : approximate.subList(0, TOP_K)) {
+                if (exact.contains(match.node())) {
+                    hits++;
+                }
+            }
+        }
+
+        assertThat(hits / (double) (QUERY_COUNT * TOP_K)).isGreaterThan(0.9d);
+    }
+
+    @Test
+    @DisplayName("HNSW search never returns nodes rejected by the filter and ranks best first")
+    void should_ExcludeRejectedNodes_When_FilterProvided() {
+        Random random = new Random(23L);
+        HnswGraph graph = new HnswGraph(8, 50, vectorOps, 7L);
+        for (int node = 0; node < 500; node++) {
+            graph.add(normalizedRandomVector(random));
+        }
+
+        List<HnswGraph.ScoredNode> matches = graph.search(graph.vector(0), 40, node -> node % 2 == 1);
+
+        assertThat(matches).isNotEmpty();
+        assertThat(matches).allSatisfy(match -> assertThat(match.node() % 2).isEqualTo(1));
+        assertThat(matches).isSortedAccordingTo(
+            Comparator.comparingDouble(HnswGraph.ScoredNode::similarity).reversed()
+        );
+    }
+
+    @Test
+    @DisplayName("HNSW search on an empty graph returns no matches")
+    void should_ReturnEmpty_When_GraphHasNoNodes() {
+        HnswGraph graph = new HnswGraph(16, 100, vectorOps, 1L);
+
+        assertThat(graph.search(new float[DIMENSION], 10, null)).isEmpty();
+    }
+
+    private Set<Integer> exactTopK(float[][] vectors, float[] query) {
+        Set<Integer> topK = new HashSet<>();
+        IntStream.range(0, vectors.length)
+            .boxed()
+            .sorted(Comparator.comparingDouble((Integer node) -> vectorOps.dot(query, vectors[node])).reversed())
+            .limit(TOP_K)
+            .forEach(topK::add);
+        return topK;
+    }
+
+    private float[] normalizedRandomVector(Random random) {
+        float[] vector = new float[DIMENSION];
+        for (int index = 0; index < DIMENSION; index++) {
+            vector[index] = (float) random.nextGaussian();
+        }
+        double norm = Math.sqrt(vectorOps.sumOfSquares(vector));
+        vectorOps.scaleInPlace(vector, (float) (1.0d / norm));
+        return vector;
+    }
+}
@@ -31,7 +31,7 @@ class WeeklyCatalogRefreshSchedulerTest {
             config
         );
         RecommendationCacheRefreshUseCase.RefreshSummary refreshSummary =
-            new RecommendationCacheRefreshUseCase.RefreshSummary(20L, 0L, 20, 20L, 30);
+            new RecommendationCacheRefreshUseCase.RefreshSummary(20L, 0L, 20, 20L, 30, 1);
         when(recommendationCacheRefreshUseCase.refreshAllRecommendations()).thenReturn(refreshSummary);
 
         WeeklyCatalogRefreshScheduler.WeeklyRefreshSummary summary = scheduler.forceRunWeeklyRefreshCycle();
@@ -53,7 +53,7 @@ class WeeklyCatalogRefreshSchedulerTest {
             config
         );
         when(recommendationCacheRefreshUseCase.refreshAllRecommendations())
-            .thenReturn(new RecommendationCacheRefreshUseCase.RefreshSummary(10L, 1L, 9, 10L, 30));
+            .thenReturn(new RecommendationCacheRefreshUseCase.RefreshSummary(10L, 1L, 9, 10L, 30, 1));
         org.mockito.Mockito.doThrow(new IllegalStateException("nyt failure"))
             .when(newYorkTimesBestsellerScheduler)
             .forceProcessNewYorkTimesBestsellers();
@@ -13,6 +13,7 @@ import net.findmybook.application.ai.BookAiContentService;
 import net.findmybook.application.cover.BookCoverResolutionService;
 import net.findmybook.application.cover.BrowserCoverIngestUseCase;
 import net.findmybook.application.similarity.BookSimilarityEmbeddingService;
+import net.findmybook.application.similarity.BookSimilarityNeighborListService;
 import net.findmybook.dto.BookDetail;
 import net.findmybook.dto.EditionSummary;
 import net.findmybook.model.Book;
@@ -71,6 +72,9 @@ abstract class AbstractBookControllerMvcTest {
     @Mock
     protected BookSimilarityEmbeddingService bookSimilarityEmbeddingService;
 
+    @Mock
+    protected BookSimilarityNeighborListService bookSimilarityNeighborListService;
+
     @Mock
     protected BookAiContentService bookAiContentService;
 
@@ -100,7 +104,8 @@ abstract class AbstractBookControllerMvcTest {
             new SimilarBooksResponseUseCase(
                 bookSearchService,
                 recommendationService,
-                bookSimilarityEmbeddingService
+                bookSimilarityEmbeddingService,
+                bookSimilarityNeighborListService
             );
         BookController.BookControllerServices services = new BookController.BookControllerServices(
             bookSearchService,
@@ -193,7 +193,8 @@ class AdminControllerTest {
                 0L,
                 100,
                 100L,
-                30
+                30,
+                1
             ));
 
         var response = adminController.triggerRecommendationRefresh();
@@ -224,7 +225,7 @@ class AdminControllerTest {
             new WeeklyCatalogRefreshScheduler.WeeklyRefreshSummary(
                 true,
                 true,
-                java.util.Optional.of(new RecommendationCacheRefreshUseCase.RefreshSummary(200L, 0L, 200, 200L, 30)),
+                java.util.Optional.of(new RecommendationCacheRefreshUseCase.RefreshSummary(200L, 0L, 200, 200L, 30, 1)),
                 List.of()
             );
         when(weeklyCatalogRefreshScheduler.forceRunWeeklyRefreshCycle()).thenReturn(summary);
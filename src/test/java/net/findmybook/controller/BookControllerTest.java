@@ -26,6 +26,7 @@ import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertNotNull;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
 import static org.mockito.ArgumentMatchers.argThat;
 import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.verify;
@@ -143,7 +144,7 @@ class BookControllerTest extends AbstractBookControllerMvcTest {
             fixtureBook.getId().equals(book.getId())
                 && fixtureBook.getSlug().equals(book.getSlug())
                 && fixtureBook.getTitle().equals(book.getTitle())
-        ));
+        ), anyString());
     }
 
     @Test
@@ -176,7 +177,7 @@ class BookControllerTest extends AbstractBookControllerMvcTest {
             .param("viewWindow", "7d"))
             .andExpect(status().isBadRequest());
 
-        verify(recentlyViewedService, never()).addToRecentlyViewed(any(Book.class));
+        verify(recentlyViewedService, never()).addToRecentlyViewed(any(Book.class), any());
     }
 
     @Test
@@ -351,7 +352,7 @@ class BookControllerTest extends AbstractBookControllerMvcTest {
         performAsync(get("/api/books/missing"))
             .andExpect(status().isNotFound());
 
-        verify(recentlyViewedService, never()).addToRecentlyViewed(any(Book.class));
+        verify(recentlyViewedService, never()).addToRecentlyViewed(any(Book.class), any());
     }
 
     @Test
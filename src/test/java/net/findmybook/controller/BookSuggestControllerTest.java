@@ -0,0 +1,109 @@
+package net.findmybook.controller;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+import java.sql.ResultSet;
+import java.util.List;
+import java.util.stream.IntStream;
+import net.findmybook.service.SearchSuggestionService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowCallbackHandler;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+
+@ExtendWith(MockitoExtension.class)
+class BookSuggestControllerTest {
+
+    @Mock
+    private JdbcTemplate jdbcTemplate;
+
+    private SearchSuggestionService suggestionService;
+    private MockMvc mockMvc;
+
+    @BeforeEach
+    void setUp() {
+        // Authors disabled so only the book query feeds the index.
+        suggestionService = new SearchSuggestionService(jdbcTemplate, 100, 0, 30);
+        mockMvc = MockMvcBuilders.standaloneSetup(new BookSuggestController(suggestionService)).build();
+    }
+
+    @Test
+    @DisplayName("GET /api/books/suggest returns an empty list while the index has not been built")
+    void should_ReturnEmptySuggestions_When_IndexNotBuilt() throws Exception {
+        mockMvc.perform(get("/api/books/suggest").param("query", "dune"))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$.query").value("dune"))
+            .andExpect(jsonPath("$.suggestions").isEmpty());
+    }
+
+    @Test
+    @DisplayName("GET /api/books/suggest returns nothing for a blank prefix and matches on a one-letter prefix")
+    void should_HandleBlankAndShortPrefixes_When_IndexBuilt() throws Exception {
+        stubBookTitles(List.of("Dune", "Emma"));
+        suggestionService.rebuild();
+
+        mockMvc.perform(get("/api/books/suggest").param("query", "   "))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$.query").value(""))
+            .andExpect(jsonPath("$.suggestions").isEmpty());
+
+        mockMvc.perform(get("/api/books/suggest").param("query", "d"))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$.suggestions.length()").value(1))
+            .andExpect(jsonPath("$.suggestions[0].type").value("book"))
+            .andExpect(jsonPath("$.suggestions[0].text").value("Dune"))
+            .andExpect(jsonPath("$.suggestions[0].slug").value("book-0"));
+    }
+
+    @Test
+    @DisplayName("GET /api/books/suggest clamps limit to 20 and falls back to 8 for non-positive values")
+    void should_ClampLimit_When_LimitOutOfRange() throws Exception {
+        stubBookTitles(IntStream.rangeClosed(1, 25).mapToObj(i -> "Book " + i).toList());
+        suggestionService.rebuild();
+
+        mockMvc.perform(get("/api/books/suggest").param("query", "book").param("limit", "500"))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$.suggestions.length()").value(20));
+
+        mockMvc.perform(get("/api/books/suggest").param("query", "book").param("limit", "0"))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$.suggestions.length()").value(8));
+
+        mockMvc.perform(get("/api/books/suggest").param("query", "book"))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$.suggestions.length()").value(8));
+    }
+
+    private void stubBookTitles(List<String> titles) {
+        doAnswer(invocation -> {
+            RowCallbackHandler handler = invocation.getArgument(1);
+            for (int i = 0; i < titles.size(); i++) {
+                handler.processRow(bookRow(i, titles.get(i)));
+            }
+            return null;
+        }).when(jdbcTemplate).query(anyString(), any(RowCallbackHandler.class), any(), any());
+    }
+
+    private static ResultSet bookRow(int position, String title) throws Exception {
+        ResultSet row = mock(ResultSet.class);
+        when(row.getString("title")).thenReturn(title);
+        when(row.getString("book_id")).thenReturn("00000000-0000-0000-0000-%012d".formatted(position));
+        when(row.getString("slug")).thenReturn("book-" + position);
+        when(row.getString("authors")).thenReturn("Fixture Author");
+        when(row.getLong("view_count")).thenReturn((long) position);
+        return row;
+    }
+}
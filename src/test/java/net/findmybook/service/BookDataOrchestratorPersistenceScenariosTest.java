@@ -75,7 +75,7 @@ class BookDataOrchestratorPersistenceScenariosTest {
         lenient().when(bookSearchService.searchBooks(anyString(), any())).thenReturn(List.of());
         lenient().when(bookSearchService.searchByIsbn(anyString())).thenReturn(java.util.Optional.empty());
         lenient().when(bookSearchService.searchAuthors(anyString(), any())).thenReturn(List.of());
-        lenient().doNothing().when(bookSearchService).refreshMaterializedView();
+        lenient().when(bookSearchService.refreshSearchView()).thenReturn(0);
 
         lenient().when(jdbcTemplate.queryForObject(anyString(), eq(String.class), any()))
                 .thenThrow(new EmptyResultDataAccessException(1));
@@ -0,0 +1,157 @@
+package net.findmybook.service;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.PreparedStatementSetter;
+import org.springframework.jdbc.core.RowMapper;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class BookSearchServiceResultCacheTest {
+
+    private static final String TIER_SQL = "SELECT * FROM search_books_tier_candidates(?, ?, ?, ?)";
+    private static final String RANK_SQL = "SELECT * FROM search_books_tier_rank(?, ?, ?, ?, ?)";
+    private static final String DRAIN_SQL = "SELECT refresh_book_search_view_incremental(?)";
+
+    @Mock
+    private JdbcTemplate jdbcTemplate;
+
+    private BookSearchService bookSearchService;
+
+    @BeforeEach
+    void initService() {
+        bookSearchService = new BookSearchService(
+            jdbcTemplate,
+            new BookSearchService.SearchDependencies(Optional.empty(), Optional.empty(), Optional.empty()),
+            false
+        );
+    }
+
+    @Test
+    @DisplayName("searchBooks() serves the second page's wider window from the first page's load")
+    void should_LoadOnce_When_FetchingConsecutivePages() {
+        stubTierRows(100);
+
+        List<BookSearchService.SearchResult> firstPage = bookSearchService.searchBooks("dune", 24);
+        List<BookSearchService.SearchResult> secondPage = bookSearchService.searchBooks("Dune ", 48);
+
+        assertThat(firstPage).hasSize(24);
+        assertThat(secondPage).hasSize(48).startsWith(firstPage.toArray(BookSearchService.SearchResult[]::new));
+        // Exact and full-text tiers plus the ranking statement of the first load only; the trigram tier was not needed.
+        verify(jdbcTemplate, times(2)).query(eq(TIER_SQL), any(PreparedStatementSetter.class), any(RowMapper.class));
+        verify(jdbcTemplate, times(1)).query(eq(RANK_SQL), any(PreparedStatementSetter.class), any(RowMapper.class));
+    }
+
+    @Test
+    @DisplayName("refreshSearchView() leaves cached results in place when the drain rebuilds documents")
+    void should_KeepCachedResults_When_SearchViewDrainFindsWork() {
+        stubTierRows(100);
+        when(jdbcTemplate.queryForObject(eq(DRAIN_SQL), eq(Integer.class), eq(500))).thenReturn(3);
+
+        bookSearchService.searchBooks("dune", 24);
+        bookSearchService.refreshSearchView();
+        bookSearchService.searchBooks("dune", 24);
+
+        verify(jdbcTemplate, times(2)).query(eq(TIER_SQL), any(PreparedStatementSetter.class), any(RowMapper.class));
+    }
+
+    @Test
+    @DisplayName("searchBooks() sees persisted fallback books once the post-persistence drain ran")
+    void should_ServePersistedFallbackBooks_When_DrainFollowsPersistence() {
+        List<UUID> bookIds = new ArrayList<>();
+        stubTierRows(bookIds);
+        when(jdbcTemplate.queryForObject(eq(DRAIN_SQL), eq(Integer.class), eq(500))).thenReturn(3);
+
+        assertThat(bookSearchService.searchBooks("obscure title", 24)).isEmpty();
+        // The external fallback persisted three books; their search documents are rebuilt by the drain.
+        bookIds.addAll(List.of(UUID.randomUUID(), UUID.randomUUID(), UUID.randomUUID()));
+        bookSearchService.markResultCacheStale();
+        bookSearchService.refreshSearchView();
+
+        assertThat(bookSearchService.searchBooks("obscure title", 24))
+            .extracting(BookSearchService.SearchResult::bookId)
+            .containsExactlyElementsOf(bookIds);
+    }
+
+    private void stubTierRows(int count) {
+        List<UUID> bookIds = new ArrayList<>();
+        for (int index = 0; index < count; index++) {
+            bookIds.add(UUID.randomUUID());
+        }
+        stubTierRows(bookIds);
+    }
+
+    /**
+     * Stubs the tiers to answer with whatever {@code bookIds} holds at query time.
+     */
+    @SuppressWarnings("unchecked")
+    private void stubTierRows(List<UUID> bookIds) {
+        // Both concurrent tiers answer with the same books; the full-text duplicates are dropped.
+        when(jdbcTemplate.query(eq(TIER_SQL), any(PreparedStatementSetter.class), any(RowMapper.class)))
+            .thenAnswer(invocation -> {
+                RowMapper<Object> mapper = invocation.getArgument(2);
+                List<Object> mapped = new ArrayList<>();
+                for (int index = 0; index < bookIds.size(); index++) {
+                    mapped.add(mapper.mapRow(resultSet(bookIds.get(index), index), index));
+                }
+                return mapped;
+            });
+        // The tiers already answer in rank order, so ranking only applies the window.
+        when(jdbcTemplate.query(eq(RANK_SQL), any(PreparedStatementSetter.class), any(RowMapper.class)))
+            .thenAnswer(invocation -> {
+                PreparedStatement statement = mock(PreparedStatement.class);
+                when(statement.getConnection()).thenReturn(mock(Connection.class));
+                invocation.<PreparedStatementSetter>getArgument(1).setValues(statement);
+                ArgumentCaptor<Integer> maxResults = ArgumentCaptor.forClass(Integer.class);
+                verify(statement).setInt(eq(5), maxResults.capture());
+
+                RowMapper<Object> mapper = invocation.getArgument(2);
+                List<Object> mapped = new ArrayList<>();
+                for (int index = 0; index < Math.min(bookIds.size(), maxResults.getValue()); index++) {
+                    mapped.add(mapper.mapRow(hintsResultSet(bookIds.get(index), index), index));
+                }
+                return mapped;
+            });
+    }
+
+    private static ResultSet resultSet(UUID bookId, int rank) throws Exception {
+        ResultSet resultSet = mock(ResultSet.class);
+        when(resultSet.getObject("book_id", UUID.class)).thenReturn(bookId);
+        when(resultSet.getObject("published_date", LocalDate.class)).thenReturn(LocalDate.of(2000, 1, 1));
+        when(resultSet.getString("title")).thenReturn("Dune " + rank);
+        when(resultSet.getString("match_type")).thenReturn("exact_title");
+        when(resultSet.getDouble("relevance_score")).thenReturn(1.0 - rank * 0.001);
+        when(resultSet.getInt("edition_count")).thenReturn(1);
+        return resultSet;
+    }
+
+    private static ResultSet hintsResultSet(UUID bookId, int rank) throws Exception {
+        ResultSet resultSet = mock(ResultSet.class);
+        when(resultSet.getObject("book_id", UUID.class)).thenReturn(bookId);
+        when(resultSet.getObject("primary_book_id", UUID.class)).thenReturn(bookId);
+        when(resultSet.getString("title_author_key")).thenReturn("dune " + rank + "::frank herbert");
+        return resultSet;
+    }
+}
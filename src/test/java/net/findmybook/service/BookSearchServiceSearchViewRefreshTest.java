@@ -0,0 +1,73 @@
+package net.findmybook.service;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.dao.DataAccessResourceFailureException;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.util.Optional;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class BookSearchServiceSearchViewRefreshTest {
+
+    private static final String DRAIN_SQL = "SELECT refresh_book_search_view_incremental(?)";
+
+    @Mock
+    private JdbcTemplate jdbcTemplate;
+
+    private BookSearchService bookSearchService;
+
+    @BeforeEach
+    void initService() {
+        bookSearchService = new BookSearchService(
+            jdbcTemplate,
+            new BookSearchService.SearchDependencies(Optional.empty(), Optional.empty(), Optional.empty()),
+            false
+        );
+    }
+
+    @Test
+    @DisplayName("refreshSearchView() keeps draining full batches until the queue returns a partial batch")
+    void should_DrainUntilPartialBatch_When_QueueHasBacklog() {
+        when(jdbcTemplate.queryForObject(eq(DRAIN_SQL), eq(Integer.class), eq(500)))
+            .thenReturn(500, 500, 42);
+
+        int refreshed = bookSearchService.refreshSearchView();
+
+        assertThat(refreshed).isEqualTo(1_042);
+        verify(jdbcTemplate, times(3)).queryForObject(eq(DRAIN_SQL), eq(Integer.class), eq(500));
+    }
+
+    @Test
+    @DisplayName("refreshSearchView() issues a single cheap drain when the queue is empty")
+    void should_StopAfterOneCall_When_QueueIsEmpty() {
+        when(jdbcTemplate.queryForObject(eq(DRAIN_SQL), eq(Integer.class), eq(500))).thenReturn(0);
+
+        int refreshed = bookSearchService.refreshSearchView();
+
+        assertThat(refreshed).isZero();
+        verify(jdbcTemplate, times(1)).queryForObject(eq(DRAIN_SQL), eq(Integer.class), eq(500));
+    }
+
+    @Test
+    @DisplayName("refreshSearchView() treats drain failures as non-critical and reports rows applied so far")
+    void should_ReturnPartialCount_When_DrainFails() {
+        when(jdbcTemplate.queryForObject(eq(DRAIN_SQL), eq(Integer.class), eq(500)))
+            .thenReturn(500)
+            .thenThrow(new DataAccessResourceFailureException("connection reset"));
+
+        int refreshed = bookSearchService.refreshSearchView();
+
+        assertThat(refreshed).isEqualTo(500);
+    }
+}
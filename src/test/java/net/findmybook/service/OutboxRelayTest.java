@@ -14,6 +14,7 @@ import org.springframework.messaging.simp.SimpMessagingTemplate;
 
 import java.sql.ResultSet;
 import java.sql.SQLException;
+import java.util.Collections;
 import java.util.List;
 import java.util.UUID;
 
@@ -22,8 +23,10 @@ import static org.mockito.ArgumentMatchers.anyInt;
 import static org.mockito.ArgumentMatchers.anyString;
 import static org.mockito.Mockito.doThrow;
 import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
 import static org.mockito.Mockito.when;
 
 @ExtendWith(MockitoExtension.class)
@@ -86,6 +89,43 @@ class OutboxRelayTest {
         );
     }
 
+    @Test
+    void pollOutbox_shouldSkipQuery_WhenNotificationsActiveWithinSafetyInterval() {
+        outboxRelay.setNotificationsActive(true);
+
+        outboxRelay.pollOutbox();
+
+        verifyNoInteractions(jdbcTemplate, messagingTemplate);
+    }
+
+    @Test
+    void drainOutbox_shouldFetchNextBatch_WhenBatchWasFull() {
+        UUID eventId = UUID.randomUUID();
+        String topic = "/topic/book." + eventId;
+        when(jdbcTemplate.query(
+            ArgumentMatchers.contains("FROM events_outbox"),
+            ArgumentMatchers.<RowMapper<Object>>any(),
+            anyInt()
+        )).thenAnswer(invocation -> {
+            RowMapper<Object> rowMapper = invocation.getArgument(1);
+            ResultSet resultSet = mock(ResultSet.class);
+            when(resultSet.getObject("event_id")).thenReturn(eventId);
+            when(resultSet.getString("topic")).thenReturn(topic);
+            when(resultSet.getString("payload")).thenReturn("{}");
+            when(resultSet.getInt("retry_count")).thenReturn(0);
+            return Collections.nCopies(100, mapRow(rowMapper, resultSet));
+        }).thenReturn(List.of());
+
+        outboxRelay.drainOutbox();
+
+        verify(messagingTemplate, times(100)).convertAndSend(topic, "{}");
+        verify(jdbcTemplate, times(2)).query(
+            ArgumentMatchers.contains("FROM events_outbox"),
+            ArgumentMatchers.<RowMapper<Object>>any(),
+            anyInt()
+        );
+    }
+
     private void stubSingleUnsentEvent(UUID eventId, String topic, String payload) {
         when(jdbcTemplate.query(
             ArgumentMatchers.contains("FROM events_outbox"),
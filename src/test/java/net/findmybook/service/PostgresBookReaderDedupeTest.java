@@ -56,7 +56,7 @@ class PostgresBookReaderDedupeTest {
         BookSearchService searchService = Mockito.mock(BookSearchService.class);
         lenient().when(searchService.searchBooks(anyString(), any())).thenReturn(List.of());
         lenient().when(searchService.searchByIsbn(anyString())).thenReturn(java.util.Optional.empty());
-        lenient().doNothing().when(searchService).refreshMaterializedView();
+        lenient().when(searchService.refreshSearchView()).thenReturn(0);
         return searchService;
     }
 
@@ -83,7 +83,7 @@ class RecentlyViewedServiceTest {
 
         recentlyViewedService.addToRecentlyViewed(book);
 
-        verify(recentBookViewRepository).recordView(eq("uuid-2"), any(Instant.class), eq("web"));
+        verify(recentBookViewRepository).recordView(eq("uuid-2"), any(Instant.class), eq("web"), isNull());
         verify(recentBookViewRepository, never()).fetchStatsForBook(any());
         assertTrue(
             book.getQualifiers() == null
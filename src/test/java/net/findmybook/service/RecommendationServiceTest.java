@@ -0,0 +1,126 @@
+package net.findmybook.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.time.Duration;
+import java.util.List;
+import net.findmybook.model.Book;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+@ExtendWith(MockitoExtension.class)
+class RecommendationServiceTest {
+
+    private static final String SOURCE_ID = "019c3b68-3ee9-7ef0-917c-c37b663d9700";
+
+    @Mock
+    private BookDataOrchestrator bookDataOrchestrator;
+
+    @Mock
+    private BookRecommendationPersistenceService recommendationPersistenceService;
+
+    @Mock
+    private RecommendationStrategyChain strategyChain;
+
+    private RecommendationService recommendationService;
+    private Book sourceBook;
+
+    @BeforeEach
+    void createService() {
+        recommendationService = new RecommendationService(
+            new RecommendationService.RecommendationServices(
+                bookDataOrchestrator,
+                recommendationPersistenceService,
+                new RecommendationScoringStrategy()
+            ),
+            new RecommendationService.RecommendationConfig(false, Duration.ofMillis(300)),
+            strategyChain
+        );
+        sourceBook = book(SOURCE_ID);
+        when(bookDataOrchestrator.fetchCanonicalBookReactive(SOURCE_ID)).thenReturn(Mono.just(sourceBook));
+    }
+
+    @Test
+    @DisplayName("Regeneration keeps candidates found before the shared deadline and survives a failed strategy")
+    void should_MergePartialCandidates_When_StrategyHangsOrFails() {
+        Book authorMatch = book("019c3b68-3ee9-7ef0-917c-c37b663d9701");
+        Book sharedMatch = book("019c3b68-3ee9-7ef0-917c-c37b663d9702");
+        when(strategyChain.findByAuthors(sourceBook)).thenReturn(Flux.just(
+            new ScoredBook(authorMatch, 4.0d, "AUTHOR"),
+            new ScoredBook(sharedMatch, 1.0d, "AUTHOR")
+        ));
+        when(strategyChain.findByCategories(sourceBook)).thenReturn(Flux.concat(
+            Flux.just(new ScoredBook(sharedMatch, 5.0d, "CATEGORY")),
+            Flux.never()
+        ));
+        when(strategyChain.findByText(sourceBook)).thenReturn(Flux.error(new IllegalStateException("search down")));
+
+        List<Book> recommendations = recommendationService.regenerateSimilarBooks(SOURCE_ID, 5)
+            .block(Duration.ofSeconds(5));
+
+        assertThat(recommendations).extracting(Book::getId).containsExactly(sharedMatch.getId(), authorMatch.getId());
+        verify(recommendationPersistenceService, never()).persistPipelineRecommendations(any(), anyList());
+    }
+
+    @Test
+    @DisplayName("Regeneration cut short by the deadline returns its candidates without persisting them")
+    void should_NotPersistRecommendations_When_DeadlineFires() {
+        Book authorMatch = book("019c3b68-3ee9-7ef0-917c-c37b663d9704");
+        when(strategyChain.findByAuthors(sourceBook)).thenReturn(Flux.just(new ScoredBook(authorMatch, 4.0d, "AUTHOR")));
+        when(strategyChain.findByCategories(sourceBook)).thenReturn(Flux.never());
+        when(strategyChain.findByText(sourceBook)).thenReturn(Flux.empty());
+
+        List<Book> recommendations = recommendationService.regenerateSimilarBooks(SOURCE_ID, 5)
+            .block(Duration.ofSeconds(5));
+
+        assertThat(recommendations).extracting(Book::getId).containsExactly(authorMatch.getId());
+        verify(recommendationPersistenceService, never()).persistPipelineRecommendations(any(), anyList());
+        assertThat(sourceBook.getCachedRecommendationIds()).doesNotContain(authorMatch.getId());
+    }
+
+    @Test
+    @DisplayName("Concurrent regenerations of the same book share one pipeline run")
+    void should_CoalesceRegeneration_When_RequestsOverlap() {
+        Book match = book("019c3b68-3ee9-7ef0-917c-c37b663d9703");
+        when(strategyChain.findByAuthors(sourceBook)).thenReturn(
+            Flux.just(new ScoredBook(match, 4.0d, "AUTHOR")).delayElements(Duration.ofMillis(100))
+        );
+        when(strategyChain.findByCategories(sourceBook)).thenReturn(Flux.empty());
+        when(strategyChain.findByText(sourceBook)).thenReturn(Flux.empty());
+        when(recommendationPersistenceService.persistPipelineRecommendations(eq(sourceBook), anyList()))
+            .thenReturn(Mono.empty());
+
+        List<List<Book>> results = Flux.merge(
+                recommendationService.regenerateSimilarBooks(SOURCE_ID, 5),
+                recommendationService.regenerateSimilarBooks(SOURCE_ID, 5)
+            )
+            .collectList()
+            .block(Duration.ofSeconds(5));
+
+        assertThat(results).hasSize(2).allSatisfy(books ->
+            assertThat(books).extracting(Book::getId).containsExactly(match.getId()));
+        verify(strategyChain, times(1)).findByAuthors(sourceBook);
+        verify(recommendationPersistenceService, times(1)).persistPipelineRecommendations(eq(sourceBook), anyList());
+        verify(bookDataOrchestrator, times(1)).persistBooksAsync(any(), eq("RECOMMENDATION"));
+    }
+
+    private static Book book(String id) {
+        Book book = new Book();
+        book.setId(id);
+        book.setTitle("Title " + id);
+        return book;
+    }
+}
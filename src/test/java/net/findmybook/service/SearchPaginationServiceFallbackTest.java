@@ -1,14 +1,20 @@
 package net.findmybook.service;
 
 import net.findmybook.dto.BookAggregate;
+import net.findmybook.mapper.GoogleBooksMapper;
 import net.findmybook.model.Book;
+import net.findmybook.service.event.SearchResultsUpdatedEvent;
+import net.findmybook.util.ApplicationConstants;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 import reactor.core.publisher.Flux;
 
+import java.time.Duration;
 import java.util.List;
 import java.util.Map;
+import java.util.Optional;
 import java.util.UUID;
+import java.util.stream.IntStream;
 
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.mockito.ArgumentMatchers.any;
@@ -18,6 +24,7 @@ import static org.mockito.ArgumentMatchers.anyList;
 import static org.mockito.ArgumentMatchers.anyString;
 import static org.mockito.ArgumentMatchers.argThat;
 import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.timeout;
 import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.verifyNoInteractions;
@@ -295,4 +302,93 @@ class SearchPaginationServiceFallbackTest extends AbstractSearchPaginationServic
         verify(googleApiFetcher, times(1))
             .streamSearchItems("distributed systems", 24, "relevance", null, false);
     }
+
+    @Test
+    @DisplayName("search() hedges Google and returns by the deadline when Open Library stalls")
+    void should_HedgeGoogleAndReturnByDeadline_When_OpenLibraryStalls() {
+        when(bookSearchService.searchBooks("hedged", 4)).thenReturn(List.of());
+        when(openLibraryBookDataService.queryBooksByEverything(eq("hedged"), anyString(), eq(0), eq(4)))
+            .thenReturn(Flux.never());
+        when(googleApiFetcher.isApiKeyAvailable()).thenReturn(true);
+        when(googleApiFetcher.streamSearchItems("hedged", 4, "newest", null, true))
+            .thenReturn(Flux.just(googleVolumeNode("google-vol-hedge", "Hedged Result")));
+        when(googleApiFetcher.isFallbackAllowed()).thenReturn(false);
+        when(googleBooksMapper.map(argThat(node -> "google-vol-hedge".equals(node.path("id").asString("")))))
+            .thenReturn(googleAggregate("GOOGLE-HEDGE-1", "Hedged Result", "https://example.test/hedge.jpg"));
+
+        SearchPaginationService deadlineService = deadlineBoundService(Optional.of(googleApiFetcher), Optional.of(googleBooksMapper), 400L);
+        SearchPaginationService.SearchPage page = deadlineService.search(searchRequest("hedged", 0, 2, "newest"))
+            .block(Duration.ofSeconds(2));
+
+        assertThat(page).isNotNull();
+        assertThat(page.pageItems()).extracting(Book::getId).containsExactly("GOOGLE-HEDGE-1");
+    }
+
+    @Test
+    @DisplayName("search() pushes Open Library results that miss the deadline through realtime events")
+    void should_PublishLateOpenLibraryResults_When_DeadlineExpires() {
+        Book lateCandidate = buildOpenLibraryCandidate("OL-LATE-1", "Late Arrival");
+        when(bookSearchService.searchBooks("late arrival", 2)).thenReturn(List.of());
+        when(openLibraryBookDataService.queryBooksByEverything(eq("late arrival"), anyString(), eq(0), eq(2)))
+            .thenReturn(Flux.just(lateCandidate).delaySubscription(Duration.ofMillis(500)));
+
+        SearchPaginationService deadlineService = deadlineBoundService(Optional.empty(), Optional.empty(), 150L);
+        SearchPaginationService.SearchPage page = deadlineService.search(searchRequest("late arrival", 0, 1, "newest"))
+            .block(Duration.ofSeconds(2));
+
+        assertThat(page).isNotNull();
+        assertThat(page.totalUnique()).isZero();
+        verify(eventPublisher, timeout(2000)).publishEvent((Object) argThat(event ->
+            event instanceof SearchResultsUpdatedEvent updated
+                && "OPEN_LIBRARY".equals(updated.getSource())
+                && updated.getNewResults().stream().anyMatch(book -> "OL-LATE-1".equals(book.getId()))));
+        verify(bookDataOrchestrator, timeout(2000)).persistBooksAsync(
+            argThat(books -> books != null && books.size() == 1 && "OL-LATE-1".equals(books.getFirst().getId())),
+            eq("SEARCH")
+        );
+    }
+
+    @Test
+    @DisplayName("search() hands off late results from a provider stream that never completes once the window cap is reached")
+    void should_PublishLateResults_When_ProviderStreamNeverCompletes() {
+        List<Book> lateCandidates = IntStream.range(0, ApplicationConstants.Paging.MAX_TIERED_LIMIT)
+            .mapToObj(index -> buildOpenLibraryCandidate("OL-STUCK-" + index, "Stuck Arrival " + index))
+            .toList();
+        when(bookSearchService.searchBooks("stuck arrival", 2)).thenReturn(List.of());
+        when(openLibraryBookDataService.queryBooksByEverything(eq("stuck arrival"), anyString(), eq(0), eq(2)))
+            .thenReturn(Flux.concat(
+                Flux.fromIterable(lateCandidates).delaySubscription(Duration.ofMillis(500)),
+                Flux.never()
+            ));
+
+        SearchPaginationService deadlineService = deadlineBoundService(Optional.empty(), Optional.empty(), 150L);
+        SearchPaginationService.SearchPage page = deadlineService.search(searchRequest("stuck arrival", 0, 1, "newest"))
+            .block(Duration.ofSeconds(2));
+
+        assertThat(page).isNotNull();
+        verify(eventPublisher, timeout(2000)).publishEvent((Object) argThat(event ->
+            event instanceof SearchResultsUpdatedEvent updated
+                && "OPEN_LIBRARY".equals(updated.getSource())
+                && updated.getNewResults().stream().anyMatch(book -> "OL-STUCK-0".equals(book.getId()))));
+    }
+
+    private SearchPaginationService deadlineBoundService(Optional<GoogleApiFetcher> fetcher,
+                                                         Optional<GoogleBooksMapper> mapper,
+                                                         long deadlineMs) {
+        return new SearchPaginationService(
+            bookSearchService,
+            bookQueryRepository,
+            fetcher,
+            mapper,
+            Optional.of(openLibraryBookDataService),
+            Optional.of(bookDataOrchestrator),
+            Optional.of(eventPublisher),
+            true,
+            deadlineMs,
+            0.95,
+            50L,
+            600L,
+            1_000L
+        );
+    }
 }
@@ -2,10 +2,14 @@ package net.findmybook.service;
 
 import net.findmybook.dto.BookListItem;
 import net.findmybook.model.Book;
+import net.findmybook.model.image.CoverImageSource;
+import net.findmybook.model.image.ImageResolutionPreference;
+import net.findmybook.support.search.SearchCursor;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 import reactor.core.publisher.Flux;
 
+import java.time.LocalDate;
 import java.util.ArrayList;
 import java.util.List;
 import java.util.Map;
@@ -214,4 +218,81 @@ class SearchPaginationServicePagingTest extends AbstractSearchPaginationServiceT
         assertThat(page.totalUnique()).isEqualTo(1);
         assertThat(page.pageItems()).extracting(Book::getId).containsExactly(matchingYearId.toString());
     }
+
+    @Test
+    @DisplayName("search() refills a cursor page in relevance order after the year filter drops rows")
+    void should_RefillCursorPageInRelevanceOrder_When_YearFilterDropsRows() {
+        UUID firstId = UUID.randomUUID();
+        UUID droppedId = UUID.randomUUID();
+        UUID refillId = UUID.randomUUID();
+        BookSearchService.SearchPosition firstSliceEnd =
+            new BookSearchService.SearchPosition(0.8, "dropped", droppedId);
+        BookSearchService.SearchPosition refillEnd =
+            new BookSearchService.SearchPosition(0.7, "refill", refillId);
+
+        when(bookSearchService.searchBooksAfter("history", null, 2)).thenReturn(new BookSearchService.SearchSlice(
+            List.of(
+                new BookSearchService.SearchResult(firstId, 0.9, "FULLTEXT"),
+                new BookSearchService.SearchResult(droppedId, 0.8, "FULLTEXT")
+            ),
+            firstSliceEnd,
+            true
+        ));
+        when(bookSearchService.searchBooksAfter("history", firstSliceEnd, 1)).thenReturn(new BookSearchService.SearchSlice(
+            List.of(new BookSearchService.SearchResult(refillId, 0.7, "FULLTEXT")),
+            refillEnd,
+            true
+        ));
+        when(bookQueryRepository.fetchPublishedYears(anyList())).thenReturn(Map.of(
+            firstId, 2024,
+            droppedId, 1999,
+            refillId, 2024
+        ));
+        when(bookQueryRepository.fetchBookListItems(anyList())).thenAnswer(invocation -> invocation.<List<UUID>>getArgument(0)
+            .stream()
+            .map(id -> buildListItem(id, "Title " + id))
+            .toList());
+
+        SearchPaginationService.SearchRequest request = new SearchPaginationService.SearchRequest(
+            "history", 0, 2, "relevance", CoverImageSource.ANY, ImageResolutionPreference.ANY, 2024, SearchCursor.START);
+        SearchPaginationService.SearchPage page = service.search(request).block();
+
+        assertThat(page).isNotNull();
+        assertThat(page.orderBy()).isEqualTo("relevance");
+        assertThat(page.pageItems()).extracting(Book::getId).containsExactly(firstId.toString(), refillId.toString());
+        assertThat(page.hasMore()).isTrue();
+        assertThat(SearchCursor.decode(page.nextCursor(), request)).isEqualTo(refillEnd);
+    }
+
+    @Test
+    @DisplayName("search() forces relevance ordering on cursor pages whatever orderBy the request carries")
+    void should_KeepRelevanceOrder_When_CursorRequestAsksForNewest() {
+        UUID olderRelevantId = UUID.randomUUID();
+        UUID newerId = UUID.randomUUID();
+
+        when(bookSearchService.searchBooksAfter("history", null, 2)).thenReturn(new BookSearchService.SearchSlice(
+            List.of(
+                new BookSearchService.SearchResult(olderRelevantId, 0.9, "FULLTEXT"),
+                new BookSearchService.SearchResult(newerId, 0.5, "FULLTEXT")
+            ),
+            new BookSearchService.SearchPosition(0.5, "newer", newerId),
+            false
+        ));
+        when(bookQueryRepository.fetchBookListItems(anyList())).thenReturn(List.of(
+            buildListItem(olderRelevantId, "Older", 600, 900, true,
+                "https://example.test/older.jpg", LocalDate.of(1990, 1, 1)),
+            buildListItem(newerId, "Newer", 600, 900, true,
+                "https://example.test/newer.jpg", LocalDate.of(2024, 1, 1))
+        ));
+
+        SearchPaginationService.SearchRequest request = new SearchPaginationService.SearchRequest(
+            "history", 0, 2, "newest", CoverImageSource.ANY, ImageResolutionPreference.ANY, null, SearchCursor.START);
+        SearchPaginationService.SearchPage page = service.search(request).block();
+
+        assertThat(page).isNotNull();
+        assertThat(page.pageItems()).extracting(Book::getId)
+            .containsExactly(olderRelevantId.toString(), newerId.toString());
+        assertThat(page.hasMore()).isFalse();
+        assertThat(page.nextCursor()).isNull();
+    }
 }
@@ -0,0 +1,188 @@
+package net.findmybook.service;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class SearchResultCacheTest {
+
+    private final SearchResultCache cache = new SearchResultCache(100, Duration.ofMinutes(5));
+
+    @Test
+    @DisplayName("getOrLoad() reuses cached results for queries that differ only by case and whitespace")
+    void should_ReuseCachedResults_When_QueryNormalizesToSameKey() {
+        AtomicInteger loads = new AtomicInteger();
+        List<BookSearchService.SearchResult> expected = results(1);
+
+        SearchResultCache.CachedWindow first = cache.getOrLoad("Dune", 24, required -> {
+            loads.incrementAndGet();
+            return new SearchResultCache.CachedWindow(expected, true);
+        });
+        SearchResultCache.CachedWindow second = cache.getOrLoad("  dune ", 24, required -> {
+            loads.incrementAndGet();
+            return new SearchResultCache.CachedWindow(List.of(), true);
+        });
+
+        assertThat(first.results()).isEqualTo(expected);
+        assertThat(second.results()).isEqualTo(expected);
+        assertThat(loads).hasValue(1);
+    }
+
+    @Test
+    @DisplayName("getOrLoad() serves a later page from the window loaded for the first page")
+    void should_ServeLaterPageFromCachedWindow_When_WindowCoversIt() {
+        AtomicInteger loads = new AtomicInteger();
+
+        cache.getOrLoad("dune", 24, required -> {
+            loads.incrementAndGet();
+            return new SearchResultCache.CachedWindow(results(150), false);
+        });
+        SearchResultCache.CachedWindow secondPage = cache.getOrLoad("dune", 48, required -> {
+            loads.incrementAndGet();
+            return new SearchResultCache.CachedWindow(List.of(), true);
+        });
+
+        assertThat(secondPage.firstResults(48)).hasSize(48);
+        assertThat(loads).hasValue(1);
+    }
+
+    @Test
+    @DisplayName("getOrLoad() widens an incomplete window once when a request reaches past it")
+    void should_LoadCompleteWindowOnce_When_RequestExceedsIncompleteWindow() {
+        List<Integer> requestedWindows = new CopyOnWriteArrayList<>();
+        List<BookSearchService.SearchResult> initial = results(30);
+        List<BookSearchService.SearchResult> complete = new ArrayList<>(initial);
+        complete.addAll(results(10));
+
+        cache.getOrLoad("dune", 24, required -> {
+            requestedWindows.add(required);
+            return new SearchResultCache.CachedWindow(initial, false);
+        });
+        SearchResultCache.CachedWindow widened = cache.getOrLoad("dune", 48, required -> {
+            requestedWindows.add(required);
+            return new SearchResultCache.CachedWindow(complete, true);
+        });
+        cache.getOrLoad("dune", 96, required -> {
+            requestedWindows.add(required);
+            return new SearchResultCache.CachedWindow(List.of(), true);
+        });
+
+        assertThat(widened.results()).hasSize(40);
+        assertThat(requestedWindows).containsExactly(24, Integer.MAX_VALUE);
+    }
+
+    @Test
+    @DisplayName("getOrLoad() keeps served pages in place when widening pulls in higher-ranked trigram rows")
+    void should_NotOverlapPages_When_WideningAddsHigherRankedRows() {
+        int pageSize = 12;
+        List<BookSearchService.SearchResult> fulltextRows = results(30);
+        List<BookSearchService.SearchResult> fuzzyRows = results(5);
+        // The complete load ranks trigram rows ahead of every full-text row.
+        List<BookSearchService.SearchResult> completeRanking = new ArrayList<>(fuzzyRows);
+        completeRanking.addAll(fulltextRows);
+
+        List<BookSearchService.SearchResult> firstPage = cache.getOrLoad("dune", 2 * pageSize,
+                required -> new SearchResultCache.CachedWindow(fulltextRows, false))
+            .firstResults(2 * pageSize)
+            .subList(0, pageSize);
+        List<BookSearchService.SearchResult> window = cache.getOrLoad("dune", 3 * pageSize,
+                required -> new SearchResultCache.CachedWindow(completeRanking, true))
+            .firstResults(3 * pageSize);
+        List<BookSearchService.SearchResult> secondPage = window.subList(pageSize, 2 * pageSize);
+
+        assertThat(secondPage).doesNotContainAnyElementsOf(firstPage);
+        assertThat(firstPage).containsExactlyElementsOf(fulltextRows.subList(0, pageSize));
+        assertThat(secondPage).containsExactlyElementsOf(fulltextRows.subList(pageSize, 2 * pageSize));
+        assertThat(window.subList(30, 35)).containsExactlyElementsOf(fuzzyRows);
+    }
+
+    @Test
+    @DisplayName("invalidateAll() forces the next lookup to reload")
+    void should_Reload_When_CacheInvalidated() {
+        AtomicInteger loads = new AtomicInteger();
+
+        cache.getOrLoad("dune", 24, required -> {
+            loads.incrementAndGet();
+            return new SearchResultCache.CachedWindow(List.of(), true);
+        });
+        cache.invalidateAll();
+        cache.getOrLoad("dune", 24, required -> {
+            loads.incrementAndGet();
+            return new SearchResultCache.CachedWindow(List.of(), true);
+        });
+
+        assertThat(loads).hasValue(2);
+    }
+
+    @Test
+    @DisplayName("getOrLoad() does not cache failed loads")
+    void should_NotCacheFailure_When_LoaderThrows() {
+        assertThatThrownBy(() -> cache.getOrLoad("dune", 24, required -> {
+            throw new IllegalStateException("database unavailable");
+        })).isInstanceOf(IllegalStateException.class);
+
+        SearchResultCache.CachedWindow recovered = cache.getOrLoad("dune", 24,
+            required -> new SearchResultCache.CachedWindow(List.of(), true));
+
+        assertThat(recovered.results()).isEmpty();
+    }
+
+    @Test
+    @DisplayName("getOrLoad() shares one in-flight load across concurrent identical queries")
+    void should_ShareInFlightLoad_When_ConcurrentIdenticalQueries() throws Exception {
+        AtomicInteger loads = new AtomicInteger();
+        CountDownLatch loaderStarted = new CountDownLatch(1);
+        CountDownLatch releaseLoader = new CountDownLatch(1);
+        List<BookSearchService.SearchResult> expected = results(1);
+
+        try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            Future<SearchResultCache.CachedWindow> leader = executor.submit(() -> cache.getOrLoad("dune", 24, required -> {
+                loads.incrementAndGet();
+                loaderStarted.countDown();
+                awaitQuietly(releaseLoader);
+                return new SearchResultCache.CachedWindow(expected, true);
+            }));
+            assertThat(loaderStarted.await(5, TimeUnit.SECONDS)).isTrue();
+
+            Future<SearchResultCache.CachedWindow> follower = executor.submit(() -> cache.getOrLoad("dune", 24, required -> {
+                loads.incrementAndGet();
+                return new SearchResultCache.CachedWindow(List.of(), true);
+            }));
+            releaseLoader.countDown();
+
+            assertThat(leader.get(5, TimeUnit.SECONDS).results()).isEqualTo(expected);
+            assertThat(follower.get(5, TimeUnit.SECONDS).results()).isEqualTo(expected);
+        }
+        assertThat(loads).hasValue(1);
+    }
+
+    private static List<BookSearchService.SearchResult> results(int count) {
+        List<BookSearchService.SearchResult> results = new ArrayList<>(count);
+        for (int index = 0; index < count; index++) {
+            results.add(new BookSearchService.SearchResult(UUID.randomUUID(), 1.0 - index * 0.001, "fulltext"));
+        }
+        return results;
+    }
+
+    private static void awaitQuietly(CountDownLatch latch) {
+        try {
+            latch.await(5, TimeUnit.SECONDS);
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
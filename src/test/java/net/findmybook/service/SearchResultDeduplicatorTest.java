@@ -0,0 +1,73 @@
+package net.findmybook.service;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class SearchResultDeduplicatorTest {
+
+    private final SearchResultDeduplicator deduplicator = new SearchResultDeduplicator();
+
+    @Test
+    @DisplayName("deduplicate() reports clustered hits under the cluster's primary edition")
+    void should_UsePrimaryEdition_When_HitIsNonPrimaryClusterMember() {
+        UUID edition = UUID.randomUUID();
+        UUID primary = UUID.randomUUID();
+        UUID cluster = UUID.randomUUID();
+        BookSearchService.SearchResult hit = new BookSearchService.SearchResult(
+            edition, 0.8, "fulltext", new BookSearchService.ClusterInfo(3, cluster));
+
+        List<BookSearchService.SearchResult> results = deduplicator.deduplicate(List.of(
+            new SearchResultDeduplicator.Candidate(hit, primary, true, "dune::frank herbert")
+        ));
+
+        assertThat(results).singleElement().satisfies(result -> {
+            assertThat(result.bookId()).isEqualTo(primary);
+            assertThat(result.clusterId()).isEqualTo(cluster);
+            assertThat(result.editionCount()).isEqualTo(3);
+        });
+    }
+
+    @Test
+    @DisplayName("deduplicate() merges unclustered hits sharing a title/author key and keeps the best score")
+    void should_MergeHits_When_TitleAuthorKeysMatch() {
+        UUID first = UUID.randomUUID();
+        UUID second = UUID.randomUUID();
+        UUID other = UUID.randomUUID();
+
+        List<BookSearchService.SearchResult> results = deduplicator.deduplicate(List.of(
+            new SearchResultDeduplicator.Candidate(
+                new BookSearchService.SearchResult(first, 0.4, "fuzzy"), first, false, "dune::frank herbert"),
+            new SearchResultDeduplicator.Candidate(
+                new BookSearchService.SearchResult(second, 0.9, "fulltext"), second, false, "dune::frank herbert"),
+            new SearchResultDeduplicator.Candidate(
+                new BookSearchService.SearchResult(other, 0.5, "fulltext"), other, false, "dune messiah::frank herbert")
+        ));
+
+        assertThat(results).hasSize(2);
+        assertThat(results.getFirst().bookId()).isEqualTo(second);
+        assertThat(results.getFirst().relevanceScore()).isEqualTo(0.9);
+        assertThat(results.getFirst().editionCount()).isEqualTo(2);
+        assertThat(results.get(1).bookId()).isEqualTo(other);
+    }
+
+    @Test
+    @DisplayName("deduplicate() keeps hits without dedupe hints as distinct rows")
+    void should_KeepHitsDistinct_When_HintsMissing() {
+        UUID first = UUID.randomUUID();
+        UUID second = UUID.randomUUID();
+
+        List<BookSearchService.SearchResult> results = deduplicator.deduplicate(List.of(
+            new SearchResultDeduplicator.Candidate(new BookSearchService.SearchResult(first, 0.7, "fulltext")),
+            new SearchResultDeduplicator.Candidate(new BookSearchService.SearchResult(second, 0.6, "fulltext"))
+        ));
+
+        assertThat(results)
+            .extracting(BookSearchService.SearchResult::bookId)
+            .containsExactly(first, second);
+    }
+}
@@ -0,0 +1,84 @@
+package net.findmybook.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import java.sql.ResultSet;
+import java.util.List;
+import java.util.stream.IntStream;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.dao.DataAccessResourceFailureException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowCallbackHandler;
+
+@ExtendWith(MockitoExtension.class)
+class SearchSuggestionServiceTest {
+
+    @Mock
+    private JdbcTemplate jdbcTemplate;
+
+    private SearchSuggestionService service;
+
+    @BeforeEach
+    void setUp() {
+        // Authors disabled so only the book query runs.
+        service = new SearchSuggestionService(jdbcTemplate, 100, 0, 30);
+    }
+
+    @Test
+    @DisplayName("rebuild() keeps serving the previous snapshot when the reload query fails")
+    void should_KeepPreviousSnapshot_When_RebuildFails() throws Exception {
+        stubBookTitles(List.of("Dune"));
+        int indexedKeys = service.rebuild();
+        doThrow(new DataAccessResourceFailureException("connection refused"))
+            .when(jdbcTemplate).query(anyString(), any(RowCallbackHandler.class), any(), any());
+
+        int afterFailure = service.rebuild();
+
+        assertThat(afterFailure).isEqualTo(indexedKeys);
+        assertThat(service.suggest("du", 5))
+            .extracting(SearchSuggestionService.Suggestion::text)
+            .containsExactly("Dune");
+    }
+
+    @Test
+    @DisplayName("suggest() clamps the requested limit to 1..20 and returns nothing for blank input")
+    void should_ClampLimit_When_RequestedLimitOutOfRange() throws Exception {
+        stubBookTitles(IntStream.rangeClosed(1, 25).mapToObj(i -> "Book " + i).toList());
+        service.rebuild();
+
+        assertThat(service.suggest("book", 100)).hasSize(SearchSuggestionService.MAX_LIMIT);
+        assertThat(service.suggest("book", 0)).hasSize(SearchSuggestionService.DEFAULT_LIMIT);
+        assertThat(service.suggest("   ", 5)).isEmpty();
+    }
+
+    private void stubBookTitles(List<String> titles) {
+        doAnswer(invocation -> {
+            RowCallbackHandler handler = invocation.getArgument(1);
+            for (int i = 0; i < titles.size(); i++) {
+                handler.processRow(bookRow(i, titles.get(i)));
+            }
+            return null;
+        }).when(jdbcTemplate).query(anyString(), any(RowCallbackHandler.class), any(), any());
+    }
+
+    private static ResultSet bookRow(int position, String title) throws Exception {
+        ResultSet row = mock(ResultSet.class);
+        when(row.getString("title")).thenReturn(title);
+        when(row.getString("book_id")).thenReturn("00000000-0000-0000-0000-%012d".formatted(position));
+        when(row.getString("slug")).thenReturn("book-" + position);
+        when(row.getString("authors")).thenReturn("Fixture Author");
+        when(row.getLong("view_count")).thenReturn((long) position);
+        return row;
+    }
+}
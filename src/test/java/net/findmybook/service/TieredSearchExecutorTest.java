@@ -0,0 +1,208 @@
+package net.findmybook.service;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.PreparedStatementSetter;
+import org.springframework.jdbc.core.RowMapper;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class TieredSearchExecutorTest {
+
+    private static final String TIER_SQL = "SELECT * FROM search_books_tier_candidates(?, ?, ?, ?)";
+    private static final String RANK_SQL = "SELECT * FROM search_books_tier_rank(?, ?, ?, ?, ?)";
+
+    @Mock
+    private JdbcTemplate jdbcTemplate;
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final Map<String, List<Map<String, Object>>> rowsByTier = new ConcurrentHashMap<>();
+    private final Queue<String> executedTiers = new ConcurrentLinkedQueue<>();
+    private final List<Integer> rankedWindows = new ArrayList<>();
+    private TieredSearchExecutor executor;
+
+    @BeforeEach
+    @SuppressWarnings("unchecked")
+    void initExecutor() {
+        executor = new TieredSearchExecutor(jdbcTemplate, meterRegistry);
+        when(jdbcTemplate.query(eq(TIER_SQL), any(PreparedStatementSetter.class), any(RowMapper.class)))
+            .thenAnswer(invocation -> {
+                PreparedStatement statement = mock(PreparedStatement.class);
+                when(statement.getConnection()).thenReturn(mock(Connection.class));
+                invocation.<PreparedStatementSetter>getArgument(1).setValues(statement);
+                ArgumentCaptor<String> tier = ArgumentCaptor.forClass(String.class);
+                verify(statement).setString(eq(2), tier.capture());
+                executedTiers.add(tier.getValue());
+
+                RowMapper<Object> mapper = invocation.getArgument(2);
+                List<Object> mapped = new ArrayList<>();
+                for (Map<String, Object> row : rowsByTier.getOrDefault(tier.getValue(), List.of())) {
+                    mapped.add(mapper.mapRow(resultSet(row), mapped.size()));
+                }
+                return mapped;
+            });
+        when(jdbcTemplate.query(eq(RANK_SQL), any(PreparedStatementSetter.class), any(RowMapper.class)))
+            .thenAnswer(invocation -> rankLikePostgres(invocation.getArgument(1), invocation.getArgument(2)));
+    }
+
+    @Test
+    @DisplayName("search() skips the trigram tier when exact and full-text tiers fill the window")
+    void should_SkipFuzzyTier_When_EarlierTiersFillWindow() {
+        UUID exact = UUID.randomUUID();
+        UUID fulltext = UUID.randomUUID();
+        rowsByTier.put("exact", List.of(row(exact, "Dune", 1.0, "exact_title")));
+        rowsByTier.put("fulltext", List.of(row(fulltext, "Dune Messiah", 0.4, "fulltext")));
+
+        List<SearchResultDeduplicator.Candidate> candidates = executor.search("dune", 2);
+
+        assertThat(candidates).extracting(candidate -> candidate.result().bookId()).containsExactly(exact, fulltext);
+        assertThat(executedTiers).containsExactlyInAnyOrder("exact", "fulltext");
+        assertThat(meterRegistry.counter("book.search.tier.fuzzy", "outcome", "skipped").count()).isEqualTo(1.0);
+        assertThat(meterRegistry.timer("book.search.tier.duration", "tier", "exact").count()).isEqualTo(1L);
+    }
+
+    @Test
+    @DisplayName("search() runs the trigram tier and keeps earlier tiers' rows when the window is unfilled")
+    void should_RunFuzzyTier_When_WindowUnfilled() {
+        UUID exact = UUID.randomUUID();
+        UUID fuzzy = UUID.randomUUID();
+        rowsByTier.put("exact", List.of(row(exact, "Dune", 1.0, "exact_title")));
+        // Full-text runs concurrently, so it can return the exact match again; the exact row must win.
+        rowsByTier.put("fulltext", List.of(row(exact, "Dune", 0.3, "fulltext")));
+        rowsByTier.put("fuzzy", List.of(row(fuzzy, "Dunes", 0.6, "fuzzy")));
+
+        List<SearchResultDeduplicator.Candidate> candidates = executor.search("dune", 5);
+
+        assertThat(candidates).extracting(candidate -> candidate.result().matchType()).containsExactly("exact_title", "fuzzy");
+        assertThat(executedTiers).contains("fuzzy");
+        assertThat(meterRegistry.counter("book.search.tier.fuzzy", "outcome", "executed").count()).isEqualTo(1.0);
+    }
+
+    @Test
+    @DisplayName("search() keeps the best row per work cluster")
+    void should_KeepBestRowPerCluster_When_TiersReturnSameWork() {
+        UUID cluster = UUID.randomUUID();
+        UUID primaryEdition = UUID.randomUUID();
+        UUID otherEdition = UUID.randomUUID();
+        Map<String, Object> weaker = row(otherEdition, "Dune", 0.2, "fulltext");
+        weaker.put("cluster_id", cluster);
+        Map<String, Object> stronger = row(primaryEdition, "Dune", 0.5, "fulltext");
+        stronger.put("cluster_id", cluster);
+        rowsByTier.put("fulltext", List.of(weaker, stronger));
+
+        List<SearchResultDeduplicator.Candidate> candidates = executor.search("dune", 1);
+
+        assertThat(candidates).singleElement()
+            .satisfies(candidate -> assertThat(candidate.result().bookId()).isEqualTo(primaryEdition));
+    }
+
+    @Test
+    @DisplayName("search() ranks and limits once in SQL and takes dedupe hints from the ranked rows")
+    void should_TakeDedupeHintsFromRankStatement_When_RowsAreRanked() {
+        UUID first = UUID.randomUUID();
+        UUID second = UUID.randomUUID();
+        UUID third = UUID.randomUUID();
+        rowsByTier.put("fulltext", List.of(
+            row(third, "Chapterhouse", 0.2, "fulltext"),
+            row(first, "Dune", 0.9, "fulltext"),
+            row(second, "Dune Messiah", 0.5, "fulltext")
+        ));
+
+        List<SearchResultDeduplicator.Candidate> candidates = executor.search("dune", 2);
+
+        assertThat(candidates).extracting(candidate -> candidate.result().bookId()).containsExactly(first, second);
+        assertThat(candidates).extracting(SearchResultDeduplicator.Candidate::titleAuthorKey)
+            .containsExactly("dune::frank herbert", "dune messiah::frank herbert");
+        assertThat(rankedWindows).containsExactly(2);
+        assertThat(meterRegistry.timer("book.search.tier.duration", "tier", "rank").count()).isEqualTo(1L);
+    }
+
+    /**
+     * Stands in for {@code search_books_tier_rank()}: orders the passed rows by relevance, then
+     * title, limits them, and attaches hints derived from the title.
+     */
+    private List<Object> rankLikePostgres(PreparedStatementSetter setter, RowMapper<Object> mapper) throws Exception {
+        PreparedStatement statement = mock(PreparedStatement.class);
+        Connection connection = mock(Connection.class);
+        when(statement.getConnection()).thenReturn(connection);
+        setter.setValues(statement);
+        ArgumentCaptor<Object[]> arrays = ArgumentCaptor.forClass(Object[].class);
+        verify(connection, times(4)).createArrayOf(any(String.class), arrays.capture());
+        ArgumentCaptor<Integer> maxResults = ArgumentCaptor.forClass(Integer.class);
+        verify(statement).setInt(eq(5), maxResults.capture());
+        rankedWindows.add(maxResults.getValue());
+
+        Object[] bookIds = arrays.getAllValues().get(0);
+        Object[] titles = arrays.getAllValues().get(2);
+        Object[] scores = arrays.getAllValues().get(3);
+        List<Integer> order = new ArrayList<>();
+        for (int index = 0; index < bookIds.length; index++) {
+            order.add(index);
+        }
+        order.sort(Comparator.<Integer>comparingDouble(index -> (Double) scores[index]).reversed()
+            .thenComparing(index -> ((String) titles[index]).toLowerCase()));
+
+        List<Object> mapped = new ArrayList<>();
+        for (int index : order.subList(0, Math.min(order.size(), maxResults.getValue()))) {
+            Map<String, Object> hints = new ConcurrentHashMap<>();
+            hints.put("book_id", bookIds[index]);
+            hints.put("primary_book_id", bookIds[index]);
+            hints.put("title_author_key", ((String) titles[index]).toLowerCase() + "::frank herbert");
+            mapped.add(mapper.mapRow(resultSet(hints), mapped.size()));
+        }
+        return mapped;
+    }
+
+    private static Map<String, Object> row(UUID bookId, String title, double relevance, String matchType) {
+        Map<String, Object> row = new ConcurrentHashMap<>();
+        row.put("book_id", bookId);
+        row.put("title", title);
+        row.put("published_date", LocalDate.of(2000, 1, 1));
+        row.put("relevance_score", relevance);
+        row.put("match_type", matchType);
+        row.put("edition_count", 1);
+        return row;
+    }
+
+    private static ResultSet resultSet(Map<String, Object> row) throws Exception {
+        ResultSet resultSet = mock(ResultSet.class);
+        when(resultSet.getObject(any(String.class), any(Class.class)))
+            .thenAnswer(invocation -> row.get(invocation.<String>getArgument(0)));
+        when(resultSet.getString(any(String.class)))
+            .thenAnswer(invocation -> (String) row.get(invocation.<String>getArgument(0)));
+        when(resultSet.getDouble(any(String.class)))
+            .thenAnswer(invocation -> (Double) row.getOrDefault(invocation.<String>getArgument(0), 0.0));
+        when(resultSet.getInt(any(String.class)))
+            .thenAnswer(invocation -> (Integer) row.getOrDefault(invocation.<String>getArgument(0), 0));
+        when(resultSet.getBoolean(any(String.class)))
+            .thenAnswer(invocation -> Boolean.TRUE.equals(row.get(invocation.<String>getArgument(0))));
+        return resultSet;
+    }
+}
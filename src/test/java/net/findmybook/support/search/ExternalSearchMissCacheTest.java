@@ -0,0 +1,141 @@
+package net.findmybook.support.search;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import net.findmybook.mapper.GoogleBooksMapper;
+import net.findmybook.model.Book;
+import net.findmybook.service.GoogleApiFetcher;
+import reactor.core.publisher.Flux;
+
+import java.time.Duration;
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class ExternalSearchMissCacheTest {
+
+    private final ExternalSearchMissCache cache = new ExternalSearchMissCache(Duration.ofMinutes(10), 100);
+    private final AtomicInteger calls = new AtomicInteger();
+
+    private Function<Runnable, Flux<String>> provider(String... results) {
+        return answered -> {
+            calls.incrementAndGet();
+            answered.run();
+            return Flux.just(results);
+        };
+    }
+
+    @Test
+    @DisplayName("guard() skips the provider for a repeated query that returned nothing")
+    void should_SkipProvider_When_QueryIsRememberedMiss() {
+        cache.guard(ExternalSearchMissCache.Provider.OPEN_LIBRARY, "asdfqwer", null, provider()).blockLast();
+        cache.guard(ExternalSearchMissCache.Provider.OPEN_LIBRARY, "  ASDFQWER ", null, provider()).blockLast();
+
+        assertThat(calls).hasValue(1);
+    }
+
+    @Test
+    @DisplayName("guard() keeps calling the provider when it returns results or fails")
+    void should_CallProvider_When_PreviousCallHadResultsOrFailed() {
+        cache.guard(ExternalSearchMissCache.Provider.GOOGLE_BOOKS, "dune", null, provider("Dune")).blockLast();
+        cache.guard(ExternalSearchMissCache.Provider.GOOGLE_BOOKS, "dune", null, provider("Dune")).blockLast();
+
+        Function<Runnable, Flux<String>> failing = answered -> {
+            calls.incrementAndGet();
+            return Flux.error(new IllegalStateException("rate limited"));
+        };
+        cache.guard(ExternalSearchMissCache.Provider.GOOGLE_BOOKS, "zzzz", null, failing)
+            .onErrorResume(ex -> Flux.empty())
+            .blockLast();
+        cache.guard(ExternalSearchMissCache.Provider.GOOGLE_BOOKS, "zzzz", null, provider()).blockLast();
+
+        assertThat(calls).hasValue(4);
+    }
+
+    @Test
+    @DisplayName("guard() tracks misses per provider and published year")
+    void should_ScopeMisses_When_ProviderOrYearDiffers() {
+        cache.guard(ExternalSearchMissCache.Provider.OPEN_LIBRARY, "asdfqwer", 1999, provider()).blockLast();
+        cache.guard(ExternalSearchMissCache.Provider.GOOGLE_BOOKS, "asdfqwer", 1999, provider()).blockLast();
+        cache.guard(ExternalSearchMissCache.Provider.OPEN_LIBRARY, "asdfqwer", null, provider()).blockLast();
+
+        assertThat(calls).hasValue(3);
+    }
+
+    @Test
+    @DisplayName("guard() is a pass-through when the TTL is not positive")
+    void should_PassThrough_When_CacheDisabled() {
+        ExternalSearchMissCache disabled = new ExternalSearchMissCache(Duration.ZERO, 100);
+        disabled.guard(ExternalSearchMissCache.Provider.OPEN_LIBRARY, "asdfqwer", null, provider()).blockLast();
+        disabled.guard(ExternalSearchMissCache.Provider.OPEN_LIBRARY, "asdfqwer", null, provider()).blockLast();
+
+        assertThat(calls).hasValue(2);
+    }
+
+    @Test
+    @DisplayName("guard() does not record a miss when the source completes empty without a provider answer")
+    void should_NotRecordMiss_When_SourceCompletesWithoutAnswer() {
+        Function<Runnable, Flux<String>> skipped = answered -> {
+            calls.incrementAndGet();
+            return Flux.empty();
+        };
+
+        cache.guard(ExternalSearchMissCache.Provider.OPEN_LIBRARY, "asdfqwer", null, skipped).blockLast();
+        cache.guard(ExternalSearchMissCache.Provider.OPEN_LIBRARY, "asdfqwer", null, skipped).blockLast();
+
+        assertThat(calls).hasValue(2);
+    }
+
+    @Test
+    @DisplayName("guard() keeps calling Google while its circuit is open or the rate-limited call fails")
+    void should_NotRecordGoogleMiss_When_CircuitOpenOrRateLimited() {
+        GoogleApiFetcher fetcher = mock(GoogleApiFetcher.class);
+        GoogleExternalSearchFlow flow = new GoogleExternalSearchFlow(Optional.of(fetcher), Optional.of(mock(GoogleBooksMapper.class)));
+        Function<Runnable, Flux<Book>> google = answered -> {
+            calls.incrementAndGet();
+            return flow.streamCandidates("asdfqwer", "relevance", null, 10, answered);
+        };
+
+        // No API key and the fallback circuit is open: the flow completes empty without calling Google.
+        when(fetcher.isApiKeyAvailable()).thenReturn(false);
+        when(fetcher.isFallbackAllowed()).thenReturn(false);
+        cache.guard(ExternalSearchMissCache.Provider.GOOGLE_BOOKS, "asdfqwer", null, google).blockLast();
+        cache.guard(ExternalSearchMissCache.Provider.GOOGLE_BOOKS, "asdfqwer", null, google).blockLast();
+
+        // Rate-limited authenticated call with the fallback tier disallowed: the flow fails.
+        when(fetcher.isApiKeyAvailable()).thenReturn(true);
+        when(fetcher.streamSearchItems("asdfqwer", 10, "relevance", null, true))
+            .thenReturn(Flux.error(new IllegalStateException("429 Too Many Requests")));
+        cache.guard(ExternalSearchMissCache.Provider.GOOGLE_BOOKS, "asdfqwer", null, google)
+            .onErrorResume(ex -> Flux.empty())
+            .blockLast();
+        cache.guard(ExternalSearchMissCache.Provider.GOOGLE_BOOKS, "asdfqwer", null, google)
+            .onErrorResume(ex -> Flux.empty())
+            .blockLast();
+
+        assertThat(calls).hasValue(4);
+    }
+
+    @Test
+    @DisplayName("guard() records a Google miss once Google answered with no items")
+    void should_RecordGoogleMiss_When_GoogleAnsweredEmpty() {
+        GoogleApiFetcher fetcher = mock(GoogleApiFetcher.class);
+        GoogleExternalSearchFlow flow = new GoogleExternalSearchFlow(Optional.of(fetcher), Optional.of(mock(GoogleBooksMapper.class)));
+        when(fetcher.isApiKeyAvailable()).thenReturn(true);
+        when(fetcher.isFallbackAllowed()).thenReturn(false);
+        when(fetcher.streamSearchItems("asdfqwer", 10, "relevance", null, true)).thenReturn(Flux.empty());
+        Function<Runnable, Flux<Book>> google = answered -> {
+            calls.incrementAndGet();
+            return flow.streamCandidates("asdfqwer", "relevance", null, 10, answered);
+        };
+
+        cache.guard(ExternalSearchMissCache.Provider.GOOGLE_BOOKS, "asdfqwer", null, google).blockLast();
+        cache.guard(ExternalSearchMissCache.Provider.GOOGLE_BOOKS, "asdfqwer", null, google).blockLast();
+
+        assertThat(calls).hasValue(1);
+    }
+}
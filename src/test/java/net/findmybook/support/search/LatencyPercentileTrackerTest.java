@@ -0,0 +1,47 @@
+package net.findmybook.support.search;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class LatencyPercentileTrackerTest {
+
+    @Test
+    @DisplayName("percentile() returns the nearest-rank sample")
+    void should_ReturnNearestRankSample_When_EnoughSamplesRecorded() {
+        LatencyPercentileTracker tracker = new LatencyPercentileTracker(100);
+        for (int millis = 1; millis <= 100; millis++) {
+            tracker.record(Duration.ofMillis(millis));
+        }
+
+        assertThat(tracker.percentile(0.95, 10)).contains(Duration.ofMillis(95));
+        assertThat(tracker.percentile(0.5, 10)).contains(Duration.ofMillis(50));
+        assertThat(tracker.percentile(1.0, 10)).contains(Duration.ofMillis(100));
+    }
+
+    @Test
+    @DisplayName("percentile() is empty until the minimum sample count is reached")
+    void should_ReturnEmpty_When_TooFewSamples() {
+        LatencyPercentileTracker tracker = new LatencyPercentileTracker(10);
+        tracker.record(Duration.ofMillis(5));
+
+        assertThat(tracker.percentile(0.95, 2)).isEmpty();
+        assertThat(tracker.percentile(0.95, 1)).contains(Duration.ofMillis(5));
+    }
+
+    @Test
+    @DisplayName("record() keeps only the most recent samples")
+    void should_EvictOldestSamples_When_CapacityExceeded() {
+        LatencyPercentileTracker tracker = new LatencyPercentileTracker(3);
+        tracker.record(Duration.ofSeconds(10));
+        tracker.record(Duration.ofMillis(1));
+        tracker.record(Duration.ofMillis(2));
+        tracker.record(Duration.ofMillis(3));
+
+        assertThat(tracker.sampleCount()).isEqualTo(3);
+        assertThat(tracker.percentile(1.0, 1)).contains(Duration.ofMillis(3));
+    }
+}
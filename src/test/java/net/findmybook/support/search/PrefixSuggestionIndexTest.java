@@ -0,0 +1,81 @@
+package net.findmybook.support.search;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Function;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class PrefixSuggestionIndexTest {
+
+    private static PrefixSuggestionIndex.Entry<String> entry(String key, long weight) {
+        return new PrefixSuggestionIndex.Entry<>(key, weight, key);
+    }
+
+    @Test
+    @DisplayName("suggest() returns prefix matches ordered by weight")
+    void should_ReturnMatchesByWeight_When_PrefixMatches() {
+        PrefixSuggestionIndex<String> index = PrefixSuggestionIndex.build(List.of(
+            entry("Dune", 10),
+            entry("Dune Messiah", 40),
+            entry("Dungeon Crawler Carl", 25),
+            entry("Foundation", 100)
+        ), 10, 32);
+
+        assertThat(index.suggest("dun", 5, Function.identity()))
+            .containsExactly("Dune Messiah", "Dungeon Crawler Carl", "Dune");
+        assertThat(index.suggest("dune ", 5, Function.identity()))
+            .containsExactly("Dune Messiah", "Dune");
+        assertThat(index.suggest("dunex", 5, Function.identity())).isEmpty();
+    }
+
+    @Test
+    @DisplayName("suggest() ignores accents, case, and punctuation in keys and prefixes")
+    void should_MatchNormalizedText_When_InputHasAccentsAndPunctuation() {
+        PrefixSuggestionIndex<String> index = PrefixSuggestionIndex.build(List.of(
+            entry("Gabriel García Márquez", 5),
+            entry("Harry Potter: The Philosopher's Stone", 7)
+        ), 10, 32);
+
+        assertThat(index.suggest("GABRIEL GARCIA", 5, Function.identity()))
+            .containsExactly("Gabriel García Márquez");
+        assertThat(index.suggest("harry potter the", 5, Function.identity()))
+            .containsExactly("Harry Potter: The Philosopher's Stone");
+    }
+
+    @Test
+    @DisplayName("suggest() scans leaf ranges for prefixes longer than the indexed depth")
+    void should_MatchLongPrefixes_When_BeyondIndexedDepth() {
+        PrefixSuggestionIndex<String> index = PrefixSuggestionIndex.build(List.of(
+            entry("abcdefgh one", 1),
+            entry("abcdefgh two", 2)
+        ), 10, 4);
+
+        assertThat(index.suggest("abcdefgh o", 5, Function.identity())).containsExactly("abcdefgh one");
+        assertThat(index.suggest("abcd", 5, Function.identity())).containsExactly("abcdefgh two", "abcdefgh one");
+    }
+
+    @Test
+    @DisplayName("suggest() collapses payloads that share an identity")
+    void should_CollapseDuplicates_When_IdentityMatches() {
+        List<PrefixSuggestionIndex.Entry<String>> entries = new ArrayList<>();
+        entries.add(new PrefixSuggestionIndex.Entry<>("The Hobbit", 9, "hobbit"));
+        entries.add(new PrefixSuggestionIndex.Entry<>("Hobbit", 9, "hobbit"));
+        entries.add(new PrefixSuggestionIndex.Entry<>("Hobbit Lore", 1, "lore"));
+        PrefixSuggestionIndex<String> index = PrefixSuggestionIndex.build(entries, 10, 32);
+
+        assertThat(index.suggest("hob", 5, Function.identity())).containsExactly("hobbit", "lore");
+        assertThat(index.suggest("the hob", 5, Function.identity())).containsExactly("hobbit");
+    }
+
+    @Test
+    @DisplayName("suggest() returns nothing for empty indexes and blank prefixes")
+    void should_ReturnEmpty_When_IndexOrPrefixEmpty() {
+        assertThat(PrefixSuggestionIndex.<String>empty().suggest("dune", 5, Function.identity())).isEmpty();
+        PrefixSuggestionIndex<String> index = PrefixSuggestionIndex.build(List.of(entry("Dune", 1)), 10, 32);
+        assertThat(index.suggest("  ", 5, Function.identity())).isEmpty();
+    }
+}
@@ -0,0 +1,91 @@
+package net.findmybook.support.search;
+
+import net.findmybook.model.image.CoverImageSource;
+import net.findmybook.model.image.ImageResolutionPreference;
+import net.findmybook.service.BookSearchService;
+import net.findmybook.service.SearchPaginationService;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class SearchCursorTest {
+
+    private static SearchPaginationService.SearchRequest request(String query, String orderBy) {
+        return new SearchPaginationService.SearchRequest(
+            query,
+            0,
+            12,
+            orderBy,
+            CoverImageSource.ANY,
+            ImageResolutionPreference.ANY,
+            null,
+            SearchCursor.START
+        );
+    }
+
+    @Test
+    @DisplayName("encode()/decode() round-trip positions whose titles contain the field separator")
+    void should_RoundTripPosition_When_TitleContainsSeparator() {
+        BookSearchService.SearchPosition position = new BookSearchService.SearchPosition(
+            0.7312345678901234,
+            "dune | messiah",
+            UUID.randomUUID()
+        );
+        SearchPaginationService.SearchRequest request = request("Dune", "relevance");
+
+        String token = SearchCursor.encode(request, position);
+
+        assertThat(token).doesNotContain("=", "+", "/");
+        assertThat(SearchCursor.decode(token, request)).isEqualTo(position);
+    }
+
+    @Test
+    @DisplayName("decode() accepts cursors replayed with equivalent query casing")
+    void should_AcceptCursor_When_QueryCanonicalizesToSameText() {
+        BookSearchService.SearchPosition position = new BookSearchService.SearchPosition(1.0, "dune", UUID.randomUUID());
+        String token = SearchCursor.encode(request("Dune", "relevance"), position);
+
+        assertThat(SearchCursor.decode(token, request("dune", "relevance"))).isEqualTo(position);
+    }
+
+    @Test
+    @DisplayName("decode() rejects cursors issued for a different search")
+    void should_RejectCursor_When_FiltersDiffer() {
+        BookSearchService.SearchPosition position = new BookSearchService.SearchPosition(1.0, "dune", UUID.randomUUID());
+        String token = SearchCursor.encode(request("dune", "relevance"), position);
+
+        assertThatThrownBy(() -> SearchCursor.decode(token, request("dune", "title")))
+            .isInstanceOf(SearchCursor.InvalidSearchCursorException.class);
+        assertThatThrownBy(() -> SearchCursor.decode(token, request("foundation", "relevance")))
+            .isInstanceOf(SearchCursor.InvalidSearchCursorException.class);
+    }
+
+    @Test
+    @DisplayName("decode() rejects malformed tokens")
+    void should_RejectCursor_When_TokenMalformed() {
+        SearchPaginationService.SearchRequest request = request("dune", "relevance");
+
+        assertThatThrownBy(() -> SearchCursor.decode("not a cursor!", request))
+            .isInstanceOf(SearchCursor.InvalidSearchCursorException.class);
+        assertThatThrownBy(() -> SearchCursor.decode("djF8YWJj", request))
+            .isInstanceOf(SearchCursor.InvalidSearchCursorException.class);
+    }
+
+    @Test
+    @DisplayName("encode() binds the cursor with a 128-bit SHA-256 search fingerprint")
+    void should_EmbedSha256Fingerprint_When_EncodingCursor() {
+        BookSearchService.SearchPosition position = new BookSearchService.SearchPosition(1.0, "dune", UUID.randomUUID());
+
+        String token = SearchCursor.encode(request("dune", "relevance"), position);
+        String[] fields = new String(Base64.getUrlDecoder().decode(token), StandardCharsets.UTF_8).split("\\|");
+
+        assertThat(fields[0]).isEqualTo("v2");
+        assertThat(fields[1]).hasSize(32).matches("[0-9a-f]+");
+    }
+}